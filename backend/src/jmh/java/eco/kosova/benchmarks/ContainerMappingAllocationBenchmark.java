@@ -0,0 +1,67 @@
+package eco.kosova.benchmarks;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.Zone;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.startup.EcoKosovaApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark për alokimet gjatë leximit të kontejnerëve nga databaza
+ * (ContainerEntity -> Kontenier me value objects).
+ *
+ * Rezultati është për një kontejner (@OperationsPerInvocation); me
+ * profilin "alloc" (JMH -prof gc) gc.alloc.rate.norm jep bajtët e
+ * alokuar për çdo kontejner të lexuar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ContainerMappingAllocationBenchmark {
+
+    private static final int CONTAINERS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private KontenierRepository kontenierRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Logger.getLogger("eco.kosova").setLevel(java.util.logging.Level.WARNING);
+
+        context = new SpringApplicationBuilder(EcoKosovaApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"
+            );
+
+        context.getBean(ZoneRepository.class).save(
+            new Zone(KosovoContainers.ZONE_ID, "Benchmark", KosovoContainers.DEPOT, "Prishtinë")
+        );
+        kontenierRepository = context.getBean(KontenierRepository.class);
+        kontenierRepository.saveAll(KosovoContainers.generate(CONTAINERS, new Random(KosovoContainers.SEED), 0, 100));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONTAINERS)
+    public List<Kontenier> findByZone() {
+        return kontenierRepository.findByZoneId(KosovoContainers.ZONE_ID);
+    }
+}
@@ -0,0 +1,106 @@
+package eco.kosova.benchmarks;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.Zone;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.infrastructure.persistence.jpa.ContainerEntityRepository;
+import eco.kosova.startup.EcoKosovaApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark për KontenierRepository.saveAll mbi H2 në memorie.
+ *
+ * Krahason batchSize=1 (pa JDBC batching) me batchSize=50. "insert" ruan
+ * kontejnerë të rinj në një tabelë bosh; "update" ndryshon nivelin e
+ * mbushjes së kontejnerëve ekzistues (dirty checking).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ContainerPersistenceBenchmark {
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"1000", "10000"})
+    public int containerCount;
+
+    private ConfigurableApplicationContext context;
+    private KontenierRepository kontenierRepository;
+    private ContainerEntityRepository containerEntityRepository;
+    private List<Kontenier> containers;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Logger.getLogger("eco.kosova").setLevel(java.util.logging.Level.WARNING);
+
+        context = new SpringApplicationBuilder(EcoKosovaApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                // Argumentet mbivendosin application.properties
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--logging.level.root=WARN"
+            );
+
+        kontenierRepository = context.getBean(KontenierRepository.class);
+        containerEntityRepository = context.getBean(ContainerEntityRepository.class);
+
+        ZoneRepository zoneRepository = context.getBean(ZoneRepository.class);
+        zoneRepository.save(new Zone(KosovoContainers.ZONE_ID, "Benchmark", KosovoContainers.DEPOT, "Prishtinë"));
+
+        containers = KosovoContainers.generate(containerCount, 0, 100);
+        random = new Random(KosovoContainers.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class EmptyTable {
+        @Setup(Level.Invocation)
+        public void clear(ContainerPersistenceBenchmark benchmark) {
+            benchmark.containerEntityRepository.deleteAllInBatch();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FilledTable {
+        @Setup(Level.Invocation)
+        public void fill(ContainerPersistenceBenchmark benchmark) {
+            if (benchmark.containerEntityRepository.count() != benchmark.containerCount) {
+                benchmark.containerEntityRepository.deleteAllInBatch();
+                benchmark.kontenierRepository.saveAll(benchmark.containers);
+            }
+            for (Kontenier container : benchmark.containers) {
+                container.updateFillLevel(benchmark.random.nextInt(101));
+                container.clearDomainEvents();
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Kontenier> insert(EmptyTable table) {
+        return kontenierRepository.saveAll(containers);
+    }
+
+    @Benchmark
+    public List<Kontenier> update(FilledTable table) {
+        return kontenierRepository.saveAll(containers);
+    }
+}
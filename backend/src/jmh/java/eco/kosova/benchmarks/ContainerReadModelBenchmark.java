@@ -0,0 +1,63 @@
+package eco.kosova.benchmarks;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.services.ContainerReadModel;
+import eco.kosova.domain.services.ContainerReadModel.ContainerView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark për query-t e ContainerReadModel (pa databazë).
+ *
+ * Kontejnerët ndahen në 1000 zona; niveli i mbushjes është uniform 0-100,
+ * kështu që rreth 11% e tyre janë kritikë.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms3g", "-Xmx3g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ContainerReadModelBenchmark {
+
+    private static final int ZONE_COUNT = 1000;
+
+    @Param({"100000", "1000000"})
+    public int containerCount;
+
+    private ContainerReadModel readModel;
+    private int zone;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Kontenier> containers = KosovoContainers.generate(
+            containerCount, ZONE_COUNT, new Random(KosovoContainers.SEED), 0, 100
+        );
+        List<ContainerView> views = new ArrayList<>(containers.size());
+        for (Kontenier container : containers) {
+            views.add(ContainerView.of(container));
+        }
+        readModel = new ContainerReadModel();
+        readModel.upsertAll(views);
+    }
+
+    @Benchmark
+    public List<ContainerView> findByZone() {
+        zone = (zone + 1) % ZONE_COUNT;
+        return readModel.findByZone(KosovoContainers.zoneId(zone));
+    }
+
+    @Benchmark
+    public List<ContainerView> findCritical() {
+        return readModel.findCritical();
+    }
+
+    @Benchmark
+    public int countCritical() {
+        return readModel.countCritical();
+    }
+}
@@ -0,0 +1,54 @@
+package eco.kosova.benchmarks;
+
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark për Coordinates.distanceTo (Haversine) kundrejt fastDistanceTo (ekuirektangular).
+ *
+ * Çiftet e pikave gjenerohen me seed fiks brenda kufijve të Kosovës.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CoordinatesDistanceBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    private Coordinates[] from;
+    private Coordinates[] to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(KosovoContainers.SEED);
+        from = new Coordinates[PAIRS];
+        to = new Coordinates[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            from[i] = KosovoContainers.randomPoint(random);
+            to[i] = KosovoContainers.randomPoint(random);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void haversine(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(from[i].distanceTo(to[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void equirectangular(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(from[i].fastDistanceTo(to[i]));
+        }
+    }
+}
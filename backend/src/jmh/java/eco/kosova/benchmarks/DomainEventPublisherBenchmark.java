@@ -0,0 +1,68 @@
+package eco.kosova.benchmarks;
+
+import eco.kosova.domain.events.ContainerFullEvent;
+import eco.kosova.infrastructure.events.DomainEventPublisherImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark për publikimin e domain events nga disa thread-e njëkohësisht.
+ *
+ * Handler-i simulon punë me Blackhole.consumeCPU, kështu që dispatcher-i
+ * mbetet pas producer-ave dhe radha mbushet: "block" mat pritjen e
+ * producer-ave, "drop-oldest" dhe "coalesce" koston e publikimit me radhën plot.
+ * Eventet ndahen në 1000 kontejnerë për thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DomainEventPublisherBenchmark {
+
+    private static final int CONTAINERS = 1000;
+
+    @Param({"block", "drop-oldest", "coalesce"})
+    public String overflowPolicy;
+
+    @Param({"64"})
+    public long handlerTokens;
+
+    private DomainEventPublisherImpl publisher;
+
+    @State(Scope.Thread)
+    public static class Producer {
+        private String zoneId;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            zoneId = "ZONE-" + Thread.currentThread().getId();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // publish() logon çdo event në INFO
+        Logger.getLogger(DomainEventPublisherImpl.class.getName()).setLevel(java.util.logging.Level.WARNING);
+        long tokens = handlerTokens;
+        publisher = new DomainEventPublisherImpl(event -> Blackhole.consumeCPU(tokens), 8192, overflowPolicy, 256, 5000);
+        publisher.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        publisher.close();
+    }
+
+    @Benchmark
+    public void publish(Producer producer) {
+        int container = producer.next++ % CONTAINERS;
+        publisher.publish(new ContainerFullEvent(producer.zoneId + "-C" + container, producer.zoneId, 95));
+    }
+}
@@ -0,0 +1,75 @@
+package eco.kosova.benchmarks;
+
+import eco.kosova.infrastructure.security.JwtAuthenticationFilter;
+import eco.kosova.infrastructure.security.JwtTokenProvider;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark për koston e JwtAuthenticationFilter për kërkesë.
+ *
+ * cacheSize=0 parson dhe verifikon token-in në çdo kërkesë; cacheSize=10000
+ * e merr nga cache-i i token-ave të verifikuar. "anonymous" mat filter-in
+ * pa header Authorization.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "benchmark-secret-key-minimum-256-bits-long");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(tokenProvider, "cacheMaxSize", cacheSize);
+        tokenProvider.init();
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/containers");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + tokenProvider.generateToken("operator", "OPERATOR"));
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/containers");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticated() throws Exception {
+        return filterRequest(authenticatedRequest);
+    }
+
+    @Benchmark
+    public Authentication anonymous() throws Exception {
+        return filterRequest(anonymousRequest);
+    }
+
+    private Authentication filterRequest(MockHttpServletRequest request) throws Exception {
+        // OncePerRequestFilter shënon kërkesën si të filtruar
+        request.clearAttributes();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,80 @@
+package eco.kosova.benchmarks;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Address;
+import eco.kosova.domain.models.valueobjects.ContainerType;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gjenerator i kontejnerëve sintetikë brenda kufijve të Kosovës për benchmarks.
+ *
+ * Me të njëjtin seed gjenerohen gjithmonë të njëjtat të dhëna, që rezultatet
+ * të krahasohen midis versioneve.
+ */
+final class KosovoContainers {
+
+    static final long SEED = 42L;
+    static final String ZONE_ID = "ZONE-BENCH";
+    static final Coordinates DEPOT = new Coordinates(42.6629, 21.1655);
+
+    // Kutia kufizuese e Kosovës
+    private static final double MIN_LATITUDE = 41.8;
+    private static final double LATITUDE_SPAN = 1.5;
+    private static final double MIN_LONGITUDE = 19.9;
+    private static final double LONGITUDE_SPAN = 1.9;
+
+    private static final Address ADDRESS = new Address("Rr. Benchmark", "Prishtinë", "Prishtinë", "10000");
+
+    private KosovoContainers() {
+    }
+
+    static Coordinates randomPoint(Random random) {
+        return new Coordinates(
+            MIN_LATITUDE + random.nextDouble() * LATITUDE_SPAN,
+            MIN_LONGITUDE + random.nextDouble() * LONGITUDE_SPAN
+        );
+    }
+
+    /**
+     * @param count Numri i kontejnerëve
+     * @param random Burimi i rastësisë (me seed fiks)
+     * @param minFill Niveli minimal i mbushjes (%)
+     * @param maxFill Niveli maksimal i mbushjes (%)
+     */
+    static List<Kontenier> generate(int count, Random random, int minFill, int maxFill) {
+        return generate(count, 1, random, minFill, maxFill);
+    }
+
+    /**
+     * Kontejnerët shpërndahen me radhë në {@code zoneCount} zona
+     * (shih {@link #zoneId(int)}); me një zonë përdoret {@link #ZONE_ID}.
+     */
+    static List<Kontenier> generate(int count, int zoneCount, Random random, int minFill, int maxFill) {
+        ContainerType[] types = ContainerType.values();
+        List<Kontenier> containers = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            ContainerType type = types[random.nextInt(types.length)];
+            String zoneId = zoneCount == 1 ? ZONE_ID : zoneId(i % zoneCount);
+            Kontenier container = new Kontenier(
+                "BENCH-" + i, zoneId, type, type.getDefaultCapacity(), randomPoint(random), ADDRESS
+            );
+            container.updateFillLevel(minFill + random.nextInt(maxFill - minFill + 1));
+            container.clearDomainEvents();
+            containers.add(container);
+        }
+        return containers;
+    }
+
+    static String zoneId(int index) {
+        return ZONE_ID + "-" + index;
+    }
+
+    static List<Kontenier> generate(int count, int minFill, int maxFill) {
+        return generate(count, new Random(SEED), minFill, maxFill);
+    }
+}
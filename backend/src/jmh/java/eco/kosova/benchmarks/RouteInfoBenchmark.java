@@ -0,0 +1,47 @@
+package eco.kosova.benchmarks;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.services.NearestNeighborStrategy;
+import eco.kosova.domain.services.RouteOptimizationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark për RouteOptimizationService.getRouteInfo mbi një rrugë të gatshme.
+ *
+ * Cache-i i distancave është bosh, kështu që matet rruga Haversine (pa matricë).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RouteInfoBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int containerCount;
+
+    private List<Kontenier> route;
+    private RouteOptimizationService routeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Logger.getLogger("eco.kosova").setLevel(java.util.logging.Level.WARNING);
+
+        route = new NearestNeighborStrategy().calculateRoute(
+            KosovoContainers.generate(containerCount, 90, 100),
+            KosovoContainers.DEPOT
+        );
+        // getRouteInfo nuk lexon nga repository
+        routeService = new RouteOptimizationService(null);
+    }
+
+    @Benchmark
+    public RouteOptimizationService.RouteInfo getRouteInfo() {
+        return routeService.getRouteInfo(route, KosovoContainers.DEPOT);
+    }
+}
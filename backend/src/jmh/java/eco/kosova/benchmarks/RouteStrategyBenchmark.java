@@ -0,0 +1,54 @@
+package eco.kosova.benchmarks;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.services.LocalSearchStrategy;
+import eco.kosova.domain.services.NearestNeighborStrategy;
+import eco.kosova.domain.services.PriorityBasedStrategy;
+import eco.kosova.domain.services.RouteStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark për strategjitë e rrugës me 1k-100k kontejnerë sintetikë.
+ *
+ * LOCAL_SEARCH mbi {@link LocalSearchStrategy#DEFAULT_MAX_CONTAINERS} kthen
+ * rrugën e Nearest Neighbor, prandaj për 10k+ mat vetëm atë.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RouteStrategyBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int containerCount;
+
+    @Param({"NEAREST_NEIGHBOR", "PRIORITY_BASED", "LOCAL_SEARCH"})
+    public String strategyName;
+
+    private List<Kontenier> containers;
+    private RouteStrategy strategy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Logger.getLogger("eco.kosova").setLevel(java.util.logging.Level.WARNING);
+
+        containers = KosovoContainers.generate(containerCount, 90, 100);
+        strategy = switch (strategyName) {
+            case "NEAREST_NEIGHBOR" -> new NearestNeighborStrategy();
+            case "PRIORITY_BASED" -> new PriorityBasedStrategy();
+            case "LOCAL_SEARCH" -> new LocalSearchStrategy();
+            default -> throw new IllegalArgumentException("Unknown strategy: " + strategyName);
+        };
+    }
+
+    @Benchmark
+    public List<Kontenier> calculateRoute() {
+        return strategy.calculateRoute(containers, KosovoContainers.DEPOT);
+    }
+}
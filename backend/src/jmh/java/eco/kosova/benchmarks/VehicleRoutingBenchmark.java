@@ -0,0 +1,70 @@
+package eco.kosova.benchmarks;
+
+import eco.kosova.domain.models.Kamioni;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import eco.kosova.domain.services.CapacitatedRoutingEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark për CapacitatedRoutingEngine me 5k-50k kontejnerë sintetikë.
+ *
+ * Kontejnerët gjenerohen me seed fiks brenda kufijve të Kosovës, me nivel
+ * mbushjeje 90-100%. Numri i kamionëve mjafton për ~110% të kërkesës totale.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class VehicleRoutingBenchmark {
+
+    private static final long SEED = KosovoContainers.SEED;
+    private static final int[] TRUCK_CAPACITIES = {8000, 12000, 16000};
+
+    @Param({"5000", "20000", "50000"})
+    public int containerCount;
+
+    private List<Kontenier> containers;
+    private List<Kamioni> trucks;
+    private Coordinates depot;
+    private CapacitatedRoutingEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Logger.getLogger("eco.kosova").setLevel(java.util.logging.Level.WARNING);
+
+        containers = KosovoContainers.generate(containerCount, 90, 100);
+
+        long totalDemand = 0;
+        for (Kontenier container : containers) {
+            totalDemand += (long) container.getCapacity() * container.getFillLevel().getValue() / 100;
+        }
+
+        trucks = new ArrayList<>();
+        long fleetCapacity = 0;
+        for (int t = 0; fleetCapacity < totalDemand * 11 / 10; t++) {
+            int capacity = TRUCK_CAPACITIES[t % TRUCK_CAPACITIES.length];
+            trucks.add(new Kamioni(
+                "TRUCK-" + t, "Kamioni " + t, "01-BENCH-" + t, capacity,
+                KosovoContainers.DEPOT, "OPERATOR-1", Instant.EPOCH
+            ));
+            fleetCapacity += capacity;
+        }
+
+        depot = KosovoContainers.DEPOT;
+        engine = new CapacitatedRoutingEngine(SEED, CapacitatedRoutingEngine.DEFAULT_TIME_BUDGET_MS);
+    }
+
+    @Benchmark
+    public CapacitatedRoutingEngine.RoutingPlan solve() {
+        return engine.solve(containers, trucks, depot);
+    }
+}
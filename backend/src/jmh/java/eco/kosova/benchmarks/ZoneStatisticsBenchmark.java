@@ -0,0 +1,71 @@
+package eco.kosova.benchmarks;
+
+import eco.kosova.domain.models.Zone;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.domain.services.WasteMonitoringService;
+import eco.kosova.startup.EcoKosovaApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark për WasteMonitoringService.getZoneStatistics mbi H2 në memorie
+ * (një query GROUP BY për të gjitha zonat).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ZoneStatisticsBenchmark {
+
+    private static final int ZONE_COUNT = 50;
+
+    @Param({"10000", "100000"})
+    public int containerCount;
+
+    private ConfigurableApplicationContext context;
+    private WasteMonitoringService monitoringService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Logger.getLogger("eco.kosova").setLevel(java.util.logging.Level.WARNING);
+
+        context = new SpringApplicationBuilder(EcoKosovaApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"
+            );
+
+        List<Zone> zones = new ArrayList<>(ZONE_COUNT);
+        for (int i = 0; i < ZONE_COUNT; i++) {
+            zones.add(new Zone(KosovoContainers.zoneId(i), "Benchmark " + i, KosovoContainers.DEPOT, "Prishtinë"));
+        }
+        context.getBean(ZoneRepository.class).saveAll(zones);
+        context.getBean(KontenierRepository.class).saveAll(
+            KosovoContainers.generate(containerCount, ZONE_COUNT, new Random(KosovoContainers.SEED), 0, 100)
+        );
+
+        monitoringService = context.getBean(WasteMonitoringService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<WasteMonitoringService.ZoneStatistics> zoneStatistics() {
+        return monitoringService.getZoneStatistics();
+    }
+}
@@ -0,0 +1,41 @@
+package eco.kosova.application.commands;
+
+import eco.kosova.domain.services.WasteMonitoringService.FillLevelReading;
+
+import java.util.List;
+
+/**
+ * Command për përditësimin e nivelit të mbushjes për një grup leximesh nga
+ * sensorët (p.sh. një burst nga gateway-i).
+ * 
+ * Çdo lexim validohet kur krijohet; komanda kufizon vetëm madhësinë e grupit.
+ */
+public final class IngestFillLevelsCommand {
+    
+    public static final int MAX_READINGS = 50_000;
+    
+    private final List<FillLevelReading> readings;
+    
+    public IngestFillLevelsCommand(List<FillLevelReading> readings) {
+        // Validation
+        if (readings == null || readings.isEmpty()) {
+            throw new IllegalArgumentException("At least one reading is required");
+        }
+        if (readings.size() > MAX_READINGS) {
+            throw new IllegalArgumentException(
+                String.format("Too many readings: %d (max %d)", readings.size(), MAX_READINGS)
+            );
+        }
+        
+        this.readings = List.copyOf(readings);
+    }
+    
+    public List<FillLevelReading> getReadings() {
+        return readings;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("IngestFillLevelsCommand{readings=%d}", readings.size());
+    }
+}
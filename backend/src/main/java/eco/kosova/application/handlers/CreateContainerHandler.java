@@ -51,7 +51,7 @@ public class CreateContainerHandler {
             ));
         
         // Konverto ContainerType nga string në enum
-        ContainerType containerType = getContainerTypeFromString(command.getType());
+        ContainerType containerType = ContainerType.fromString(command.getType());
         
         // Krijo value objects
         Coordinates location = new Coordinates(command.getLatitude(), command.getLongitude());
@@ -93,17 +93,5 @@ public class CreateContainerHandler {
         
         return kontenier;
     }
-    
-    private ContainerType getContainerTypeFromString(String type) {
-        for (ContainerType ct : ContainerType.values()) {
-            if (ct.getDisplayName().equalsIgnoreCase(type) || 
-                ct.name().equalsIgnoreCase(type)) {
-                return ct;
-            }
-        }
-        throw new IllegalArgumentException(
-            String.format("Invalid container type: %s", type)
-        );
-    }
 }
 
@@ -4,6 +4,8 @@ import eco.kosova.application.commands.DeleteContainerCommand;
 import eco.kosova.domain.models.Zone;
 import eco.kosova.domain.repositories.KontenierRepository;
 import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.domain.services.LiveRouteService;
+import eco.kosova.domain.services.ZoneDistanceMatrixCache;
 
 import java.util.logging.Logger;
 
@@ -18,13 +20,19 @@ public class DeleteContainerHandler {
     
     private final KontenierRepository kontenierRepository;
     private final ZoneRepository zoneRepository;
+    private final ZoneDistanceMatrixCache distanceCache;
+    private final LiveRouteService liveRouteService;
     
     public DeleteContainerHandler(
             KontenierRepository kontenierRepository,
-            ZoneRepository zoneRepository
+            ZoneRepository zoneRepository,
+            ZoneDistanceMatrixCache distanceCache,
+            LiveRouteService liveRouteService
     ) {
         this.kontenierRepository = kontenierRepository;
         this.zoneRepository = zoneRepository;
+        this.distanceCache = distanceCache;
+        this.liveRouteService = liveRouteService;
     }
     
     public void handle(DeleteContainerCommand command) {
@@ -45,6 +53,8 @@ public class DeleteContainerHandler {
                 zone.removeContainer(command.getContainerId());
                 zoneRepository.save(zone);
             }
+            distanceCache.evictContainer(container.getZoneId(), command.getContainerId());
+            liveRouteService.remove(command.getContainerId());
         }
         
         // Fshin kontejnerin
@@ -41,7 +41,7 @@ public class EmptyContainerHandler {
         // Zbraz kontejnerin
         container.empty();
         
-        // Ruan
+        // Ruan (domain events shkruhen në outbox në të njëjtin transaksion)
         kontenierRepository.save(container);
         
         // Përditëso zone status
@@ -1,23 +1,24 @@
 package eco.kosova.application.handlers;
 
 import eco.kosova.application.queries.GetAllContainersQuery;
-import eco.kosova.domain.models.Kontenier;
-import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.services.ContainerReadModel;
+import eco.kosova.domain.services.ContainerReadModel.ContainerView;
 
 import java.util.List;
 
 /**
  * Handler për GetAllContainersQuery.
+ * Lexon nga read model-i në memorie, pa shkuar në databazë.
  */
 public class GetAllContainersHandler {
     
-    private final KontenierRepository kontenierRepository;
+    private final ContainerReadModel readModel;
     
-    public GetAllContainersHandler(KontenierRepository kontenierRepository) {
-        this.kontenierRepository = kontenierRepository;
+    public GetAllContainersHandler(ContainerReadModel readModel) {
+        this.readModel = readModel;
     }
     
-    public List<Kontenier> handle(GetAllContainersQuery query) {
-        return kontenierRepository.findAll();
+    public List<ContainerView> handle(GetAllContainersQuery query) {
+        return readModel.findAll();
     }
 }
\ No newline at end of file
@@ -1,23 +1,24 @@
 package eco.kosova.application.handlers;
 
 import eco.kosova.application.queries.GetContainersByZoneQuery;
-import eco.kosova.domain.models.Kontenier;
-import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.services.ContainerReadModel;
+import eco.kosova.domain.services.ContainerReadModel.ContainerView;
 
 import java.util.List;
 
 /**
  * Handler për GetContainersByZoneQuery.
+ * Lexon nga indeksi i zonës në read model.
  */
 public class GetContainersByZoneHandler {
     
-    private final KontenierRepository kontenierRepository;
+    private final ContainerReadModel readModel;
     
-    public GetContainersByZoneHandler(KontenierRepository kontenierRepository) {
-        this.kontenierRepository = kontenierRepository;
+    public GetContainersByZoneHandler(ContainerReadModel readModel) {
+        this.readModel = readModel;
     }
     
-    public List<Kontenier> handle(GetContainersByZoneQuery query) {
-        return kontenierRepository.findByZoneId(query.getZoneId());
+    public List<ContainerView> handle(GetContainersByZoneQuery query) {
+        return readModel.findByZone(query.getZoneId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package eco.kosova.application.handlers;
+
+import eco.kosova.application.queries.GetContainersAfterQuery;
+import eco.kosova.application.queries.GetContainersPageQuery;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.repositories.ResultPage;
+
+import java.util.List;
+
+/**
+ * Handler për GetContainersPageQuery dhe GetContainersAfterQuery.
+ * Faqja lexohet nga databaza; nuk ngarkohet e gjithë tabela.
+ */
+public class GetContainersPageHandler {
+    
+    private final KontenierRepository kontenierRepository;
+    
+    public GetContainersPageHandler(KontenierRepository kontenierRepository) {
+        this.kontenierRepository = kontenierRepository;
+    }
+    
+    public ResultPage<Kontenier> handle(GetContainersPageQuery query) {
+        return kontenierRepository.findPage(query.getPageQuery());
+    }
+    
+    public List<Kontenier> handle(GetContainersAfterQuery query) {
+        return kontenierRepository.findAfter(query.getAfterId(), query.getLimit());
+    }
+}
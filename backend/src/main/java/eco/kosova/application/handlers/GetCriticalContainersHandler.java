@@ -1,23 +1,24 @@
 package eco.kosova.application.handlers;
 
 import eco.kosova.application.queries.GetCriticalContainersQuery;
-import eco.kosova.domain.models.Kontenier;
-import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.services.ContainerReadModel;
+import eco.kosova.domain.services.ContainerReadModel.ContainerView;
 
 import java.util.List;
 
 /**
  * Handler për GetCriticalContainersQuery.
+ * Lexon nga indeksi i kontejnerëve kritikë në read model.
  */
 public class GetCriticalContainersHandler {
     
-    private final KontenierRepository kontenierRepository;
+    private final ContainerReadModel readModel;
     
-    public GetCriticalContainersHandler(KontenierRepository kontenierRepository) {
-        this.kontenierRepository = kontenierRepository;
+    public GetCriticalContainersHandler(ContainerReadModel readModel) {
+        this.readModel = readModel;
     }
     
-    public List<Kontenier> handle(GetCriticalContainersQuery query) {
-        return kontenierRepository.findCriticalContainers();
+    public List<ContainerView> handle(GetCriticalContainersQuery query) {
+        return readModel.findCritical();
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package eco.kosova.application.handlers;
+
+import eco.kosova.application.commands.IngestFillLevelsCommand;
+import eco.kosova.domain.services.WasteMonitoringService;
+import eco.kosova.domain.services.WasteMonitoringService.FillLevelIngestSummary;
+
+import java.util.logging.Logger;
+
+/**
+ * Handler për IngestFillLevelsCommand.
+ * 
+ * Delegon në WasteMonitoringService, që aplikon të gjitha leximet me një
+ * ruajtje në batch dhe një rillogaritje statusi për çdo zonë të prekur.
+ */
+public class IngestFillLevelsHandler {
+    
+    private static final Logger logger = Logger.getLogger(
+        IngestFillLevelsHandler.class.getName()
+    );
+    
+    private final WasteMonitoringService monitoringService;
+    
+    public IngestFillLevelsHandler(WasteMonitoringService monitoringService) {
+        this.monitoringService = monitoringService;
+    }
+    
+    /**
+     * Ekzekuton komandën për grupin e leximeve.
+     * 
+     * @param command Komanda që do të ekzekutohet
+     * @return Përmbledhja e përditësimit
+     */
+    public FillLevelIngestSummary handle(IngestFillLevelsCommand command) {
+        logger.fine(String.format(
+            "Handling IngestFillLevelsCommand with %d readings",
+            command.getReadings().size()
+        ));
+        
+        FillLevelIngestSummary summary = monitoringService.ingestFillLevels(command.getReadings());
+        
+        if (!summary.getUnknownContainerIds().isEmpty()) {
+            logger.warning(String.format(
+                "Skipped readings for %d unknown containers",
+                summary.getUnknownContainerIds().size()
+            ));
+        }
+        return summary;
+    }
+}
@@ -1,7 +1,6 @@
 package eco.kosova.application.handlers;
 
 import eco.kosova.application.commands.ScheduleCollectionCommand;
-import eco.kosova.domain.events.DomainEventPublisher;
 import eco.kosova.domain.models.Kontenier;
 import eco.kosova.domain.repositories.KontenierRepository;
 
@@ -17,14 +16,9 @@ public class ScheduleCollectionHandler {
     );
     
     private final KontenierRepository kontenierRepository;
-    private final DomainEventPublisher eventPublisher;
     
-    public ScheduleCollectionHandler(
-            KontenierRepository kontenierRepository,
-            DomainEventPublisher eventPublisher
-    ) {
+    public ScheduleCollectionHandler(KontenierRepository kontenierRepository) {
         this.kontenierRepository = kontenierRepository;
-        this.eventPublisher = eventPublisher;
     }
     
     public void handle(ScheduleCollectionCommand command) {
@@ -41,11 +35,7 @@ public class ScheduleCollectionHandler {
         // Thirr domain method (që gjeneron events)
         container.scheduleCollection(command.getScheduledTime());
         
-        // Publiko domain events
-        eventPublisher.publishAll(container.getDomainEvents());
-        container.clearDomainEvents();
-        
-        // Ruan aggregate
+        // Ruan aggregate; domain events shkruhen në outbox në të njëjtin transaksion
         kontenierRepository.save(container);
         
         logger.info(String.format(
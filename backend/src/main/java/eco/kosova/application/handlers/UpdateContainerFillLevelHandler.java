@@ -1,7 +1,7 @@
 package eco.kosova.application.handlers;
 
 import eco.kosova.application.commands.UpdateContainerFillLevelCommand;
-import eco.kosova.domain.services.WasteMonitoringService;
+import eco.kosova.domain.services.FillLevelWriteBehindBuffer;
 
 import java.util.logging.Logger;
 
@@ -12,6 +12,9 @@ import java.util.logging.Logger;
  * - Koordinojnë domain services dhe repositories
  * - Nuk përmbajnë business logic (që është në Domain Layer)
  * - Publikojnë domain events
+ * 
+ * Leximet kalojnë nga buffer-i write-behind: shkruhen në grup, përveç atyre
+ * që e çojnë kontejnerin në nivel kritik.
  */
 public class UpdateContainerFillLevelHandler {
     
@@ -19,10 +22,10 @@ public class UpdateContainerFillLevelHandler {
         UpdateContainerFillLevelHandler.class.getName()
     );
     
-    private final WasteMonitoringService monitoringService;
+    private final FillLevelWriteBehindBuffer fillLevelBuffer;
     
-    public UpdateContainerFillLevelHandler(WasteMonitoringService monitoringService) {
-        this.monitoringService = monitoringService;
+    public UpdateContainerFillLevelHandler(FillLevelWriteBehindBuffer fillLevelBuffer) {
+        this.fillLevelBuffer = fillLevelBuffer;
     }
     
     /**
@@ -37,14 +40,14 @@ public class UpdateContainerFillLevelHandler {
         ));
         
         try {
-            // Delego logjikën në Domain Service
-            monitoringService.updateContainerFillLevel(
+            // Delego në buffer-in write-behind
+            fillLevelBuffer.submit(
                 command.getContainerId(),
                 command.getFillLevel()
             );
             
             logger.info(String.format(
-                "Successfully updated fill level for container %s",
+                "Accepted fill level for container %s",
                 command.getContainerId()
             ));
             
@@ -8,6 +8,8 @@ import eco.kosova.domain.models.valueobjects.ContainerType;
 import eco.kosova.domain.models.valueobjects.Coordinates;
 import eco.kosova.domain.repositories.KontenierRepository;
 import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.domain.services.LiveRouteService;
+import eco.kosova.domain.services.ZoneDistanceMatrixCache;
 
 import java.util.logging.Logger;
 
@@ -22,13 +24,19 @@ public class UpdateContainerHandler {
     
     private final KontenierRepository kontenierRepository;
     private final ZoneRepository zoneRepository;
+    private final ZoneDistanceMatrixCache distanceCache;
+    private final LiveRouteService liveRouteService;
     
     public UpdateContainerHandler(
             KontenierRepository kontenierRepository,
-            ZoneRepository zoneRepository
+            ZoneRepository zoneRepository,
+            ZoneDistanceMatrixCache distanceCache,
+            LiveRouteService liveRouteService
     ) {
         this.kontenierRepository = kontenierRepository;
         this.zoneRepository = zoneRepository;
+        this.distanceCache = distanceCache;
+        this.liveRouteService = liveRouteService;
     }
     
     public void handle(UpdateContainerCommand command) {
@@ -58,6 +66,7 @@ public class UpdateContainerHandler {
             zoneRepository.save(newZone);
             
             // Përditëso zoneId - përdor metodën ekzistuese relocateToZone
+            distanceCache.evictContainer(kontenier.getZoneId(), command.getId());
             kontenier.relocateToZone(command.getZoneId());
         }
         
@@ -67,6 +76,10 @@ public class UpdateContainerHandler {
                 command.getLatitude(),
                 command.getLongitude()
             );
+            if (!newLocation.equals(kontenier.getLocation())) {
+                // Rreshti i kontejnerit në matricën e distancave rillogaritet në leximin e radhës
+                distanceCache.evictContainer(kontenier.getZoneId(), command.getId());
+            }
             kontenier.updateLocation(newLocation);
         }
         
@@ -87,6 +100,9 @@ public class UpdateContainerHandler {
         // Ruan
         kontenierRepository.save(kontenier);
         
+        // Përshtat rrugën live (zona, vendndodhja ose gatishmëria mund të kenë ndryshuar)
+        liveRouteService.refresh(kontenier);
+        
         logger.info(String.format(
             "Container updated successfully: %s",
             command.getId()
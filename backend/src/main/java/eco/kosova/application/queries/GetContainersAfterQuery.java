@@ -0,0 +1,38 @@
+package eco.kosova.application.queries;
+
+import eco.kosova.domain.repositories.PageQuery;
+
+/**
+ * Query për keyset pagination të kontejnerëve: kontejnerët me ID pas
+ * cursor-it, të renditur sipas ID-së.
+ */
+public final class GetContainersAfterQuery {
+    
+    private final String afterId;
+    private final int limit;
+    
+    public GetContainersAfterQuery(String afterId, int limit) {
+        this.afterId = PageQuery.requireCursor(afterId);
+        this.limit = limit;
+    }
+    
+    public String getAfterId() {
+        return afterId;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    /**
+     * Factory method për krijimin e query-së.
+     */
+    public static GetContainersAfterQuery of(String afterId, int limit) {
+        return new GetContainersAfterQuery(afterId, limit);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("GetContainersAfterQuery{afterId='%s', limit=%d}", afterId, limit);
+    }
+}
@@ -0,0 +1,36 @@
+package eco.kosova.application.queries;
+
+import eco.kosova.domain.repositories.PageQuery;
+
+import java.util.Objects;
+
+/**
+ * Query për të marrë një faqe kontejnerësh (offset, me renditje).
+ */
+public final class GetContainersPageQuery {
+    
+    private final PageQuery pageQuery;
+    
+    public GetContainersPageQuery(PageQuery pageQuery) {
+        this.pageQuery = Objects.requireNonNull(pageQuery, "Page query cannot be null");
+    }
+    
+    public PageQuery getPageQuery() {
+        return pageQuery;
+    }
+    
+    /**
+     * Factory method për krijimin e query-së.
+     */
+    public static GetContainersPageQuery of(int page, int size, String sort) {
+        return new GetContainersPageQuery(PageQuery.of(page, size, sort));
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(
+            "GetContainersPageQuery{page=%d, size=%d, sort='%s'}",
+            pageQuery.getPage(), pageQuery.getSize(), pageQuery.getSortBy()
+        );
+    }
+}
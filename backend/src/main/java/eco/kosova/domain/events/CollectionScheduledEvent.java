@@ -27,6 +27,18 @@ public final class CollectionScheduledEvent implements DomainEvent {
         this.occurredOn = Instant.now();
     }
     
+    /**
+     * Rindërton eventin e ruajtur (p.sh. nga outbox-i) me ID-në dhe kohën origjinale.
+     */
+    public CollectionScheduledEvent(String eventId, String containerId, String zoneId,
+                                    Instant scheduledTime, Instant occurredOn) {
+        this.eventId = Objects.requireNonNull(eventId, "Event ID cannot be null");
+        this.containerId = Objects.requireNonNull(containerId, "Container ID cannot be null");
+        this.zoneId = Objects.requireNonNull(zoneId, "Zone ID cannot be null");
+        this.scheduledTime = Objects.requireNonNull(scheduledTime, "Scheduled time cannot be null");
+        this.occurredOn = Objects.requireNonNull(occurredOn, "Occurred on cannot be null");
+    }
+    
     @Override
     public String getEventId() {
         return eventId;
@@ -0,0 +1,79 @@
+package eco.kosova.domain.events;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Domain Event që aktivizohet kur një kontejner zbrazet.
+ * Ky event shkakton:
+ * - Heqjen e kontejnerit nga rruga live e zonës
+ */
+public final class ContainerEmptiedEvent implements DomainEvent {
+    
+    private final String eventId;
+    private final String containerId;
+    private final String zoneId;
+    private final Instant occurredOn;
+    
+    public ContainerEmptiedEvent(String containerId, String zoneId) {
+        this.eventId = UUID.randomUUID().toString();
+        this.containerId = Objects.requireNonNull(containerId, "Container ID cannot be null");
+        this.zoneId = Objects.requireNonNull(zoneId, "Zone ID cannot be null");
+        this.occurredOn = Instant.now();
+    }
+    
+    /**
+     * Rindërton eventin e ruajtur (p.sh. nga outbox-i) me ID-në dhe kohën origjinale.
+     */
+    public ContainerEmptiedEvent(String eventId, String containerId, String zoneId, Instant occurredOn) {
+        this.eventId = Objects.requireNonNull(eventId, "Event ID cannot be null");
+        this.containerId = Objects.requireNonNull(containerId, "Container ID cannot be null");
+        this.zoneId = Objects.requireNonNull(zoneId, "Zone ID cannot be null");
+        this.occurredOn = Objects.requireNonNull(occurredOn, "Occurred on cannot be null");
+    }
+    
+    @Override
+    public String getEventId() {
+        return eventId;
+    }
+    
+    @Override
+    public Instant occurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String getAggregateId() {
+        return containerId;
+    }
+    
+    public String getContainerId() {
+        return containerId;
+    }
+    
+    public String getZoneId() {
+        return zoneId;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ContainerEmptiedEvent that = (ContainerEmptiedEvent) o;
+        return Objects.equals(eventId, that.eventId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(
+            "ContainerEmptiedEvent{id='%s', container='%s', zone='%s', time=%s}",
+            eventId, containerId, zoneId, occurredOn
+        );
+    }
+}
@@ -27,6 +27,17 @@ public final class ContainerFullEvent implements DomainEvent {
         this.occurredOn = Instant.now();
     }
     
+    /**
+     * Rindërton eventin e ruajtur (p.sh. nga outbox-i) me ID-në dhe kohën origjinale.
+     */
+    public ContainerFullEvent(String eventId, String containerId, String zoneId, int fillLevel, Instant occurredOn) {
+        this.eventId = Objects.requireNonNull(eventId, "Event ID cannot be null");
+        this.containerId = Objects.requireNonNull(containerId, "Container ID cannot be null");
+        this.zoneId = Objects.requireNonNull(zoneId, "Zone ID cannot be null");
+        this.fillLevel = fillLevel;
+        this.occurredOn = Objects.requireNonNull(occurredOn, "Occurred on cannot be null");
+    }
+    
     @Override
     public String getEventId() {
         return eventId;
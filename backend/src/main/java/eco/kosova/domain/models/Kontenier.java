@@ -1,6 +1,7 @@
 package eco.kosova.domain.models;
 
 import eco.kosova.domain.events.CollectionScheduledEvent;
+import eco.kosova.domain.events.ContainerEmptiedEvent;
 import eco.kosova.domain.events.ContainerFullEvent;
 import eco.kosova.domain.events.DomainEvent;
 import eco.kosova.domain.models.valueobjects.*;
@@ -84,7 +85,7 @@ public class Kontenier {
         this.address = Objects.requireNonNull(address, "Address cannot be null");
         
         // Initial state
-        this.fillLevel = new FillLevel(0);
+        this.fillLevel = FillLevel.of(0);
         this.status = ContainerStatus.OPERATIONAL;
         this.operational = true;
         this.domainEvents = new ArrayList<>();
@@ -122,8 +123,10 @@ public class Kontenier {
         this.operational = operational;
         this.lastEmptied = lastEmptied;
         this.createdAt = createdAt;
-        this.lastUpdated = Instant.now();
-        this.modifiedAt = Instant.now();
+        // Instant është immutable; një instancë mjafton për të dyja fushat
+        Instant now = Instant.now();
+        this.lastUpdated = now;
+        this.modifiedAt = now;
         this.domainEvents = new ArrayList<>();
     }
     
@@ -137,7 +140,7 @@ public class Kontenier {
      */
     public void updateFillLevel(int newLevel) {
         FillLevel oldFillLevel = this.fillLevel;
-        FillLevel newFillLevel = new FillLevel(newLevel);
+        FillLevel newFillLevel = FillLevel.of(newLevel);
         
         // Kontrollo nëse niveli është bërë kritik
         if (newFillLevel.isCritical() && !oldFillLevel.isCritical()) {
@@ -159,6 +162,28 @@ public class Kontenier {
         this.modifiedAt = Instant.now();
     }
     
+    /**
+     * Kalon në FULL një kontejner operativ me nivel kritik që ka mbetur
+     * OPERATIONAL (p.sh. i importuar ose i rindërtuar me nivel të lartë).
+     * Gjeneron ContainerFullEvent kur statusi ndryshon.
+     *
+     * @return true nëse statusi u ndryshua
+     */
+    public boolean markFullIfCritical() {
+        if (!needsUrgentCollection() || this.status != ContainerStatus.OPERATIONAL) {
+            return false;
+        }
+
+        this.addDomainEvent(new ContainerFullEvent(
+            this.id,
+            this.zoneId,
+            this.fillLevel.getValue()
+        ));
+        this.status = ContainerStatus.FULL;
+        this.modifiedAt = Instant.now();
+        return true;
+    }
+
     /**
      * Zbraz kontejnerin (pas mbledhjes).
      * Reset fill level në 0 dhe përditëso statusin.
@@ -170,11 +195,13 @@ public class Kontenier {
             );
         }
         
-        this.fillLevel = new FillLevel(0);
+        this.fillLevel = FillLevel.of(0);
         this.status = ContainerStatus.OPERATIONAL;
         this.lastEmptied = Instant.now();
         this.lastUpdated = Instant.now();
         this.modifiedAt = Instant.now();
+        
+        this.addDomainEvent(new ContainerEmptiedEvent(this.id, this.zoneId));
     }
     
     /**
@@ -279,14 +306,14 @@ public class Kontenier {
     
     /**
      * Merr të gjitha domain events që janë gjeneruar
-     * (për t'u publikuar nga Application Layer)
+     * (KontenierRepository i shkruan në outbox kur ruan kontejnerin)
      */
     public Collection<DomainEvent> getDomainEvents() {
         return Collections.unmodifiableCollection(domainEvents);
     }
     
     /**
-     * Pastro domain events pas publikimit
+     * Pastro domain events pasi janë ruajtur në outbox
      */
     public void clearDomainEvents() {
         this.domainEvents.clear();
@@ -150,20 +150,32 @@ public class Zone {
      * @param totalCount Numri total i kontejnerëve në zonë
      */
     public void updateStatusBasedOnContainers(int criticalCount, int totalCount) {
+        this.status = statusForContainers(criticalCount, totalCount, criticalThreshold);
+        
         if (totalCount == 0) {
-            this.status = ZoneStatus.INACTIVE;
             return;
         }
         
-        double criticalPercentage = (double) criticalCount / totalCount * 100;
-        
-        if (criticalPercentage >= criticalThreshold) {
-            this.status = ZoneStatus.CRITICAL;
-        } else {
-            this.status = ZoneStatus.ACTIVE;
+        this.modifiedAt = Instant.now();
+    }
+    
+    /**
+     * Llogarit statusin e një zone nga numrat e kontejnerëve, pa e ngarkuar
+     * aggregate-in (p.sh. për përditësimin e të gjitha zonave me një query).
+     * 
+     * @param criticalCount Numri i kontejnerëve kritikë
+     * @param totalCount Numri total i kontejnerëve në zonë
+     * @param criticalThreshold Përqindja e kontejnerëve kritikë për CRITICAL
+     * @return INACTIVE, CRITICAL ose ACTIVE
+     */
+    public static ZoneStatus statusForContainers(int criticalCount, int totalCount, int criticalThreshold) {
+        if (totalCount == 0) {
+            return ZoneStatus.INACTIVE;
         }
         
-        this.modifiedAt = Instant.now();
+        double criticalPercentage = (double) criticalCount / totalCount * 100;
+        
+        return criticalPercentage >= criticalThreshold ? ZoneStatus.CRITICAL : ZoneStatus.ACTIVE;
     }
     
     /**
@@ -1,6 +1,8 @@
 package eco.kosova.domain.models.valueobjects;
 
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Value Object për adresën fizike.
@@ -13,6 +15,10 @@ public final class Address {
     private final String municipality;
     private final String postalCode;
     
+    // Qytetet dhe komunat përsëriten në mijëra adresa; ruhet një kopje e vetme e secilit emër
+    private static final int MAX_CANONICAL_NAMES = 4096;
+    private static final ConcurrentMap<String, String> CANONICAL_NAMES = new ConcurrentHashMap<>();
+    
     public Address(String street, String city, String municipality, String postalCode) {
         if (street == null || street.isBlank()) {
             throw new IllegalArgumentException("Street cannot be empty");
@@ -25,8 +31,8 @@ public final class Address {
         }
         
         this.street = street.trim();
-        this.city = city.trim();
-        this.municipality = municipality.trim();
+        this.city = canonical(city.trim());
+        this.municipality = canonical(municipality.trim());
         this.postalCode = postalCode != null ? postalCode.trim() : "";
     }
     
@@ -46,6 +52,21 @@ public final class Address {
         return postalCode;
     }
     
+    /**
+     * Kthen kopjen e përbashkët të emrit; kur pool-i është plot, emrin e dhënë.
+     */
+    private static String canonical(String name) {
+        String existing = CANONICAL_NAMES.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        if (CANONICAL_NAMES.size() >= MAX_CANONICAL_NAMES) {
+            return name;
+        }
+        existing = CANONICAL_NAMES.putIfAbsent(name, name);
+        return existing != null ? existing : name;
+    }
+    
     /**
      * Formaton adresën për display
      */
@@ -1,5 +1,9 @@
 package eco.kosova.domain.models.valueobjects;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Enum që përfaqëson llojet e ndryshme të kontejnerëve të mbeturinave.
  */
@@ -39,6 +43,16 @@ public enum ContainerType {
     private final String colorCode;
     private final int defaultCapacity; // në litra
     
+    // Emri (PLASTIC) dhe emri i shfaqur (Plastikë), me shkronja të vogla
+    private static final Map<String, ContainerType> BY_NAME = new HashMap<>();
+    
+    static {
+        for (ContainerType type : values()) {
+            BY_NAME.put(type.name().toLowerCase(Locale.ROOT), type);
+            BY_NAME.put(type.displayName.toLowerCase(Locale.ROOT), type);
+        }
+    }
+    
     ContainerType(String displayName, String description, String colorCode, int defaultCapacity) {
         this.displayName = displayName;
         this.description = description;
@@ -46,6 +60,21 @@ public enum ContainerType {
         this.defaultCapacity = defaultCapacity;
     }
     
+    /**
+     * Gjen llojin sipas emrit ose emrit të shfaqur, pa dallim shkronjash.
+     * 
+     * @throws IllegalArgumentException nëse lloji nuk njihet
+     */
+    public static ContainerType fromString(String value) {
+        ContainerType type = value != null ? BY_NAME.get(value.toLowerCase(Locale.ROOT)) : null;
+        if (type == null) {
+            throw new IllegalArgumentException(
+                String.format("Invalid container type: %s", value)
+            );
+        }
+        return type;
+    }
+    
     public String getDisplayName() {
         return displayName;
     }
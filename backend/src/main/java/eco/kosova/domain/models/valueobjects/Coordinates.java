@@ -15,6 +15,11 @@ public final class Coordinates {
     private final double latitude;
     private final double longitude;
     
+    // cos(latitude), i llogaritur një herë për distancën e shpejtë
+    private final double cosLatitude;
+    
+    private static final double EARTH_RADIUS_METERS = 6371.0 * 1000;
+    
     // Kufij validimi
     private static final double MIN_LATITUDE = -90.0;
     private static final double MAX_LATITUDE = 90.0;
@@ -25,6 +30,7 @@ public final class Coordinates {
         validateCoordinates(latitude, longitude);
         this.latitude = latitude;
         this.longitude = longitude;
+        this.cosLatitude = Math.cos(Math.toRadians(latitude));
     }
     
     private void validateCoordinates(double lat, double lon) {
@@ -72,6 +78,20 @@ public final class Coordinates {
         return EARTH_RADIUS_KM * c * 1000; // Convert to meters
     }
     
+    /**
+     * Distanca e përafërt në metra me projeksion ekuirektangular.
+     * 
+     * Nuk bën asnjë thirrje trigonometrike: përdor cos(latitude) të llogaritur
+     * në konstruktor (mesatarja e dy pikave). Brenda Kosovës gabimi relativ
+     * ndaj Haversine është nën 0.01%, prandaj përdoret për krahasime në
+     * algoritmet e rrugëve; për distancat që raportohen përdor {@link #distanceTo}.
+     */
+    public double fastDistanceTo(Coordinates other) {
+        double x = Math.toRadians(other.longitude - this.longitude) * 0.5 * (this.cosLatitude + other.cosLatitude);
+        double y = Math.toRadians(other.latitude - this.latitude);
+        return EARTH_RADIUS_METERS * Math.sqrt(x * x + y * y);
+    }
+    
     /**
      * Kontrollon nëse koordinatat janë në Kosovë
      * Kosovo bounds: Lat 41.8-43.3, Lon 19.9-21.8
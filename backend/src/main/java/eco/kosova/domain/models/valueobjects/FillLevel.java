@@ -1,7 +1,5 @@
 package eco.kosova.domain.models.valueobjects;
 
-import java.util.Objects;
-
 /**
  * Value Object që përfaqëson nivelin e mbushjes së një kontejneri.
  * Immutable dhe self-validating.
@@ -21,6 +19,28 @@ public final class FillLevel {
     private static final int WARNING_THRESHOLD = 70;
     private static final int EMPTY_THRESHOLD = 10;
     
+    // Vetëm 101 vlera të mundshme: një instancë e përbashkët për secilën
+    private static final FillLevel[] CACHE = new FillLevel[101];
+    
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new FillLevel(i);
+        }
+    }
+    
+    /**
+     * Kthen instancën e përbashkët për vlerën e dhënë (pa alokim).
+     * 
+     * @param value Niveli i mbushjes (0-100)
+     * @throws IllegalArgumentException nëse vlera është jashtë 0-100
+     */
+    public static FillLevel of(int value) {
+        if (value < 0 || value > 100) {
+            return new FillLevel(value);
+        }
+        return CACHE[value];
+    }
+    
     public FillLevel(int value) {
         if (value < 0 || value > 100) {
             throw new IllegalArgumentException(
@@ -97,7 +117,7 @@ public final class FillLevel {
     
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Integer.hashCode(value);
     }
     
     @Override
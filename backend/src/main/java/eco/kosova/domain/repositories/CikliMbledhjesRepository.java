@@ -15,6 +15,10 @@ public interface CikliMbledhjesRepository {
     
     List<CikliMbledhjes> findAll();
     
+    ResultPage<CikliMbledhjes> findPage(PageQuery query);
+    
+    List<CikliMbledhjes> findAfter(String afterId, int limit);
+    
     List<CikliMbledhjes> findByZoneId(String zoneId);
     
     List<CikliMbledhjes> findByKamioniId(String kamioniId);
@@ -4,8 +4,10 @@ import eco.kosova.domain.models.Kontenier;
 import eco.kosova.domain.models.valueobjects.ContainerStatus;
 import eco.kosova.domain.models.valueobjects.ContainerType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repository interface për Kontenier aggregate.
@@ -29,6 +31,14 @@ public interface KontenierRepository {
      */
     Optional<Kontenier> findById(String id);
     
+    /**
+     * Gjen kontejnerët me ID-të e dhëna; ID-të që nuk ekzistojnë anashkalohen
+     * 
+     * @param ids ID-të e kontejnerëve
+     * @return Lista e kontejnerëve të gjetur
+     */
+    List<Kontenier> findAllById(Collection<String> ids);
+    
     /**
      * Merr të gjitha kontejnerët
      * 
@@ -36,6 +46,32 @@ public interface KontenierRepository {
      */
     List<Kontenier> findAll();
     
+    /**
+     * Merr një faqe kontejnerësh, të renditur dhe të kufizuar në databazë
+     * 
+     * @param query Faqja, madhësia dhe renditja
+     * @return Faqja me numrin total të kontejnerëve
+     */
+    ResultPage<Kontenier> findPage(PageQuery query);
+    
+    /**
+     * Keyset pagination: kontejnerët me ID pas {@code afterId}, sipas ID-së.
+     * Kostoja nuk varet nga thellësia e faqes.
+     * 
+     * @param afterId ID-ja e fundit e faqes së mëparshme (null për fillimin)
+     * @param limit Numri maksimal i kontejnerëve
+     * @return Lista e kontejnerëve
+     */
+    List<Kontenier> findAfter(String afterId, int limit);
+    
+    /**
+     * Kalon nëpër të gjithë kontejnerët një nga një, pa i mbajtur në memorie
+     * (p.sh. për eksportet). Rreshtat lexohen me cursor nga databaza.
+     * 
+     * @param action Veprimi për çdo kontejner
+     */
+    void forEach(Consumer<Kontenier> action);
+    
     /**
      * Gjen kontejnerët e një zone specifike
      * 
@@ -74,6 +110,31 @@ public interface KontenierRepository {
      */
     List<Kontenier> findContainersNeedingCollection();
     
+    /**
+     * Gjen kontejnerët operativë me nivel kritik që kanë ende statusin
+     * OPERATIONAL (nuk janë shënuar FULL)
+     * 
+     * @return Lista e kontejnerëve me status të pasinkronizuar
+     */
+    List<Kontenier> findCriticalNotMarkedFull();
+    
+    /**
+     * Llogarit agregatet e kontejnerëve (totalë, kritikë, operativë, niveli
+     * mesatar) për çdo zonë me një query të vetme. Zonat pa kontejnerë
+     * kthehen me vlera zero.
+     * 
+     * @return Agregatet për të gjitha zonat
+     */
+    List<ZoneContainerStats> aggregateByZone();
+    
+    /**
+     * Si {@link #aggregateByZone()}, por vetëm për zonat e dhëna
+     * 
+     * @param zoneIds ID-të e zonave
+     * @return Agregatet për zonat ekzistuese
+     */
+    List<ZoneContainerStats> aggregateByZoneIds(Collection<String> zoneIds);
+    
     /**
      * Gjen kontejnerët operativë në një zonë
      * 
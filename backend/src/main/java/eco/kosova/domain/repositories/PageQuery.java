@@ -0,0 +1,73 @@
+package eco.kosova.domain.repositories;
+
+import java.util.Locale;
+
+/**
+ * Kërkesë për një faqe rezultatesh (offset), e pavarur nga teknologjia e
+ * persistence. Renditja parazgjedhur është sipas ID-së, që faqet të jenë
+ * të qëndrueshme.
+ */
+public final class PageQuery {
+
+    public static final int MAX_SIZE = 500;
+    public static final String DEFAULT_SORT = "id";
+
+    private final int page;
+    private final int size;
+    private final String sortBy;
+    private final boolean descending;
+
+    private PageQuery(int page, int size, String sortBy, boolean descending) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index cannot be negative");
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException(
+                String.format("Page size must be between 1 and %d", MAX_SIZE)
+            );
+        }
+        this.page = page;
+        this.size = size;
+        this.sortBy = sortBy;
+        this.descending = descending;
+    }
+
+    public static PageQuery of(int page, int size) {
+        return new PageQuery(page, size, DEFAULT_SORT, false);
+    }
+
+    /**
+     * @param sort Renditja në formatin "fusha" ose "fusha,desc" (null = sipas ID-së)
+     */
+    public static PageQuery of(int page, int size, String sort) {
+        if (sort == null || sort.isBlank()) {
+            return of(page, size);
+        }
+        String[] parts = sort.split(",");
+        boolean descending = parts.length > 1 && "desc".equals(parts[1].trim().toLowerCase(Locale.ROOT));
+        return new PageQuery(page, size, parts[0].trim(), descending);
+    }
+
+    /**
+     * Kontrollon cursor-in e keyset pagination (?after=ID); një cursor bosh refuzohet.
+     *
+     * @param afterId ID-ja pas së cilës fillon faqja
+     * @return Cursor-i i pandryshuar
+     */
+    public static String requireCursor(String afterId) {
+        if (afterId == null || afterId.isBlank()) {
+            throw new IllegalArgumentException("Cursor cannot be empty");
+        }
+        return afterId;
+    }
+
+    public boolean isSortedById() {
+        return DEFAULT_SORT.equals(sortBy) && !descending;
+    }
+
+    // Getters
+    public int getPage() { return page; }
+    public int getSize() { return size; }
+    public String getSortBy() { return sortBy; }
+    public boolean isDescending() { return descending; }
+}
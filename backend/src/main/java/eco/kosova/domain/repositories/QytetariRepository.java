@@ -14,6 +14,10 @@ public interface QytetariRepository {
     
     List<Qytetari> findAll();
     
+    ResultPage<Qytetari> findPage(PageQuery query);
+    
+    List<Qytetari> findAfter(String afterId, int limit);
+    
     Optional<Qytetari> findByName(String name);
     
     Qytetari save(Qytetari qytetari);
@@ -0,0 +1,39 @@
+package eco.kosova.domain.repositories;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Një faqe rezultatesh e lexuar nga repository, bashkë me numrin total.
+ */
+public final class ResultPage<T> {
+
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+
+    public ResultPage(List<T> content, int page, int size, long totalElements) {
+        this.content = Collections.unmodifiableList(content);
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+    }
+
+    public <R> ResultPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().map(mapper).collect(Collectors.toList());
+        return new ResultPage<>(mapped, page, size, totalElements);
+    }
+
+    public boolean isLast() {
+        return (long) (page + 1) * size >= totalElements;
+    }
+
+    // Getters
+    public List<T> getContent() { return content; }
+    public int getPage() { return page; }
+    public int getSize() { return size; }
+    public long getTotalElements() { return totalElements; }
+}
@@ -0,0 +1,49 @@
+package eco.kosova.domain.repositories;
+
+import eco.kosova.domain.models.valueobjects.ZoneStatus;
+
+/**
+ * Agregatet e kontejnerëve të një zone, të llogaritura me një query
+ * GROUP BY për të gjitha zonat njëherësh (pa ngarkuar aggregate-t).
+ */
+public class ZoneContainerStats {
+
+    private final String zoneId;
+    private final String zoneName;
+    private final ZoneStatus status;
+    private final int criticalThreshold;
+    private final int totalContainers;
+    private final int criticalContainers;
+    private final int operationalContainers;
+    private final double averageFillLevel;
+
+    public ZoneContainerStats(
+            String zoneId,
+            String zoneName,
+            ZoneStatus status,
+            int criticalThreshold,
+            int totalContainers,
+            int criticalContainers,
+            int operationalContainers,
+            double averageFillLevel
+    ) {
+        this.zoneId = zoneId;
+        this.zoneName = zoneName;
+        this.status = status;
+        this.criticalThreshold = criticalThreshold;
+        this.totalContainers = totalContainers;
+        this.criticalContainers = criticalContainers;
+        this.operationalContainers = operationalContainers;
+        this.averageFillLevel = averageFillLevel;
+    }
+
+    // Getters
+    public String getZoneId() { return zoneId; }
+    public String getZoneName() { return zoneName; }
+    public ZoneStatus getStatus() { return status; }
+    public int getCriticalThreshold() { return criticalThreshold; }
+    public int getTotalContainers() { return totalContainers; }
+    public int getCriticalContainers() { return criticalContainers; }
+    public int getOperationalContainers() { return operationalContainers; }
+    public double getAverageFillLevel() { return averageFillLevel; }
+}
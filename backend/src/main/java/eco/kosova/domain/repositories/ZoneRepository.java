@@ -3,8 +3,10 @@ package eco.kosova.domain.repositories;
 import eco.kosova.domain.models.Zone;
 import eco.kosova.domain.models.valueobjects.ZoneStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repository interface për Zone aggregate.
@@ -29,6 +31,48 @@ public interface ZoneRepository {
      */
     List<Zone> findAll();
     
+    /**
+     * Gjen një zonë pa lexuar ID-të e kontejnerëve (containerIds bosh).
+     * Për lexime që nuk kanë nevojë për kontejnerët, p.sh. emri, statusi
+     * ose ruajtja e statusit.
+     * 
+     * @param id Identifikuesi unik i zonës
+     * @return Optional që përmban zonën nëse ekziston
+     */
+    Optional<Zone> findByIdWithoutContainerIds(String id);
+    
+    /**
+     * Merr të gjitha zonat pa ID-të e kontejnerëve (containerIds bosh)
+     * 
+     * @return Lista e të gjitha zonave
+     */
+    List<Zone> findAllWithoutContainerIds();
+    
+    /**
+     * Kalon nëpër të gjitha zonat një nga një, pa ID-të e kontejnerëve
+     * (containerIds bosh) dhe pa i mbajtur në memorie
+     * 
+     * @param action Veprimi për çdo zonë
+     */
+    void forEachWithoutContainerIds(Consumer<Zone> action);
+    
+    /**
+     * Merr një faqe zonash, të renditur dhe të kufizuar në databazë
+     * 
+     * @param query Faqja, madhësia dhe renditja
+     * @return Faqja me numrin total të zonave
+     */
+    ResultPage<Zone> findPage(PageQuery query);
+    
+    /**
+     * Keyset pagination: zonat me ID pas {@code afterId}, sipas ID-së
+     * 
+     * @param afterId ID-ja e fundit e faqes së mëparshme (null për fillimin)
+     * @param limit Numri maksimal i zonave
+     * @return Lista e zonave
+     */
+    List<Zone> findAfter(String afterId, int limit);
+    
     /**
      * Gjen zonat sipas municipality
      * 
@@ -83,6 +127,16 @@ public interface ZoneRepository {
      */
     List<Zone> saveAll(List<Zone> zones);
     
+    /**
+     * Vendos të njëjtin status për disa zona me update në grup, pa i
+     * ngarkuar aggregate-t.
+     * 
+     * @param zoneIds ID-të e zonave
+     * @param status Statusi i ri
+     * @return Numri i zonave të përditësuara
+     */
+    int updateStatus(Collection<String> zoneIds, ZoneStatus status);
+    
     /**
      * Fshin një zonë sipas ID-së
      * 
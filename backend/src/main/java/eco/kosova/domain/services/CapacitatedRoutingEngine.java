@@ -0,0 +1,877 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kamioni;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Motor për Capacitated Vehicle Routing (CVRP) me shumë kamionë.
+ *
+ * Hapat:
+ * 1. Kërkesa e çdo kontejneri = kapaciteti * fill level (litra)
+ * 2. Clarke-Wright savings mbi listat e fqinjëve më të afërt (jo n²),
+ *    me kufirin e kapacitetit të kamionit më të madh
+ * 3. Caktimi i rrugëve te kamionët (best-fit decreasing sipas kapacitetit);
+ *    rruga pa kamion që e nxë shkurtohet për kamionin më të madh të lirë
+ * 4. Futja e kontejnerëve të mbetur në rrugët me hapësirë ose te kamionët bosh
+ * 5. Local search: relocate midis rrugëve (renditja e kontejnerëve me seed)
+ *    dhe 2-opt brenda çdo rruge
+ *
+ * Krahasimet e brendshme përdorin {@link Coordinates#fastDistanceTo}; distancat
+ * e raportuara të rrugëve llogariten me Haversine.
+ *
+ * Rrugët janë të mbyllura: fillojnë dhe mbarojnë te depoja.
+ * Me të njëjtin seed dhe të njëjtat të dhëna rezultati është deterministik,
+ * për sa kohë local search mbaron para buxhetit të kohës.
+ */
+public class CapacitatedRoutingEngine {
+
+    private static final Logger logger = Logger.getLogger(CapacitatedRoutingEngine.class.getName());
+
+    public static final long DEFAULT_SEED = 42L;
+    public static final long DEFAULT_TIME_BUDGET_MS = 2000;
+
+    private static final int NEIGHBOR_COUNT = 16;
+    private static final int MAX_LOCAL_SEARCH_PASSES = 10;
+    private static final double EPSILON = 1e-7;
+    private static final double METERS_PER_DEGREE = 6371.0 * 1000 * Math.PI / 180.0;
+    private static final int DEPOT = -1;
+    private static final int NO_ROUTE = -1;
+
+    private final long seed;
+    private final long timeBudgetMillis;
+
+    public CapacitatedRoutingEngine() {
+        this(DEFAULT_SEED, DEFAULT_TIME_BUDGET_MS);
+    }
+
+    /**
+     * @param seed Seed për renditjen e rastësishme gjatë local search
+     * @param timeBudgetMillis Koha maksimale për fazën e local search (ms)
+     */
+    public CapacitatedRoutingEngine(long seed, long timeBudgetMillis) {
+        if (timeBudgetMillis < 0) {
+            throw new IllegalArgumentException("Time budget cannot be negative");
+        }
+        this.seed = seed;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Llogarit rrugët për kamionët e dhënë.
+     *
+     * @param containers Kontejnerët që duhen mbledhur
+     * @param trucks Kamionët e disponueshëm
+     * @param depot Pika ku fillon dhe mbaron çdo rrugë
+     * @return Plani me një rrugë për çdo kamion dhe kontejnerët që nuk u caktuan
+     */
+    public RoutingPlan solve(List<Kontenier> containers, List<Kamioni> trucks, Coordinates depot) {
+        Objects.requireNonNull(depot, "Depot cannot be null");
+        if (trucks == null || trucks.isEmpty()) {
+            List<Kontenier> unassigned = containers != null ? containers : Collections.emptyList();
+            return new RoutingPlan(Collections.emptyList(), unassigned);
+        }
+        if (containers == null || containers.isEmpty()) {
+            // Ditë pa kontejnerë: çdo kamion merr një rrugë bosh
+            List<TruckRoute> idle = new ArrayList<>(trucks.size());
+            for (Kamioni truck : trucks) {
+                idle.add(new TruckRoute(truck, Collections.emptyList(), 0, 0.0));
+            }
+            idle.sort(Comparator.comparing(route -> route.getTruck().getId()));
+            return new RoutingPlan(idle, Collections.emptyList());
+        }
+
+        logger.info(String.format(
+            "Solving CVRP for %d containers and %d trucks", containers.size(), trucks.size()
+        ));
+
+        return new Solver(containers, trucks, depot).run();
+    }
+
+    /**
+     * Gjendja e një zgjidhjeje. Rrugët ruhen si lista të lidhura mbi indekset e kontejnerëve.
+     */
+    private final class Solver {
+
+        private final List<Kontenier> containers;
+        private final List<Kamioni> trucks;
+        private final Coordinates depot;
+        private final int n;
+
+        private final Coordinates[] locations;
+        private final int[] demand;
+        private final double[] depotDistance;
+        private final int[] neighbors;
+        private final int[] neighborCount;
+
+        // Rrugët (lista të lidhura)
+        private final int[] next;
+        private final int[] prev;
+        private final int[] routeOf;
+        private final int[] routeFirst;
+        private final int[] routeLast;
+        private final int[] routeLoad;
+        private final int[] routeSize;
+        private final int[] routeCapacity;
+        private final Kamioni[] routeTruck;
+
+        // Kamionët që nuk kanë slot rruge (më shumë kamionë se kontejnerë); mbeten bosh
+        private final List<Kamioni> idleTrucks = new ArrayList<>();
+
+        private int maxCapacity;
+
+        Solver(List<Kontenier> containers, List<Kamioni> trucks, Coordinates depot) {
+            this.containers = containers;
+            this.trucks = trucks;
+            this.depot = depot;
+            this.n = containers.size();
+
+            this.locations = new Coordinates[n];
+            this.demand = new int[n];
+            this.depotDistance = new double[n];
+            this.neighbors = new int[n * NEIGHBOR_COUNT];
+            this.neighborCount = new int[n];
+
+            this.next = new int[n];
+            this.prev = new int[n];
+            this.routeOf = new int[n];
+            this.routeFirst = new int[n];
+            this.routeLast = new int[n];
+            this.routeLoad = new int[n];
+            this.routeSize = new int[n];
+            this.routeCapacity = new int[n];
+            this.routeTruck = new Kamioni[n];
+        }
+
+        RoutingPlan run() {
+            maxCapacity = trucks.stream().mapToInt(Kamioni::getCapacity).max().orElse(0);
+
+            for (int i = 0; i < n; i++) {
+                Kontenier container = containers.get(i);
+                locations[i] = container.getLocation();
+                demand[i] = demandOf(container);
+                depotDistance[i] = depot.fastDistanceTo(locations[i]);
+            }
+
+            buildNeighborLists();
+            initializeRoutes();
+            mergeBySavings();
+            assignTrucks();
+            insertUnrouted();
+            relocateBetweenRoutes();
+            // Relocate mund të lirojë kamionë; provo sërish për kontejnerët e mbetur
+            insertUnrouted();
+
+            return buildPlan();
+        }
+
+        // ========== CLARKE-WRIGHT ==========
+
+        private void initializeRoutes() {
+            for (int i = 0; i < n; i++) {
+                next[i] = DEPOT;
+                prev[i] = DEPOT;
+                if (demand[i] > maxCapacity) {
+                    // Asnjë kamion nuk mund ta marrë këtë kontejner
+                    routeOf[i] = NO_ROUTE;
+                    continue;
+                }
+                routeOf[i] = i;
+                routeFirst[i] = i;
+                routeLast[i] = i;
+                routeLoad[i] = demand[i];
+                routeSize[i] = 1;
+            }
+        }
+
+        private void mergeBySavings() {
+            // Çdo çift (i, j) nga listat e fqinjëve merret vetëm një herë
+            long[] savings = new long[n * NEIGHBOR_COUNT];
+            int pairCount = 0;
+
+            for (int i = 0; i < n; i++) {
+                int base = i * NEIGHBOR_COUNT;
+                for (int k = 0; k < neighborCount[i]; k++) {
+                    int j = neighbors[base + k];
+                    if (j < i && isNeighbor(j, i)) {
+                        continue;
+                    }
+                    double saving = depotDistance[i] + depotDistance[j] - distance(i, j);
+                    float key = (float) Math.max(saving, 0.0);
+                    // Bitët e float-it jo-negativ renditen si vlera; indeksi i çiftit ruhet në bitët e ulët
+                    savings[pairCount++] = ((long) Float.floatToIntBits(key) << 32) | (base + k);
+                }
+            }
+
+            Arrays.sort(savings, 0, pairCount);
+
+            int merges = 0;
+            for (int p = pairCount - 1; p >= 0; p--) {
+                int slot = (int) savings[p];
+                int i = slot / NEIGHBOR_COUNT;
+                int j = neighbors[slot];
+
+                int ri = routeOf[i];
+                int rj = routeOf[j];
+                if (ri == NO_ROUTE || rj == NO_ROUTE || ri == rj) {
+                    continue;
+                }
+                if (!isEndpoint(i) || !isEndpoint(j)) {
+                    continue;
+                }
+                if (routeLoad[ri] + routeLoad[rj] > maxCapacity) {
+                    continue;
+                }
+
+                merge(i, j);
+                merges++;
+            }
+
+            logger.fine(String.format("Clarke-Wright: %d savings evaluated, %d merges", pairCount, merges));
+        }
+
+        private void merge(int i, int j) {
+            int ri = routeOf[i];
+            int rj = routeOf[j];
+
+            // i duhet të jetë në fund të rrugës së vet, j në fillim
+            if (next[i] != DEPOT) {
+                reverseRoute(ri);
+            }
+            if (prev[j] != DEPOT) {
+                reverseRoute(rj);
+            }
+
+            next[i] = j;
+            prev[j] = i;
+
+            int first = routeFirst[ri];
+            int last = routeLast[rj];
+            int keep = routeSize[ri] >= routeSize[rj] ? ri : rj;
+            int drop = keep == ri ? rj : ri;
+
+            for (int node = routeFirst[drop]; node != DEPOT && routeOf[node] == drop; node = next[node]) {
+                routeOf[node] = keep;
+            }
+
+            routeFirst[keep] = first;
+            routeLast[keep] = last;
+            routeLoad[keep] = routeLoad[ri] + routeLoad[rj];
+            routeSize[keep] = routeSize[ri] + routeSize[rj];
+            routeSize[drop] = 0;
+            routeLoad[drop] = 0;
+        }
+
+        private void reverseRoute(int r) {
+            int node = routeFirst[r];
+            while (node != DEPOT) {
+                int following = next[node];
+                next[node] = prev[node];
+                prev[node] = following;
+                node = following;
+            }
+            int tmp = routeFirst[r];
+            routeFirst[r] = routeLast[r];
+            routeLast[r] = tmp;
+        }
+
+        private boolean isEndpoint(int i) {
+            return prev[i] == DEPOT || next[i] == DEPOT;
+        }
+
+        // ========== TRUCK ASSIGNMENT ==========
+
+        /**
+         * Best-fit decreasing: rrugët më të ngarkuara marrin kamionin më të vogël që i nxë.
+         */
+        private void assignTrucks() {
+            TreeMap<Integer, Deque<Kamioni>> freeTrucks = new TreeMap<>();
+            trucks.stream()
+                .sorted(Comparator.comparingInt(Kamioni::getCapacity).thenComparing(Kamioni::getId))
+                .forEach(t -> freeTrucks.computeIfAbsent(t.getCapacity(), c -> new ArrayDeque<>()).addLast(t));
+
+            List<Integer> routes = new ArrayList<>();
+            for (int r = 0; r < n; r++) {
+                if (routeSize[r] > 0 && routeOf[routeFirst[r]] == r) {
+                    routes.add(r);
+                }
+            }
+            routes.sort(Comparator.comparingInt((Integer r) -> -routeLoad[r]).thenComparingInt(r -> r));
+
+            int unassignedRoutes = 0;
+            int trimmedRoutes = 0;
+            for (int r : routes) {
+                Map.Entry<Integer, Deque<Kamioni>> entry = freeTrucks.ceilingEntry(routeLoad[r]);
+                if (entry == null) {
+                    // Asnjë kamion i lirë nuk e nxë: merr më të madhin dhe shkurto rrugën nga fundi
+                    entry = freeTrucks.lastEntry();
+                    if (entry == null) {
+                        dissolveRoute(r);
+                        unassignedRoutes++;
+                        continue;
+                    }
+                    while (routeLoad[r] > entry.getKey()) {
+                        unlink(routeLast[r]);
+                    }
+                    trimmedRoutes++;
+                }
+
+                Kamioni truck = entry.getValue().pollFirst();
+                if (entry.getValue().isEmpty()) {
+                    freeTrucks.remove(entry.getKey());
+                }
+                routeTruck[r] = truck;
+                routeCapacity[r] = truck.getCapacity();
+            }
+
+            // Kamionët pa rrugë marrin një rrugë bosh
+            for (Deque<Kamioni> remaining : freeTrucks.values()) {
+                for (Kamioni truck : remaining) {
+                    int r = findEmptyRouteSlot();
+                    if (r < 0) {
+                        // Çdo kontejner ka tashmë një slot; ky kamion nuk do të marrë kontejnerë
+                        idleTrucks.add(truck);
+                        continue;
+                    }
+                    routeTruck[r] = truck;
+                    routeCapacity[r] = truck.getCapacity();
+                    routeFirst[r] = DEPOT;
+                    routeLast[r] = DEPOT;
+                }
+            }
+
+            if (unassignedRoutes > 0 || trimmedRoutes > 0) {
+                logger.fine(String.format(
+                    "%d routes trimmed to a smaller truck, %d routes had no truck",
+                    trimmedRoutes, unassignedRoutes
+                ));
+            }
+        }
+
+        private int emptySlotCursor = 0;
+
+        private int findEmptyRouteSlot() {
+            while (emptySlotCursor < n) {
+                int r = emptySlotCursor++;
+                if (routeSize[r] == 0 && routeTruck[r] == null) {
+                    return r;
+                }
+            }
+            return -1;
+        }
+
+        private void dissolveRoute(int r) {
+            int node = routeFirst[r];
+            while (node != DEPOT) {
+                int following = next[node];
+                routeOf[node] = NO_ROUTE;
+                next[node] = DEPOT;
+                prev[node] = DEPOT;
+                node = following;
+            }
+            routeSize[r] = 0;
+            routeLoad[r] = 0;
+        }
+
+        // ========== INSERTION & LOCAL SEARCH ==========
+
+        /**
+         * Fut kontejnerët pa rrugë në pozicionin më të lirë pranë fqinjëve të tyre.
+         * Nëse nuk ka vend, kontejneri hap rrugën e një kamioni ende bosh.
+         */
+        private void insertUnrouted() {
+            List<Integer> idleRoutes = new ArrayList<>();
+            for (int r = 0; r < n; r++) {
+                if (routeTruck[r] != null && routeSize[r] == 0) {
+                    idleRoutes.add(r);
+                }
+            }
+            // Kamionët më të mëdhenj përdoren të parët
+            idleRoutes.sort(Comparator.comparingInt((Integer r) -> -routeCapacity[r]).thenComparingInt(r -> r));
+
+            int inserted = 0;
+            boolean progress = true;
+            // Përsëritet sepse rrugët e reja të kamionëve bosh u hapin vend fqinjëve
+            while (progress) {
+                progress = false;
+                for (int i = 0; i < n; i++) {
+                    if (routeOf[i] != NO_ROUTE || demand[i] > maxCapacity) {
+                        continue;
+                    }
+                    if (tryInsertNearNeighbors(i, Double.MAX_VALUE)) {
+                        inserted++;
+                        progress = true;
+                        continue;
+                    }
+                    for (Iterator<Integer> it = idleRoutes.iterator(); it.hasNext(); ) {
+                        int r = it.next();
+                        if (demand[i] <= routeCapacity[r]) {
+                            link(i, r, DEPOT, DEPOT);
+                            it.remove();
+                            inserted++;
+                            progress = true;
+                            break;
+                        }
+                    }
+                }
+            }
+            if (inserted > 0) {
+                logger.fine(String.format("Inserted %d leftover containers into existing routes", inserted));
+            }
+        }
+
+        /**
+         * Relocate: zhvendos një kontejner në një rrugë tjetër pranë një fqinji
+         * nëse kjo ul distancën totale dhe respekton kapacitetin e kamionit.
+         */
+        private void relocateBetweenRoutes() {
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            Random random = new Random(seed);
+            long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+
+            int moves = 0;
+            for (int pass = 0; pass < MAX_LOCAL_SEARCH_PASSES && System.nanoTime() < deadline; pass++) {
+                shuffle(order, random);
+                int passMoves = 0;
+                int visited = 0;
+
+                for (int i : order) {
+                    if ((++visited & 0xFF) == 0 && System.nanoTime() >= deadline) {
+                        break;
+                    }
+                    if (routeOf[i] == NO_ROUTE || routeTruck[routeOf[i]] == null) {
+                        continue;
+                    }
+                    double removalGain = removalGain(i);
+                    int from = routeOf[i];
+                    unlink(i);
+                    if (tryInsertNearNeighbors(i, removalGain - EPSILON, from)) {
+                        passMoves++;
+                    } else {
+                        // Ktheje në vendin e mëparshëm
+                        relinkAfterUndo(i, from);
+                    }
+                }
+
+                moves += passMoves;
+                if (passMoves == 0) {
+                    break;
+                }
+            }
+
+            logger.fine(String.format("Local search relocate moves: %d", moves));
+        }
+
+        private int undoPrev;
+        private int undoNext;
+
+        private double removalGain(int i) {
+            int p = prev[i];
+            int q = next[i];
+            return distance(p, i) + distance(i, q) - distance(p, q);
+        }
+
+        private void unlink(int i) {
+            int r = routeOf[i];
+            int p = prev[i];
+            int q = next[i];
+            undoPrev = p;
+            undoNext = q;
+
+            if (p != DEPOT) {
+                next[p] = q;
+            } else {
+                routeFirst[r] = q;
+            }
+            if (q != DEPOT) {
+                prev[q] = p;
+            } else {
+                routeLast[r] = p;
+            }
+
+            routeLoad[r] -= demand[i];
+            routeSize[r]--;
+            routeOf[i] = NO_ROUTE;
+            next[i] = DEPOT;
+            prev[i] = DEPOT;
+        }
+
+        private void relinkAfterUndo(int i, int r) {
+            link(i, r, undoPrev, undoNext);
+        }
+
+        private boolean tryInsertNearNeighbors(int i, double maxCost) {
+            return tryInsertNearNeighbors(i, maxCost, NO_ROUTE);
+        }
+
+        /**
+         * Gjen futjen më të lirë të kontejnerit i ngjitur me një nga fqinjët e tij.
+         *
+         * @param excludedRoute Rruga ku nuk lejohet futja (rruga e origjinës gjatë relocate)
+         */
+        private boolean tryInsertNearNeighbors(int i, double maxCost, int excludedRoute) {
+            double bestCost = maxCost;
+            int bestRoute = NO_ROUTE;
+            int bestPrev = DEPOT;
+            int bestNext = DEPOT;
+
+            int base = i * NEIGHBOR_COUNT;
+            for (int k = 0; k < neighborCount[i]; k++) {
+                int j = neighbors[base + k];
+                int r = routeOf[j];
+                if (r == NO_ROUTE || r == excludedRoute || routeTruck[r] == null) {
+                    continue;
+                }
+                if (routeLoad[r] + demand[i] > routeCapacity[r]) {
+                    continue;
+                }
+
+                double dij = distance(i, j);
+
+                int nj = next[j];
+                double after = dij + distance(i, nj) - distance(j, nj);
+                if (after < bestCost) {
+                    bestCost = after;
+                    bestRoute = r;
+                    bestPrev = j;
+                    bestNext = nj;
+                }
+
+                int pj = prev[j];
+                double before = distance(pj, i) + dij - distance(pj, j);
+                if (before < bestCost) {
+                    bestCost = before;
+                    bestRoute = r;
+                    bestPrev = pj;
+                    bestNext = j;
+                }
+            }
+
+            if (bestRoute == NO_ROUTE) {
+                return false;
+            }
+            link(i, bestRoute, bestPrev, bestNext);
+            return true;
+        }
+
+        private void link(int i, int r, int p, int q) {
+            prev[i] = p;
+            next[i] = q;
+            if (p != DEPOT) {
+                next[p] = i;
+            } else {
+                routeFirst[r] = i;
+            }
+            if (q != DEPOT) {
+                prev[q] = i;
+            } else {
+                routeLast[r] = i;
+            }
+            routeOf[i] = r;
+            routeLoad[r] += demand[i];
+            routeSize[r]++;
+        }
+
+        // ========== RESULT ==========
+
+        private RoutingPlan buildPlan() {
+            List<TruckRoute> truckRoutes = new ArrayList<>();
+            double totalDistance = 0.0;
+
+            for (int r = 0; r < n; r++) {
+                Kamioni truck = routeTruck[r];
+                if (truck == null) {
+                    continue;
+                }
+
+                int[] order = new int[routeSize[r]];
+                int count = 0;
+                for (int node = routeFirst[r]; node != DEPOT; node = next[node]) {
+                    order[count++] = node;
+                }
+                twoOpt(order);
+
+                List<Kontenier> stops = new ArrayList<>(order.length);
+                double routeDistance = 0.0;
+                int previous = DEPOT;
+                for (int node : order) {
+                    stops.add(containers.get(node));
+                    routeDistance += exactDistance(previous, node);
+                    previous = node;
+                }
+                routeDistance += exactDistance(previous, DEPOT);
+                totalDistance += routeDistance;
+
+                truckRoutes.add(new TruckRoute(truck, stops, routeLoad[r], routeDistance));
+            }
+            for (Kamioni truck : idleTrucks) {
+                truckRoutes.add(new TruckRoute(truck, Collections.emptyList(), 0, 0.0));
+            }
+
+            truckRoutes.sort(Comparator.comparing(route -> route.getTruck().getId()));
+
+            List<Kontenier> unassigned = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (routeOf[i] == NO_ROUTE) {
+                    unassigned.add(containers.get(i));
+                }
+            }
+
+            logger.info(String.format(
+                "CVRP solved: %d truck routes, %.1f km total, %d containers unassigned",
+                truckRoutes.size(), totalDistance / 1000.0, unassigned.size()
+            ));
+
+            return new RoutingPlan(truckRoutes, unassigned);
+        }
+
+        /**
+         * 2-opt brenda një rruge të mbyllur (depo -> ... -> depo).
+         */
+        private void twoOpt(int[] order) {
+            int m = order.length;
+            if (m < 3) {
+                return;
+            }
+
+            boolean improved = true;
+            int passes = 0;
+            while (improved && passes++ < MAX_LOCAL_SEARCH_PASSES) {
+                improved = false;
+                for (int i = 0; i < m - 1; i++) {
+                    int a = i == 0 ? DEPOT : order[i - 1];
+                    for (int j = i + 1; j < m; j++) {
+                        int b = order[i];
+                        int c = order[j];
+                        int d = j == m - 1 ? DEPOT : order[j + 1];
+                        double delta = distance(a, c) + distance(b, d) - distance(a, b) - distance(c, d);
+                        if (delta < -EPSILON) {
+                            for (int lo = i, hi = j; lo < hi; lo++, hi--) {
+                                int tmp = order[lo];
+                                order[lo] = order[hi];
+                                order[hi] = tmp;
+                            }
+                            improved = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        // ========== NEIGHBOR LISTS (GRID) ==========
+
+        /**
+         * Gjen K fqinjët më të afërt për çdo kontejner përmes një rrjete uniforme
+         * mbi projeksionin lokal ekuirektangular.
+         */
+        private void buildNeighborLists() {
+            int k = Math.min(NEIGHBOR_COUNT, n - 1);
+            if (k <= 0) {
+                return;
+            }
+
+            double meanLat = 0.0;
+            for (Coordinates location : locations) {
+                meanLat += location.getLatitude();
+            }
+            double cosLat = Math.cos(Math.toRadians(meanLat / n));
+
+            double[] xs = new double[n];
+            double[] ys = new double[n];
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                xs[i] = locations[i].getLongitude() * cosLat * METERS_PER_DEGREE;
+                ys[i] = locations[i].getLatitude() * METERS_PER_DEGREE;
+                minX = Math.min(minX, xs[i]);
+                maxX = Math.max(maxX, xs[i]);
+                minY = Math.min(minY, ys[i]);
+                maxY = Math.max(maxY, ys[i]);
+            }
+
+            double width = Math.max(maxX - minX, 1.0);
+            double height = Math.max(maxY - minY, 1.0);
+            // Rreth 2 kontejnerë për qelizë
+            double cellSize = Math.max(Math.sqrt(width * height * 2.0 / n), 1.0);
+            int gridW = (int) (width / cellSize) + 1;
+            int gridH = (int) (height / cellSize) + 1;
+
+            int[] cellOf = new int[n];
+            int[] cellStart = new int[gridW * gridH + 1];
+            for (int i = 0; i < n; i++) {
+                int cx = (int) ((xs[i] - minX) / cellSize);
+                int cy = (int) ((ys[i] - minY) / cellSize);
+                cellOf[i] = cy * gridW + cx;
+                cellStart[cellOf[i] + 1]++;
+            }
+            for (int c = 0; c < gridW * gridH; c++) {
+                cellStart[c + 1] += cellStart[c];
+            }
+            int[] cellItems = new int[n];
+            int[] fill = Arrays.copyOf(cellStart, cellStart.length - 1);
+            for (int i = 0; i < n; i++) {
+                cellItems[fill[cellOf[i]]++] = i;
+            }
+
+            double[] bestD = new double[k];
+            int[] bestIdx = new int[k];
+
+            for (int i = 0; i < n; i++) {
+                int found = 0;
+                int worst = 0;
+                int cx = cellOf[i] % gridW;
+                int cy = cellOf[i] / gridW;
+                int maxRing = Math.max(gridW, gridH);
+
+                for (int ring = 0; ring <= maxRing; ring++) {
+                    for (int y = cy - ring; y <= cy + ring; y++) {
+                        if (y < 0 || y >= gridH) {
+                            continue;
+                        }
+                        boolean edgeRow = y == cy - ring || y == cy + ring;
+                        int step = edgeRow ? 1 : 2 * ring;
+                        for (int x = cx - ring; x <= cx + ring; x += Math.max(step, 1)) {
+                            if (x < 0 || x >= gridW) {
+                                continue;
+                            }
+                            int cell = y * gridW + x;
+                            for (int s = cellStart[cell]; s < cellStart[cell + 1]; s++) {
+                                int j = cellItems[s];
+                                if (j == i) {
+                                    continue;
+                                }
+                                double dx = xs[i] - xs[j];
+                                double dy = ys[i] - ys[j];
+                                double d = dx * dx + dy * dy;
+                                if (found < k) {
+                                    bestD[found] = d;
+                                    bestIdx[found] = j;
+                                    if (d > bestD[worst]) {
+                                        worst = found;
+                                    }
+                                    found++;
+                                } else if (d < bestD[worst]) {
+                                    bestD[worst] = d;
+                                    bestIdx[worst] = j;
+                                    for (int w = 0; w < k; w++) {
+                                        if (bestD[w] > bestD[worst]) {
+                                            worst = w;
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+
+                    // Qelizat në unazat e mëtejshme janë të paktën ring * cellSize larg
+                    double reach = ring * cellSize;
+                    if (found == k && reach * reach >= bestD[worst]) {
+                        break;
+                    }
+                }
+
+                System.arraycopy(bestIdx, 0, neighbors, i * NEIGHBOR_COUNT, found);
+                neighborCount[i] = found;
+            }
+        }
+
+        private boolean isNeighbor(int i, int j) {
+            int base = i * NEIGHBOR_COUNT;
+            for (int k = 0; k < neighborCount[i]; k++) {
+                if (neighbors[base + k] == j) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // ========== HELPERS ==========
+
+        /**
+         * Distanca e përafërt (ekuirektangulare) për krahasimet e algoritmit.
+         */
+        private double distance(int a, int b) {
+            if (a == DEPOT) {
+                return b == DEPOT ? 0.0 : depotDistance[b];
+            }
+            if (b == DEPOT) {
+                return depotDistance[a];
+            }
+            return locations[a].fastDistanceTo(locations[b]);
+        }
+
+        /**
+         * Distanca Haversine për totalet e raportuara.
+         */
+        private double exactDistance(int a, int b) {
+            Coordinates from = a == DEPOT ? depot : locations[a];
+            Coordinates to = b == DEPOT ? depot : locations[b];
+            return from.distanceTo(to);
+        }
+
+        private int demandOf(Kontenier container) {
+            return (int) Math.ceil(container.getCapacity() * container.getFillLevel().getValue() / 100.0);
+        }
+
+        private void shuffle(int[] values, Random random) {
+            for (int i = values.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = values[i];
+                values[i] = values[j];
+                values[j] = tmp;
+            }
+        }
+    }
+
+    /**
+     * Rruga e një kamioni: kontejnerët në renditje, ngarkesa dhe distanca (me kthim në depo).
+     */
+    public static class TruckRoute {
+        private final Kamioni truck;
+        private final List<Kontenier> containers;
+        private final int loadLiters;
+        private final double totalDistanceMeters;
+
+        public TruckRoute(Kamioni truck, List<Kontenier> containers, int loadLiters, double totalDistanceMeters) {
+            this.truck = truck;
+            this.containers = Collections.unmodifiableList(containers);
+            this.loadLiters = loadLiters;
+            this.totalDistanceMeters = totalDistanceMeters;
+        }
+
+        // Getters
+        public Kamioni getTruck() { return truck; }
+        public List<Kontenier> getContainers() { return containers; }
+        public int getLoadLiters() { return loadLiters; }
+        public int getCapacityLiters() { return truck.getCapacity(); }
+        public double getTotalDistanceMeters() { return totalDistanceMeters; }
+        public double getTotalDistanceKm() { return totalDistanceMeters / 1000.0; }
+    }
+
+    /**
+     * Rezultati i planifikimit: rrugët e kamionëve dhe kontejnerët e pacaktuar.
+     */
+    public static class RoutingPlan {
+        private final List<TruckRoute> routes;
+        private final List<Kontenier> unassignedContainers;
+
+        public RoutingPlan(List<TruckRoute> routes, List<Kontenier> unassignedContainers) {
+            this.routes = Collections.unmodifiableList(routes);
+            this.unassignedContainers = Collections.unmodifiableList(unassignedContainers);
+        }
+
+        // Getters
+        public List<TruckRoute> getRoutes() { return routes; }
+        public List<Kontenier> getUnassignedContainers() { return unassignedContainers; }
+
+        public double getTotalDistanceMeters() {
+            return routes.stream().mapToDouble(TruckRoute::getTotalDistanceMeters).sum();
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.CikliMbledhjes;
+import eco.kosova.domain.models.Kamioni;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import eco.kosova.domain.repositories.CikliMbledhjesRepository;
+import eco.kosova.domain.repositories.KamioniRepository;
+import eco.kosova.domain.repositories.KontenierRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Domain Service që planifikon rrugët sipas orareve të {@link CikliMbledhjes}.
+ *
+ * Për çdo ditë gjenden ciklet aktive ({@link CikliMbledhjes#isActiveForDate})
+ * në orën e tyre të fillimit. Çdo cikël merr kontejnerët që duhen mbledhur në
+ * zonën e vet, sipas prioritetit (niveli i mbushjes), deri në kapacitetin
+ * {@code min(maxCapacity, kapaciteti i kamionit)}. Rruga ndërtohet me
+ * NEAREST_NEIGHBOR nga depoja dhe pritet aty ku ndalesa e radhës do të
+ * dilte jashtë turnit, sipas modelit të {@link RouteOptimizationService#estimateRouteTime}.
+ * Kontejnerët e mbetur u kalojnë cikleve të mëvonshme të së njëjtës zonë po atë ditë.
+ *
+ * Nëse një kamion ka disa cikle në të njëjtën ditë, cikli i radhës fillon
+ * pasi kamioni ka përfunduar rrugën e mëparshme.
+ *
+ * Ditët janë të pavarura (planifikohen nga e njëjta gjendje e kontejnerëve),
+ * prandaj planifikohen paralelisht në executor-in e dhënë.
+ */
+public class CollectionCyclePlanner {
+
+    private static final Logger logger = Logger.getLogger(CollectionCyclePlanner.class.getName());
+
+    public static final int DEFAULT_SHIFT_MINUTES = 8 * 60;
+    public static final int MAX_PLANNING_DAYS = 31;
+
+    // Më të mbushurit së pari; ID si kriter stabil barazimi
+    private static final Comparator<Kontenier> PRIORITY_ORDER = Comparator
+        .comparingInt((Kontenier c) -> c.getFillLevel().getValue()).reversed()
+        .thenComparing(Kontenier::getId);
+
+    private final CikliMbledhjesRepository cikliRepository;
+    private final KontenierRepository kontenierRepository;
+    private final KamioniRepository kamioniRepository;
+    private final RouteOptimizationService routeOptimizationService;
+    private final Executor executor;
+    private final int shiftMinutes;
+    private final RouteStrategy routeStrategy = new NearestNeighborStrategy();
+
+    /**
+     * @param cikliRepository Repository i cikleve
+     * @param kontenierRepository Repository i kontejnerëve
+     * @param kamioniRepository Repository i kamionëve
+     * @param routeOptimizationService Service që jep modelin e kohës së rrugës
+     * @param executor Executor për planifikimin paralel të ditëve
+     * @param shiftMinutes Gjatësia e turnit të një cikli (minuta)
+     */
+    public CollectionCyclePlanner(
+            CikliMbledhjesRepository cikliRepository,
+            KontenierRepository kontenierRepository,
+            KamioniRepository kamioniRepository,
+            RouteOptimizationService routeOptimizationService,
+            Executor executor,
+            int shiftMinutes
+    ) {
+        if (shiftMinutes <= 0) {
+            throw new IllegalArgumentException("Shift length must be positive");
+        }
+        this.cikliRepository = cikliRepository;
+        this.kontenierRepository = kontenierRepository;
+        this.kamioniRepository = kamioniRepository;
+        this.routeOptimizationService = routeOptimizationService;
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+        this.shiftMinutes = shiftMinutes;
+    }
+
+    /**
+     * Planifikon rrugët e cikleve për një ditë.
+     *
+     * @param date Data
+     * @param depot Pika e fillimit të rrugëve
+     * @return Plani i ditës
+     */
+    public DayPlan planDay(LocalDate date, Coordinates depot) {
+        return planDays(date, 1, depot).get(0);
+    }
+
+    /**
+     * Planifikon rrugët e cikleve për disa ditë radhazi (p.sh. një javë).
+     *
+     * Ciklet, kontejnerët dhe kamionët lexohen një herë; secila ditë
+     * planifikohet paralelisht.
+     *
+     * @param from Dita e parë
+     * @param days Numri i ditëve (1 - {@value #MAX_PLANNING_DAYS})
+     * @param depot Pika e fillimit të rrugëve
+     * @return Planet sipas ditëve, në rend kronologjik
+     */
+    public List<DayPlan> planDays(LocalDate from, int days, Coordinates depot) {
+        Objects.requireNonNull(from, "Start date cannot be null");
+        Objects.requireNonNull(depot, "Depot cannot be null");
+        if (days < 1 || days > MAX_PLANNING_DAYS) {
+            throw new IllegalArgumentException(String.format(
+                "Days must be between 1 and %d", MAX_PLANNING_DAYS
+            ));
+        }
+
+        long startNanos = System.nanoTime();
+
+        List<CikliMbledhjes> cycles = cikliRepository.findByStatus(CikliMbledhjes.CikliStatus.SCHEDULED);
+        Map<String, List<Kontenier>> containersByZone = kontenierRepository
+            .findContainersNeedingCollection().stream()
+            .sorted(PRIORITY_ORDER)
+            .collect(Collectors.groupingBy(Kontenier::getZoneId));
+        Map<String, Kamioni> trucks = kamioniRepository.findAll().stream()
+            .collect(Collectors.toMap(Kamioni::getId, truck -> truck));
+
+        List<CompletableFuture<DayPlan>> futures = new ArrayList<>(days);
+        int rejected = 0;
+        for (int d = 0; d < days; d++) {
+            LocalDate date = from.plusDays(d);
+            try {
+                futures.add(CompletableFuture.supplyAsync(
+                    () -> planDay(date, depot, cycles, containersByZone, trucks),
+                    executor
+                ));
+            } catch (RejectedExecutionException e) {
+                // Planifikimi nuk ka afat; kur radha e pool-it është plot, dita llogaritet këtu
+                rejected++;
+                futures.add(CompletableFuture.completedFuture(
+                    planDay(date, depot, cycles, containersByZone, trucks)));
+            }
+        }
+
+        if (rejected > 0) {
+            logger.warning(String.format(
+                "Route executor rejected %d of %d days; they were planned on the calling thread",
+                rejected, days
+            ));
+        }
+
+        List<DayPlan> plans = futures.stream()
+            .map(CompletableFuture::join)
+            .collect(Collectors.toList());
+
+        logger.info(String.format(
+            "Planned %d days from %s: %d cycle routes in %d ms",
+            days, from,
+            plans.stream().mapToInt(plan -> plan.getRoutes().size()).sum(),
+            (System.nanoTime() - startNanos) / 1_000_000
+        ));
+        return plans;
+    }
+
+    // ========== PRIVATE HELPER METHODS ==========
+
+    private DayPlan planDay(
+            LocalDate date,
+            Coordinates depot,
+            List<CikliMbledhjes> cycles,
+            Map<String, List<Kontenier>> containersByZone,
+            Map<String, Kamioni> trucks
+    ) {
+        // Ciklet aktive të ditës sipas orës së fillimit
+        List<CikliMbledhjes> activeCycles = cycles.stream()
+            .filter(cikli -> cikli.isActiveForDate(shiftStart(cikli, date)))
+            .sorted(Comparator.comparing((CikliMbledhjes cikli) -> shiftStart(cikli, date))
+                .thenComparing(CikliMbledhjes::getId))
+            .collect(Collectors.toList());
+
+        // Kopje e kontejnerëve për ditën; ciklet e zonës i marrin me radhë
+        Map<String, List<Kontenier>> remainingByZone = new HashMap<>();
+        Map<String, LocalDateTime> truckBusyUntil = new HashMap<>();
+        List<CycleRoute> routes = new ArrayList<>(activeCycles.size());
+
+        for (CikliMbledhjes cikli : activeCycles) {
+            List<Kontenier> remaining = remainingByZone.computeIfAbsent(
+                cikli.getZoneId(),
+                zoneId -> new ArrayList<>(containersByZone.getOrDefault(zoneId, Collections.emptyList()))
+            );
+
+            LocalDateTime windowStart = shiftStart(cikli, date);
+            LocalDateTime windowEnd = windowStart.plusMinutes(shiftMinutes);
+            LocalDateTime start = windowStart;
+
+            Kamioni truck = cikli.getKamioniId() != null ? trucks.get(cikli.getKamioniId()) : null;
+            int capacity = cikli.getMaxCapacity();
+            if (truck != null) {
+                capacity = Math.min(capacity, truck.getCapacity());
+                LocalDateTime busyUntil = truckBusyUntil.get(truck.getId());
+                if (busyUntil != null && busyUntil.isAfter(start)) {
+                    start = busyUntil;
+                }
+            }
+
+            CycleRoute route = planCycle(cikli, remaining, depot, capacity, start, windowStart, windowEnd);
+            routes.add(route);
+
+            if (truck != null) {
+                truckBusyUntil.put(truck.getId(), route.getFinishTime());
+            }
+        }
+
+        return new DayPlan(date, routes);
+    }
+
+    private CycleRoute planCycle(
+            CikliMbledhjes cikli,
+            List<Kontenier> remaining,
+            Coordinates depot,
+            int capacity,
+            LocalDateTime start,
+            LocalDateTime windowStart,
+            LocalDateTime windowEnd
+    ) {
+        // Zgjedh sipas prioritetit deri në kapacitet
+        List<Kontenier> selected = new ArrayList<>();
+        int load = 0;
+        for (Kontenier container : remaining) {
+            int demand = demandOf(container);
+            if (load + demand <= capacity) {
+                selected.add(container);
+                load += demand;
+            }
+        }
+
+        List<Kontenier> ordered = routeStrategy.calculateRoute(selected, depot);
+
+        // Ecën rrugën dhe ndalet kur ndalesa e radhës del jashtë turnit
+        List<Kontenier> stops = new ArrayList<>(ordered.size());
+        List<LocalDateTime> arrivals = new ArrayList<>(ordered.size());
+        LocalDateTime time = start;
+        Coordinates current = depot;
+        double distance = 0.0;
+        int routeLoad = 0;
+
+        for (Kontenier container : ordered) {
+            double leg = current.distanceTo(container.getLocation());
+            double legMinutes = routeOptimizationService.estimateRouteTime(
+                leg, 1,
+                RouteOptimizationService.DEFAULT_AVERAGE_SPEED_KMH,
+                RouteOptimizationService.DEFAULT_STOP_TIME_MINUTES
+            );
+            LocalDateTime finish = plusMinutes(time, legMinutes);
+            if (finish.isAfter(windowEnd)) {
+                break;
+            }
+
+            arrivals.add(plusMinutes(time, legMinutes - RouteOptimizationService.DEFAULT_STOP_TIME_MINUTES));
+            stops.add(container);
+            distance += leg;
+            routeLoad += demandOf(container);
+            time = finish;
+            current = container.getLocation();
+        }
+
+        Set<Kontenier> collected = Collections.newSetFromMap(new IdentityHashMap<>());
+        collected.addAll(stops);
+        remaining.removeIf(collected::contains);
+
+        return new CycleRoute(
+            cikli.getId(),
+            cikli.getZoneId(),
+            cikli.getKamioniId(),
+            windowStart,
+            windowEnd,
+            stops,
+            arrivals,
+            routeLoad,
+            capacity,
+            distance,
+            time,
+            remaining.size()
+        );
+    }
+
+    private static LocalDateTime shiftStart(CikliMbledhjes cikli, LocalDate date) {
+        return date.atTime(cikli.getScheduleTime().toLocalTime());
+    }
+
+    private static LocalDateTime plusMinutes(LocalDateTime time, double minutes) {
+        return time.plusSeconds(Math.round(minutes * 60));
+    }
+
+    private static int demandOf(Kontenier container) {
+        return (int) Math.ceil(container.getCapacity() * container.getFillLevel().getValue() / 100.0);
+    }
+
+    /**
+     * Plani i rrugëve të cikleve për një ditë
+     */
+    public static class DayPlan {
+        private final LocalDate date;
+        private final List<CycleRoute> routes;
+
+        public DayPlan(LocalDate date, List<CycleRoute> routes) {
+            this.date = date;
+            this.routes = Collections.unmodifiableList(routes);
+        }
+
+        // Getters
+        public LocalDate getDate() { return date; }
+        public List<CycleRoute> getRoutes() { return routes; }
+    }
+
+    /**
+     * Rruga e një cikli brenda dritares së turnit
+     */
+    public static class CycleRoute {
+        private final String cikliId;
+        private final String zoneId;
+        private final String kamioniId;
+        private final LocalDateTime windowStart;
+        private final LocalDateTime windowEnd;
+        private final List<Kontenier> containers;
+        private final List<LocalDateTime> arrivalTimes;
+        private final int loadLiters;
+        private final int capacityLiters;
+        private final double distanceMeters;
+        private final LocalDateTime finishTime;
+        private final int deferredContainerCount;
+
+        public CycleRoute(
+                String cikliId,
+                String zoneId,
+                String kamioniId,
+                LocalDateTime windowStart,
+                LocalDateTime windowEnd,
+                List<Kontenier> containers,
+                List<LocalDateTime> arrivalTimes,
+                int loadLiters,
+                int capacityLiters,
+                double distanceMeters,
+                LocalDateTime finishTime,
+                int deferredContainerCount
+        ) {
+            this.cikliId = cikliId;
+            this.zoneId = zoneId;
+            this.kamioniId = kamioniId;
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.containers = Collections.unmodifiableList(containers);
+            this.arrivalTimes = Collections.unmodifiableList(arrivalTimes);
+            this.loadLiters = loadLiters;
+            this.capacityLiters = capacityLiters;
+            this.distanceMeters = distanceMeters;
+            this.finishTime = finishTime;
+            this.deferredContainerCount = deferredContainerCount;
+        }
+
+        // Getters
+        public String getCikliId() { return cikliId; }
+        public String getZoneId() { return zoneId; }
+        public String getKamioniId() { return kamioniId; }
+        public LocalDateTime getWindowStart() { return windowStart; }
+        public LocalDateTime getWindowEnd() { return windowEnd; }
+        public List<Kontenier> getContainers() { return containers; }
+        public List<LocalDateTime> getArrivalTimes() { return arrivalTimes; }
+        public int getLoadLiters() { return loadLiters; }
+        public int getCapacityLiters() { return capacityLiters; }
+        public double getDistanceMeters() { return distanceMeters; }
+        public LocalDateTime getFinishTime() { return finishTime; }
+        public int getDeferredContainerCount() { return deferredContainerCount; }
+    }
+}
@@ -0,0 +1,440 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.ContainerStatus;
+import eco.kosova.domain.models.valueobjects.ContainerType;
+import eco.kosova.domain.repositories.KontenierRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+/**
+ * Read model (CQRS) në memorie për query-t e kontejnerëve.
+ *
+ * Kontejnerët ruhen si kolona primitive (struct-of-arrays): niveli i
+ * mbushjes, koordinatat, statusi, tipi dhe indeksi i zonës mbahen secili në
+ * array-n e vet, dhe rreshti i një kontejneri është i njëjti indeks në çdo
+ * kolonë. Për çdo zonë, për çdo status dhe për kontejnerët kritikë mbahet një
+ * BitSet me rreshtat përkatës, kështu që query-t kalojnë vetëm mbi bitët e
+ * vendosur dhe nuk ndërtojnë objekte domain (Kontenier, Coordinates, Address,
+ * FillLevel).
+ *
+ * Read model-i mbushet një herë në startim dhe pastaj përditësohet nga
+ * KontenierRepository pas çdo commit-i (save, saveAll, deleteById). Rreshtat
+ * e kontejnerëve të fshirë ripërdoren.
+ *
+ * Callback-et pas commit-it të dy transaksioneve mund të vijnë jashtë
+ * radhës; prandaj një shkrim me modifiedAt më të vjetër se rreshti aktual
+ * refuzohet.
+ */
+public class ContainerReadModel {
+
+    private static final Logger logger = Logger.getLogger(ContainerReadModel.class.getName());
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final ContainerStatus[] STATUSES = ContainerStatus.values();
+    private static final ContainerType[] TYPES = ContainerType.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> rowsById = new HashMap<>();
+
+    // Zonat indeksohen sipas radhës së paraqitjes; indeksi nuk ndryshon më
+    private final Map<String, Integer> zoneIndexes = new HashMap<>();
+    private final List<String> zoneIds = new ArrayList<>();
+    private final List<BitSet> zoneRows = new ArrayList<>();
+
+    private final BitSet[] statusRows = new BitSet[STATUSES.length];
+    private final BitSet criticalRows = new BitSet();
+    private final BitSet liveRows = new BitSet();
+
+    // Rreshtat e lirë (nga fshirjet) dhe numri i rreshtave të përdorur ndonjëherë
+    private int[] freeRows = new int[16];
+    private int freeCount;
+    private int rowCount;
+
+    // ========== KOLONAT ==========
+
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private String[] addresses = new String[INITIAL_CAPACITY];
+    private int[] zones = new int[INITIAL_CAPACITY];
+    private byte[] fillLevels = new byte[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] capacities = new int[INITIAL_CAPACITY];
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    // modifiedAt si nanosekonda nga epoka
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private final BitSet operational = new BitSet();
+
+    public ContainerReadModel() {
+        for (int i = 0; i < statusRows.length; i++) {
+            statusRows[i] = new BitSet();
+        }
+    }
+
+    // ========== PËRDITËSIMI ==========
+
+    /**
+     * Mbush read model-in me të gjithë kontejnerët e databazës (në startim,
+     * para se aplikacioni të pranojë kërkesa).
+     *
+     * @param kontenierRepository Repository i kontejnerëve
+     */
+    public void load(KontenierRepository kontenierRepository) {
+        long start = System.nanoTime();
+        kontenierRepository.forEach(container -> upsert(ContainerView.of(container)));
+        logger.info(String.format(
+            "Container read model loaded: %d containers in %d ms",
+            size(), (System.nanoTime() - start) / 1_000_000
+        ));
+    }
+
+    /**
+     * Shton ose zëvendëson rreshtin e një kontejneri.
+     *
+     * @param container Gjendja e kontejnerit pas commit-it
+     * @return false nëse gjendja ishte më e vjetër se ajo në read model
+     */
+    public boolean upsert(ContainerView container) {
+        lock.writeLock().lock();
+        try {
+            return write(container);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Shton ose zëvendëson rreshtat e disa kontejnerëve me një marrje të lock-ut.
+     *
+     * @param containers Gjendja e kontejnerëve pas commit-it
+     */
+    public void upsertAll(Collection<ContainerView> containers) {
+        lock.writeLock().lock();
+        try {
+            for (ContainerView container : containers) {
+                write(container);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Heq kontejnerin nga read model-i.
+     *
+     * @param containerId ID-ja e kontejnerit
+     * @return true nëse kontejneri ishte në read model
+     */
+    public boolean remove(String containerId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.remove(containerId);
+            if (row == null) {
+                return false;
+            }
+            clearIndexes(row);
+            liveRows.clear(row);
+            ids[row] = null;
+            addresses[row] = null;
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+            }
+            freeRows[freeCount++] = row;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ========== QUERIES ==========
+
+    public List<ContainerView> findAll() {
+        lock.readLock().lock();
+        try {
+            return collect(liveRows);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Kontejnerët kritikë (fill level >= 90%), pavarësisht statusit.
+     */
+    public List<ContainerView> findCritical() {
+        lock.readLock().lock();
+        try {
+            return collect(criticalRows);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ContainerView> findByZone(String zoneId) {
+        lock.readLock().lock();
+        try {
+            Integer zone = zoneIndexes.get(zoneId);
+            return zone == null ? Collections.emptyList() : collect(zoneRows.get(zone));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ContainerView> findByStatus(ContainerStatus status) {
+        lock.readLock().lock();
+        try {
+            return collect(statusRows[status.ordinal()]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countCritical() {
+        lock.readLock().lock();
+        try {
+            return criticalRows.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countByZone(String zoneId) {
+        lock.readLock().lock();
+        try {
+            Integer zone = zoneIndexes.get(zoneId);
+            return zone == null ? 0 : zoneRows.get(zone).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countByStatus(ContainerStatus status) {
+        lock.readLock().lock();
+        try {
+            return statusRows[status.ordinal()].cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Niveli i mbushjes pas commit-it të fundit, pa ndërtuar ContainerView.
+     *
+     * @param containerId ID-ja e kontejnerit
+     * @return Niveli (0-100), ose -1 nëse kontejneri nuk është në read model
+     */
+    public int findFillLevel(String containerId) {
+        lock.readLock().lock();
+        try {
+            Integer row = rowsById.get(containerId);
+            return row == null ? -1 : fillLevels[row];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== PRIVATE HELPER METHODS ==========
+
+    private boolean write(ContainerView container) {
+        Integer existing = rowsById.get(container.getId());
+        long version = toNanos(container.getModifiedAt());
+        int row;
+        if (existing != null) {
+            row = existing;
+            if (version < versions[row]) {
+                logger.fine(String.format(
+                    "Ignoring stale read model update for container %s", container.getId()
+                ));
+                return false;
+            }
+            clearIndexes(row);
+        } else {
+            row = allocateRow();
+            rowsById.put(container.getId(), row);
+        }
+
+        int zone = zoneIndex(container.getZoneId());
+        ids[row] = container.getId();
+        addresses[row] = container.getAddress();
+        zones[row] = zone;
+        fillLevels[row] = (byte) container.getFillLevel();
+        statuses[row] = (byte) container.getStatus().ordinal();
+        types[row] = (byte) container.getType().ordinal();
+        capacities[row] = container.getCapacity();
+        latitudes[row] = container.getLatitude();
+        longitudes[row] = container.getLongitude();
+        versions[row] = version;
+
+        liveRows.set(row);
+        zoneRows.get(zone).set(row);
+        statusRows[statuses[row]].set(row);
+        if (container.isCritical()) {
+            criticalRows.set(row);
+        }
+        if (container.isOperational()) {
+            operational.set(row);
+        }
+        return true;
+    }
+
+    private void clearIndexes(int row) {
+        zoneRows.get(zones[row]).clear(row);
+        statusRows[statuses[row]].clear(row);
+        criticalRows.clear(row);
+        operational.clear(row);
+    }
+
+    private int allocateRow() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+        if (rowCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            addresses = Arrays.copyOf(addresses, capacity);
+            zones = Arrays.copyOf(zones, capacity);
+            fillLevels = Arrays.copyOf(fillLevels, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            types = Arrays.copyOf(types, capacity);
+            capacities = Arrays.copyOf(capacities, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+        return rowCount++;
+    }
+
+    private int zoneIndex(String zoneId) {
+        Integer index = zoneIndexes.get(zoneId);
+        if (index == null) {
+            index = zoneIds.size();
+            zoneIndexes.put(zoneId, index);
+            zoneIds.add(zoneId);
+            zoneRows.add(new BitSet());
+        }
+        return index;
+    }
+
+    private static long toNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private List<ContainerView> collect(BitSet rows) {
+        List<ContainerView> result = new ArrayList<>(rows.cardinality());
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            result.add(new ContainerView(
+                ids[row],
+                zoneIds.get(zones[row]),
+                TYPES[types[row]],
+                fillLevels[row],
+                STATUSES[statuses[row]],
+                capacities[row],
+                operational.get(row),
+                latitudes[row],
+                longitudes[row],
+                addresses[row],
+                criticalRows.get(row),
+                Instant.ofEpochSecond(0, versions[row])
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * Rreshti i një kontejneri në read model: vetëm vlera primitive dhe
+     * String-je të ndara me kolonat, pa value objects.
+     */
+    public static class ContainerView {
+        private final String id;
+        private final String zoneId;
+        private final ContainerType type;
+        private final int fillLevel;
+        private final ContainerStatus status;
+        private final int capacity;
+        private final boolean operational;
+        private final double latitude;
+        private final double longitude;
+        private final String address;
+        private final boolean critical;
+        private final Instant modifiedAt;
+
+        public ContainerView(String id, String zoneId, ContainerType type, int fillLevel,
+                             ContainerStatus status, int capacity, boolean operational,
+                             double latitude, double longitude, String address, boolean critical,
+                             Instant modifiedAt) {
+            this.id = id;
+            this.zoneId = zoneId;
+            this.type = type;
+            this.fillLevel = fillLevel;
+            this.status = status;
+            this.capacity = capacity;
+            this.operational = operational;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.address = address;
+            this.critical = critical;
+            this.modifiedAt = modifiedAt;
+        }
+
+        /**
+         * Kopjon gjendjen aktuale të kontejnerit (Kontenier është i ndryshueshëm).
+         */
+        public static ContainerView of(Kontenier container) {
+            return new ContainerView(
+                container.getId(),
+                container.getZoneId(),
+                container.getType(),
+                container.getFillLevel().getValue(),
+                container.getStatus(),
+                container.getCapacity(),
+                container.isOperational(),
+                container.getLocation().getLatitude(),
+                container.getLocation().getLongitude(),
+                container.getAddress().toFullAddress(),
+                container.getFillLevel().isCritical(),
+                container.getModifiedAt()
+            );
+        }
+
+        public String getId() { return id; }
+        public String getZoneId() { return zoneId; }
+        public ContainerType getType() { return type; }
+        public int getFillLevel() { return fillLevel; }
+        public ContainerStatus getStatus() { return status; }
+        public int getCapacity() { return capacity; }
+        public boolean isOperational() { return operational; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public String getAddress() { return address; }
+        public boolean isCritical() { return critical; }
+        public Instant getModifiedAt() { return modifiedAt; }
+
+        /**
+         * Si Kontenier.needsUrgentCollection(): kritik dhe operativ
+         */
+        public boolean needsUrgentCollection() {
+            return critical && operational;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+
+import java.util.List;
+
+/**
+ * Indeks hapësinor (k-d tree) mbi vendndodhjet e kontejnerëve.
+ *
+ * Pikat ruhen si vektorë njësi 3D në sferë. Distanca e kordës në sferë
+ * është monotone me distancën Haversine, prandaj krasitja e degëve bëhet
+ * pa trigonometri, ndërsa krahasimi final i kandidatëve përdor
+ * {@link Coordinates#distanceTo(Coordinates)} - rezultati është identik
+ * me një skanim linear.
+ *
+ * Mbështet fshirjen e kontejnerëve (lazy deletion me numërues për nën-pemë),
+ * kështu që kërkimet e njëpasnjëshme të fqinjit më të afërt janë ~O(log n).
+ *
+ * Nëse jepet një {@link ZoneDistanceMatrixCache.DistanceMatrix}, kërkimet nga
+ * një kontejner ({@link #nearest(int)}) lexojnë distancat nga matrica.
+ *
+ * Nuk është thread-safe; krijohet një instancë për çdo llogaritje rruge.
+ */
+public class ContainerSpatialIndex {
+
+    private static final double EARTH_RADIUS_METERS = 6371.0 * 1000;
+
+    // Toleranca (në njësi kordë) për gabimet e rrumbullakimit gjatë krasitjes
+    private static final double PRUNE_SLACK = 1e-12;
+
+    private final List<Kontenier> containers;
+    private final ZoneDistanceMatrixCache.DistanceMatrix distances;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+
+    // Pema implicite: nyja e intervalit [lo, hi) është në pozicionin mid = (lo + hi) >>> 1
+    private final int[] tree;          // pozicioni -> indeksi i kontejnerit
+    private final int[] positionOf;    // indeksi i kontejnerit -> pozicioni
+    private final byte[] splitAxis;    // boshti i ndarjes për çdo nyje
+    private final int[] aliveCount;    // kontejnerë të pafshirë në nën-pemë
+    private final boolean[] removed;
+
+    private int size;
+
+    // Gjendja e kërkimit aktual
+    private Coordinates queryPoint;
+    private int queryIndex;
+    private double qx, qy, qz;
+    private int bestIndex;
+    private double bestDistance;
+    private double bestChord;
+
+    /**
+     * Ndërton indeksin për listën e dhënë të kontejnerëve.
+     * Indekset e kthyera nga {@link #nearest(Coordinates)} i referohen kësaj liste.
+     *
+     * @param containers Kontejnerët që indeksohen
+     */
+    public ContainerSpatialIndex(List<Kontenier> containers) {
+        this(containers, null);
+    }
+    
+    /**
+     * @param containers Kontejnerët që indeksohen
+     * @param distances Matrica e distancave për të njëjtën listë (mund të jetë null)
+     */
+    public ContainerSpatialIndex(List<Kontenier> containers, ZoneDistanceMatrixCache.DistanceMatrix distances) {
+        int n = containers.size();
+        this.containers = containers;
+        this.distances = distances;
+        this.xs = new double[n];
+        this.ys = new double[n];
+        this.zs = new double[n];
+        this.tree = new int[n];
+        this.positionOf = new int[n];
+        this.splitAxis = new byte[n];
+        this.aliveCount = new int[n];
+        this.removed = new boolean[n];
+        this.size = n;
+
+        for (int i = 0; i < n; i++) {
+            Coordinates location = containers.get(i).getLocation();
+            double latRad = Math.toRadians(location.getLatitude());
+            double lonRad = Math.toRadians(location.getLongitude());
+            double cosLat = Math.cos(latRad);
+            xs[i] = cosLat * Math.cos(lonRad);
+            ys[i] = cosLat * Math.sin(lonRad);
+            zs[i] = Math.sin(latRad);
+            tree[i] = i;
+        }
+
+        build(0, n);
+        for (int pos = 0; pos < n; pos++) {
+            positionOf[tree[pos]] = pos;
+        }
+    }
+
+    /**
+     * Gjen kontejnerin më të afërt (Haversine) që nuk është fshirë.
+     * Në rast barazie kthehet ai me indeksin më të vogël në listën origjinale.
+     *
+     * @param point Pika e kërkimit
+     * @return Indeksi i kontejnerit më të afërt, ose -1 nëse indeksi është bosh
+     */
+    public int nearest(Coordinates point) {
+        return nearest(point, -1);
+    }
+
+    /**
+     * Gjen kontejnerin më të afërt nga kontejneri me indeksin e dhënë.
+     *
+     * @param fromIndex Indeksi i kontejnerit ku ndodhemi
+     * @return Indeksi i kontejnerit më të afërt, ose -1 nëse indeksi është bosh
+     */
+    public int nearest(int fromIndex) {
+        return nearest(containers.get(fromIndex).getLocation(), fromIndex);
+    }
+
+    private int nearest(Coordinates point, int fromIndex) {
+        if (size == 0) {
+            return -1;
+        }
+
+        double latRad = Math.toRadians(point.getLatitude());
+        double lonRad = Math.toRadians(point.getLongitude());
+        double cosLat = Math.cos(latRad);
+
+        this.queryPoint = point;
+        this.queryIndex = distances != null ? fromIndex : -1;
+        this.qx = cosLat * Math.cos(lonRad);
+        this.qy = cosLat * Math.sin(lonRad);
+        this.qz = Math.sin(latRad);
+        this.bestIndex = -1;
+        this.bestDistance = Double.MAX_VALUE;
+        this.bestChord = Double.MAX_VALUE;
+
+        search(0, tree.length);
+
+        this.queryPoint = null;
+        return bestIndex;
+    }
+
+    /**
+     * Fshin kontejnerin nga indeksi (p.sh. pasi është vizituar).
+     *
+     * @param index Indeksi i kontejnerit në listën origjinale
+     */
+    public void remove(int index) {
+        if (removed[index]) {
+            return;
+        }
+        removed[index] = true;
+        size--;
+
+        int target = positionOf[index];
+        int lo = 0;
+        int hi = tree.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            aliveCount[mid]--;
+            if (target == mid) {
+                return;
+            }
+            if (target < mid) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Kontenier get(int index) {
+        return containers.get(index);
+    }
+
+    // ========== PRIVATE HELPER METHODS ==========
+
+    private void build(int lo, int hi) {
+        if (lo >= hi) {
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        int axis = widestAxis(lo, hi);
+        select(lo, hi - 1, mid, axis);
+
+        splitAxis[mid] = (byte) axis;
+        aliveCount[mid] = hi - lo;
+
+        build(lo, mid);
+        build(mid + 1, hi);
+    }
+
+    private void search(int lo, int hi) {
+        if (lo >= hi) {
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        if (aliveCount[mid] == 0) {
+            return;
+        }
+
+        int index = tree[mid];
+        if (!removed[index]) {
+            double distance = queryIndex >= 0
+                ? distances.distance(queryIndex, index)
+                : queryPoint.distanceTo(containers.get(index).getLocation());
+            if (distance < bestDistance || (distance == bestDistance && index < bestIndex)) {
+                bestDistance = distance;
+                bestIndex = index;
+                bestChord = 2 * Math.sin(distance / (2 * EARTH_RADIUS_METERS));
+            }
+        }
+
+        int axis = splitAxis[mid];
+        double diff = coordinate(axis, qx, qy, qz) - coordinate(axis, index);
+
+        // Fillimisht pjesa ku ndodhet pika e kërkimit, pastaj tjetra nëse mund të ketë kandidat
+        if (diff < 0) {
+            search(lo, mid);
+            if (-diff <= bestChord + PRUNE_SLACK) {
+                search(mid + 1, hi);
+            }
+        } else {
+            search(mid + 1, hi);
+            if (diff <= bestChord + PRUNE_SLACK) {
+                search(lo, mid);
+            }
+        }
+    }
+
+    private int widestAxis(int lo, int hi) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+
+        for (int pos = lo; pos < hi; pos++) {
+            int i = tree[pos];
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+            minZ = Math.min(minZ, zs[i]);
+            maxZ = Math.max(maxZ, zs[i]);
+        }
+
+        double spreadX = maxX - minX;
+        double spreadY = maxY - minY;
+        double spreadZ = maxZ - minZ;
+        if (spreadX >= spreadY && spreadX >= spreadZ) {
+            return 0;
+        }
+        return spreadY >= spreadZ ? 1 : 2;
+    }
+
+    /**
+     * Quickselect: vendos në pozicionin k elementin që do të ishte aty pas renditjes sipas boshtit.
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (right > left) {
+            int pivotPos = (left + right) >>> 1;
+            double pivot = coordinate(axis, tree[pivotPos]);
+            swap(pivotPos, right);
+
+            int store = left;
+            for (int pos = left; pos < right; pos++) {
+                if (coordinate(axis, tree[pos]) < pivot) {
+                    swap(pos, store++);
+                }
+            }
+            swap(store, right);
+
+            if (store == k) {
+                return;
+            }
+            if (k < store) {
+                right = store - 1;
+            } else {
+                left = store + 1;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        int tmp = tree[a];
+        tree[a] = tree[b];
+        tree[b] = tmp;
+    }
+
+    private double coordinate(int axis, int index) {
+        return switch (axis) {
+            case 0 -> xs[index];
+            case 1 -> ys[index];
+            default -> zs[index];
+        };
+    }
+
+    private static double coordinate(int axis, double x, double y, double z) {
+        return switch (axis) {
+            case 0 -> x;
+            case 1 -> y;
+            default -> z;
+        };
+    }
+}
@@ -0,0 +1,233 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.valueobjects.FillLevel;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.services.WasteMonitoringService.FillLevelReading;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Buffer write-behind për leximet e nivelit të mbushjes.
+ *
+ * Sensorët raportojnë shpesh të njëjtin kontejner disa herë në sekondë.
+ * Buffer-i mban vetëm leximin e fundit për çdo kontejner dhe i shkruan në grup
+ * përmes {@link WasteMonitoringService#ingestFillLevels}, në një interval fiks
+ * ose sapo numri i kontejnerëve në pritje arrin madhësinë maksimale.
+ *
+ * Leximi që e çon kontejnerin në nivel kritik nuk pret: shkruhet menjëherë,
+ * që ContainerFullEvent të publikohet pa vonesë. Niveli paraprak është
+ * leximi në pritje, ose ai në {@link ContainerReadModel}, që përditësohet pas
+ * çdo commit-i, edhe kur niveli ndryshon jashtë buffer-it (zbrazja, mbledhja).
+ *
+ * Shkrimet (flush dhe të menjëhershmet) serializohen, kështu që një flush nuk
+ * mbishkruan dot një lexim më të ri.
+ */
+public class FillLevelWriteBehindBuffer {
+
+    private static final Logger logger = Logger.getLogger(FillLevelWriteBehindBuffer.class.getName());
+
+    private final WasteMonitoringService monitoringService;
+    private final KontenierRepository kontenierRepository;
+    private final ContainerReadModel readModel;
+    private final ScheduledExecutorService scheduler;
+    private final long flushIntervalMs;
+    private final int maxBatchSize;
+
+    // Leximi i fundit për çdo kontejner që pret flush
+    private final ConcurrentMap<String, Integer> pending = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final AtomicLong receivedReadings = new AtomicLong();
+    private final AtomicLong batchedWrites = new AtomicLong();
+    private final AtomicLong immediateWrites = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushTimeNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+
+    /**
+     * @param monitoringService Service që shkruan grupet e leximeve
+     * @param kontenierRepository Repository për kontrollin e kontejnerëve të panjohur
+     * @param readModel Read model-i nga merret niveli i shkruar i kontejnerit
+     * @param scheduler Scheduler për flush-et periodike dhe ato sipas madhësisë
+     * @param flushIntervalMs Intervali midis flush-eve
+     * @param maxBatchSize Numri i kontejnerëve në pritje që shkakton një flush
+     */
+    public FillLevelWriteBehindBuffer(
+            WasteMonitoringService monitoringService,
+            KontenierRepository kontenierRepository,
+            ContainerReadModel readModel,
+            ScheduledExecutorService scheduler,
+            long flushIntervalMs,
+            int maxBatchSize
+    ) {
+        if (flushIntervalMs <= 0) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.monitoringService = monitoringService;
+        this.kontenierRepository = kontenierRepository;
+        this.readModel = Objects.requireNonNull(readModel, "Read model cannot be null");
+        this.scheduler = Objects.requireNonNull(scheduler, "Scheduler cannot be null");
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Nis flush-et periodike.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info(String.format(
+            "Fill level write-behind started: interval %d ms, max batch %d",
+            flushIntervalMs, maxBatchSize
+        ));
+    }
+
+    /**
+     * Pranon një lexim. Shkruhet menjëherë vetëm nëse e çon kontejnerin në
+     * nivel kritik; përndryshe zëvendëson leximin në pritje të kontejnerit.
+     *
+     * @param containerId ID-ja e kontejnerit
+     * @param fillLevel Niveli i ri i mbushjes (0-100)
+     * @throws IllegalArgumentException nëse leximi është i pavlefshëm ose kontejneri nuk ekziston
+     */
+    public void submit(String containerId, int fillLevel) {
+        FillLevelReading reading = new FillLevelReading(containerId, fillLevel);
+
+        Integer previous = pending.get(containerId);
+        if (previous == null) {
+            int stored = readModel.findFillLevel(containerId);
+            previous = stored >= 0 ? stored : null;
+        }
+        // Databaza pyetet vetëm për kontejnerët që read model-i nuk i njeh
+        if (previous == null && !kontenierRepository.existsById(containerId)) {
+            throw new IllegalArgumentException(String.format("Container not found: %s", containerId));
+        }
+        receivedReadings.incrementAndGet();
+
+        if (FillLevel.of(fillLevel).isCritical() && (previous == null || !FillLevel.of(previous).isCritical())) {
+            writeImmediately(reading);
+            return;
+        }
+
+        pending.put(containerId, fillLevel);
+        if (pending.size() >= maxBatchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushRequested.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Shkruan të gjitha leximet në pritje me një thirrje të ingestFillLevels.
+     *
+     * @return Numri i kontejnerëve të shkruar
+     */
+    public int flush() {
+        synchronized (writeLock) {
+            List<FillLevelReading> batch = new ArrayList<>(pending.size());
+            for (Map.Entry<String, Integer> entry : pending.entrySet()) {
+                // remove(key, value): një lexim më i ri që mbërrin tani mbetet për flush-in e radhës
+                if (pending.remove(entry.getKey(), entry.getValue())) {
+                    batch.add(new FillLevelReading(entry.getKey(), entry.getValue()));
+                }
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            long start = System.nanoTime();
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                // Leximet kthehen në pritje, pa zëvendësuar ato që kanë ardhur ndërkohë
+                for (FillLevelReading reading : batch) {
+                    pending.putIfAbsent(reading.getContainerId(), reading.getFillLevel());
+                }
+                throw e;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                lastFlushNanos = elapsed;
+                flushTimeNanos.addAndGet(elapsed);
+                flushCount.incrementAndGet();
+            }
+
+            batchedWrites.addAndGet(batch.size());
+            logger.fine(String.format(
+                "Flushed %d fill levels in %.1f ms", batch.size(), lastFlushNanos / 1_000_000.0
+            ));
+            return batch.size();
+        }
+    }
+
+    /**
+     * Shkruan leximet e mbetura në pritje (në mbyllje të aplikacionit).
+     */
+    public void close() {
+        flushQuietly();
+        logger.info(String.format(
+            "Fill level write-behind closed: %d readings, %d batched and %d immediate writes",
+            receivedReadings.get(), batchedWrites.get(), immediateWrites.get()
+        ));
+    }
+
+    /**
+     * Flush që nuk hedh exception (për scheduler-in); gabimi logohet dhe
+     * leximet provohen sërish në flush-in e radhës.
+     */
+    public void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.severe(String.format("Fill level flush failed: %s", e.getMessage()));
+        }
+    }
+
+    // ========== METRICS ==========
+
+    public long getReceivedReadings() { return receivedReadings.get(); }
+    public long getBatchedWrites() { return batchedWrites.get(); }
+    public long getImmediateWrites() { return immediateWrites.get(); }
+    public int getPendingCount() { return pending.size(); }
+    public long getFlushCount() { return flushCount.get(); }
+    public long getFlushTimeNanos() { return flushTimeNanos.get(); }
+    public long getLastFlushNanos() { return lastFlushNanos; }
+
+    /**
+     * Leximet e pranuara për çdo shkrim në databazë (1.0 = pa bashkim)
+     */
+    public double getCoalescingRatio() {
+        long writes = batchedWrites.get() + immediateWrites.get();
+        return writes == 0 ? 0.0 : (double) (receivedReadings.get() - pending.size()) / writes;
+    }
+
+    // ========== PRIVATE HELPER METHODS ==========
+
+    private void writeImmediately(FillLevelReading reading) {
+        synchronized (writeLock) {
+            // Leximi i ri zëvendëson atë në pritje
+            pending.remove(reading.getContainerId());
+            write(List.of(reading));
+            immediateWrites.incrementAndGet();
+        }
+    }
+
+    private void write(List<FillLevelReading> readings) {
+        // Read model-i përditësohet pas commit-it, para se të kthehet ingestFillLevels
+        monitoringService.ingestFillLevels(readings);
+    }
+}
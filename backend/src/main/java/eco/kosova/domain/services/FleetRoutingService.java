@@ -0,0 +1,55 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kamioni;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import eco.kosova.domain.repositories.KamioniRepository;
+import eco.kosova.domain.repositories.KontenierRepository;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Domain Service për planifikimin e rrugëve të të gjithë flotës.
+ * 
+ * Ndryshe nga {@link RouteOptimizationService} (një rrugë për zonë), ky service
+ * respekton kapacitetin e kamionëve: merr kamionët e disponueshëm dhe kontejnerët
+ * që duhen mbledhur, dhe kthen një rrugë për çdo kamion përmes
+ * {@link CapacitatedRoutingEngine}.
+ */
+public class FleetRoutingService {
+    
+    private static final Logger logger = Logger.getLogger(FleetRoutingService.class.getName());
+    
+    private final KontenierRepository kontenierRepository;
+    private final KamioniRepository kamioniRepository;
+    private final CapacitatedRoutingEngine routingEngine;
+    
+    public FleetRoutingService(
+            KontenierRepository kontenierRepository,
+            KamioniRepository kamioniRepository,
+            CapacitatedRoutingEngine routingEngine
+    ) {
+        this.kontenierRepository = kontenierRepository;
+        this.kamioniRepository = kamioniRepository;
+        this.routingEngine = routingEngine;
+    }
+    
+    /**
+     * Planifikon rrugët për kamionët e disponueshëm.
+     * 
+     * @param depot Pika ku fillon dhe mbaron çdo rrugë
+     * @return Plani me një rrugë për çdo kamion
+     */
+    public CapacitatedRoutingEngine.RoutingPlan planFleetRoutes(Coordinates depot) {
+        List<Kamioni> trucks = kamioniRepository.findAvailable();
+        List<Kontenier> containers = kontenierRepository.findContainersNeedingCollection();
+        
+        logger.info(String.format(
+            "Planning fleet routes: %d available trucks, %d containers needing collection",
+            trucks.size(), containers.size()
+        ));
+        
+        return routingEngine.solve(containers, trucks, depot);
+    }
+}
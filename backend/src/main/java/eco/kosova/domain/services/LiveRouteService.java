@@ -0,0 +1,405 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import eco.kosova.domain.repositories.KontenierRepository;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
+
+/**
+ * Domain Service që mban një rrugë "live" për çdo zonë.
+ *
+ * Rruga ndërtohet një herë me NEAREST_NEIGHBOR nga pika e fillimit (depo) dhe
+ * pastaj mirëmbahet në mënyrë inkrementale: kur një kontejner bëhet gati për
+ * mbledhje futet në pozicionin më të lirë (cheapest insertion), dhe kur nuk
+ * është më gati (zbrazet, del nga shërbimi, fshihet) hiqet nga rruga. Leximi
+ * i rrugës është O(1) - kthehet snapshot-i i fundit i pandryshueshëm.
+ *
+ * Pas {@code rebuildThreshold} ndryshimeve inkrementale rruga rindërtohet
+ * plotësisht në leximin e radhës, që cilësia të mos degradojë me kohën.
+ *
+ * Zonat materializohen vetëm kur lexohen për herë të parë; ndryshimet në
+ * zonat e pamaterializuara injorohen. Nivelet e mbushjes së kontejnerëve në
+ * rrugë janë ato të përditësimit të fundit që preku gatishmërinë e tyre.
+ *
+ * Ndërtimi (query në repository + llogaritja e rrugës) bëhet jashtë lock-ut të
+ * ConcurrentHashMap, që refresh() në thread-in e eventeve të mos presë pas tij.
+ * Ndryshimet që mbërrijnë gjatë ndërtimit regjistrohen dhe zbatohen mbi rrugën
+ * e re kur ajo instalohet. Leximet paralele të së njëjtës zonë ndajnë një ndërtim.
+ */
+public class LiveRouteService {
+
+    private static final Logger logger = Logger.getLogger(LiveRouteService.class.getName());
+
+    public static final int DEFAULT_REBUILD_THRESHOLD = 64;
+
+    private final KontenierRepository kontenierRepository;
+    private final RouteOptimizationService routeOptimizationService;
+    private final Coordinates startPoint;
+    private final int rebuildThreshold;
+    private final ConcurrentHashMap<String, LiveRoute> routes;
+    // Ndërtimet në vazhdim, një për zonë
+    private final ConcurrentHashMap<String, RouteBuild> builds;
+
+    public LiveRouteService(
+            KontenierRepository kontenierRepository,
+            RouteOptimizationService routeOptimizationService,
+            Coordinates startPoint
+    ) {
+        this(kontenierRepository, routeOptimizationService, startPoint, DEFAULT_REBUILD_THRESHOLD);
+    }
+
+    /**
+     * @param kontenierRepository Repository i kontejnerëve
+     * @param routeOptimizationService Service që ndërton rrugën fillestare
+     * @param startPoint Pika e fillimit e të gjitha rrugëve live
+     * @param rebuildThreshold Numri i ndryshimeve inkrementale para rindërtimit
+     */
+    public LiveRouteService(
+            KontenierRepository kontenierRepository,
+            RouteOptimizationService routeOptimizationService,
+            Coordinates startPoint,
+            int rebuildThreshold
+    ) {
+        if (rebuildThreshold <= 0) {
+            throw new IllegalArgumentException("Rebuild threshold must be positive");
+        }
+        this.kontenierRepository = Objects.requireNonNull(kontenierRepository, "Repository cannot be null");
+        this.routeOptimizationService = Objects.requireNonNull(
+            routeOptimizationService, "Route optimization service cannot be null"
+        );
+        this.startPoint = Objects.requireNonNull(startPoint, "Start point cannot be null");
+        this.rebuildThreshold = rebuildThreshold;
+        this.routes = new ConcurrentHashMap<>();
+        this.builds = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Kthen rrugën live të zonës. Ndërtohet vetëm herën e parë ose pas
+     * rebuildThreshold ndryshimeve; përndryshe leximi është O(1).
+     *
+     * @param zoneId ID-ja e zonës
+     * @return Snapshot-i aktual i rrugës
+     */
+    public LiveRoute getRoute(String zoneId) {
+        LiveRoute route = routes.get(zoneId);
+        if (isFresh(route)) {
+            return route;
+        }
+
+        RouteBuild build = new RouteBuild();
+        RouteBuild running = builds.putIfAbsent(zoneId, build);
+        if (running != null) {
+            // Rruga ekzistuese mbetet e vlefshme derisa të përfundojë rindërtimi
+            return route != null ? route : running.await();
+        }
+
+        try {
+            // Një ndërtim tjetër mund të ketë përfunduar ndërkohë
+            LiveRoute installed = routes.get(zoneId);
+            LiveRoute result = isFresh(installed) ? installed : install(zoneId, build, build(zoneId));
+            build.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            build.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            builds.remove(zoneId, build);
+        }
+    }
+
+    /**
+     * Rilexon kontejnerin nga repository dhe përshtat rrugën live
+     * (p.sh. pas ContainerFullEvent).
+     *
+     * @param containerId ID-ja e kontejnerit
+     */
+    public void refresh(String containerId) {
+        // Pa rrugë live nuk ka çfarë të përshtatet; rruga e ndërtuar më vonë lexon gjendjen e ruajtur
+        if (routes.isEmpty() && builds.isEmpty()) {
+            return;
+        }
+        Optional<Kontenier> container = kontenierRepository.findById(containerId);
+        if (container.isPresent()) {
+            refresh(container.get());
+        } else {
+            remove(containerId);
+        }
+    }
+
+    /**
+     * Përshtat rrugën live sipas gjendjes aktuale të kontejnerit: e fut nëse
+     * është gati për mbledhje, e heq nëse nuk është, dhe e zhvendos nëse ka
+     * ndërruar zonë ose vendndodhje.
+     *
+     * @param container Kontejneri me gjendjen e ruajtur
+     */
+    public void refresh(Kontenier container) {
+        String containerId = container.getId();
+        String zoneId = container.getZoneId();
+
+        // Kontejneri mund të jetë ende në rrugën e zonës së vjetër
+        for (String otherZoneId : liveZoneIds()) {
+            if (!otherZoneId.equals(zoneId)) {
+                apply(otherZoneId, route -> without(route, containerId));
+            }
+        }
+
+        apply(zoneId, route -> reconcile(route, container));
+    }
+
+    /**
+     * Heq kontejnerin nga çdo rrugë live (p.sh. pas fshirjes).
+     *
+     * @param containerId ID-ja e kontejnerit
+     */
+    public void remove(String containerId) {
+        for (String zoneId : liveZoneIds()) {
+            apply(zoneId, route -> without(route, containerId));
+        }
+    }
+
+    /**
+     * Heq rrugën live të zonës; rindërtohet në leximin e radhës.
+     *
+     * @param zoneId ID-ja e zonës
+     */
+    public void invalidateZone(String zoneId) {
+        RouteBuild build = builds.get(zoneId);
+        if (build != null) {
+            build.invalidate();
+        }
+        routes.remove(zoneId);
+    }
+
+    public Coordinates getStartPoint() {
+        return startPoint;
+    }
+
+    // ========== PRIVATE HELPER METHODS ==========
+
+    private boolean isFresh(LiveRoute route) {
+        return route != null && route.getChangesSinceRebuild() < rebuildThreshold;
+    }
+
+    private Set<String> liveZoneIds() {
+        Set<String> zoneIds = new HashSet<>(routes.keySet());
+        zoneIds.addAll(builds.keySet());
+        return zoneIds;
+    }
+
+    /**
+     * Zbaton një ndryshim mbi rrugën e zonës. Nëse zona po ndërtohet, ndryshimi
+     * regjistrohet te ndërtimi; nëse ndërtimi sapo u mbyll, computeIfPresent pret
+     * instalimin e tij (që bëhet brenda compute) dhe e zbaton mbi rrugën e re.
+     */
+    private void apply(String zoneId, UnaryOperator<LiveRoute> change) {
+        RouteBuild build = builds.get(zoneId);
+        if (build != null && build.record(change)) {
+            return;
+        }
+        routes.computeIfPresent(zoneId, (id, route) -> change.apply(route));
+    }
+
+    /**
+     * Instalon rrugën e ndërtuar pasi zbaton ndryshimet e regjistruara gjatë
+     * ndërtimit. Brenda compute bëhen vetëm përshtatjet inkrementale.
+     */
+    private LiveRoute install(String zoneId, RouteBuild build, LiveRoute built) {
+        LiveRoute[] result = {built};
+        routes.compute(zoneId, (id, current) -> {
+            List<UnaryOperator<LiveRoute>> changes = build.close();
+            for (UnaryOperator<LiveRoute> change : changes) {
+                result[0] = change.apply(result[0]);
+            }
+            // Pas invalidateZone rruga kthehet, por nuk ruhet
+            return build.isInvalidated() ? current : result[0];
+        });
+        return result[0];
+    }
+
+    private LiveRoute build(String zoneId) {
+        List<Kontenier> route = routeOptimizationService.calculateOptimalRoute(
+            zoneId, startPoint, "NEAREST_NEIGHBOR"
+        );
+        double distance = routeOptimizationService.calculateTotalDistance(route, startPoint);
+
+        logger.info(String.format(
+            "Built live route for zone %s: %d containers, %.0f m",
+            zoneId, route.size(), distance
+        ));
+        return new LiveRoute(zoneId, route, distance, 0);
+    }
+
+    private LiveRoute reconcile(LiveRoute route, Kontenier container) {
+        List<Kontenier> containers = route.getContainers();
+        int position = route.contains(container.getId()) ? indexOf(containers, container.getId()) : -1;
+        boolean ready = container.isReadyForCollection();
+
+        if (position >= 0 && ready
+                && containers.get(position).getLocation().equals(container.getLocation())) {
+            // Vetëm gjendja e kontejnerit ndryshoi; renditja dhe distanca mbeten
+            List<Kontenier> updated = new ArrayList<>(containers);
+            updated.set(position, container);
+            return new LiveRoute(route.getZoneId(), updated, route.getTotalDistanceMeters(),
+                route.getChangesSinceRebuild());
+        }
+
+        LiveRoute current = position >= 0 ? removeAt(route, position) : route;
+        return ready ? insert(current, container) : current;
+    }
+
+    private LiveRoute without(LiveRoute route, String containerId) {
+        if (!route.contains(containerId)) {
+            return route;
+        }
+        return removeAt(route, indexOf(route.getContainers(), containerId));
+    }
+
+    private LiveRoute removeAt(LiveRoute route, int position) {
+        List<Kontenier> containers = route.getContainers();
+        Coordinates removed = containers.get(position).getLocation();
+        Coordinates previous = position == 0 ? startPoint : containers.get(position - 1).getLocation();
+
+        double delta = -previous.distanceTo(removed);
+        if (position + 1 < containers.size()) {
+            Coordinates next = containers.get(position + 1).getLocation();
+            delta += previous.distanceTo(next) - removed.distanceTo(next);
+        }
+
+        List<Kontenier> updated = new ArrayList<>(containers);
+        updated.remove(position);
+        return new LiveRoute(route.getZoneId(), updated,
+            Math.max(0.0, route.getTotalDistanceMeters() + delta),
+            route.getChangesSinceRebuild() + 1);
+    }
+
+    /**
+     * Cheapest insertion në rrugë të hapur: futja para pozicionit k
+     * (ose në fund kur k == size) me rritjen më të vogël të distancës.
+     */
+    private LiveRoute insert(LiveRoute route, Kontenier container) {
+        List<Kontenier> containers = route.getContainers();
+        Coordinates location = container.getLocation();
+        int size = containers.size();
+
+        // Krahasimet bëhen me distancën e shpejtë, delta finale me Haversine
+        int bestPosition = size;
+        double bestCost = Double.MAX_VALUE;
+        for (int k = 0; k <= size; k++) {
+            Coordinates previous = k == 0 ? startPoint : containers.get(k - 1).getLocation();
+            double cost = previous.fastDistanceTo(location);
+            if (k < size) {
+                Coordinates next = containers.get(k).getLocation();
+                cost += location.fastDistanceTo(next) - previous.fastDistanceTo(next);
+            }
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestPosition = k;
+            }
+        }
+
+        Coordinates previous = bestPosition == 0 ? startPoint : containers.get(bestPosition - 1).getLocation();
+        double delta = previous.distanceTo(location);
+        if (bestPosition < size) {
+            Coordinates next = containers.get(bestPosition).getLocation();
+            delta += location.distanceTo(next) - previous.distanceTo(next);
+        }
+
+        List<Kontenier> updated = new ArrayList<>(size + 1);
+        updated.addAll(containers);
+        updated.add(bestPosition, container);
+        return new LiveRoute(route.getZoneId(), updated,
+            route.getTotalDistanceMeters() + delta,
+            route.getChangesSinceRebuild() + 1);
+    }
+
+    private static int indexOf(List<Kontenier> containers, String containerId) {
+        for (int i = 0; i < containers.size(); i++) {
+            if (containers.get(i).getId().equals(containerId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Një ndërtim në vazhdim: rezultati për leximet që presin dhe ndryshimet që
+     * mbërritën para instalimit.
+     */
+    private static final class RouteBuild {
+        private final CompletableFuture<LiveRoute> result = new CompletableFuture<>();
+        private final List<UnaryOperator<LiveRoute>> changes = new ArrayList<>();
+        private boolean closed;
+        private boolean invalidated;
+
+        synchronized boolean record(UnaryOperator<LiveRoute> change) {
+            if (closed) {
+                return false;
+            }
+            changes.add(change);
+            return true;
+        }
+
+        synchronized List<UnaryOperator<LiveRoute>> close() {
+            closed = true;
+            return new ArrayList<>(changes);
+        }
+
+        synchronized void invalidate() {
+            invalidated = true;
+        }
+
+        synchronized boolean isInvalidated() {
+            return invalidated;
+        }
+
+        LiveRoute await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Snapshot i pandryshueshëm i rrugës live të një zone
+     */
+    public static class LiveRoute {
+        private final String zoneId;
+        private final List<Kontenier> containers;
+        private final Set<String> containerIds;
+        private final double totalDistanceMeters;
+        private final int changesSinceRebuild;
+
+        LiveRoute(String zoneId, List<Kontenier> containers, double totalDistanceMeters, int changesSinceRebuild) {
+            this.zoneId = zoneId;
+            this.containers = Collections.unmodifiableList(new ArrayList<>(containers));
+            this.containerIds = new HashSet<>();
+            for (Kontenier container : containers) {
+                this.containerIds.add(container.getId());
+            }
+            this.totalDistanceMeters = totalDistanceMeters;
+            this.changesSinceRebuild = changesSinceRebuild;
+        }
+
+        public boolean contains(String containerId) {
+            return containerIds.contains(containerId);
+        }
+
+        // Getters
+        public String getZoneId() { return zoneId; }
+        public List<Kontenier> getContainers() { return containers; }
+        public double getTotalDistanceMeters() { return totalDistanceMeters; }
+        public int getChangesSinceRebuild() { return changesSinceRebuild; }
+    }
+}
@@ -0,0 +1,328 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Strategjia Local Search për optimizimin e rrugëve.
+ *
+ * Fillon nga rruga e {@link NearestNeighborStrategy} dhe e përmirëson me
+ * kalime të kufizuara 2-opt (kthim segmenti) dhe Or-opt (zhvendosje e
+ * segmenteve me 1-3 kontejnerë), derisa nuk ka më përmirësim ose mbaron
+ * buxheti i kohës.
+ *
+ * Rruga është e hapur: fillon te pika e fillimit dhe nuk kthehet,
+ * njësoj si {@link RouteOptimizationService#calculateTotalDistance}.
+ * Distancat llogariten një herë në një matricë double[][], kështu që
+ * cikli i brendshëm nuk bën alokime dhe as trigonometri. Kur jepet matrica
+ * e zonës nga {@link ZoneDistanceMatrixCache}, vetëm distancat nga pika e
+ * fillimit llogariten me Haversine.
+ */
+public class LocalSearchStrategy implements RouteStrategy {
+
+    private static final Logger logger = Logger.getLogger(LocalSearchStrategy.class.getName());
+
+    public static final long DEFAULT_TIME_BUDGET_MS = 500;
+
+    // Mbi këtë numër kontejnerësh matrica (n² double) bëhet shumë e madhe
+    public static final int DEFAULT_MAX_CONTAINERS = 2000;
+
+    private static final int MAX_PASSES = 50;
+    private static final int MAX_SEGMENT_LENGTH = 3;
+    private static final double EPSILON = 1e-7;
+
+    private final RouteStrategy initialStrategy = new NearestNeighborStrategy();
+    private final long timeBudgetMillis;
+    private final int maxContainers;
+
+    public LocalSearchStrategy() {
+        this(DEFAULT_TIME_BUDGET_MS, DEFAULT_MAX_CONTAINERS);
+    }
+
+    /**
+     * @param timeBudgetMillis Koha maksimale për fazën e përmirësimit (ms)
+     * @param maxContainers Numri maksimal i kontejnerëve për të cilët ndërtohet matrica
+     */
+    public LocalSearchStrategy(long timeBudgetMillis, int maxContainers) {
+        if (timeBudgetMillis < 0) {
+            throw new IllegalArgumentException("Time budget cannot be negative");
+        }
+        if (maxContainers <= 0) {
+            throw new IllegalArgumentException("Max containers must be positive");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.maxContainers = maxContainers;
+    }
+
+    @Override
+    public List<Kontenier> calculateRoute(List<Kontenier> containers, Coordinates startPoint) {
+        return calculateRoute(containers, startPoint, null);
+    }
+
+    @Override
+    public List<Kontenier> calculateRoute(
+            List<Kontenier> containers,
+            Coordinates startPoint,
+            ZoneDistanceMatrixCache.DistanceMatrix distances
+    ) {
+        if (containers == null || containers.isEmpty()) {
+            logger.warning("Empty container list provided to LocalSearchStrategy");
+            return Collections.emptyList();
+        }
+
+        List<Kontenier> initialRoute = initialStrategy.calculateRoute(containers, startPoint, distances);
+        int n = initialRoute.size();
+
+        if (n < 3) {
+            return initialRoute;
+        }
+        if (n > maxContainers) {
+            logger.warning(String.format(
+                "LocalSearchStrategy: %d containers exceed limit %d, returning nearest neighbor route",
+                n, maxContainers
+            ));
+            return initialRoute;
+        }
+
+        logger.info(String.format("Improving route using 2-opt/Or-opt for %d containers", n));
+
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+
+        // Nyja 0 është pika e fillimit, nyjet 1..n janë kontejnerët
+        double[][] dist = distances != null
+            ? copyDistanceMatrix(containers, initialRoute, startPoint, distances)
+            : buildDistanceMatrix(initialRoute, startPoint);
+        int[] tour = new int[n + 1];
+        for (int i = 0; i <= n; i++) {
+            tour[i] = i;
+        }
+        int[] buffer = new int[MAX_SEGMENT_LENGTH];
+
+        double initialLength = tourLength(tour, dist);
+        int passes = 0;
+        boolean improved = true;
+
+        while (improved && passes < MAX_PASSES && System.nanoTime() < deadline) {
+            improved = twoOptPass(tour, dist, deadline);
+            improved |= orOptPass(tour, dist, buffer, deadline);
+            passes++;
+        }
+
+        List<Kontenier> route = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            route.add(initialRoute.get(tour[i] - 1));
+        }
+
+        logger.info(String.format(
+            "Route improved in %d passes: %.0f m -> %.0f m",
+            passes, initialLength, tourLength(tour, dist)
+        ));
+        return route;
+    }
+
+    @Override
+    public String getStrategyName() {
+        return "LOCAL_SEARCH";
+    }
+
+    // ========== PRIVATE HELPER METHODS ==========
+
+    private double[][] buildDistanceMatrix(List<Kontenier> route, Coordinates startPoint) {
+        int size = route.size() + 1;
+        Coordinates[] points = new Coordinates[size];
+        points[0] = startPoint;
+        for (int i = 1; i < size; i++) {
+            points[i] = route.get(i - 1).getLocation();
+        }
+
+        // Matrica përdoret vetëm për krahasime, prandaj mjafton distanca e shpejtë
+        double[][] dist = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                double d = points[i].fastDistanceTo(points[j]);
+                dist[i][j] = d;
+                dist[j][i] = d;
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Ndërton matricën sipas renditjes së rrugës fillestare duke lexuar
+     * distancat midis kontejnerëve nga matrica e zonës.
+     */
+    private double[][] copyDistanceMatrix(List<Kontenier> containers, List<Kontenier> route,
+                                          Coordinates startPoint,
+                                          ZoneDistanceMatrixCache.DistanceMatrix distances) {
+        // Pozicioni i çdo kontejneri të rrugës në listën origjinale
+        Map<Kontenier, Integer> originalIndex = new IdentityHashMap<>();
+        for (int i = 0; i < containers.size(); i++) {
+            originalIndex.putIfAbsent(containers.get(i), i);
+        }
+
+        int size = route.size() + 1;
+        int[] original = new int[size];
+        for (int i = 1; i < size; i++) {
+            original[i] = originalIndex.get(route.get(i - 1));
+        }
+
+        double[][] dist = new double[size][size];
+        for (int i = 1; i < size; i++) {
+            double d = distances.distanceFrom(startPoint, original[i]);
+            dist[0][i] = d;
+            dist[i][0] = d;
+            for (int j = i + 1; j < size; j++) {
+                double dij = distances.distance(original[i], original[j]);
+                dist[i][j] = dij;
+                dist[j][i] = dij;
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Një kalim 2-opt: kthen segmentin tour[i..j] nëse shkurton rrugën.
+     * Për rrugë të hapur, kur j është i fundit nuk ka brinjë pas segmentit.
+     */
+    private boolean twoOptPass(int[] tour, double[][] dist, long deadline) {
+        int last = tour.length - 1;
+        boolean improved = false;
+
+        for (int i = 1; i < last; i++) {
+            if (System.nanoTime() >= deadline) {
+                return improved;
+            }
+
+            int a = tour[i - 1];
+            int b = tour[i];
+            double[] distA = dist[a];
+            double[] distB = dist[b];
+
+            for (int j = i + 1; j <= last; j++) {
+                int c = tour[j];
+                double delta = distA[c] - distA[b];
+                if (j < last) {
+                    int d = tour[j + 1];
+                    delta += distB[d] - dist[c][d];
+                }
+
+                if (delta < -EPSILON) {
+                    reverse(tour, i, j);
+                    improved = true;
+                    b = tour[i];
+                    distB = dist[b];
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Një kalim Or-opt: zhvendos segmente me 1-3 nyje (në të njëjtin drejtim
+     * ose të kthyera) në pozicionin më të mirë të rrugës.
+     */
+    private boolean orOptPass(int[] tour, double[][] dist, int[] buffer, long deadline) {
+        int last = tour.length - 1;
+        boolean improved = false;
+
+        for (int len = 1; len <= MAX_SEGMENT_LENGTH; len++) {
+            for (int i = 1; i + len - 1 <= last; i++) {
+                if (System.nanoTime() >= deadline) {
+                    return improved;
+                }
+
+                int j = i + len - 1;            // segmenti është tour[i..j]
+                int prev = tour[i - 1];
+                int first = tour[i];
+                int end = tour[j];
+                boolean hasNext = j < last;
+                int next = hasNext ? tour[j + 1] : -1;
+
+                // Fitimi nga heqja e segmentit
+                double removeGain = dist[prev][first];
+                if (hasNext) {
+                    removeGain += dist[end][next] - dist[prev][next];
+                }
+
+                double bestDelta = -EPSILON;
+                int bestPos = -1;
+                boolean bestReversed = false;
+
+                // Futja midis tour[k] dhe tour[k+1] (ose në fund), jashtë segmentit
+                for (int k = 0; k <= last; k++) {
+                    if (k >= i - 1 && k <= j) {
+                        continue;
+                    }
+                    int u = tour[k];
+                    boolean hasV = k < last;
+                    int v = hasV ? tour[k + 1] : -1;
+                    double base = hasV ? dist[u][v] : 0.0;
+
+                    double forward = dist[u][first] + (hasV ? dist[end][v] : 0.0) - base - removeGain;
+                    if (forward < bestDelta) {
+                        bestDelta = forward;
+                        bestPos = k;
+                        bestReversed = false;
+                    }
+
+                    if (len > 1) {
+                        double reversed = dist[u][end] + (hasV ? dist[first][v] : 0.0) - base - removeGain;
+                        if (reversed < bestDelta) {
+                            bestDelta = reversed;
+                            bestPos = k;
+                            bestReversed = true;
+                        }
+                    }
+                }
+
+                if (bestPos >= 0) {
+                    moveSegment(tour, i, j, bestPos, bestReversed, buffer);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Zhvendos segmentin tour[i..j] pas pozicionit k (k jashtë segmentit).
+     */
+    private void moveSegment(int[] tour, int i, int j, int k, boolean reversed, int[] buffer) {
+        int len = j - i + 1;
+        System.arraycopy(tour, i, buffer, 0, len);
+
+        int insertAt;
+        if (k < i) {
+            // Zhvendos tour[k+1..i-1] djathtas
+            System.arraycopy(tour, k + 1, tour, k + 1 + len, i - k - 1);
+            insertAt = k + 1;
+        } else {
+            // Zhvendos tour[j+1..k] majtas
+            System.arraycopy(tour, j + 1, tour, i, k - j);
+            insertAt = k - len + 1;
+        }
+
+        for (int m = 0; m < len; m++) {
+            tour[insertAt + m] = reversed ? buffer[len - 1 - m] : buffer[m];
+        }
+    }
+
+    private void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int tmp = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = tmp;
+        }
+    }
+
+    private double tourLength(int[] tour, double[][] dist) {
+        double length = 0.0;
+        for (int i = 1; i < tour.length; i++) {
+            length += dist[tour[i - 1]][tour[i]];
+        }
+        return length;
+    }
+}
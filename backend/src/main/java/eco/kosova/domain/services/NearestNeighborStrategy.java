@@ -9,7 +9,13 @@ import java.util.logging.Logger;
 /**
  * Strategjia Nearest Neighbor për optimizimin e rrugëve.
  * Algoritmi greedy që zgjedh gjithmonë kontejnerin më të afërt.
- * Time complexity: O(n²)
+ * 
+ * Kërkimi i fqinjit më të afërt bëhet përmes {@link ContainerSpatialIndex}
+ * (k-d tree me fshirje), kështu që çdo hap kushton ~O(log n) në vend të O(n).
+ * Renditja e rrugës është e njëjtë me skanimin linear: në rast barazie
+ * zgjidhet kontejneri që vjen i pari në listën hyrëse.
+ * Kur jepet matrica e distancave të zonës, distancat midis kontejnerëve lexohen prej saj.
+ * Time complexity: ~O(n log n)
  */
 public class NearestNeighborStrategy implements RouteStrategy {
     
@@ -17,6 +23,15 @@ public class NearestNeighborStrategy implements RouteStrategy {
     
     @Override
     public List<Kontenier> calculateRoute(List<Kontenier> containers, Coordinates startPoint) {
+        return calculateRoute(containers, startPoint, null);
+    }
+    
+    @Override
+    public List<Kontenier> calculateRoute(
+            List<Kontenier> containers,
+            Coordinates startPoint,
+            ZoneDistanceMatrixCache.DistanceMatrix distances
+    ) {
         if (containers == null || containers.isEmpty()) {
             logger.warning("Empty container list provided to NearestNeighborStrategy");
             return Collections.emptyList();
@@ -24,44 +39,56 @@ public class NearestNeighborStrategy implements RouteStrategy {
         
         logger.info(String.format("Calculating route using Nearest Neighbor for %d containers", containers.size()));
         
-        List<Kontenier> route = new ArrayList<>();
-        Set<String> visited = new HashSet<>();
-        Coordinates currentPosition = startPoint;
+        ContainerSpatialIndex index = new ContainerSpatialIndex(containers, distances);
+        int[] nextWithSameId = linkDuplicateIds(containers);
         
-        while (visited.size() < containers.size()) {
+        List<Kontenier> route = new ArrayList<>(containers.size());
+        int current = -1; // -1: ende te pika e fillimit
+        
+        while (!index.isEmpty()) {
             // Gjen kontejnerin më të afërt që nuk është vizituar
-            Kontenier nearest = null;
-            double minDistance = Double.MAX_VALUE;
-            
-            for (Kontenier container : containers) {
-                if (visited.contains(container.getId())) {
-                    continue;
-                }
-                
-                double distance = currentPosition.distanceTo(container.getLocation());
-                
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    nearest = container;
-                }
-            }
-            
-            if (nearest != null) {
-                route.add(nearest);
-                visited.add(nearest.getId());
-                currentPosition = nearest.getLocation();
-            } else {
+            int nearest = current < 0 ? index.nearest(startPoint) : index.nearest(current);
+            if (nearest < 0) {
                 break; // Nuk ka më kontejnerë për të vizituar
             }
+            
+            route.add(index.get(nearest));
+            current = nearest;
+            
+            // Kontejnerët me të njëjtën ID konsiderohen të vizituar
+            int i = nearest;
+            do {
+                index.remove(i);
+                i = nextWithSameId[i];
+            } while (i != nearest);
         }
         
         logger.info(String.format("Route calculated: %d containers in optimal order", route.size()));
         return route;
     }
     
+    /**
+     * Lidh në një cikël kontejnerët që ndajnë të njëjtën ID
+     * (ruan semantikën e vizitimit sipas ID-së).
+     */
+    private int[] linkDuplicateIds(List<Kontenier> containers) {
+        int[] next = new int[containers.size()];
+        Map<String, Integer> firstById = new HashMap<>();
+        
+        for (int i = 0; i < next.length; i++) {
+            Integer first = firstById.putIfAbsent(containers.get(i).getId(), i);
+            if (first == null) {
+                next[i] = i;
+            } else {
+                next[i] = next[first];
+                next[first] = i;
+            }
+        }
+        return next;
+    }
+    
     @Override
     public String getStrategyName() {
         return "NEAREST_NEIGHBOR";
     }
 }
-
@@ -0,0 +1,302 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import eco.kosova.domain.repositories.KontenierRepository;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Domain Service për llogaritjen asinkrone të rrugëve (route jobs).
+ *
+ * Një job llogarit rrugët për një ose më shumë zona në një executor të
+ * dedikuar dhe të kufizuar, jashtë request-it HTTP. Për strategjitë e rënda
+ * (LOCAL_SEARCH) çdo zonë llogaritet në dy hapa: fillimisht NEAREST_NEIGHBOR,
+ * pastaj strategjia e kërkuar, kështu që job-i ka gjithmonë një rezultat
+ * "më të mirin deri tani" që mund të lexohet gjatë ekzekutimit.
+ *
+ * Anulimi është kooperativ: job-i ndalet para hapit të radhës. Job-et e
+ * përfunduara (çfarëdo statusi) ruhen në një cache LRU me madhësi të kufizuar.
+ */
+public class RouteJobService {
+
+    private static final Logger logger = Logger.getLogger(RouteJobService.class.getName());
+
+    public static final int DEFAULT_MAX_FINISHED_JOBS = 100;
+
+    private final KontenierRepository kontenierRepository;
+    private final RouteOptimizationService routeOptimizationService;
+    private final Executor jobExecutor;
+    private final Map<String, RouteJob> activeJobs;
+    private final Map<String, RouteJob> finishedJobs;
+
+    /**
+     * @param kontenierRepository Repository i kontejnerëve
+     * @param routeOptimizationService Service që llogarit rrugët
+     * @param jobExecutor Executor i kufizuar (thread-e dhe radhë) për job-et
+     * @param maxFinishedJobs Numri maksimal i job-eve të përfunduara që ruhen
+     */
+    public RouteJobService(
+            KontenierRepository kontenierRepository,
+            RouteOptimizationService routeOptimizationService,
+            Executor jobExecutor,
+            int maxFinishedJobs
+    ) {
+        if (maxFinishedJobs <= 0) {
+            throw new IllegalArgumentException("Max finished jobs must be positive");
+        }
+        this.kontenierRepository = kontenierRepository;
+        this.routeOptimizationService = routeOptimizationService;
+        this.jobExecutor = Objects.requireNonNull(jobExecutor, "Job executor cannot be null");
+        this.activeJobs = new ConcurrentHashMap<>();
+        this.finishedJobs = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RouteJob> eldest) {
+                return size() > maxFinishedJobs;
+            }
+        });
+    }
+
+    /**
+     * Krijon dhe vendos në radhë një job të ri.
+     *
+     * @param zoneIds Zonat për të cilat llogariten rrugët
+     * @param startPoint Pika e fillimit
+     * @param strategyName Emri i strategjisë
+     * @return Job-i i krijuar (status QUEUED)
+     * @throws IllegalArgumentException nëse strategjia nuk ekziston ose s'ka zona
+     * @throws IllegalStateException nëse radha e job-eve është plot
+     */
+    public RouteJob submit(List<String> zoneIds, Coordinates startPoint, String strategyName) {
+        if (zoneIds == null || zoneIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one zone is required");
+        }
+        Objects.requireNonNull(startPoint, "Start point cannot be null");
+        String strategy = strategyName != null ? strategyName.toUpperCase() : "NEAREST_NEIGHBOR";
+        if (!routeOptimizationService.getAvailableStrategies().contains(strategy)) {
+            throw new IllegalArgumentException("Unknown route strategy: " + strategyName);
+        }
+
+        RouteJob job = new RouteJob(
+            UUID.randomUUID().toString(),
+            new ArrayList<>(new LinkedHashSet<>(zoneIds)),
+            startPoint,
+            strategy,
+            stepsFor(strategy)
+        );
+
+        activeJobs.put(job.getId(), job);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.getId());
+            throw new IllegalStateException("Route job queue is full", e);
+        }
+
+        logger.info(String.format(
+            "Submitted route job %s: %d zones, strategy %s",
+            job.getId(), job.getZoneIds().size(), strategy
+        ));
+        return job;
+    }
+
+    /**
+     * Gjen një job aktiv ose të përfunduar.
+     */
+    public Optional<RouteJob> find(String jobId) {
+        RouteJob job = activeJobs.get(jobId);
+        if (job == null) {
+            job = finishedJobs.get(jobId);
+        }
+        return Optional.ofNullable(job);
+    }
+
+    /**
+     * Kërkon anulimin e job-it. Një job në radhë anulohet menjëherë; një job
+     * në ekzekutim ndalet para hapit të radhës.
+     *
+     * @return false nëse job-i nuk ekziston ose ka përfunduar tashmë
+     */
+    public boolean cancel(String jobId) {
+        RouteJob job = activeJobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+
+        job.cancelRequested = true;
+        if (job.status.compareAndSet(JobStatus.QUEUED, JobStatus.CANCELLED)) {
+            finish(job);
+        }
+        logger.info("Cancellation requested for route job " + jobId);
+        return true;
+    }
+
+    public int getActiveJobCount() {
+        return activeJobs.size();
+    }
+
+    // ========== PRIVATE HELPER METHODS ==========
+
+    private List<String> stepsFor(String strategy) {
+        // Strategjitë e shpejta në një hap; LOCAL_SEARCH pas një rezultati fillestar
+        return "LOCAL_SEARCH".equals(strategy)
+            ? List.of("NEAREST_NEIGHBOR", strategy)
+            : List.of(strategy);
+    }
+
+    private void run(RouteJob job) {
+        if (!job.status.compareAndSet(JobStatus.QUEUED, JobStatus.RUNNING)) {
+            return;
+        }
+        job.startedAt = Instant.now();
+
+        try {
+            Set<String> zones = new HashSet<>(job.getZoneIds());
+            Map<String, List<Kontenier>> containersByZone = kontenierRepository
+                .findContainersNeedingCollection().stream()
+                .filter(container -> zones.contains(container.getZoneId()))
+                .collect(Collectors.groupingBy(Kontenier::getZoneId));
+
+            for (String zoneId : job.getZoneIds()) {
+                List<Kontenier> containers = containersByZone.getOrDefault(zoneId, Collections.emptyList());
+
+                for (String step : job.steps) {
+                    if (job.cancelRequested) {
+                        job.status.set(JobStatus.CANCELLED);
+                        return;
+                    }
+
+                    List<Kontenier> route = routeOptimizationService.calculateRoute(
+                        zoneId, containers, job.getStartPoint(), step
+                    );
+                    double cost = routeOptimizationService.calculateTotalDistance(route, job.getStartPoint());
+                    job.offer(zoneId, route, cost);
+                }
+            }
+
+            job.status.set(JobStatus.COMPLETED);
+
+        } catch (RuntimeException e) {
+            logger.severe(String.format("Route job %s failed: %s", job.getId(), e.getMessage()));
+            job.error = e.getMessage();
+            job.status.set(JobStatus.FAILED);
+        } finally {
+            finish(job);
+        }
+    }
+
+    private void finish(RouteJob job) {
+        job.finishedAt = Instant.now();
+        finishedJobs.put(job.getId(), job);
+        activeJobs.remove(job.getId());
+
+        logger.info(String.format(
+            "Route job %s finished with status %s (%d/%d steps, best %.0f m)",
+            job.getId(), job.getStatus(), job.getCompletedSteps(), job.getTotalSteps(), job.getBestCostMeters()
+        ));
+    }
+
+    /**
+     * Statusi i një job-i
+     */
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+
+    /**
+     * Një job llogaritjeje rrugësh. Gjendja lexohet nga thread-e të tjera
+     * ndërsa job-i ekzekutohet; rezultatet kthehen si snapshot.
+     */
+    public static class RouteJob {
+        private final String id;
+        private final List<String> zoneIds;
+        private final Coordinates startPoint;
+        private final String strategyName;
+        private final List<String> steps;
+        private final Instant createdAt;
+        private final AtomicReference<JobStatus> status;
+
+        // Më e mira deri tani për çdo zonë (nën monitorin e job-it)
+        private final Map<String, List<Kontenier>> bestRoutes;
+        private final Map<String, Double> bestCosts;
+        private int completedSteps;
+
+        private volatile boolean cancelRequested;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        RouteJob(String id, List<String> zoneIds, Coordinates startPoint, String strategyName, List<String> steps) {
+            this.id = id;
+            this.zoneIds = Collections.unmodifiableList(zoneIds);
+            this.startPoint = startPoint;
+            this.strategyName = strategyName;
+            this.steps = steps;
+            this.createdAt = Instant.now();
+            this.status = new AtomicReference<>(JobStatus.QUEUED);
+            this.bestRoutes = new LinkedHashMap<>();
+            this.bestCosts = new HashMap<>();
+        }
+
+        private synchronized void offer(String zoneId, List<Kontenier> route, double cost) {
+            Double current = bestCosts.get(zoneId);
+            if (current == null || cost < current) {
+                bestRoutes.put(zoneId, Collections.unmodifiableList(new ArrayList<>(route)));
+                bestCosts.put(zoneId, cost);
+            }
+            completedSteps++;
+        }
+
+        /**
+         * Rrugët më të mira deri tani, sipas rendit të zonave
+         */
+        public synchronized Map<String, List<Kontenier>> getBestRoutes() {
+            Map<String, List<Kontenier>> routes = new LinkedHashMap<>();
+            for (String zoneId : zoneIds) {
+                List<Kontenier> route = bestRoutes.get(zoneId);
+                if (route != null) {
+                    routes.put(zoneId, route);
+                }
+            }
+            return routes;
+        }
+
+        public synchronized double getBestCostMeters() {
+            return bestCosts.values().stream().mapToDouble(Double::doubleValue).sum();
+        }
+
+        public synchronized int getCompletedSteps() {
+            return completedSteps;
+        }
+
+        public int getTotalSteps() {
+            return zoneIds.size() * steps.size();
+        }
+
+        public double getProgress() {
+            return (double) getCompletedSteps() / getTotalSteps();
+        }
+
+        // Getters
+        public String getId() { return id; }
+        public List<String> getZoneIds() { return zoneIds; }
+        public Coordinates getStartPoint() { return startPoint; }
+        public String getStrategyName() { return strategyName; }
+        public JobStatus getStatus() { return status.get(); }
+        public Instant getCreatedAt() { return createdAt; }
+        public Instant getStartedAt() { return startedAt; }
+        public Instant getFinishedAt() { return finishedAt; }
+        public String getError() { return error; }
+    }
+}
@@ -5,6 +5,8 @@ import eco.kosova.domain.models.valueobjects.Coordinates;
 import eco.kosova.domain.repositories.KontenierRepository;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -15,20 +17,72 @@ import java.util.stream.Collectors;
  * në runtime. Strategjitë e disponueshme:
  * - NEAREST_NEIGHBOR: Fqinji më i afërt (greedy algorithm)
  * - PRIORITY_BASED: Bazuar në prioritetin e mbushjes
+ * - LOCAL_SEARCH: Nearest Neighbor i përmirësuar me 2-opt / Or-opt
+ * 
+ * Distancat midis kontejnerëve të një zone lexohen nga {@link ZoneDistanceMatrixCache}.
  */
 public class RouteOptimizationService {
     
     private static final Logger logger = Logger.getLogger(RouteOptimizationService.class.getName());
     
+    // Modeli i kohës për getRouteInfo: shpejtësia mesatare dhe koha e ndalesës
+    public static final double DEFAULT_AVERAGE_SPEED_KMH = 30.0;
+    public static final double DEFAULT_STOP_TIME_MINUTES = 5.0;
+    
     private final KontenierRepository kontenierRepository;
     private final Map<String, RouteStrategy> strategies;
+    private final Executor routeExecutor;
+    private final ZoneDistanceMatrixCache distanceCache;
     
     public RouteOptimizationService(KontenierRepository kontenierRepository) {
+        this(kontenierRepository, LocalSearchStrategy.DEFAULT_TIME_BUDGET_MS);
+    }
+    
+    /**
+     * @param kontenierRepository Repository i kontejnerëve
+     * @param localSearchTimeBudgetMs Buxheti i kohës (ms) për strategjinë LOCAL_SEARCH
+     */
+    public RouteOptimizationService(KontenierRepository kontenierRepository, long localSearchTimeBudgetMs) {
+        // Pa executor, rrugët e zonave llogariten në thread-in e thirrësit
+        this(kontenierRepository, localSearchTimeBudgetMs, Runnable::run);
+    }
+    
+    /**
+     * @param kontenierRepository Repository i kontejnerëve
+     * @param localSearchTimeBudgetMs Buxheti i kohës (ms) për strategjinë LOCAL_SEARCH
+     * @param routeExecutor Executor (i kufizuar) për llogaritjen paralele të rrugëve të zonave
+     */
+    public RouteOptimizationService(
+            KontenierRepository kontenierRepository,
+            long localSearchTimeBudgetMs,
+            Executor routeExecutor
+    ) {
+        this(kontenierRepository, localSearchTimeBudgetMs, routeExecutor, new ZoneDistanceMatrixCache());
+    }
+    
+    /**
+     * @param kontenierRepository Repository i kontejnerëve
+     * @param localSearchTimeBudgetMs Buxheti i kohës (ms) për strategjinë LOCAL_SEARCH
+     * @param routeExecutor Executor (i kufizuar) për llogaritjen paralele të rrugëve të zonave
+     * @param distanceCache Cache i matricave të distancave për çdo zonë
+     */
+    public RouteOptimizationService(
+            KontenierRepository kontenierRepository,
+            long localSearchTimeBudgetMs,
+            Executor routeExecutor,
+            ZoneDistanceMatrixCache distanceCache
+    ) {
         this.kontenierRepository = kontenierRepository;
+        this.routeExecutor = Objects.requireNonNull(routeExecutor, "Route executor cannot be null");
+        this.distanceCache = Objects.requireNonNull(distanceCache, "Distance cache cannot be null");
         this.strategies = new HashMap<>();
         // Inicializo strategjitë e disponueshme
         this.strategies.put("NEAREST_NEIGHBOR", new NearestNeighborStrategy());
         this.strategies.put("PRIORITY_BASED", new PriorityBasedStrategy());
+        this.strategies.put("LOCAL_SEARCH", new LocalSearchStrategy(
+            localSearchTimeBudgetMs,
+            LocalSearchStrategy.DEFAULT_MAX_CONTAINERS
+        ));
     }
     
     /**
@@ -37,7 +91,7 @@ public class RouteOptimizationService {
      * 
      * @param zoneId ID-ja e zonës
      * @param startPoint Pika e fillimit (p.sh., vendndodhja e kamionit)
-     * @param strategyName Emri i strategjisë (NEAREST_NEIGHBOR, PRIORITY_BASED)
+     * @param strategyName Emri i strategjisë (NEAREST_NEIGHBOR, PRIORITY_BASED, LOCAL_SEARCH)
      * @return Lista e kontejnerëve të renditur sipas rrugës optimale
      */
     public List<Kontenier> calculateOptimalRoute(String zoneId, Coordinates startPoint, String strategyName) {
@@ -54,14 +108,135 @@ public class RouteOptimizationService {
             return Collections.emptyList();
         }
         
-        // Zgjedh strategjinë
-        RouteStrategy strategy = strategies.getOrDefault(
-            strategyName != null ? strategyName.toUpperCase() : "NEAREST_NEIGHBOR",
-            strategies.get("NEAREST_NEIGHBOR")
+        return calculateRoute(zoneId, containersToCollect, startPoint, strategyName);
+    }
+    
+    /**
+     * Llogarit rrugën e një zone për kontejnerët e ngarkuar tashmë.
+     * 
+     * @param zoneId ID-ja e zonës (për cache-in e distancave)
+     * @param containers Kontejnerët e zonës që duhen mbledhur
+     * @param startPoint Pika e fillimit
+     * @param strategyName Emri i strategjisë
+     * @return Lista e kontejnerëve të renditur sipas rrugës
+     */
+    public List<Kontenier> calculateRoute(
+            String zoneId,
+            List<Kontenier> containers,
+            Coordinates startPoint,
+            String strategyName
+    ) {
+        if (containers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        // Apliko strategjinë me distancat nga cache-i i zonës
+        return resolveStrategy(strategyName).calculateRoute(
+            containers,
+            startPoint,
+            distanceCache.matrixFor(zoneId, containers)
         );
+    }
+    
+    /**
+     * Llogarit rrugët për disa zona njëherësh.
+     * 
+     * Kontejnerët që duhen mbledhur ngarkohen me një query të vetme dhe grupohen
+     * sipas zonës; pastaj rruga e çdo zone llogaritet paralelisht në routeExecutor.
+     * Kur kalon afati, kthehen zonat e përfunduara deri atëherë dhe zonat që
+     * ende s'kanë filluar nuk ekzekutohen më. Zonat që executor-i i refuzon
+     * (radha plot) nuk llogariten në thread-in e thirrësit, por raportohen si
+     * të papërfunduara, kështu që afati respektohet gjithmonë.
+     * 
+     * @param zoneIds ID-të e zonave (rendi ruhet në rezultat)
+     * @param startPoint Pika e fillimit
+     * @param strategyName Emri i strategjisë
+     * @param timeoutMillis Afati maksimal i pritjes (ms)
+     * @return ZoneRoutes me rrugët e përfunduara dhe zonat që nuk u përfunduan
+     */
+    public ZoneRoutes calculateRoutesForZones(
+            List<String> zoneIds,
+            Coordinates startPoint,
+            String strategyName,
+            long timeoutMillis
+    ) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
         
-        // Apliko strategjinë
-        return strategy.calculateRoute(containersToCollect, startPoint);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        RouteStrategy strategy = resolveStrategy(strategyName);
+        
+        Map<String, List<Kontenier>> containersByZone = kontenierRepository
+            .findContainersNeedingCollection().stream()
+            .collect(Collectors.groupingBy(Kontenier::getZoneId));
+        
+        logger.info(String.format(
+            "Calculating routes for %d zones using strategy: %s",
+            zoneIds.size(), strategy.getStrategyName()
+        ));
+        
+        AtomicBoolean expired = new AtomicBoolean(false);
+        Map<String, CompletableFuture<List<Kontenier>>> futures = new LinkedHashMap<>();
+        Set<String> rejectedZoneIds = new HashSet<>();
+        
+        for (String zoneId : zoneIds) {
+            List<Kontenier> containers = containersByZone.get(zoneId);
+            if (containers == null || containers.isEmpty()) {
+                futures.put(zoneId, CompletableFuture.completedFuture(Collections.emptyList()));
+                continue;
+            }
+            try {
+                futures.put(zoneId, CompletableFuture.supplyAsync(() -> {
+                    if (expired.get()) {
+                        throw new CancellationException("Deadline passed before zone " + zoneId + " started");
+                    }
+                    return strategy.calculateRoute(containers, startPoint, distanceCache.matrixFor(zoneId, containers));
+                }, routeExecutor));
+            } catch (RejectedExecutionException e) {
+                futures.put(zoneId, CompletableFuture.failedFuture(e));
+                rejectedZoneIds.add(zoneId);
+            }
+        }
+        
+        if (!rejectedZoneIds.isEmpty()) {
+            logger.warning(String.format(
+                "Route executor rejected %d of %d zones; they are reported as unfinished",
+                rejectedZoneIds.size(), zoneIds.size()
+            ));
+        }
+        
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            logger.warning(String.format("Route calculation for %d zones exceeded %d ms", zoneIds.size(), timeoutMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Gabimet trajtohen më poshtë për secilën zonë
+        } finally {
+            expired.set(true);
+        }
+        
+        Map<String, List<Kontenier>> routes = new LinkedHashMap<>();
+        List<String> unfinishedZoneIds = new ArrayList<>();
+        
+        for (Map.Entry<String, CompletableFuture<List<Kontenier>>> entry : futures.entrySet()) {
+            CompletableFuture<List<Kontenier>> future = entry.getValue();
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                routes.put(entry.getKey(), future.join());
+            } else {
+                if (future.isCompletedExceptionally() && !future.isCancelled()
+                        && !rejectedZoneIds.contains(entry.getKey())) {
+                    logger.warning("Route calculation failed for zone " + entry.getKey());
+                }
+                future.cancel(false);
+                unfinishedZoneIds.add(entry.getKey());
+            }
+        }
+        
+        return new ZoneRoutes(routes, unfinishedZoneIds);
     }
     
     /**
@@ -112,6 +287,13 @@ public class RouteOptimizationService {
         strategies.put(strategyName.toUpperCase(), strategy);
     }
     
+    private RouteStrategy resolveStrategy(String strategyName) {
+        return strategies.getOrDefault(
+            strategyName != null ? strategyName.toUpperCase() : "NEAREST_NEIGHBOR",
+            strategies.get("NEAREST_NEIGHBOR")
+        );
+    }
+    
     /**
      * Kthen listën e strategjive të disponueshme.
      * 
@@ -123,6 +305,7 @@ public class RouteOptimizationService {
     
     /**
      * Llogarit distancën totale të një rruge.
+     * Nëse rruga i përket një zone me matricë të freskët në cache, distancat lexohen prej saj.
      * 
      * @param route Lista e kontejnerëve në rrugë
      * @param startPoint Pika e fillimit
@@ -133,6 +316,21 @@ public class RouteOptimizationService {
             return 0.0;
         }
         
+        String zoneId = route.get(0).getZoneId();
+        boolean singleZone = route.stream().allMatch(c -> zoneId.equals(c.getZoneId()));
+        Optional<ZoneDistanceMatrixCache.DistanceMatrix> cached = singleZone
+            ? distanceCache.find(zoneId, route)
+            : Optional.empty();
+        
+        if (cached.isPresent()) {
+            ZoneDistanceMatrixCache.DistanceMatrix distances = cached.get();
+            double totalDistance = distances.distanceFrom(startPoint, 0);
+            for (int i = 1; i < route.size(); i++) {
+                totalDistance += distances.distance(i - 1, i);
+            }
+            return totalDistance;
+        }
+        
         double totalDistance = 0.0;
         Coordinates current = startPoint;
         
@@ -159,13 +357,35 @@ public class RouteOptimizationService {
             double averageSpeedKmh,
             double stopTimeMinutes
     ) {
-        double distanceMeters = calculateTotalDistance(route, startPoint);
+        return estimateRouteTime(
+            calculateTotalDistance(route, startPoint),
+            route.size(),
+            averageSpeedKmh,
+            stopTimeMinutes
+        );
+    }
+    
+    /**
+     * Llogarit kohën e parashikuar kur distanca e rrugës dihet tashmë.
+     * 
+     * @param distanceMeters Distanca totale në metra
+     * @param stopCount Numri i ndalesave
+     * @param averageSpeedKmh Shpejtësia mesatare në km/h
+     * @param stopTimeMinutes Koha për të ndaluar në çdo kontejner (minuta)
+     * @return Koha totale në minuta
+     */
+    public double estimateRouteTime(
+            double distanceMeters,
+            int stopCount,
+            double averageSpeedKmh,
+            double stopTimeMinutes
+    ) {
         double distanceKm = distanceMeters / 1000.0;
         
         double drivingTimeHours = distanceKm / averageSpeedKmh;
         double drivingTimeMinutes = drivingTimeHours * 60;
         
-        double totalStopTime = route.size() * stopTimeMinutes;
+        double totalStopTime = stopCount * stopTimeMinutes;
         
         return drivingTimeMinutes + totalStopTime;
     }
@@ -178,8 +398,21 @@ public class RouteOptimizationService {
      * @return RouteInfo object
      */
     public RouteInfo getRouteInfo(List<Kontenier> route, Coordinates startPoint) {
-        double distance = calculateTotalDistance(route, startPoint);
-        double estimatedTime = estimateRouteTime(route, startPoint, 30.0, 5.0);
+        return getRouteInfo(route, calculateTotalDistance(route, startPoint));
+    }
+    
+    /**
+     * Kthen informacion për një rrugë, distanca e së cilës dihet tashmë
+     * (p.sh. rruga e mirëmbajtur nga {@link LiveRouteService}).
+     * 
+     * @param route Lista e kontejnerëve
+     * @param distance Distanca totale në metra
+     * @return RouteInfo object
+     */
+    public RouteInfo getRouteInfo(List<Kontenier> route, double distance) {
+        double estimatedTime = estimateRouteTime(
+            distance, route.size(), DEFAULT_AVERAGE_SPEED_KMH, DEFAULT_STOP_TIME_MINUTES
+        );
         
         int totalCapacity = route.stream()
             .mapToInt(Kontenier::getCapacity)
@@ -227,4 +460,22 @@ public class RouteOptimizationService {
         public int getTotalCapacityLiters() { return totalCapacityLiters; }
         public List<Kontenier> getContainers() { return containers; }
     }
+    
+    /**
+     * Klasa e brendshme për rezultatin e llogaritjes së rrugëve për disa zona
+     */
+    public static class ZoneRoutes {
+        private final Map<String, List<Kontenier>> routes;
+        private final List<String> unfinishedZoneIds;
+        
+        public ZoneRoutes(Map<String, List<Kontenier>> routes, List<String> unfinishedZoneIds) {
+            this.routes = Collections.unmodifiableMap(routes);
+            this.unfinishedZoneIds = Collections.unmodifiableList(unfinishedZoneIds);
+        }
+        
+        // Getters
+        public Map<String, List<Kontenier>> getRoutes() { return routes; }
+        public List<String> getUnfinishedZoneIds() { return unfinishedZoneIds; }
+        public boolean isComplete() { return unfinishedZoneIds.isEmpty(); }
+    }
 }
\ No newline at end of file
@@ -20,6 +20,24 @@ public interface RouteStrategy {
      */
     List<Kontenier> calculateRoute(List<Kontenier> containers, Coordinates startPoint);
     
+    /**
+     * Llogarit rrugën duke lexuar distancat midis kontejnerëve nga matrica e dhënë
+     * (p.sh. nga {@link ZoneDistanceMatrixCache}). Strategjitë që nuk përdorin
+     * distanca mund ta injorojnë matricën.
+     * 
+     * @param containers Lista e kontejnerëve për të optimizuar
+     * @param startPoint Pika e fillimit
+     * @param distances Matrica e distancave, me indekse sipas listës containers
+     * @return Lista e kontejnerëve të renditur sipas strategjisë
+     */
+    default List<Kontenier> calculateRoute(
+            List<Kontenier> containers,
+            Coordinates startPoint,
+            ZoneDistanceMatrixCache.DistanceMatrix distances
+    ) {
+        return calculateRoute(containers, startPoint);
+    }
+    
     /**
      * Kthen emrin e strategjisë.
      * 
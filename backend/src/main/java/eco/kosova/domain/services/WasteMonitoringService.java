@@ -1,12 +1,19 @@
 package eco.kosova.domain.services;
 
-import eco.kosova.domain.events.DomainEventPublisher;
 import eco.kosova.domain.models.Kontenier;
 import eco.kosova.domain.models.Zone;
+import eco.kosova.domain.models.valueobjects.ZoneStatus;
 import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.repositories.ZoneContainerStats;
 import eco.kosova.domain.repositories.ZoneRepository;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -20,7 +27,7 @@ import java.util.stream.Collectors;
  * 
  * Ky service është përgjegjës për:
  * - Monitorimin e nivelit të mbushjes së kontejnerëve
- * - Publikimin e domain events
+ * - Gjenerimin e domain events (ruhen në outbox nga KontenierRepository)
  * - Përditësimin e statusit të zonave
  */
 public class WasteMonitoringService {
@@ -29,50 +36,44 @@ public class WasteMonitoringService {
     
     private final KontenierRepository kontenierRepository;
     private final ZoneRepository zoneRepository;
-    private final DomainEventPublisher eventPublisher;
     
     public WasteMonitoringService(
             KontenierRepository kontenierRepository,
-            ZoneRepository zoneRepository,
-            DomainEventPublisher eventPublisher
+            ZoneRepository zoneRepository
     ) {
         this.kontenierRepository = kontenierRepository;
         this.zoneRepository = zoneRepository;
-        this.eventPublisher = eventPublisher;
     }
     
     /**
      * Monitoron të gjitha kontejnerët dhe gjeneron events për ato kritikë.
      * Ky method thirret periodikisht (çdo 30 sekonda) nga një scheduler.
+     * 
+     * Cikli punon me bashkësi, jo kontejner për kontejner: lexohen vetëm
+     * kontejnerët kritikë me status të pasinkronizuar, ruhen me një saveAll,
+     * dhe statuset e zonave llogariten nga një query agregate. Numri i
+     * round-trip-eve nuk varet nga numri i zonave.
      */
     public void monitorAllContainers() {
         logger.info("Starting container monitoring cycle");
         
-        List<Kontenier> containers = kontenierRepository.findAll();
-        
-        int criticalCount = 0;
-        
-        for (Kontenier container : containers) {
-            // Kontrollo nëse kontejneri është kritik
-            if (container.getFillLevel().isCritical() && container.isOperational()) {
-                criticalCount++;
-                
-                // Publiko domain events që janë gjeneruar nga aggregate
-                eventPublisher.publishAll(container.getDomainEvents());
-                container.clearDomainEvents();
-                
-                // Ruan kontejnerin me statusin e përditësuar
-                kontenierRepository.save(container);
-            }
+        // Kontejnerët kritikë që nuk janë shënuar ende FULL
+        List<Kontenier> changed = kontenierRepository.findCriticalNotMarkedFull().stream()
+            .filter(Kontenier::markFullIfCritical)
+            .collect(Collectors.toList());
+        
+        if (!changed.isEmpty()) {
+            // Domain events shkruhen në outbox bashkë me kontejnerët
+            kontenierRepository.saveAll(changed);
         }
         
+        // Përditëso statusin e zonave bazuar në kontejnerët kritikë
+        ZoneStatusSummary summary = updateZoneStatuses();
+        
         logger.info(String.format(
-            "Monitoring cycle completed. Total containers: %d, Critical: %d",
-            containers.size(), criticalCount
+            "Monitoring cycle completed. Total containers: %d, Critical: %d, Marked full: %d, Zones updated: %d",
+            summary.totalContainers, summary.criticalContainers, changed.size(), summary.updatedZones
         ));
-        
-        // Përditëso statusin e zonave bazuar në kontejnerët kritikë
-        updateZoneStatuses();
     }
     
     /**
@@ -90,11 +91,7 @@ public class WasteMonitoringService {
         // Përditëso fill level (kjo mund të gjenerojë domain events)
         container.updateFillLevel(fillLevel);
         
-        // Publiko domain events
-        eventPublisher.publishAll(container.getDomainEvents());
-        container.clearDomainEvents();
-        
-        // Ruan kontejnerin
+        // Ruan kontejnerin; domain events shkruhen në outbox në të njëjtin transaksion
         kontenierRepository.save(container);
         
         logger.info(String.format(
@@ -106,15 +103,92 @@ public class WasteMonitoringService {
         updateZoneStatus(container.getZoneId());
     }
     
+    /**
+     * Përditëson nivelin e mbushjes për një grup leximesh nga sensorët.
+     * 
+     * Kontejnerët lexohen me një query për çdo 1000 ID, leximet aplikohen në
+     * memorie sipas radhës, të gjithë ruhen me një saveAll (JDBC batching) dhe
+     * statusi i çdo zone të prekur rillogaritet një herë për gjithë grupin.
+     * ID-të e panjohura anashkalohen dhe kthehen në përmbledhje.
+     * 
+     * @param readings Leximet, sipas radhës së mbërritjes
+     * @return Përmbledhja e përditësimit
+     */
+    public FillLevelIngestSummary ingestFillLevels(List<FillLevelReading> readings) {
+        Map<String, Kontenier> containers = kontenierRepository.findAllById(
+                readings.stream().map(FillLevelReading::getContainerId).collect(Collectors.toList())
+            ).stream()
+            .collect(Collectors.toMap(Kontenier::getId, container -> container));
+        
+        Map<String, Kontenier> updated = new LinkedHashMap<>();
+        Set<String> unknownContainerIds = new LinkedHashSet<>();
+        for (FillLevelReading reading : readings) {
+            Kontenier container = containers.get(reading.getContainerId());
+            if (container == null) {
+                unknownContainerIds.add(reading.getContainerId());
+                continue;
+            }
+            container.updateFillLevel(reading.getFillLevel());
+            updated.put(container.getId(), container);
+        }
+        
+        if (!updated.isEmpty()) {
+            // Domain events shkruhen në outbox bashkë me kontejnerët
+            kontenierRepository.saveAll(new ArrayList<>(updated.values()));
+        }
+        
+        // Një rillogaritje për zonë, pavarësisht sa lexime kishte zona
+        Set<String> zoneIds = updated.values().stream()
+            .map(Kontenier::getZoneId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        ZoneStatusSummary zones = zoneIds.isEmpty()
+            ? new ZoneStatusSummary(0, 0, 0)
+            : updateZoneStatuses(kontenierRepository.aggregateByZoneIds(zoneIds));
+        
+        logger.info(String.format(
+            "Ingested %d fill level readings: %d containers updated, %d unknown, %d zones affected, %d zones changed status",
+            readings.size(), updated.size(), unknownContainerIds.size(), zoneIds.size(), zones.updatedZones
+        ));
+        
+        return new FillLevelIngestSummary(
+            readings.size(), updated.size(), zoneIds.size(), zones.updatedZones,
+            new ArrayList<>(unknownContainerIds)
+        );
+    }
+    
     /**
      * Përditëson statusin e të gjitha zonave bazuar në gjendjen e kontejnerëve.
+     * 
+     * Numrat për zonë vijnë nga një query agregate; shkruhen vetëm zonat që
+     * ndryshojnë status, me një update për çdo status të ri.
      */
-    public void updateZoneStatuses() {
-        List<Zone> zones = zoneRepository.findAll();
+    public ZoneStatusSummary updateZoneStatuses() {
+        return updateZoneStatuses(kontenierRepository.aggregateByZone());
+    }
+    
+    private ZoneStatusSummary updateZoneStatuses(List<ZoneContainerStats> counts) {
+        Map<ZoneStatus, List<String>> changes = new EnumMap<>(ZoneStatus.class);
+        int totalContainers = 0;
+        int criticalContainers = 0;
+        
+        for (ZoneContainerStats zone : counts) {
+            totalContainers += zone.getTotalContainers();
+            criticalContainers += zone.getCriticalContainers();
+            
+            ZoneStatus status = Zone.statusForContainers(
+                zone.getCriticalContainers(), zone.getTotalContainers(), zone.getCriticalThreshold()
+            );
+            if (status != zone.getStatus()) {
+                changes.computeIfAbsent(status, s -> new ArrayList<>()).add(zone.getZoneId());
+            }
+        }
         
-        for (Zone zone : zones) {
-            updateZoneStatus(zone.getId());
+        int updatedZones = 0;
+        for (Map.Entry<ZoneStatus, List<String>> change : changes.entrySet()) {
+            updatedZones += zoneRepository.updateStatus(change.getValue(), change.getKey());
         }
+        
+        return new ZoneStatusSummary(totalContainers, criticalContainers, updatedZones);
     }
     
     /**
@@ -123,7 +197,8 @@ public class WasteMonitoringService {
      * @param zoneId ID-ja e zonës
      */
     public void updateZoneStatus(String zoneId) {
-        Zone zone = zoneRepository.findById(zoneId)
+        // Statusi llogaritet nga kontejnerët; ID-të e tyre në zonë nuk nevojiten
+        Zone zone = zoneRepository.findByIdWithoutContainerIds(zoneId)
             .orElseThrow(() -> new IllegalArgumentException(
                 String.format("Zone not found: %s", zoneId)
             ));
@@ -167,41 +242,102 @@ public class WasteMonitoringService {
     /**
      * Merr statistika për të gjitha zonat.
      * 
+     * Agregatet llogariten në databazë me një query GROUP BY; nuk ngarkohet
+     * asnjë kontejner.
+     * 
      * @return Lista e statistikave për çdo zonë
      */
     public List<ZoneStatistics> getZoneStatistics() {
-        List<Zone> zones = zoneRepository.findAll();
-        
-        return zones.stream()
-            .map(zone -> {
-                List<Kontenier> containers = kontenierRepository.findByZoneId(zone.getId());
-                
-                long criticalCount = containers.stream()
-                    .filter(Kontenier::needsUrgentCollection)
-                    .count();
-                
-                long operationalCount = containers.stream()
-                    .filter(Kontenier::isOperational)
-                    .count();
-                
-                double averageFillLevel = containers.stream()
-                    .mapToInt(c -> c.getFillLevel().getValue())
-                    .average()
-                    .orElse(0.0);
-                
-                return new ZoneStatistics(
-                    zone.getId(),
-                    zone.getName(),
-                    containers.size(),
-                    (int) criticalCount,
-                    (int) operationalCount,
-                    averageFillLevel,
-                    zone.getStatus()
-                );
-            })
+        return kontenierRepository.aggregateByZone().stream()
+            .map(zone -> new ZoneStatistics(
+                zone.getZoneId(),
+                zone.getZoneName(),
+                zone.getTotalContainers(),
+                zone.getCriticalContainers(),
+                zone.getOperationalContainers(),
+                zone.getAverageFillLevel(),
+                zone.getStatus()
+            ))
             .collect(Collectors.toList());
     }
     
+    /**
+     * Një lexim i nivelit të mbushjes nga sensori i një kontejneri
+     */
+    public static class FillLevelReading {
+        private final String containerId;
+        private final int fillLevel;
+        
+        public FillLevelReading(String containerId, int fillLevel) {
+            if (containerId == null || containerId.isBlank()) {
+                throw new IllegalArgumentException("Container ID cannot be empty");
+            }
+            if (fillLevel < 0 || fillLevel > 100) {
+                throw new IllegalArgumentException(
+                    String.format("Fill level must be between 0-100. Received: %d", fillLevel)
+                );
+            }
+            this.containerId = containerId;
+            this.fillLevel = fillLevel;
+        }
+        
+        // Getters
+        public String getContainerId() { return containerId; }
+        public int getFillLevel() { return fillLevel; }
+    }
+    
+    /**
+     * Përmbledhja e një grupi leximesh të nivelit të mbushjes
+     */
+    public static class FillLevelIngestSummary {
+        private final int receivedReadings;
+        private final int updatedContainers;
+        private final int affectedZones;
+        private final int updatedZones;
+        private final List<String> unknownContainerIds;
+        
+        public FillLevelIngestSummary(
+                int receivedReadings,
+                int updatedContainers,
+                int affectedZones,
+                int updatedZones,
+                List<String> unknownContainerIds
+        ) {
+            this.receivedReadings = receivedReadings;
+            this.updatedContainers = updatedContainers;
+            this.affectedZones = affectedZones;
+            this.updatedZones = updatedZones;
+            this.unknownContainerIds = unknownContainerIds;
+        }
+        
+        // Getters
+        public int getReceivedReadings() { return receivedReadings; }
+        public int getUpdatedContainers() { return updatedContainers; }
+        public int getAffectedZones() { return affectedZones; }
+        public int getUpdatedZones() { return updatedZones; }
+        public List<String> getUnknownContainerIds() { return unknownContainerIds; }
+    }
+    
+    /**
+     * Përmbledhja e një përditësimi të statuseve të zonave
+     */
+    public static class ZoneStatusSummary {
+        private final int totalContainers;
+        private final int criticalContainers;
+        private final int updatedZones;
+        
+        public ZoneStatusSummary(int totalContainers, int criticalContainers, int updatedZones) {
+            this.totalContainers = totalContainers;
+            this.criticalContainers = criticalContainers;
+            this.updatedZones = updatedZones;
+        }
+        
+        // Getters
+        public int getTotalContainers() { return totalContainers; }
+        public int getCriticalContainers() { return criticalContainers; }
+        public int getUpdatedZones() { return updatedZones; }
+    }
+    
     /**
      * Klasa e brendshme për statistikat e zonës
      */
@@ -0,0 +1,519 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Cache për matricat e distancave (Haversine) midis kontejnerëve të çdo zone.
+ *
+ * Për çdo zonë ruhet një snapshot i pandryshueshëm me distancat në një
+ * double[] të sheshtë: trekëndëshi i poshtëm, ku rreshti i slot-it s ka s elemente.
+ * Vendndodhjet ndryshojnë rrallë, prandaj ndryshimet përditësohen në mënyrë
+ * inkrementale:
+ * - kontejneri i ri merr një slot të ri në fund (llogaritet vetëm rreshti i tij)
+ * - kontejneri i zhvendosur rillogarit vetëm rreshtin/kolonën e vet
+ * - kontejneri i fshirë lë një slot bosh; slot-et bosh pastrohen kur bëhen shumica,
+ *   ose kur matrica do të kalonte maxZoneContainers slot-e
+ *
+ * Një zonë nuk mban kurrë më shumë se maxZoneContainers slot-e. Memoria e
+ * të gjitha zonave kufizohet nga maxMemoryBytes: kur kalohet, hiqen zonat e
+ * përdorura më herët (LRU).
+ *
+ * Snapshot-et zëvendësohen atomikisht (copy-on-write), kështu që lexuesit
+ * paralelë nuk bllokohen dhe nuk shohin kurrë një matricë gjysmë të përditësuar.
+ * Distancat llogariten jashtë lock-ut të ConcurrentHashMap: snapshot-i i ri
+ * instalohet vetëm nëse zona ka ende snapshot-in nga i cili u nis (replace me
+ * vlerën e vjetër). Kështu evictContainer / invalidateZone nuk presin pas një
+ * ndërtimi O(n²) dhe nuk mbishkruhen nga një snapshot i ndërtuar para tyre.
+ */
+public class ZoneDistanceMatrixCache {
+
+    private static final Logger logger = Logger.getLogger(ZoneDistanceMatrixCache.class.getName());
+
+    // Matrica trekëndore për 2000 slot-e zë ~16 MB
+    public static final int DEFAULT_MAX_ZONE_CONTAINERS = 2000;
+    public static final long DEFAULT_MAX_MEMORY_BYTES = 128L * 1024 * 1024;
+    // Pas kaq garash të humbura matrica e ndërtuar përdoret pa u instaluar
+    private static final int MAX_INSTALL_ATTEMPTS = 3;
+
+    private final ConcurrentMap<String, ZoneMatrix> zones = new ConcurrentHashMap<>();
+    private final int maxZoneContainers;
+    private final long maxMemoryBytes;
+
+    // Radha e përdorimit të zonave për LRU
+    private final ConcurrentMap<String, Long> lastUsed = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong incrementalUpdates = new AtomicLong();
+    private final AtomicLong bypasses = new AtomicLong();
+    private final AtomicLong computedDistances = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong installConflicts = new AtomicLong();
+
+    public ZoneDistanceMatrixCache() {
+        this(DEFAULT_MAX_ZONE_CONTAINERS, DEFAULT_MAX_MEMORY_BYTES);
+    }
+
+    /**
+     * @param maxZoneContainers Numri maksimal i kontejnerëve për të cilët ruhet matrica e një zone
+     * @param maxMemoryBytes Memoria maksimale e përafërt e të gjitha matricave
+     */
+    public ZoneDistanceMatrixCache(int maxZoneContainers, long maxMemoryBytes) {
+        if (maxZoneContainers <= 0) {
+            throw new IllegalArgumentException("Max zone containers must be positive");
+        }
+        if (maxMemoryBytes <= 0) {
+            throw new IllegalArgumentException("Max distance cache memory must be positive");
+        }
+        this.maxZoneContainers = maxZoneContainers;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    /**
+     * Kthen matricën e distancave për kontejnerët e dhënë të një zone,
+     * duke e ndërtuar ose përditësuar snapshot-in e zonës sipas nevojës.
+     *
+     * Indekset e matricës i referohen listës së dhënë. Nëse lista është shumë e
+     * madhe ose ka ID të përsëritura, kthehet një matricë që llogarit direkt.
+     *
+     * @param zoneId ID-ja e zonës
+     * @param containers Kontejnerët e zonës (p.sh. ata që duhen mbledhur)
+     * @return Matrica e distancave
+     */
+    public DistanceMatrix matrixFor(String zoneId, List<Kontenier> containers) {
+        if (zoneId == null || containers.size() > maxZoneContainers) {
+            bypasses.incrementAndGet();
+            return new DistanceMatrix(containers, null, null);
+        }
+
+        ZoneMatrix matrix = install(zoneId, containers);
+        touch(zoneId);
+        evictOverBudget(zoneId);
+        int[] slots = slotsFor(matrix, containers);
+        if (slots == null) {
+            bypasses.incrementAndGet();
+            return new DistanceMatrix(containers, null, null);
+        }
+        return new DistanceMatrix(containers, matrix, slots);
+    }
+
+    /**
+     * Kthen matricën vetëm nëse snapshot-i ekzistues i zonës është i freskët
+     * për të gjithë kontejnerët e dhënë; nuk llogarit asnjë distancë.
+     *
+     * @param zoneId ID-ja e zonës
+     * @param containers Kontejnerët e zonës
+     * @return Matrica, ose Optional.empty() nëse duhet llogaritur direkt
+     */
+    public Optional<DistanceMatrix> find(String zoneId, List<Kontenier> containers) {
+        ZoneMatrix matrix = zoneId != null ? zones.get(zoneId) : null;
+        if (matrix == null) {
+            return Optional.empty();
+        }
+
+        int[] slots = slotsFor(matrix, containers);
+        if (slots == null) {
+            return Optional.empty();
+        }
+        for (int i = 0; i < slots.length; i++) {
+            if (!matrix.matches(slots[i], containers.get(i).getLocation())) {
+                return Optional.empty();
+            }
+        }
+
+        hits.incrementAndGet();
+        touch(zoneId);
+        return Optional.of(new DistanceMatrix(containers, matrix, slots));
+    }
+
+    /**
+     * Heq një kontejner nga matrica e zonës (kur fshihet, zhvendoset ose
+     * ndryshon zonë). Nëse kontejneri kërkohet sërish, rreshti i tij
+     * llogaritet nga e para në leximin e radhës.
+     *
+     * @param zoneId ID-ja e zonës ku ishte kontejneri
+     * @param containerId ID-ja e kontejnerit
+     */
+    public void evictContainer(String zoneId, String containerId) {
+        if (zoneId == null || containerId == null) {
+            return;
+        }
+        zones.computeIfPresent(zoneId, (id, current) -> {
+            Integer slot = current.slotOf.get(containerId);
+            if (slot == null) {
+                return current;
+            }
+            ZoneMatrix next = current.withoutSlot(slot, containerId);
+            return next.liveCount == 0 ? null : next;
+        });
+        if (!zones.containsKey(zoneId)) {
+            lastUsed.remove(zoneId);
+        }
+    }
+
+    /**
+     * Heq të gjithë matricën e një zone.
+     *
+     * @param zoneId ID-ja e zonës
+     */
+    public void invalidateZone(String zoneId) {
+        if (zoneId != null && zones.remove(zoneId) != null) {
+            lastUsed.remove(zoneId);
+            logger.fine("Distance matrix invalidated for zone " + zoneId);
+        }
+    }
+
+    public void clear() {
+        zones.clear();
+        lastUsed.clear();
+    }
+
+    // ========== METRICS ==========
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getIncrementalUpdates() { return incrementalUpdates.get(); }
+    public long getBypasses() { return bypasses.get(); }
+    public long getComputedDistances() { return computedDistances.get(); }
+    public long getEvictions() { return evictions.get(); }
+    public long getInstallConflicts() { return installConflicts.get(); }
+    public int getZoneCount() { return zones.size(); }
+
+    /**
+     * @return Numri i kontejnerëve (slot-eve të gjalla) në të gjitha matricat
+     */
+    public long getCachedContainerCount() {
+        return zones.values().stream().mapToLong(m -> m.liveCount).sum();
+    }
+
+    /**
+     * @return Memoria e përafërt e zënë nga matricat (bytes)
+     */
+    public long getMemoryBytes() {
+        return zones.values().stream().mapToLong(ZoneMatrix::memoryBytes).sum();
+    }
+
+    // ========== PRIVATE HELPER METHODS ==========
+
+    /**
+     * Ndërton snapshot-in e ri jashtë lock-ut dhe e instalon vetëm nëse zona
+     * s'ka ndryshuar ndërkohë; përndryshe riprovon mbi snapshot-in aktual.
+     * Pas MAX_INSTALL_ATTEMPTS garash kthehet matrica e ndërtuar, e saktë për
+     * këtë listë, pa u ruajtur.
+     */
+    private ZoneMatrix install(String zoneId, List<Kontenier> containers) {
+        ZoneMatrix next = null;
+        for (int attempt = 0; attempt < MAX_INSTALL_ATTEMPTS; attempt++) {
+            ZoneMatrix current = zones.get(zoneId);
+            next = update(current, containers);
+            if (next == current) {
+                return next;
+            }
+            boolean installed = current == null
+                ? zones.putIfAbsent(zoneId, next) == null
+                : zones.replace(zoneId, current, next);
+            if (installed) {
+                return next;
+            }
+            installConflicts.incrementAndGet();
+        }
+        logger.fine("Distance matrix for zone " + zoneId + " kept out of the cache after repeated conflicts");
+        return next;
+    }
+
+    /**
+     * Snapshot-i që pasqyron listën e dhënë, i nisur nga current (null: zona s'ka matricë).
+     * Nuk ndryshon asgjë në cache; kthen current nëse është tashmë i freskët.
+     */
+    private ZoneMatrix update(ZoneMatrix current, List<Kontenier> containers) {
+        if (current == null) {
+            misses.incrementAndGet();
+            return build(containers);
+        }
+
+        List<Kontenier> added = new ArrayList<>();
+        Map<Integer, Coordinates> moved = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+
+        for (Kontenier container : containers) {
+            if (!seen.add(container.getId())) {
+                continue;
+            }
+            Integer slot = current.slotOf.get(container.getId());
+            if (slot == null) {
+                added.add(container);
+            } else if (!current.matches(slot, container.getLocation())) {
+                moved.put(slot, container.getLocation());
+            }
+        }
+
+        if (added.isEmpty() && moved.isEmpty()) {
+            hits.incrementAndGet();
+            return current;
+        }
+
+        if (current.slotCount + added.size() > maxZoneContainers) {
+            // Pa slot-et bosh matrica mbetet brenda kufirit: kompakto dhe provo sërish
+            if (current.liveCount + added.size() <= maxZoneContainers) {
+                return update(current.compact(), containers);
+            }
+            // Shumë slot-e: rindërto vetëm me kontejnerët e kërkuar tani
+            misses.incrementAndGet();
+            return build(containers);
+        }
+
+        incrementalUpdates.incrementAndGet();
+        return current.withChanges(added, moved, computedDistances);
+    }
+
+    private void touch(String zoneId) {
+        lastUsed.put(zoneId, clock.incrementAndGet());
+    }
+
+    /**
+     * Heq zonat e përdorura më herët derisa memoria të bjerë nën kufi;
+     * zona që sapo u kërkua nuk hiqet.
+     */
+    private void evictOverBudget(String keepZoneId) {
+        while (getMemoryBytes() > maxMemoryBytes) {
+            String oldest = null;
+            long oldestTick = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> entry : lastUsed.entrySet()) {
+                if (!entry.getKey().equals(keepZoneId) && entry.getValue() < oldestTick) {
+                    oldest = entry.getKey();
+                    oldestTick = entry.getValue();
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            lastUsed.remove(oldest);
+            if (zones.remove(oldest) != null) {
+                evictions.incrementAndGet();
+                logger.fine("Distance matrix evicted for zone " + oldest);
+            }
+        }
+    }
+
+    private ZoneMatrix build(List<Kontenier> containers) {
+        Map<String, Integer> slotOf = new HashMap<>(containers.size() * 2);
+        List<Coordinates> points = new ArrayList<>(containers.size());
+        for (Kontenier container : containers) {
+            if (slotOf.putIfAbsent(container.getId(), points.size()) == null) {
+                points.add(container.getLocation());
+            }
+        }
+
+        Coordinates[] locations = points.toArray(new Coordinates[0]);
+        int n = locations.length;
+        double[] distances = new double[triangle(n)];
+        for (int i = 1; i < n; i++) {
+            int row = triangle(i);
+            for (int j = 0; j < i; j++) {
+                distances[row + j] = locations[i].distanceTo(locations[j]);
+            }
+        }
+        computedDistances.addAndGet(distances.length);
+
+        return new ZoneMatrix(slotOf, locations, distances, n);
+    }
+
+    /**
+     * Slot-i i çdo kontejneri të listës, ose null nëse mungon ndonjë
+     * ose nëse një slot përsëritet (ID të dyfishta).
+     */
+    private static int[] slotsFor(ZoneMatrix matrix, List<Kontenier> containers) {
+        int[] slots = new int[containers.size()];
+        BitSet used = new BitSet(matrix.slotCount);
+        for (int i = 0; i < slots.length; i++) {
+            Integer slot = matrix.slotOf.get(containers.get(i).getId());
+            if (slot == null || used.get(slot)) {
+                return null;
+            }
+            used.set(slot);
+            slots[i] = slot;
+        }
+        return slots;
+    }
+
+    private static int triangle(int n) {
+        return n * (n - 1) / 2;
+    }
+
+    /**
+     * Snapshot i pandryshueshëm i matricës së një zone.
+     * Slot-et e fshira kanë vendndodhje null.
+     */
+    private static final class ZoneMatrix {
+        private final Map<String, Integer> slotOf;
+        private final Coordinates[] locations;
+        private final double[] distances;
+        private final int slotCount;
+        private final int liveCount;
+
+        ZoneMatrix(Map<String, Integer> slotOf, Coordinates[] locations, double[] distances, int liveCount) {
+            this.slotOf = slotOf;
+            this.locations = locations;
+            this.distances = distances;
+            this.slotCount = locations.length;
+            this.liveCount = liveCount;
+        }
+
+        double get(int a, int b) {
+            if (a == b) {
+                return 0.0;
+            }
+            return a > b ? distances[triangle(a) + b] : distances[triangle(b) + a];
+        }
+
+        boolean matches(int slot, Coordinates location) {
+            Coordinates cached = locations[slot];
+            return cached != null
+                && cached.getLatitude() == location.getLatitude()
+                && cached.getLongitude() == location.getLongitude();
+        }
+
+        long memoryBytes() {
+            // Matrica + referencat e koordinatave + përafrim për HashMap-in (~64 bytes për hyrje)
+            return 8L * distances.length + 40L * slotCount + 64L * slotOf.size();
+        }
+
+        /**
+         * Kopje me slot-e të reja në fund dhe me rreshtat e slot-eve të zhvendosura të rillogaritur.
+         */
+        ZoneMatrix withChanges(List<Kontenier> added, Map<Integer, Coordinates> moved, AtomicLong computedCounter) {
+            int oldCount = slotCount;
+            int newCount = oldCount + added.size();
+
+            Map<String, Integer> newSlotOf = new HashMap<>(slotOf);
+            Coordinates[] newLocations = Arrays.copyOf(locations, newCount);
+            double[] newDistances = Arrays.copyOf(distances, triangle(newCount));
+
+            moved.forEach((slot, location) -> newLocations[slot] = location);
+            for (int k = 0; k < added.size(); k++) {
+                newSlotOf.put(added.get(k).getId(), oldCount + k);
+                newLocations[oldCount + k] = added.get(k).getLocation();
+            }
+
+            long computed = 0;
+
+            // Rreshti dhe kolona e çdo slot-i të zhvendosur
+            for (int slot : moved.keySet()) {
+                Coordinates from = newLocations[slot];
+                for (int other = 0; other < oldCount; other++) {
+                    if (other == slot || newLocations[other] == null) {
+                        continue;
+                    }
+                    if (slot > other) {
+                        newDistances[triangle(slot) + other] = from.distanceTo(newLocations[other]);
+                    } else {
+                        newDistances[triangle(other) + slot] = newLocations[other].distanceTo(from);
+                    }
+                    computed++;
+                }
+            }
+
+            // Rreshtat e rinj në fund
+            for (int slot = oldCount; slot < newCount; slot++) {
+                Coordinates from = newLocations[slot];
+                int row = triangle(slot);
+                for (int other = 0; other < slot; other++) {
+                    if (newLocations[other] != null) {
+                        newDistances[row + other] = from.distanceTo(newLocations[other]);
+                        computed++;
+                    }
+                }
+            }
+
+            computedCounter.addAndGet(computed);
+            return new ZoneMatrix(newSlotOf, newLocations, newDistances, liveCount + added.size());
+        }
+
+        ZoneMatrix withoutSlot(int slot, String containerId) {
+            Map<String, Integer> newSlotOf = new HashMap<>(slotOf);
+            newSlotOf.remove(containerId);
+            Coordinates[] newLocations = locations.clone();
+            newLocations[slot] = null;
+
+            // Distancat nuk ndryshojnë, prandaj array-i ndahet me snapshot-in e mëparshëm
+            ZoneMatrix next = new ZoneMatrix(newSlotOf, newLocations, distances, liveCount - 1);
+            return next.liveCount * 2 < next.slotCount ? next.compact() : next;
+        }
+
+        /**
+         * Heq slot-et bosh duke kopjuar distancat ekzistuese (pa rillogaritje).
+         */
+        ZoneMatrix compact() {
+            int[] oldSlots = new int[liveCount];
+            int count = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (locations[slot] != null) {
+                    oldSlots[count++] = slot;
+                }
+            }
+
+            Map<String, Integer> newSlotOf = new HashMap<>(count * 2);
+            slotOf.forEach((id, slot) -> newSlotOf.put(id, Arrays.binarySearch(oldSlots, slot)));
+
+            Coordinates[] newLocations = new Coordinates[count];
+            double[] newDistances = new double[triangle(count)];
+            for (int i = 0; i < count; i++) {
+                newLocations[i] = locations[oldSlots[i]];
+                int row = triangle(i);
+                for (int j = 0; j < i; j++) {
+                    newDistances[row + j] = get(oldSlots[i], oldSlots[j]);
+                }
+            }
+            return new ZoneMatrix(newSlotOf, newLocations, newDistances, count);
+        }
+    }
+
+    /**
+     * Matrica e distancave për një listë kontejnerësh.
+     * Indekset i referohen listës së përdorur për ta marrë matricën.
+     */
+    public static final class DistanceMatrix {
+        private final List<Kontenier> containers;
+        private final ZoneMatrix matrix;   // null: distancat llogariten direkt
+        private final int[] slots;
+
+        private DistanceMatrix(List<Kontenier> containers, ZoneMatrix matrix, int[] slots) {
+            this.containers = containers;
+            this.matrix = matrix;
+            this.slots = slots;
+        }
+
+        /**
+         * @return Distanca në metra midis kontejnerëve i dhe j të listës
+         */
+        public double distance(int i, int j) {
+            if (matrix == null) {
+                return containers.get(i).getLocation().distanceTo(containers.get(j).getLocation());
+            }
+            return matrix.get(slots[i], slots[j]);
+        }
+
+        /**
+         * @return Distanca në metra nga një pikë çfarëdo (p.sh. pika e fillimit) te kontejneri j
+         */
+        public double distanceFrom(Coordinates point, int j) {
+            return point.distanceTo(containers.get(j).getLocation());
+        }
+
+        public int size() {
+            return containers.size();
+        }
+
+        public boolean isCached() {
+            return matrix != null;
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package eco.kosova.infrastructure.events;
 
 import eco.kosova.domain.events.CollectionScheduledEvent;
+import eco.kosova.domain.services.LiveRouteService;
 import eco.kosova.infrastructure.services.NotificationService;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.util.logging.Logger;
@@ -18,15 +18,31 @@ public class CollectionScheduledEventHandler {
         CollectionScheduledEventHandler.class.getName()
     );
     
+    private static final String CONSUMER = CollectionScheduledEventHandler.class.getSimpleName();
+    
     private final NotificationService notificationService;
+    private final LiveRouteService liveRouteService;
+    private final ProcessedEventStore processedEvents;
     
-    public CollectionScheduledEventHandler(NotificationService notificationService) {
+    public CollectionScheduledEventHandler(
+            NotificationService notificationService,
+            LiveRouteService liveRouteService,
+            ProcessedEventStore processedEvents
+    ) {
         this.notificationService = notificationService;
+        this.liveRouteService = liveRouteService;
+        this.processedEvents = processedEvents;
     }
     
-    @Async
     @EventListener
     public void handle(CollectionScheduledEvent event) {
+        if (processedEvents.isProcessed(CONSUMER, event.getEventId())) {
+            logger.info(String.format(
+                "Skipping already handled CollectionScheduledEvent %s", event.getEventId()
+            ));
+            return;
+        }
+        
         logger.info(String.format(
             "Handling CollectionScheduledEvent: container=%s, zone=%s, scheduled=%s",
             event.getContainerId(),
@@ -42,6 +58,9 @@ public class CollectionScheduledEventHandler {
                 event.getScheduledTime()
             );
             
+            // Kontejneri i planifikuar bëhet gati për mbledhje
+            liveRouteService.refresh(event.getContainerId());
+            
             // Log
             logger.info(String.format(
                 "📅 Collection scheduled for container %s at %s",
@@ -49,11 +68,15 @@ public class CollectionScheduledEventHandler {
                 event.getScheduledTime()
             ));
             
-        } catch (Exception e) {
+            processedEvents.markProcessed(CONSUMER, event.getEventId());
+            
+        } catch (RuntimeException e) {
             logger.severe(String.format(
                 "Error handling CollectionScheduledEvent: %s",
                 e.getMessage()
             ));
+            // Relay-i e mban eventin në outbox dhe e dërgon sërish më vonë
+            throw e;
         }
     }
 }
@@ -0,0 +1,48 @@
+package eco.kosova.infrastructure.events;
+
+import eco.kosova.domain.events.ContainerEmptiedEvent;
+import eco.kosova.domain.services.LiveRouteService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Logger;
+
+/**
+ * Event Handler për ContainerEmptiedEvent.
+ */
+@Component
+public class ContainerEmptiedEventHandler {
+    
+    private static final Logger logger = Logger.getLogger(
+        ContainerEmptiedEventHandler.class.getName()
+    );
+    
+    private final LiveRouteService liveRouteService;
+    
+    public ContainerEmptiedEventHandler(LiveRouteService liveRouteService) {
+        this.liveRouteService = liveRouteService;
+    }
+    
+    @EventListener
+    public void handle(ContainerEmptiedEvent event) {
+        logger.info(String.format(
+            "Handling ContainerEmptiedEvent: container=%s, zone=%s",
+            event.getContainerId(),
+            event.getZoneId()
+        ));
+        
+        try {
+            // Hiq kontejnerin nga rruga live e zonës. refresh lexon gjendjen
+            // aktuale, kështu që një dërgim i përsëritur nga outbox-i nuk ka efekt
+            liveRouteService.refresh(event.getContainerId());
+            
+        } catch (RuntimeException e) {
+            logger.severe(String.format(
+                "Error handling ContainerEmptiedEvent: %s",
+                e.getMessage()
+            ));
+            // Relay-i e mban eventin në outbox dhe e dërgon sërish më vonë
+            throw e;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package eco.kosova.infrastructure.events;
 
 import eco.kosova.domain.events.ContainerFullEvent;
-import eco.kosova.domain.services.RouteOptimizationService;
+import eco.kosova.domain.services.LiveRouteService;
 import eco.kosova.infrastructure.services.NotificationService;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.util.logging.Logger;
@@ -14,7 +13,7 @@ import java.util.logging.Logger;
  * 
  * Kur një kontejner mbushet:
  * 1. Dërgon njoftime
- * 2. Përditëson route optimization
+ * 2. Përditëson rrugën live të zonës (cheapest insertion)
  * 3. Log event për audit
  */
 @Component
@@ -24,23 +23,35 @@ public class ContainerFullEventHandler {
         ContainerFullEventHandler.class.getName()
     );
     
+    private static final String CONSUMER = ContainerFullEventHandler.class.getSimpleName();
+    
     private final NotificationService notificationService;
-    private final RouteOptimizationService routeService;
+    private final LiveRouteService liveRouteService;
+    private final ProcessedEventStore processedEvents;
     
     public ContainerFullEventHandler(
             NotificationService notificationService,
-            RouteOptimizationService routeService
+            LiveRouteService liveRouteService,
+            ProcessedEventStore processedEvents
     ) {
         this.notificationService = notificationService;
-        this.routeService = routeService;
+        this.liveRouteService = liveRouteService;
+        this.processedEvents = processedEvents;
     }
     
     /**
-     * Handle ContainerFullEvent - ekzekutohet asinkronisht
+     * Handle ContainerFullEvent - ekzekutohet në thread-in e dispatcher-it të eventeve.
+     * Një event i dërguar sërish nga outbox-i nuk dërgon njoftim të dytë.
      */
-    @Async
     @EventListener
     public void handle(ContainerFullEvent event) {
+        if (processedEvents.isProcessed(CONSUMER, event.getEventId())) {
+            logger.info(String.format(
+                "Skipping already handled ContainerFullEvent %s", event.getEventId()
+            ));
+            return;
+        }
+        
         logger.info(String.format(
             "Handling ContainerFullEvent: container=%s, zone=%s, level=%d%%",
             event.getContainerId(),
@@ -56,19 +67,26 @@ public class ContainerFullEventHandler {
                 event.getFillLevel()
             );
             
-            // 2. Log për audit trail
+            // 2. Fut kontejnerin në rrugën live të zonës
+            liveRouteService.refresh(event.getContainerId());
+            
+            // 3. Log për audit trail
             logEvent(event);
             
+            processedEvents.markProcessed(CONSUMER, event.getEventId());
+            
             logger.info(String.format(
                 "Successfully handled ContainerFullEvent for container %s",
                 event.getContainerId()
             ));
             
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             logger.severe(String.format(
                 "Error handling ContainerFullEvent: %s",
                 e.getMessage()
             ));
+            // Relay-i e mban eventin në outbox dhe e dërgon sërish më vonë
+            throw e;
         }
     }
     
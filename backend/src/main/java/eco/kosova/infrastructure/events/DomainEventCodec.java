@@ -0,0 +1,79 @@
+package eco.kosova.infrastructure.events;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import eco.kosova.domain.events.CollectionScheduledEvent;
+import eco.kosova.domain.events.ContainerEmptiedEvent;
+import eco.kosova.domain.events.ContainerFullEvent;
+import eco.kosova.domain.events.DomainEvent;
+
+import java.time.Instant;
+
+/**
+ * Kthen domain events në payload JSON për outbox-in dhe anasjelltas.
+ *
+ * ID-ja, tipi, agregati dhe koha e eventit ruhen në kolona të veçanta të
+ * outbox-it; payload-i mban vetëm fushat specifike të secilit tip.
+ */
+public final class DomainEventCodec {
+    
+    private DomainEventCodec() {
+    }
+    
+    /**
+     * @throws IllegalArgumentException nëse tipi i eventit nuk njihet
+     */
+    public static String encode(DomainEvent event) {
+        JsonObject payload = new JsonObject();
+        if (event instanceof ContainerFullEvent full) {
+            payload.addProperty("zoneId", full.getZoneId());
+            payload.addProperty("fillLevel", full.getFillLevel());
+        } else if (event instanceof ContainerEmptiedEvent emptied) {
+            payload.addProperty("zoneId", emptied.getZoneId());
+        } else if (event instanceof CollectionScheduledEvent scheduled) {
+            payload.addProperty("zoneId", scheduled.getZoneId());
+            payload.addProperty("scheduledTime", scheduled.getScheduledTime().toString());
+        } else {
+            throw new IllegalArgumentException(
+                String.format("Unsupported domain event type: %s", event.getEventType())
+            );
+        }
+        return payload.toString();
+    }
+    
+    /**
+     * Rindërton eventin me ID-në dhe kohën origjinale.
+     *
+     * @throws IllegalArgumentException nëse tipi nuk njihet ose payload-i është i pavlefshëm
+     */
+    public static DomainEvent decode(String eventId, String eventType, String aggregateId,
+                                     String payload, Instant occurredOn) {
+        try {
+            JsonObject json = JsonParser.parseString(payload).getAsJsonObject();
+            String zoneId = json.get("zoneId").getAsString();
+            switch (eventType) {
+                case "ContainerFullEvent":
+                    return new ContainerFullEvent(
+                        eventId, aggregateId, zoneId, json.get("fillLevel").getAsInt(), occurredOn
+                    );
+                case "ContainerEmptiedEvent":
+                    return new ContainerEmptiedEvent(eventId, aggregateId, zoneId, occurredOn);
+                case "CollectionScheduledEvent":
+                    return new CollectionScheduledEvent(
+                        eventId, aggregateId, zoneId, Instant.parse(json.get("scheduledTime").getAsString()), occurredOn
+                    );
+                default:
+                    throw new IllegalArgumentException(
+                        String.format("Unsupported domain event type: %s", eventType)
+                    );
+            }
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // JSON i pavlefshëm, fushë që mungon ose kohë e pavlefshme
+            throw new IllegalArgumentException(
+                String.format("Invalid payload for %s [ID: %s]: %s", eventType, eventId, e.getMessage()), e
+            );
+        }
+    }
+}
@@ -2,15 +2,35 @@ package eco.kosova.infrastructure.events;
 
 import eco.kosova.domain.events.DomainEvent;
 import eco.kosova.domain.events.DomainEventPublisher;
+import eco.kosova.infrastructure.events.DomainEventRingBuffer.OverflowPolicy;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 /**
  * Implementation e DomainEventPublisher që përdor Spring's ApplicationEventPublisher.
- * 
+ *
  * Kjo është bridge midis domain events dhe Spring event system.
+ *
+ * publish() vetëm e fut eventin në një {@link DomainEventRingBuffer}; një
+ * thread i dedikuar (dispatcher) i merr eventet në grup dhe i kalon te
+ * handler-at në Spring. Kështu handler-at nuk varen nga pool-i i @Async dhe
+ * një valë eventesh kufizohet nga politika e radhës, jo nga refuzimet e pool-it.
+ *
+ * Eventet që nuk pranohen nga radha (radha e mbyllur, ose BLOCK kur publikon
+ * vetë dispatcher-i) dërgohen menjëherë në thread-in që i publikon.
+ *
+ * Një event për të cilin një handler hedh exception i raportohet
+ * listener-it të {@link #onDispatchFailure} (p.sh. OutboxRelay, që e mban
+ * eventin në outbox për ta provuar sërish).
  */
 @Component
 public class DomainEventPublisherImpl implements DomainEventPublisher {
@@ -20,9 +40,43 @@ public class DomainEventPublisherImpl implements DomainEventPublisher {
     );
     
     private final ApplicationEventPublisher springEventPublisher;
+    private final DomainEventRingBuffer buffer;
+    private final int batchSize;
+    private final long shutdownTimeoutMs;
     
-    public DomainEventPublisherImpl(ApplicationEventPublisher springEventPublisher) {
+    private Thread dispatcher;
+    private volatile Consumer<DomainEvent> failureListener = event -> { };
+    
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong dispatchedInline = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    
+    public DomainEventPublisherImpl(
+            ApplicationEventPublisher springEventPublisher,
+            @Value("${ecokosova.events.queue-capacity:8192}") int queueCapacity,
+            @Value("${ecokosova.events.overflow-policy:block}") String overflowPolicy,
+            @Value("${ecokosova.events.batch-size:256}") int batchSize,
+            @Value("${ecokosova.events.shutdown-timeout-ms:5000}") long shutdownTimeoutMs
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Event batch size must be positive");
+        }
         this.springEventPublisher = springEventPublisher;
+        this.buffer = new DomainEventRingBuffer(queueCapacity, OverflowPolicy.fromString(overflowPolicy));
+        this.batchSize = batchSize;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+    
+    @PostConstruct
+    public void start() {
+        dispatcher = new Thread(this::dispatchLoop, "domain-events");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        logger.info(String.format(
+            "Domain event dispatcher started: capacity %d, batch %d, overflow %s",
+            buffer.getCapacity(), batchSize, buffer.getPolicy()
+        ));
     }
     
     @Override
@@ -34,12 +88,112 @@ public class DomainEventPublisherImpl implements DomainEventPublisher {
             event.getAggregateId()
         ));
         
-        // Publiko event në Spring event system
-        springEventPublisher.publishEvent(event);
-        
-        logger.fine(String.format(
-            "Domain event published successfully: %s",
-            event.getEventId()
+        // Dispatcher-i nuk pret kurrë për veten: me radhën plot eventi dërgohet këtu
+        boolean queued = buffer.offer(event, Thread.currentThread() != dispatcher);
+        if (!queued) {
+            dispatchedInline.incrementAndGet();
+            dispatch(event);
+        }
+    }
+    
+    /**
+     * Pret derisa çdo event i publikuar para kësaj thirrjeje të jetë dërguar
+     * te handler-at (ose hedhur sipas politikës së radhës).
+     *
+     * @param timeoutMs Koha maksimale e pritjes
+     * @return false nëse koha mbaroi para se eventet të dërgoheshin
+     */
+    public boolean awaitDispatched(long timeoutMs) {
+        if (Thread.currentThread() == dispatcher) {
+            throw new IllegalStateException("The event dispatcher cannot wait for its own queue");
+        }
+        return buffer.awaitCompleted(buffer.getEnqueuedCount(), timeoutMs);
+    }
+    
+    /**
+     * Regjistron listener-in që njoftohet për çdo event që nuk arriti te
+     * handler-at. Thirret në thread-in që e dërgoi eventin.
+     */
+    public void onDispatchFailure(Consumer<DomainEvent> listener) {
+        this.failureListener = listener;
+    }
+    
+    /**
+     * Mbyll radhën dhe pret që dispatcher-i të dërgojë eventet në pritje.
+     */
+    @PreDestroy
+    public void close() {
+        buffer.close();
+        if (dispatcher != null && dispatcher != Thread.currentThread()) {
+            try {
+                dispatcher.join(shutdownTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (dispatcher.isAlive()) {
+                logger.warning(String.format(
+                    "Domain event dispatcher did not finish within %d ms, %d events pending",
+                    shutdownTimeoutMs, buffer.size()
+                ));
+            }
+        }
+        logger.info(String.format(
+            "Domain event dispatcher closed: %d dispatched, %d dropped, %d coalesced",
+            dispatched.get(), buffer.getDropped(), buffer.getCoalesced()
         ));
     }
-}
\ No newline at end of file
+    
+    // ========== METRICS ==========
+    
+    public int getQueueDepth() { return buffer.size(); }
+    public int getQueueCapacity() { return buffer.getCapacity(); }
+    public OverflowPolicy getOverflowPolicy() { return buffer.getPolicy(); }
+    public long getAccepted() { return buffer.getAccepted(); }
+    public long getDropped() { return buffer.getDropped(); }
+    public long getCoalesced() { return buffer.getCoalesced(); }
+    public long getBlocked() { return buffer.getBlocked(); }
+    public long getDispatched() { return dispatched.get(); }
+    public long getDispatchedInline() { return dispatchedInline.get(); }
+    public long getFailed() { return failed.get(); }
+    public long getBatches() { return batches.get(); }
+    public long getDrained() { return buffer.getDrained(); }
+    public long getLagNanos() { return buffer.getLagNanos(); }
+    public long getOldestAgeNanos() { return buffer.getOldestAgeNanos(); }
+    
+    // ========== PRIVATE HELPER METHODS ==========
+    
+    private void dispatchLoop() {
+        List<DomainEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize)) {
+            batches.incrementAndGet();
+            for (DomainEvent event : batch) {
+                dispatch(event);
+            }
+            buffer.complete(batch.size());
+            batch.clear();
+        }
+    }
+    
+    private void dispatch(DomainEvent event) {
+        try {
+            // Publiko event në Spring event system
+            springEventPublisher.publishEvent(event);
+            dispatched.incrementAndGet();
+            
+            logger.fine(String.format(
+                "Domain event published successfully: %s",
+                event.getEventId()
+            ));
+        } catch (RuntimeException e) {
+            // Një handler që dështon nuk duhet të ndalë dispatcher-in
+            failed.incrementAndGet();
+            logger.severe(String.format(
+                "Domain event handler failed for %s [ID: %s]: %s",
+                event.getEventType(),
+                event.getEventId(),
+                e.getMessage()
+            ));
+            failureListener.accept(event);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package eco.kosova.infrastructure.events;
+
+import eco.kosova.domain.events.DomainEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Radhë rrethore e kufizuar për domain events: shumë producer-a (thread-at që
+ * publikojnë) dhe një consumer i vetëm (dispatcher-i).
+ *
+ * Eventet ruhen në një array me madhësi fikse, pa alokim për çdo event.
+ * Dispatcher-i i merr në grup me një marrje të lock-ut, kështu që kostoja e
+ * sinkronizimit ndahet mbi gjithë grupin.
+ *
+ * Kur radha është plot, sjellja varet nga {@link OverflowPolicy}.
+ */
+public class DomainEventRingBuffer {
+    
+    /**
+     * Çfarë ndodh kur publikohet një event dhe radha është plot.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Producer-i pret derisa të lirohet vend
+         */
+        BLOCK,
+        
+        /**
+         * Eventi më i vjetër në radhë hidhet
+         */
+        DROP_OLDEST,
+        
+        /**
+         * Eventi i ri zëvendëson atë në pritje me të njëjtin tip dhe agregat;
+         * nëse nuk ka të tillë, hidhet eventi më i vjetër
+         */
+        COALESCE;
+        
+        public static OverflowPolicy fromString(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(
+                    String.format("Invalid event overflow policy: %s", value)
+                );
+            }
+        }
+    }
+    
+    private final DomainEvent[] events;
+    private final long[] enqueuedAt;
+    private final OverflowPolicy policy;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition progress = lock.newCondition();
+    
+    // Vetëm për COALESCE: slot-i i eventit të fundit në pritje për çdo tip + agregat
+    private final Map<String, Integer> slotsByKey;
+    
+    private int head;
+    private int size;
+    private boolean closed;
+    
+    // Eventet e futura në radhë dhe ato që kanë dalë prej saj (të dërguara ose të hedhura)
+    private long enqueued;
+    private long completed;
+    
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong drained = new AtomicLong();
+    private final AtomicLong lagNanos = new AtomicLong();
+    
+    /**
+     * @param capacity Numri maksimal i eventeve në pritje
+     * @param policy Sjellja kur radha është plot
+     */
+    public DomainEventRingBuffer(int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Event queue capacity must be positive");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null");
+        }
+        this.events = new DomainEvent[capacity];
+        this.enqueuedAt = new long[capacity];
+        this.policy = policy;
+        this.slotsByKey = policy == OverflowPolicy.COALESCE ? new HashMap<>() : null;
+    }
+    
+    /**
+     * Shton eventin në radhë.
+     *
+     * @param event Eventi
+     * @param mayWait false kur thirrësi nuk duhet të presë (p.sh. vetë dispatcher-i)
+     * @return false nëse eventi nuk u pranua: radha është mbyllur, ose është plot
+     *         me BLOCK dhe thirrësi nuk mund të presë (apo u ndërpre duke pritur)
+     */
+    public boolean offer(DomainEvent event, boolean mayWait) {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            if (size == events.length) {
+                switch (policy) {
+                    case BLOCK:
+                        if (!mayWait || !awaitSpace()) {
+                            return false;
+                        }
+                        break;
+                    case COALESCE:
+                        if (replacePending(event)) {
+                            return true;
+                        }
+                        removeHead();
+                        discarded();
+                        break;
+                    default:
+                        removeHead();
+                        discarded();
+                        break;
+                }
+            }
+            
+            int slot = (head + size) % events.length;
+            events[slot] = event;
+            enqueuedAt[slot] = System.nanoTime();
+            if (slotsByKey != null) {
+                slotsByKey.put(key(event), slot);
+            }
+            size++;
+            enqueued++;
+            accepted.incrementAndGet();
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Merr deri në maxEvents evente sipas radhës, duke pritur nëse radha është bosh.
+     *
+     * @param batch Lista ku shtohen eventet
+     * @param maxEvents Madhësia maksimale e grupit
+     * @return false kur radha është mbyllur dhe nuk ka më evente
+     */
+    public boolean drainTo(List<DomainEvent> batch, int maxEvents) {
+        lock.lock();
+        try {
+            while (size == 0) {
+                if (closed) {
+                    return false;
+                }
+                notEmpty.awaitUninterruptibly();
+            }
+            
+            long now = System.nanoTime();
+            long waited = 0;
+            int count = Math.min(size, maxEvents);
+            for (int i = 0; i < count; i++) {
+                waited += now - enqueuedAt[head];
+                batch.add(removeHead());
+            }
+            drained.addAndGet(count);
+            lagNanos.addAndGet(waited);
+            notFull.signalAll();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Shënon se dispatcher-i mbaroi së dërguari count evente të marra me drainTo.
+     */
+    public void complete(int count) {
+        lock.lock();
+        try {
+            completed += count;
+            progress.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Numri i eventeve të futura në radhë deri tani; shërben si pikë për
+     * {@link #awaitCompleted(long, long)}.
+     */
+    public long getEnqueuedCount() {
+        lock.lock();
+        try {
+            return enqueued;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Pret derisa të kenë dalë nga radha (të dërguara ose të hedhura) të
+     * paktën target evente. Radha është FIFO, kështu që kjo përfshin çdo event
+     * të futur para se target të lexohej.
+     *
+     * @return false nëse koha mbaroi ose thread-i u ndërpre
+     */
+    public boolean awaitCompleted(long target, long timeoutMs) {
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            while (completed < target) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = progress.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Mbyll radhën: eventet e reja refuzohen, ato në pritje mbeten për dispatcher-in.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // ========== METRICS ==========
+    
+    public int getCapacity() { return events.length; }
+    public OverflowPolicy getPolicy() { return policy; }
+    public long getAccepted() { return accepted.get(); }
+    public long getDropped() { return dropped.get(); }
+    public long getCoalesced() { return coalesced.get(); }
+    public long getBlocked() { return blocked.get(); }
+    public long getDrained() { return drained.get(); }
+    public long getLagNanos() { return lagNanos.get(); }
+    
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Sa kohë ka që pret eventi më i vjetër në radhë (0 nëse radha është bosh)
+     */
+    public long getOldestAgeNanos() {
+        lock.lock();
+        try {
+            return size == 0 ? 0 : System.nanoTime() - enqueuedAt[head];
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // ========== PRIVATE HELPER METHODS ==========
+    
+    private boolean awaitSpace() {
+        blocked.incrementAndGet();
+        try {
+            while (size == events.length && !closed) {
+                notFull.await();
+            }
+            return !closed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private void discarded() {
+        dropped.incrementAndGet();
+        completed++;
+        progress.signalAll();
+    }
+    
+    private boolean replacePending(DomainEvent event) {
+        Integer slot = slotsByKey.get(key(event));
+        if (slot == null) {
+            return false;
+        }
+        // Eventi i ri merr vendin (dhe kohën e pritjes) së atij që zëvendëson
+        events[slot] = event;
+        coalesced.incrementAndGet();
+        return true;
+    }
+    
+    private DomainEvent removeHead() {
+        DomainEvent event = events[head];
+        events[head] = null;
+        if (slotsByKey != null) {
+            slotsByKey.remove(key(event), head);
+        }
+        head = (head + 1) % events.length;
+        size--;
+        return event;
+    }
+    
+    private static String key(DomainEvent event) {
+        return event.getEventType() + ':' + event.getAggregateId();
+    }
+}
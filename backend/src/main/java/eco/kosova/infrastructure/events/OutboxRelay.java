@@ -0,0 +1,357 @@
+package eco.kosova.infrastructure.events;
+
+import eco.kosova.domain.events.DomainEvent;
+import eco.kosova.infrastructure.events.DomainEventRingBuffer.OverflowPolicy;
+import eco.kosova.infrastructure.persistence.jpa.OutboxEventEntity;
+import eco.kosova.infrastructure.persistence.jpa.OutboxEventEntityRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Relay i outbox-it: lexon eventet e ruajtura nga KontenierRepository në
+ * grupe, sipas radhës së shkrimit, i publikon përmes
+ * {@link DomainEventPublisherImpl} dhe i fshin vetëm pasi handler-at kanë
+ * mbaruar. Nëse aplikacioni ndalet para fshirjes, eventet dërgohen sërish
+ * në startimin e radhës (at-least-once); {@link ProcessedEventStore}
+ * i lejon handler-at t'i anashkalojnë.
+ *
+ * Një event për të cilin një handler dështon nuk fshihet: rreshti provohet
+ * sërish me backoff eksponencial (retryAt). Prandaj radha e dispatcher-it
+ * duhet të jetë BLOCK; DROP_OLDEST dhe COALESCE do të hidhnin evente që
+ * relay-i i ka shënuar si të dërguara.
+ *
+ * Para dërgimit relay-i e merr grupin në databazë (claimToken, attempts + 1,
+ * retryAt = afati i marrjes), kështu që disa instanca mbi të njëjtën databazë
+ * nuk e dërgojnë të njëjtin event dy herë. Një rresht i marrë më parë
+ * (attempts > 1, p.sh. relay-i ndaloi para fshirjes) kthehet vetëm pasi afati
+ * kalon dhe kontrollohet në {@link ProcessedEventStore} si dërgim i përsëritur.
+ *
+ * Relay-i punon në një thread të vetëm me një grup në fluturim. Pas çdo
+ * commit-i që shton evente zgjohet menjëherë; përndryshe kontrollon
+ * outbox-in çdo poll-interval-ms.
+ */
+@Component
+public class OutboxRelay {
+    
+    private static final Logger logger = Logger.getLogger(OutboxRelay.class.getName());
+    
+    // Sa shpesh relay-i kontrollon nëse handler-at kanë mbaruar me grupin
+    private static final long DISPATCH_WAIT_MS = 1000;
+    // Sa shpesh fshihen shënimet e vjetra të ProcessedEventStore
+    private static final long PURGE_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10);
+    // Pritja maksimale midis dy provave të një eventi që dështon
+    private static final long MAX_RETRY_DELAY_MS = TimeUnit.MINUTES.toMillis(5);
+    
+    private final OutboxEventEntityRepository outboxRepository;
+    private final DomainEventPublisherImpl publisher;
+    private final ProcessedEventStore processedEvents;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long leaseMs;
+    private final Duration processedRetention;
+    
+    private final Object signal = new Object();
+    private boolean signalled;
+    private volatile boolean running;
+    private Thread relay;
+    
+    // Eventet e grupit aktual që nuk arritën te handler-at
+    private final Set<String> failedEventIds = ConcurrentHashMap.newKeySet();
+    
+    // Rreshtat me seq deri këtu ekzistonin në startim dhe mund të jenë dërguar më parë
+    private long redeliveryHorizon;
+    private long lastPurgeMillis;
+    
+    private final AtomicLong relayed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong relayLagNanos = new AtomicLong();
+    
+    public OutboxRelay(
+            OutboxEventEntityRepository outboxRepository,
+            DomainEventPublisherImpl publisher,
+            ProcessedEventStore processedEvents,
+            @Value("${ecokosova.events.outbox.batch-size:500}") int batchSize,
+            @Value("${ecokosova.events.outbox.poll-interval-ms:100}") long pollIntervalMs,
+            @Value("${ecokosova.events.outbox.lease-ms:60000}") long leaseMs,
+            @Value("${ecokosova.events.outbox.processed-retention-hours:24}") long processedRetentionHours
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Outbox batch size must be positive");
+        }
+        if (pollIntervalMs <= 0) {
+            throw new IllegalArgumentException("Outbox poll interval must be positive");
+        }
+        if (leaseMs <= 0) {
+            throw new IllegalArgumentException("Outbox lease must be positive");
+        }
+        if (publisher.getOverflowPolicy() != OverflowPolicy.BLOCK) {
+            throw new IllegalStateException(String.format(
+                "The outbox requires ecokosova.events.overflow-policy=block, got %s",
+                publisher.getOverflowPolicy()
+            ));
+        }
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.processedEvents = processedEvents;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.leaseMs = leaseMs;
+        this.processedRetention = Duration.ofHours(processedRetentionHours);
+        publisher.onDispatchFailure(event -> failedEventIds.add(event.getEventId()));
+    }
+    
+    /**
+     * Nis relay-in pasi aplikacioni është gati, që @EventListener-at të jenë regjistruar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (relay != null) {
+            return;
+        }
+        Long maxSeq = outboxRepository.findMaxSeq();
+        redeliveryHorizon = maxSeq != null ? maxSeq : 0;
+        lastPurgeMillis = System.currentTimeMillis();
+        
+        running = true;
+        relay = new Thread(this::relayLoop, "outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+        logger.info(String.format(
+            "Outbox relay started: batch %d, poll interval %d ms, %d events pending",
+            batchSize, pollIntervalMs, outboxRepository.count()
+        ));
+    }
+    
+    /**
+     * Zgjon relay-in (p.sh. pas commit-it të një transaksioni që shtoi evente).
+     */
+    public void wakeUp() {
+        synchronized (signal) {
+            signalled = true;
+            signal.notifyAll();
+        }
+    }
+    
+    /**
+     * Ndalon relay-in pas grupit aktual. Eventet e pafshira mbeten në outbox.
+     */
+    @PreDestroy
+    public void close() {
+        running = false;
+        wakeUp();
+        if (relay != null) {
+            try {
+                relay.join(DISPATCH_WAIT_MS * 5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info(String.format(
+            "Outbox relay closed: %d events relayed in %d batches",
+            relayed.get(), batches.get()
+        ));
+    }
+    
+    /**
+     * Merr një grup nga outbox-i, e dërgon dhe pret që handler-at të mbarojnë.
+     *
+     * @return Numri i rreshtave të marrë nga outbox-i
+     */
+    public int relayBatch() {
+        List<OutboxEventEntity> rows = claimBatch();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        
+        List<Long> seqs = new ArrayList<>(rows.size());
+        List<String> eventIds = new ArrayList<>(rows.size());
+        List<String> redelivered = new ArrayList<>();
+        List<DomainEvent> events = new ArrayList<>(rows.size());
+        for (OutboxEventEntity row : rows) {
+            seqs.add(row.getSeq());
+            eventIds.add(row.getEventId());
+            try {
+                events.add(DomainEventCodec.decode(
+                    row.getEventId(), row.getEventType(), row.getAggregateId(), row.getPayload(), row.getOccurredOn()
+                ));
+            } catch (IllegalArgumentException e) {
+                // Rreshti nuk do të lexohet dot kurrë; fshihet me grupin që të mos bllokojë outbox-in
+                invalid.incrementAndGet();
+                logger.severe(String.format("Skipping invalid outbox event: %s", e.getMessage()));
+                continue;
+            }
+            if (row.getAttempts() > 1 || row.getSeq() <= redeliveryHorizon) {
+                redelivered.add(row.getEventId());
+            }
+        }
+        processedEvents.expectRedelivery(redelivered);
+        
+        failedEventIds.clear();
+        publisher.publishAll(events);
+        while (!publisher.awaitDispatched(DISPATCH_WAIT_MS)) {
+            if (!running) {
+                // Eventet janë ende në radhën e dispatcher-it; rreshtat mbeten për startimin e radhës
+                processedEvents.expectRedelivery(eventIds);
+                return 0;
+            }
+            logger.warning(String.format(
+                "Outbox relay waiting for %d events to be dispatched", events.size()
+            ));
+        }
+        
+        
+        // Rreshtat e eventeve që dështuan mbeten në outbox për retry
+        Set<String> failed = new HashSet<>(failedEventIds);
+        List<Long> done = new ArrayList<>(rows.size());
+        List<String> doneIds = new ArrayList<>(rows.size());
+        List<OutboxEventEntity> retries = new ArrayList<>();
+        for (OutboxEventEntity row : rows) {
+            if (failed.contains(row.getEventId())) {
+                retries.add(row);
+            } else {
+                done.add(row.getSeq());
+                doneIds.add(row.getEventId());
+            }
+        }
+        
+        try {
+            // Shënimet e dedupe bëhen commit para fshirjes së rreshtave
+            processedEvents.flush();
+            if (!done.isEmpty()) {
+                outboxRepository.deleteBySeqIn(done);
+            }
+        } catch (RuntimeException e) {
+            // Grupi do të lexohet sërish: handler-at duhet ta njohin si të përsëritur
+            processedEvents.expectRedelivery(eventIds);
+            throw e;
+        }
+        processedEvents.forget(doneIds);
+        scheduleRetries(retries);
+        
+        Instant now = Instant.now();
+        for (DomainEvent event : events) {
+            if (!failed.contains(event.getEventId())) {
+                relayLagNanos.addAndGet(Duration.between(event.occurredOn(), now).toNanos());
+                relayed.incrementAndGet();
+            }
+        }
+        batches.incrementAndGet();
+        return rows.size();
+    }
+    
+    // ========== METRICS ==========
+    
+    public long getPending() { return outboxRepository.count(); }
+    public long getRelayed() { return relayed.get(); }
+    public long getBatches() { return batches.get(); }
+    public long getInvalid() { return invalid.get(); }
+    public long getFailures() { return failures.get(); }
+    public long getRetried() { return retried.get(); }
+    public long getRelayLagNanos() { return relayLagNanos.get(); }
+    
+    // ========== PRIVATE HELPER METHODS ==========
+    
+    private void relayLoop() {
+        while (running) {
+            int relayedRows;
+            try {
+                relayedRows = relayBatch();
+                purgeProcessedEvents();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                logger.severe(String.format("Outbox relay failed: %s", e.getMessage()));
+                relayedRows = 0;
+            }
+            // Grup i plotë: ka ende evente, vazhdo pa pritur
+            if (relayedRows < batchSize) {
+                awaitSignal();
+            }
+        }
+    }
+    
+    /**
+     * Rreshtat e lirë më të vjetër marrin token-in e këtij grupi; ata që i
+     * mori ndërkohë një relay tjetër mbeten jashtë grupit.
+     */
+    private List<OutboxEventEntity> claimBatch() {
+        Instant now = Instant.now();
+        List<Long> seqs = outboxRepository.findOldestSeqs(now, PageRequest.of(0, batchSize));
+        if (seqs.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        if (outboxRepository.claim(seqs, token, now, now.plusMillis(leaseMs)) == 0) {
+            return List.of();
+        }
+        return outboxRepository.findClaimed(token);
+    }
+    
+    private void awaitSignal() {
+        synchronized (signal) {
+            try {
+                if (!signalled && running) {
+                    signal.wait(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            signalled = false;
+        }
+    }
+    
+    private void scheduleRetries(List<OutboxEventEntity> retries) {
+        if (retries.isEmpty()) {
+            return;
+        }
+        // Në provën e radhës attempts > 1: handler-at që e kanë përpunuar eventin e anashkalojnë
+        Instant now = Instant.now();
+        for (OutboxEventEntity row : retries) {
+            long delayMs = Math.min(pollIntervalMs << Math.min(row.getAttempts(), 20), MAX_RETRY_DELAY_MS);
+            row.scheduleRetry(now.plusMillis(delayMs));
+            logger.warning(String.format(
+                "Outbox event %s failed (attempt %d), retrying in %d ms",
+                row.getEventId(), row.getAttempts(), delayMs
+            ));
+        }
+        outboxRepository.saveAll(retries);
+        retried.addAndGet(retries.size());
+    }
+    
+    private void purgeProcessedEvents() {
+        long now = System.currentTimeMillis();
+        if (now - lastPurgeMillis < PURGE_INTERVAL_MS) {
+            return;
+        }
+        lastPurgeMillis = now;
+        // Shënimet e eventeve ende në outbox ruhen: processedAt nuk është kurrë para occurredOn
+        Instant cutoff = Instant.now().minus(processedRetention);
+        Instant oldestPending = outboxRepository.findOldestOccurredOn();
+        if (oldestPending != null && oldestPending.isBefore(cutoff)) {
+            cutoff = oldestPending;
+        }
+        int purged = processedEvents.purgeBefore(cutoff);
+        if (purged > 0) {
+            logger.fine(String.format("Purged %d processed event records", purged));
+        }
+    }
+}
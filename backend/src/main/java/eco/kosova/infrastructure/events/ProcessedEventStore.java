@@ -0,0 +1,149 @@
+package eco.kosova.infrastructure.events;
+
+import eco.kosova.infrastructure.persistence.jpa.ProcessedEventEntity;
+import eco.kosova.infrastructure.persistence.jpa.ProcessedEventEntityRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Eventet që çdo handler ka përpunuar me sukses, për dedupe të dërgimeve
+ * të përsëritura nga outbox-i (at-least-once).
+ *
+ * Handler-i kontrollon me {@link #isProcessed} para punës dhe shënon me
+ * {@link #markProcessed} pasi ajo ka përfunduar. Shënimet shkruhen në grup
+ * nga {@link OutboxRelay} me {@link #flush()}, para se rreshtat e outbox-it
+ * të fshihen. Shënimet që nuk u shkruan (p.sh. databaza e padisponueshme)
+ * mbeten në memorie për flush-in e radhës dhe vlejnë për dedupe edhe para
+ * se të ruhen; vetëm nëse aplikacioni ndalet para flush-it, grupi dërgohet
+ * sërish pa dedupe.
+ *
+ * Databaza pyetet vetëm për eventet që relay-i i ka shënuar si dërgim i
+ * mundshëm i përsëritur (rreshta të marrë më parë nga një relay, ose që
+ * ekzistonin në startim); për të tjerat kontrolli nuk kushton asgjë.
+ */
+@Component
+public class ProcessedEventStore {
+    
+    private final ProcessedEventEntityRepository repository;
+    
+    // Eventet që mund të jenë dërguar më parë
+    private final Set<String> redeliveries = ConcurrentHashMap.newKeySet();
+    // Shënimet që presin flush-in e radhës, sipas consumer:eventId
+    private final Map<String, ProcessedEventEntity> pending = new ConcurrentHashMap<>();
+    
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    
+    public ProcessedEventStore(ProcessedEventEntityRepository repository) {
+        this.repository = repository;
+    }
+    
+    /**
+     * @param consumer Emri i handler-it
+     * @param eventId ID-ja e eventit
+     * @return true nëse handler-i e ka përpunuar tashmë këtë event
+     */
+    public boolean isProcessed(String consumer, String eventId) {
+        if (!redeliveries.contains(eventId)) {
+            return false;
+        }
+        String key = key(consumer, eventId);
+        boolean processed = pending.containsKey(key) || repository.existsById(key);
+        if (processed) {
+            duplicates.incrementAndGet();
+        }
+        return processed;
+    }
+    
+    /**
+     * Shënon eventin si të përpunuar nga handler-i (shkruhet në flush-in e radhës).
+     */
+    public void markProcessed(String consumer, String eventId) {
+        String key = key(consumer, eventId);
+        pending.put(key, new ProcessedEventEntity(key, Instant.now()));
+    }
+    
+    /**
+     * Shkruan shënimet në pritje me një transaksion (INSERT-et në batch).
+     * Nëse shkrimi dështon, shënimet mbeten në pritje dhe exception-i hidhet.
+     *
+     * @return Numri i shënimeve të shkruara
+     */
+    public int flush() {
+        List<ProcessedEventEntity> batch = new ArrayList<>(pending.values());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            repository.saveAll(batch);
+        } catch (DataIntegrityViolationException e) {
+            // Një shënim ekziston tashmë: shkruhen një nga një, duke anashkaluar dublikatat
+            for (ProcessedEventEntity processed : batch) {
+                try {
+                    repository.save(processed);
+                } catch (DataIntegrityViolationException duplicate) {
+                    // I shënuar nga një dërgim i mëparshëm
+                }
+            }
+        }
+        
+        for (ProcessedEventEntity processed : batch) {
+            pending.remove(processed.getId(), processed);
+        }
+        recorded.addAndGet(batch.size());
+        return batch.size();
+    }
+    
+    /**
+     * Eventet mund të jenë dërguar më parë; isProcessed() do t'i kontrollojë në databazë.
+     */
+    public void expectRedelivery(Collection<String> eventIds) {
+        redeliveries.addAll(eventIds);
+    }
+    
+    /**
+     * Eventet janë hequr nga outbox-i dhe nuk do të dërgohen më.
+     */
+    public void forget(Collection<String> eventIds) {
+        if (!redeliveries.isEmpty()) {
+            redeliveries.removeAll(eventIds);
+        }
+    }
+    
+    /**
+     * Fshin shënimet më të vjetra se cutoff; një event i tillë nuk pritet më nga outbox-i.
+     *
+     * @return Numri i shënimeve të fshira
+     */
+    public int purgeBefore(Instant cutoff) {
+        return repository.deleteProcessedBefore(cutoff);
+    }
+    
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+    
+    // ========== METRICS ==========
+    
+    public long getRecorded() { return recorded.get(); }
+    public long getDuplicates() { return duplicates.get(); }
+    public int getPendingCount() { return pending.size(); }
+    
+    // ========== PRIVATE HELPER METHODS ==========
+    
+    private static String key(String consumer, String eventId) {
+        return consumer + ':' + eventId;
+    }
+}
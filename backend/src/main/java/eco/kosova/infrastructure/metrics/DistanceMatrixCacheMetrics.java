@@ -0,0 +1,63 @@
+package eco.kosova.infrastructure.metrics;
+
+import eco.kosova.domain.services.ZoneDistanceMatrixCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ekspozon metrikat e ZoneDistanceMatrixCache në Actuator (/actuator/metrics, /actuator/prometheus).
+ */
+@Component
+public class DistanceMatrixCacheMetrics implements MeterBinder {
+    
+    private static final String PREFIX = "ecokosova.routes.distance.cache";
+    
+    private final ZoneDistanceMatrixCache cache;
+    
+    public DistanceMatrixCacheMetrics(ZoneDistanceMatrixCache cache) {
+        this.cache = cache;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(PREFIX + ".requests", cache, ZoneDistanceMatrixCache::getHits)
+            .tag("result", "hit")
+            .description("Requests served from an up-to-date zone matrix")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".requests", cache, ZoneDistanceMatrixCache::getMisses)
+            .tag("result", "miss")
+            .description("Zone matrices built from scratch")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".requests", cache, ZoneDistanceMatrixCache::getIncrementalUpdates)
+            .tag("result", "incremental")
+            .description("Zone matrices updated only for new or moved containers")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".requests", cache, ZoneDistanceMatrixCache::getBypasses)
+            .tag("result", "bypass")
+            .description("Requests computed without the cache (zone too large or duplicate IDs)")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".computed.distances", cache, ZoneDistanceMatrixCache::getComputedDistances)
+            .description("Haversine distances computed for zone matrices")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".evictions", cache, ZoneDistanceMatrixCache::getEvictions)
+            .description("Zone matrices evicted to stay within the memory budget")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".install.conflicts", cache, ZoneDistanceMatrixCache::getInstallConflicts)
+            .description("Zone matrices rebuilt because the zone changed while they were computed")
+            .register(registry);
+        
+        Gauge.builder(PREFIX + ".memory", cache, ZoneDistanceMatrixCache::getMemoryBytes)
+            .baseUnit("bytes")
+            .description("Approximate memory held by zone matrices")
+            .register(registry);
+        Gauge.builder(PREFIX + ".zones", cache, ZoneDistanceMatrixCache::getZoneCount)
+            .description("Zones with a cached matrix")
+            .register(registry);
+        Gauge.builder(PREFIX + ".containers", cache, ZoneDistanceMatrixCache::getCachedContainerCount)
+            .description("Containers held in cached matrices")
+            .register(registry);
+    }
+}
@@ -0,0 +1,76 @@
+package eco.kosova.infrastructure.metrics;
+
+import eco.kosova.infrastructure.events.DomainEventPublisherImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ekspozon metrikat e radhës së domain events në Actuator (/actuator/metrics, /actuator/prometheus).
+ */
+@Component
+public class DomainEventMetrics implements MeterBinder {
+    
+    private static final String PREFIX = "ecokosova.events";
+    
+    private final DomainEventPublisherImpl publisher;
+    
+    public DomainEventMetrics(DomainEventPublisherImpl publisher) {
+        this.publisher = publisher;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(PREFIX + ".queue.depth", publisher, DomainEventPublisherImpl::getQueueDepth)
+            .description("Domain events waiting for the dispatcher")
+            .register(registry);
+        Gauge.builder(PREFIX + ".queue.capacity", publisher, DomainEventPublisherImpl::getQueueCapacity)
+            .description("Maximum number of queued domain events")
+            .register(registry);
+        
+        FunctionCounter.builder(PREFIX + ".published", publisher, DomainEventPublisherImpl::getAccepted)
+            .description("Domain events accepted by the queue")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".dispatched", publisher, DomainEventPublisherImpl::getDispatched)
+            .description("Domain events delivered to the handlers")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".dispatched.inline", publisher, DomainEventPublisherImpl::getDispatchedInline)
+            .description("Domain events delivered on the publishing thread because the queue did not accept them")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".batches", publisher, DomainEventPublisherImpl::getBatches)
+            .description("Batches taken from the queue by the dispatcher")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".failed", publisher, DomainEventPublisherImpl::getFailed)
+            .description("Domain events whose handlers threw an exception")
+            .register(registry);
+        
+        FunctionCounter.builder(PREFIX + ".rejected", publisher, DomainEventPublisherImpl::getDropped)
+            .tag("reason", "dropped")
+            .description("Queued domain events discarded because the queue was full")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".rejected", publisher, DomainEventPublisherImpl::getCoalesced)
+            .tag("reason", "coalesced")
+            .description("Queued domain events replaced by a newer event for the same aggregate")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".blocked", publisher, DomainEventPublisherImpl::getBlocked)
+            .description("Publishes that waited for space in a full queue")
+            .register(registry);
+        
+        FunctionTimer.builder(PREFIX + ".lag", publisher,
+                DomainEventPublisherImpl::getDrained,
+                DomainEventPublisherImpl::getLagNanos,
+                TimeUnit.NANOSECONDS)
+            .description("Time domain events spent in the queue before dispatch")
+            .register(registry);
+        TimeGauge.builder(PREFIX + ".lag.oldest", publisher, TimeUnit.NANOSECONDS,
+                DomainEventPublisherImpl::getOldestAgeNanos)
+            .description("Age of the oldest queued domain event")
+            .register(registry);
+    }
+}
@@ -0,0 +1,60 @@
+package eco.kosova.infrastructure.metrics;
+
+import eco.kosova.domain.services.FillLevelWriteBehindBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ekspozon metrikat e FillLevelWriteBehindBuffer në Actuator (/actuator/metrics, /actuator/prometheus).
+ */
+@Component
+public class FillLevelBufferMetrics implements MeterBinder {
+    
+    private static final String PREFIX = "ecokosova.monitoring.fill.buffer";
+    
+    private final FillLevelWriteBehindBuffer buffer;
+    
+    public FillLevelBufferMetrics(FillLevelWriteBehindBuffer buffer) {
+        this.buffer = buffer;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(PREFIX + ".readings", buffer, FillLevelWriteBehindBuffer::getReceivedReadings)
+            .description("Fill level readings accepted by the buffer")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".writes", buffer, FillLevelWriteBehindBuffer::getBatchedWrites)
+            .tag("mode", "batched")
+            .description("Container fill levels written by a flush")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".writes", buffer, FillLevelWriteBehindBuffer::getImmediateWrites)
+            .tag("mode", "immediate")
+            .description("Readings written immediately because they crossed the critical threshold")
+            .register(registry);
+        
+        Gauge.builder(PREFIX + ".pending", buffer, FillLevelWriteBehindBuffer::getPendingCount)
+            .description("Containers with a reading waiting for the next flush")
+            .register(registry);
+        Gauge.builder(PREFIX + ".coalescing.ratio", buffer, FillLevelWriteBehindBuffer::getCoalescingRatio)
+            .description("Readings per database write (1.0 means no coalescing)")
+            .register(registry);
+        
+        FunctionTimer.builder(PREFIX + ".flush", buffer,
+                FillLevelWriteBehindBuffer::getFlushCount,
+                FillLevelWriteBehindBuffer::getFlushTimeNanos,
+                TimeUnit.NANOSECONDS)
+            .description("Flush latency")
+            .register(registry);
+        TimeGauge.builder(PREFIX + ".flush.last", buffer, TimeUnit.NANOSECONDS,
+                FillLevelWriteBehindBuffer::getLastFlushNanos)
+            .description("Latency of the most recent flush")
+            .register(registry);
+    }
+}
@@ -0,0 +1,39 @@
+package eco.kosova.infrastructure.metrics;
+
+import eco.kosova.infrastructure.security.JwtTokenProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ekspozon metrikat e cache-it të token-ave JWT të verifikuar.
+ */
+@Component
+public class JwtCacheMetrics implements MeterBinder {
+    
+    private static final String PREFIX = "ecokosova.security.jwt.cache";
+    
+    private final JwtTokenProvider tokenProvider;
+    
+    public JwtCacheMetrics(JwtTokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(PREFIX + ".requests", tokenProvider, JwtTokenProvider::getCacheHits)
+            .tag("result", "hit")
+            .description("Tokens accepted without re-verifying the signature")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".requests", tokenProvider, JwtTokenProvider::getCacheMisses)
+            .tag("result", "miss")
+            .description("Tokens parsed and verified")
+            .register(registry);
+        
+        Gauge.builder(PREFIX + ".size", tokenProvider, JwtTokenProvider::getCacheSize)
+            .description("Verified tokens held in the cache")
+            .register(registry);
+    }
+}
@@ -0,0 +1,66 @@
+package eco.kosova.infrastructure.metrics;
+
+import eco.kosova.infrastructure.events.OutboxRelay;
+import eco.kosova.infrastructure.events.ProcessedEventStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ekspozon metrikat e outbox-it dhe të relay-it në Actuator (/actuator/metrics, /actuator/prometheus).
+ */
+@Component
+public class OutboxMetrics implements MeterBinder {
+    
+    private static final String PREFIX = "ecokosova.events.outbox";
+    
+    private final OutboxRelay relay;
+    private final ProcessedEventStore processedEvents;
+    
+    public OutboxMetrics(OutboxRelay relay, ProcessedEventStore processedEvents) {
+        this.relay = relay;
+        this.processedEvents = processedEvents;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(PREFIX + ".pending", relay, OutboxRelay::getPending)
+            .description("Domain events in the outbox waiting for the relay")
+            .register(registry);
+        
+        FunctionCounter.builder(PREFIX + ".relayed", relay, OutboxRelay::getRelayed)
+            .description("Domain events dispatched and removed from the outbox")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".batches", relay, OutboxRelay::getBatches)
+            .description("Outbox batches dispatched by the relay")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".invalid", relay, OutboxRelay::getInvalid)
+            .description("Outbox rows that could not be decoded and were discarded")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".failures", relay, OutboxRelay::getFailures)
+            .description("Relay iterations that failed and will be retried")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".retried", relay, OutboxRelay::getRetried)
+            .description("Outbox events kept for retry after a handler failed")
+            .register(registry);
+        
+        FunctionTimer.builder(PREFIX + ".lag", relay,
+                OutboxRelay::getRelayed,
+                OutboxRelay::getRelayLagNanos,
+                TimeUnit.NANOSECONDS)
+            .description("Time from the domain event to the end of its dispatch")
+            .register(registry);
+        
+        FunctionCounter.builder(PREFIX + ".processed", processedEvents, ProcessedEventStore::getRecorded)
+            .description("Events recorded as handled by an idempotent handler")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".duplicates", processedEvents, ProcessedEventStore::getDuplicates)
+            .description("Redelivered events skipped because the handler had already processed them")
+            .register(registry);
+    }
+}
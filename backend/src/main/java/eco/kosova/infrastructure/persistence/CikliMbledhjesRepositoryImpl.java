@@ -2,6 +2,8 @@ package eco.kosova.infrastructure.persistence;
 
 import eco.kosova.domain.models.CikliMbledhjes;
 import eco.kosova.domain.repositories.CikliMbledhjesRepository;
+import eco.kosova.domain.repositories.PageQuery;
+import eco.kosova.domain.repositories.ResultPage;
 import eco.kosova.infrastructure.persistence.jpa.CikliMbledhjesEntity;
 import eco.kosova.infrastructure.persistence.jpa.CikliMbledhjesEntityRepository;
 import eco.kosova.infrastructure.persistence.jpa.ZoneEntity;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -17,6 +20,17 @@ import java.util.stream.Collectors;
 @Repository
 public class CikliMbledhjesRepositoryImpl implements CikliMbledhjesRepository {
     
+    // Fushat sipas të cilave lejohet renditja: emri publik -> property i entity-t
+    private static final Map<String, String> SORTABLE = Map.of(
+        "id", "id",
+        "zoneId", "zone.id",
+        "kamioniId", "kamioniId",
+        "status", "status",
+        "scheduleTime", "scheduleTime",
+        "maxCapacity", "maxCapacity",
+        "createdAt", "createdAt"
+    );
+    
     private final CikliMbledhjesEntityRepository cikliEntityRepository;
     private final ZoneEntityRepository zoneEntityRepository;
     
@@ -39,6 +53,24 @@ public class CikliMbledhjesRepositoryImpl implements CikliMbledhjesRepository {
             .collect(Collectors.toList());
     }
     
+    @Override
+    public ResultPage<CikliMbledhjes> findPage(PageQuery query) {
+        return PageRequests.toResultPage(
+            cikliEntityRepository.findAll(PageRequests.toPageable(query, SORTABLE)),
+            this::toDomain
+        );
+    }
+    
+    @Override
+    public List<CikliMbledhjes> findAfter(String afterId, int limit) {
+        List<CikliMbledhjesEntity> entities = afterId == null
+            ? cikliEntityRepository.findAllBy(PageRequests.keyset(limit))
+            : cikliEntityRepository.findByIdGreaterThan(afterId, PageRequests.keyset(limit));
+        return entities.stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+    
     @Override
     public List<CikliMbledhjes> findByZoneId(String zoneId) {
         return cikliEntityRepository.findByZone_Id(zoneId).stream()
@@ -69,10 +101,8 @@ public class CikliMbledhjesRepositoryImpl implements CikliMbledhjesRepository {
     
     @Override
     public List<CikliMbledhjes> findByCollectionDay(DayOfWeek day) {
-        // This requires a custom query - for now, filter in memory
-        return cikliEntityRepository.findAll().stream()
+        return cikliEntityRepository.findByCollectionDay(day.name()).stream()
             .map(this::toDomain)
-            .filter(c -> c.getCollectionDays().contains(day))
             .collect(Collectors.toList());
     }
     
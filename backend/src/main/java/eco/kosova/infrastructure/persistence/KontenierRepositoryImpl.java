@@ -1,29 +1,76 @@
 package eco.kosova.infrastructure.persistence;
 
+import eco.kosova.domain.events.DomainEvent;
 import eco.kosova.domain.models.Kontenier;
 import eco.kosova.domain.models.valueobjects.*;
 import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.repositories.PageQuery;
+import eco.kosova.domain.repositories.ResultPage;
+import eco.kosova.domain.repositories.ZoneContainerStats;
+import eco.kosova.domain.services.ContainerReadModel;
+import eco.kosova.domain.services.ContainerReadModel.ContainerView;
+import eco.kosova.infrastructure.events.DomainEventCodec;
+import eco.kosova.infrastructure.events.OutboxRelay;
 import eco.kosova.infrastructure.persistence.jpa.ContainerEntity;
 import eco.kosova.infrastructure.persistence.jpa.ContainerEntityRepository;
+import eco.kosova.infrastructure.persistence.jpa.OutboxEventEntity;
 import eco.kosova.infrastructure.persistence.jpa.ZoneEntity;
 import eco.kosova.infrastructure.persistence.jpa.ZoneEntityRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 public class KontenierRepositoryImpl implements KontenierRepository {
     
+    // Kufiri i parametrave në "in (...)"; MSSQL pranon deri në 2100
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    
+    // Fushat sipas të cilave lejohet renditja: emri publik -> property i entity-t
+    private static final Map<String, String> SORTABLE = Map.of(
+        "id", "id",
+        "zoneId", "zone.id",
+        "type", "type",
+        "status", "status",
+        "fillLevel", "fillLevel",
+        "capacity", "capacity",
+        "lastEmptied", "lastEmptied",
+        "lastUpdated", "lastUpdated",
+        "createdAt", "createdAt"
+    );
+    
     private final ContainerEntityRepository containerEntityRepository;
     private final ZoneEntityRepository zoneEntityRepository;
+    private final ContainerReadModel readModel;
+    private final OutboxRelay outboxRelay;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     public KontenierRepositoryImpl(ContainerEntityRepository containerEntityRepository,
-                                   ZoneEntityRepository zoneEntityRepository) {
+                                   ZoneEntityRepository zoneEntityRepository,
+                                   ContainerReadModel readModel,
+                                   OutboxRelay outboxRelay) {
         this.containerEntityRepository = containerEntityRepository;
         this.zoneEntityRepository = zoneEntityRepository;
+        this.readModel = readModel;
+        this.outboxRelay = outboxRelay;
     }
     
     @Override
@@ -31,6 +78,19 @@ public class KontenierRepositoryImpl implements KontenierRepository {
         return containerEntityRepository.findById(id).map(this::toDomain);
     }
     
+    @Override
+    public List<Kontenier> findAllById(Collection<String> ids) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Kontenier> containers = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinct.size()));
+            for (ContainerEntity entity : containerEntityRepository.findAllById(chunk)) {
+                containers.add(toDomain(entity));
+            }
+        }
+        return containers;
+    }
+    
     @Override
     public List<Kontenier> findAll() {
         return containerEntityRepository.findAll().stream()
@@ -38,6 +98,36 @@ public class KontenierRepositoryImpl implements KontenierRepository {
             .collect(Collectors.toList());
     }
     
+    @Override
+    public ResultPage<Kontenier> findPage(PageQuery query) {
+        return PageRequests.toResultPage(
+            containerEntityRepository.findAll(PageRequests.toPageable(query, SORTABLE)),
+            this::toDomain
+        );
+    }
+    
+    @Override
+    public List<Kontenier> findAfter(String afterId, int limit) {
+        List<ContainerEntity> entities = afterId == null
+            ? containerEntityRepository.findAllBy(PageRequests.keyset(limit))
+            : containerEntityRepository.findByIdGreaterThan(afterId, PageRequests.keyset(limit));
+        return entities.stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<Kontenier> action) {
+        try (Stream<ContainerEntity> entities = containerEntityRepository.streamAll()) {
+            entities.forEach(entity -> {
+                action.accept(toDomain(entity));
+                // Persistence context nuk rritet me numrin e rreshtave
+                entityManager.detach(entity);
+            });
+        }
+    }
+    
     @Override
     public List<Kontenier> findByZoneId(String zoneId) {
         return containerEntityRepository.findByZone_Id(zoneId).stream()
@@ -66,6 +156,33 @@ public class KontenierRepositoryImpl implements KontenierRepository {
             .collect(Collectors.toList());
     }
     
+    @Override
+    public List<Kontenier> findCriticalNotMarkedFull() {
+        return containerEntityRepository.findCriticalNotMarkedFull().stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<ZoneContainerStats> aggregateByZone() {
+        return containerEntityRepository.aggregateByZone().stream()
+            .map(this::toZoneStats)
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<ZoneContainerStats> aggregateByZoneIds(Collection<String> zoneIds) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(zoneIds));
+        List<ZoneContainerStats> stats = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size()));
+            for (Object[] row : containerEntityRepository.aggregateByZoneIds(chunk)) {
+                stats.add(toZoneStats(row));
+            }
+        }
+        return stats;
+    }
+    
     @Override
     public List<Kontenier> findContainersNeedingCollection() {
         return containerEntityRepository.findContainersNeedingCollection().stream()
@@ -87,28 +204,78 @@ public class KontenierRepositoryImpl implements KontenierRepository {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Ruan kontejnerin. Një entity ekzistues përditësohet në vend (dirty
+     * checking), një i ri bëhet persist; zona lidhet me referencë pa SELECT.
+     * Domain events e kontejnerit shkruhen në outbox në të njëjtin transaksion.
+     */
     @Override
+    @Transactional
     public Kontenier save(Kontenier kontenier) {
-        ContainerEntity entity = toEntity(kontenier);
-        containerEntityRepository.save(entity);
+        ContainerEntity entity = entityManager.find(ContainerEntity.class, kontenier.getId());
+        write(kontenier, entity);
+        boolean hasEvents = appendToOutbox(kontenier);
+        
+        ContainerView view = ContainerView.of(kontenier);
+        afterCommit(() -> {
+            readModel.upsert(view);
+            if (hasEvents) {
+                kontenier.clearDomainEvents();
+                outboxRelay.wakeUp();
+            }
+        });
         return kontenier;
     }
     
+    /**
+     * Ruan kontejnerët me një lexim të vetëm të entity-ve ekzistuese (për
+     * çdo 1000 ID); INSERT/UPDATE-t dërgohen në batch sipas
+     * hibernate.jdbc.batch_size.
+     */
     @Override
+    @Transactional
     public List<Kontenier> saveAll(List<Kontenier> kontejner) {
-        List<ContainerEntity> entities = kontejner.stream()
-            .map(this::toEntity)
+        List<String> ids = kontejner.stream()
+            .map(Kontenier::getId)
+            .distinct()
             .collect(Collectors.toList());
-        containerEntityRepository.saveAll(entities);
+        
+        Map<String, ContainerEntity> existing = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size()));
+            for (ContainerEntity entity : containerEntityRepository.findAllById(chunk)) {
+                existing.put(entity.getId(), entity);
+            }
+        }
+        
+        Map<String, ContainerView> views = new LinkedHashMap<>();
+        List<Kontenier> withEvents = new ArrayList<>();
+        for (Kontenier k : kontejner) {
+            ContainerEntity entity = write(k, existing.get(k.getId()));
+            existing.put(k.getId(), entity);
+            views.put(k.getId(), ContainerView.of(k));
+            if (appendToOutbox(k)) {
+                withEvents.add(k);
+            }
+        }
+        afterCommit(() -> {
+            readModel.upsertAll(views.values());
+            if (!withEvents.isEmpty()) {
+                withEvents.forEach(Kontenier::clearDomainEvents);
+                outboxRelay.wakeUp();
+            }
+        });
         return kontejner;
     }
     
     @Override
+    @Transactional
     public boolean deleteById(String id) {
         boolean existed = containerEntityRepository.existsById(id);
         if (existed) {
             containerEntityRepository.deleteById(id);
         }
+        afterCommit(() -> readModel.remove(id));
         return existed;
     }
     
@@ -129,6 +296,20 @@ public class KontenierRepositoryImpl implements KontenierRepository {
     
     // ========== PRIVATE HELPER METHODS ==========
     
+    // [zoneId, zoneName, status, criticalThreshold, total, critical, operational, averageFill]
+    private ZoneContainerStats toZoneStats(Object[] row) {
+        return new ZoneContainerStats(
+            (String) row[0],
+            (String) row[1],
+            ZoneStatus.valueOf((String) row[2]),
+            ((Number) row[3]).intValue(),
+            ((Number) row[4]).intValue(),
+            ((Number) row[5]).intValue(),
+            ((Number) row[6]).intValue(),
+            ((Number) row[7]).doubleValue()
+        );
+    }
+    
     private Kontenier toDomain(ContainerEntity entity) {
         Coordinates coords = new Coordinates(entity.getLatitude(), entity.getLongitude());
         Address address = new Address(
@@ -137,7 +318,7 @@ public class KontenierRepositoryImpl implements KontenierRepository {
             entity.getMunicipality(),
             entity.getPostalCode()
         );
-        FillLevel fillLevel = new FillLevel(entity.getFillLevel());
+        FillLevel fillLevel = FillLevel.of(entity.getFillLevel());
         ContainerType type = ContainerType.valueOf(entity.getType());
         ContainerStatus status = ContainerStatus.valueOf(entity.getStatus());
         
@@ -158,14 +339,69 @@ public class KontenierRepositoryImpl implements KontenierRepository {
         );
     }
     
-    private ContainerEntity toEntity(Kontenier k) {
-        ContainerEntity entity = new ContainerEntity();
-        entity.setId(k.getId());
+    /**
+     * Read model-i përditësohet vetëm pasi transaksioni bëhet commit, që një
+     * rollback të mos lërë aty gjendje që nuk është në databazë.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    /**
+     * Shkruan domain events në pritje të kontejnerit në outbox. Eventet
+     * hiqen nga agregati vetëm pas commit-it, që një rollback t'i lërë aty.
+     *
+     * @return true nëse kontejneri kishte evente
+     */
+    private boolean appendToOutbox(Kontenier k) {
+        Collection<DomainEvent> events = k.getDomainEvents();
+        for (DomainEvent event : events) {
+            entityManager.persist(new OutboxEventEntity(
+                event.getEventId(),
+                event.getEventType(),
+                event.getAggregateId(),
+                DomainEventCodec.encode(event),
+                event.occurredOn()
+            ));
+        }
+        return !events.isEmpty();
+    }
+    
+    /**
+     * Kopjon gjendjen e kontejnerit në entity-n e menaxhuar, ose krijon dhe
+     * bën persist një të ri kur {@code entity} është null.
+     */
+    private ContainerEntity write(Kontenier k, ContainerEntity entity) {
+        boolean isNew = entity == null;
+        if (isNew) {
+            entity = new ContainerEntity();
+            entity.setId(k.getId());
+        }
         
-        ZoneEntity zone = zoneEntityRepository.findById(k.getZoneId())
-            .orElseThrow(() -> new IllegalStateException("Zone not found: " + k.getZoneId()));
+        copyToEntity(k, entity);
+        
+        if (isNew) {
+            entityManager.persist(entity);
+        }
+        return entity;
+    }
+    
+    private void copyToEntity(Kontenier k, ContainerEntity entity) {
+        // Referenca (proxy) mjafton për foreign key; nuk lexon zonën
+        ZoneEntity zone = entity.getZone();
+        if (zone == null || !zone.getId().equals(k.getZoneId())) {
+            entity.setZone(zoneEntityRepository.getReferenceById(k.getZoneId()));
+        }
         
-        entity.setZone(zone);
         entity.setType(k.getType().name());
         entity.setFillLevel(k.getFillLevel().getValue());
         entity.setStatus(k.getStatus().name());
@@ -181,7 +417,6 @@ public class KontenierRepositoryImpl implements KontenierRepository {
         entity.setLastUpdated(k.getLastUpdated());
         entity.setCreatedAt(k.getCreatedAt());
         entity.setModifiedAt(k.getModifiedAt());
-        return entity;
     }
 }
 
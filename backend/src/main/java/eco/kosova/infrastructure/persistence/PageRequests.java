@@ -0,0 +1,63 @@
+package eco.kosova.infrastructure.persistence;
+
+import eco.kosova.domain.repositories.PageQuery;
+import eco.kosova.domain.repositories.ResultPage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Konvertimi midis PageQuery/ResultPage të domain-it dhe Pageable/Page të
+ * Spring Data. Renditja lejohet vetëm sipas fushave të deklaruara.
+ */
+final class PageRequests {
+
+    private PageRequests() {
+    }
+
+    /**
+     * @param query Kërkesa e domain-it
+     * @param sortable Emri publik i fushës -> emri i property-t në entity
+     */
+    static Pageable toPageable(PageQuery query, Map<String, String> sortable) {
+        String property = sortable.get(query.getSortBy());
+        if (property == null) {
+            throw new IllegalArgumentException(String.format(
+                "Cannot sort by '%s'. Allowed: %s", query.getSortBy(), sortable.keySet()
+            ));
+        }
+
+        Sort sort = Sort.by(query.isDescending() ? Sort.Direction.DESC : Sort.Direction.ASC, property);
+        if (!"id".equals(property)) {
+            // ID-ja si kriter i dytë që faqet të jenë deterministe
+            sort = sort.and(Sort.by("id"));
+        }
+        return PageRequest.of(query.getPage(), query.getSize(), sort);
+    }
+
+    /**
+     * Faqja e parë e renditur sipas ID-së, për keyset pagination.
+     */
+    static Pageable keyset(int limit) {
+        if (limit < 1 || limit > PageQuery.MAX_SIZE) {
+            throw new IllegalArgumentException(
+                String.format("Page size must be between 1 and %d", PageQuery.MAX_SIZE)
+            );
+        }
+        return PageRequest.of(0, limit, Sort.by("id"));
+    }
+
+    static <E, T> ResultPage<T> toResultPage(Page<E> page, Function<E, T> mapper) {
+        return new ResultPage<>(
+            page.getContent().stream().map(mapper).collect(Collectors.toList()),
+            page.getNumber(),
+            page.getSize(),
+            page.getTotalElements()
+        );
+    }
+}
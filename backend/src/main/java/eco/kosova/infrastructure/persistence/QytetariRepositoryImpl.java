@@ -1,18 +1,28 @@
 package eco.kosova.infrastructure.persistence;
 
 import eco.kosova.domain.models.Qytetari;
+import eco.kosova.domain.repositories.PageQuery;
 import eco.kosova.domain.repositories.QytetariRepository;
+import eco.kosova.domain.repositories.ResultPage;
 import eco.kosova.infrastructure.persistence.jpa.QytetariEntity;
 import eco.kosova.infrastructure.persistence.jpa.QytetariEntityRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Repository
 public class QytetariRepositoryImpl implements QytetariRepository {
     
+    // Fushat sipas të cilave lejohet renditja: emri publik -> property i entity-t
+    private static final Map<String, String> SORTABLE = Map.of(
+        "id", "id",
+        "name", "name",
+        "createdAt", "createdAt"
+    );
+    
     private final QytetariEntityRepository qytetariEntityRepository;
     
     public QytetariRepositoryImpl(QytetariEntityRepository qytetariEntityRepository) {
@@ -31,6 +41,24 @@ public class QytetariRepositoryImpl implements QytetariRepository {
             .collect(Collectors.toList());
     }
     
+    @Override
+    public ResultPage<Qytetari> findPage(PageQuery query) {
+        return PageRequests.toResultPage(
+            qytetariEntityRepository.findAll(PageRequests.toPageable(query, SORTABLE)),
+            this::toDomain
+        );
+    }
+    
+    @Override
+    public List<Qytetari> findAfter(String afterId, int limit) {
+        List<QytetariEntity> entities = afterId == null
+            ? qytetariEntityRepository.findAllBy(PageRequests.keyset(limit))
+            : qytetariEntityRepository.findByIdGreaterThan(afterId, PageRequests.keyset(limit));
+        return entities.stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+    
     @Override
     public Optional<Qytetari> findByName(String name) {
         return qytetariEntityRepository.findByNameIgnoreCase(name).map(this::toDomain);
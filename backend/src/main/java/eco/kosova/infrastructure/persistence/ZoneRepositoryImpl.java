@@ -3,15 +3,30 @@ package eco.kosova.infrastructure.persistence;
 import eco.kosova.domain.models.Zone;
 import eco.kosova.domain.models.valueobjects.Coordinates;
 import eco.kosova.domain.models.valueobjects.ZoneStatus;
+import eco.kosova.domain.repositories.PageQuery;
+import eco.kosova.domain.repositories.ResultPage;
 import eco.kosova.domain.repositories.ZoneRepository;
 import eco.kosova.infrastructure.persistence.jpa.ZoneEntity;
 import eco.kosova.infrastructure.persistence.jpa.ZoneEntityRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation e ZoneRepository që përdor MSSQL (JPA) për persistence.
@@ -19,55 +34,99 @@ import java.util.stream.Collectors;
 @Repository
 public class ZoneRepositoryImpl implements ZoneRepository {
     
+    // Kufiri i parametrave në "in (...)"; MSSQL pranon deri në 2100
+    private static final int IN_CHUNK_SIZE = 1000;
+    
+    // Fushat sipas të cilave lejohet renditja: emri publik -> property i entity-t
+    private static final Map<String, String> SORTABLE = Map.of(
+        "id", "id",
+        "name", "name",
+        "municipality", "municipality",
+        "status", "status",
+        "criticalThreshold", "criticalThreshold",
+        "createdAt", "createdAt"
+    );
+    
     private final ZoneEntityRepository zoneEntityRepository;
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     public ZoneRepositoryImpl(ZoneEntityRepository zoneEntityRepository) {
         this.zoneEntityRepository = zoneEntityRepository;
     }
     
     @Override
     public Optional<Zone> findById(String id) {
-        return zoneEntityRepository.findById(id).map(this::toDomain);
+        return zoneEntityRepository.findById(id).map(this::toDomainWithContainerIds);
     }
     
     @Override
     public List<Zone> findAll() {
+        return toDomain(zoneEntityRepository.findAll());
+    }
+    
+    @Override
+    public ResultPage<Zone> findPage(PageQuery query) {
+        Page<ZoneEntity> page = zoneEntityRepository.findAll(PageRequests.toPageable(query, SORTABLE));
+        return new ResultPage<>(toDomain(page.getContent()), page.getNumber(), page.getSize(), page.getTotalElements());
+    }
+    
+    @Override
+    public List<Zone> findAfter(String afterId, int limit) {
+        List<ZoneEntity> entities = afterId == null
+            ? zoneEntityRepository.findAllBy(PageRequests.keyset(limit))
+            : zoneEntityRepository.findByIdGreaterThan(afterId, PageRequests.keyset(limit));
+        return toDomain(entities);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachWithoutContainerIds(Consumer<Zone> action) {
+        try (Stream<ZoneEntity> entities = zoneEntityRepository.streamAll()) {
+            entities.forEach(entity -> {
+                action.accept(toDomain(entity, Collections.emptySet()));
+                // Persistence context nuk rritet me numrin e rreshtave
+                entityManager.detach(entity);
+            });
+        }
+    }
+    
+    @Override
+    public Optional<Zone> findByIdWithoutContainerIds(String id) {
+        return zoneEntityRepository.findById(id).map(entity -> toDomain(entity, Collections.emptySet()));
+    }
+    
+    @Override
+    public List<Zone> findAllWithoutContainerIds() {
         return zoneEntityRepository.findAll().stream()
-            .map(this::toDomain)
+            .map(entity -> toDomain(entity, Collections.emptySet()))
             .collect(Collectors.toList());
     }
     
     @Override
     public List<Zone> findByMunicipality(String municipality) {
-        return zoneEntityRepository.findByMunicipalityIgnoreCase(municipality).stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+        return toDomain(zoneEntityRepository.findByMunicipalityIgnoreCase(municipality));
     }
     
     @Override
     public List<Zone> findByStatus(ZoneStatus status) {
-        return zoneEntityRepository.findByStatus(status.name()).stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+        return toDomain(zoneEntityRepository.findByStatus(status.name()));
     }
     
     @Override
     public List<Zone> findCriticalZones() {
-        return zoneEntityRepository.findCriticalZones().stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+        return toDomain(zoneEntityRepository.findCriticalZones());
     }
     
     @Override
     public List<Zone> findActiveZones() {
-        return zoneEntityRepository.findActiveZones().stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+        return toDomain(zoneEntityRepository.findActiveZones());
     }
     
     @Override
     public Optional<Zone> findByContainerId(String containerId) {
-        return zoneEntityRepository.findByContainerId(containerId).map(this::toDomain);
+        return zoneEntityRepository.findByContainerId(containerId).map(this::toDomainWithContainerIds);
     }
     
     @Override
@@ -86,6 +145,18 @@ public class ZoneRepositoryImpl implements ZoneRepository {
         return zones;
     }
     
+    @Override
+    public int updateStatus(Collection<String> zoneIds, ZoneStatus status) {
+        List<String> ids = new ArrayList<>(zoneIds);
+        Instant now = Instant.now();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size()));
+            updated += zoneEntityRepository.updateStatus(chunk, status.name(), now);
+        }
+        return updated;
+    }
+    
     @Override
     public boolean deleteById(String id) {
         boolean existed = zoneEntityRepository.existsById(id);
@@ -117,14 +188,37 @@ public class ZoneRepositoryImpl implements ZoneRepository {
     
     // ========== PRIVATE HELPER METHODS ==========
     
-    private Zone toDomain(ZoneEntity entity) {
+    /**
+     * Konverton zonat duke lexuar ID-të e kontejnerëve të të gjithave me një
+     * projeksion (për çdo 1000 zona), pa prekur koleksionin LAZY.
+     */
+    private List<Zone> toDomain(List<ZoneEntity> entities) {
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<String> zoneIds = entities.stream().map(ZoneEntity::getId).collect(Collectors.toList());
+        Map<String, Set<String>> containerIds = new HashMap<>();
+        for (int from = 0; from < zoneIds.size(); from += IN_CHUNK_SIZE) {
+            List<String> chunk = zoneIds.subList(from, Math.min(from + IN_CHUNK_SIZE, zoneIds.size()));
+            for (Object[] row : zoneEntityRepository.findContainerIdsByZoneIds(chunk)) {
+                containerIds.computeIfAbsent((String) row[0], id -> new HashSet<>()).add((String) row[1]);
+            }
+        }
+        
+        return entities.stream()
+            .map(entity -> toDomain(entity, containerIds.getOrDefault(entity.getId(), Collections.emptySet())))
+            .collect(Collectors.toList());
+    }
+    
+    private Zone toDomainWithContainerIds(ZoneEntity entity) {
+        return toDomain(entity, new HashSet<>(zoneEntityRepository.findContainerIdsByZoneId(entity.getId())));
+    }
+    
+    private Zone toDomain(ZoneEntity entity, Set<String> containerIds) {
         Coordinates centerPoint = new Coordinates(entity.getLatitude(), entity.getLongitude());
         ZoneStatus status = ZoneStatus.valueOf(entity.getStatus());
         
-        Set<String> containerIds = entity.getContainers().stream()
-            .map(c -> c.getId())
-            .collect(Collectors.toSet());
-        
         return new Zone(
             entity.getId(),
             entity.getName(),
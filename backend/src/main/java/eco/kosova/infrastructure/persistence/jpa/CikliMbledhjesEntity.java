@@ -8,7 +8,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "CikletMbledhjes")
+// Pasqyron indekset e db/migration (V4, V6) për skemën e gjeneruar nga Hibernate
+@Table(name = "CikletMbledhjes", indexes = {
+    @Index(name = "idx_ciklet_zoneId", columnList = "zoneId"),
+    @Index(name = "idx_ciklet_status", columnList = "status"),
+    @Index(name = "idx_ciklet_kamioniId", columnList = "kamioniId")
+})
 public class CikliMbledhjesEntity {
 
     @Id
@@ -38,7 +43,8 @@ public class CikliMbledhjesEntity {
     private Instant lastUpdated;
 
     @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "CikliCollectionDays", joinColumns = @JoinColumn(name = "cikliId"))
+    @CollectionTable(name = "CikliCollectionDays", joinColumns = @JoinColumn(name = "cikliId"),
+        indexes = @Index(name = "idx_cikli_days_dayOfWeek", columnList = "dayOfWeek, cikliId"))
     @Column(name = "dayOfWeek")
     private Set<String> collectionDays = new HashSet<>();
 
@@ -1,7 +1,9 @@
 package eco.kosova.infrastructure.persistence.jpa;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,5 +17,15 @@ public interface CikliMbledhjesEntityRepository extends JpaRepository<CikliMbled
     List<CikliMbledhjesEntity> findActiveCiklet();
     
     List<CikliMbledhjesEntity> findByKamioniId(String kamioniId);
-}
 
+    // Ciklet që mblidhen në ditën e dhënë (idx_cikli_days_dayOfWeek); ditët
+    // e ciklit ngarkohen në të njëjtin select me join fetch
+    @Query("SELECT DISTINCT c FROM CikliMbledhjesEntity c LEFT JOIN FETCH c.collectionDays "
+        + "WHERE c.id IN (SELECT d.id FROM CikliMbledhjesEntity d JOIN d.collectionDays day WHERE day = :day)")
+    List<CikliMbledhjesEntity> findByCollectionDay(@Param("day") String day);
+
+    // Keyset pagination (renditja dhe limiti vijnë nga Pageable)
+    List<CikliMbledhjesEntity> findAllBy(Pageable pageable);
+
+    List<CikliMbledhjesEntity> findByIdGreaterThan(String id, Pageable pageable);
+}
@@ -5,7 +5,12 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "Containers")
+// Pasqyron indekset e db/migration (V2, V6, V10) për skemën e gjeneruar nga Hibernate
+@Table(name = "Containers", indexes = {
+    @Index(name = "idx_containers_status_operational_fillLevel", columnList = "status, operational, fillLevel"),
+    @Index(name = "idx_containers_zoneId_operational", columnList = "zoneId, operational, fillLevel"),
+    @Index(name = "idx_containers_fillLevel", columnList = "fillLevel")
+})
 public class ContainerEntity {
 
     @Id
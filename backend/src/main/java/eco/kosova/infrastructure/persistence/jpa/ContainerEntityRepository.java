@@ -1,11 +1,17 @@
 package eco.kosova.infrastructure.persistence.jpa;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContainerEntityRepository extends JpaRepository<ContainerEntity, String> {
@@ -22,6 +28,27 @@ public interface ContainerEntityRepository extends JpaRepository<ContainerEntity
     @Query("select c from ContainerEntity c where c.status in ('FULL', 'SCHEDULED_FOR_COLLECTION') and c.operational = true")
     List<ContainerEntity> findContainersNeedingCollection();
 
+    @Query("select c from ContainerEntity c where c.fillLevel >= 90 and c.operational = true and c.status = 'OPERATIONAL'")
+    List<ContainerEntity> findCriticalNotMarkedFull();
+
+    // [zoneId, zoneName, status, criticalThreshold, total, critical, operational, averageFill]
+    @Query("select z.id, z.name, z.status, z.criticalThreshold, count(c), "
+        + "coalesce(sum(case when c.fillLevel >= 90 and c.operational = true then 1 else 0 end), 0), "
+        + "coalesce(sum(case when c.operational = true then 1 else 0 end), 0), "
+        + "coalesce(avg(c.fillLevel), 0) "
+        + "from ZoneEntity z left join z.containers c "
+        + "group by z.id, z.name, z.status, z.criticalThreshold")
+    List<Object[]> aggregateByZone();
+
+    @Query("select z.id, z.name, z.status, z.criticalThreshold, count(c), "
+        + "coalesce(sum(case when c.fillLevel >= 90 and c.operational = true then 1 else 0 end), 0), "
+        + "coalesce(sum(case when c.operational = true then 1 else 0 end), 0), "
+        + "coalesce(avg(c.fillLevel), 0) "
+        + "from ZoneEntity z left join z.containers c "
+        + "where z.id in :zoneIds "
+        + "group by z.id, z.name, z.status, z.criticalThreshold")
+    List<Object[]> aggregateByZoneIds(@Param("zoneIds") Collection<String> zoneIds);
+
     @Query("select c from ContainerEntity c where c.zone.id = :zoneId and c.operational = true")
     List<ContainerEntity> findOperationalByZoneId(@Param("zoneId") String zoneId);
 
@@ -29,6 +56,17 @@ public interface ContainerEntityRepository extends JpaRepository<ContainerEntity
     List<ContainerEntity> findNonOperational();
 
     long countByZone_Id(String zoneId);
-}
 
+    // Keyset pagination (renditja dhe limiti vijnë nga Pageable)
+    List<ContainerEntity> findAllBy(Pageable pageable);
+
+    List<ContainerEntity> findByIdGreaterThan(String id, Pageable pageable);
 
+    // Lexim me cursor për eksportet; thirret brenda një transaksioni
+    @Query("select c from ContainerEntity c")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ContainerEntity> streamAll();
+}
@@ -0,0 +1,109 @@
+package eco.kosova.infrastructure.persistence.jpa;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Një domain event i ruajtur në të njëjtin transaksion me agregatin (outbox).
+ * Rreshti fshihet pasi relay-i e ka dërguar eventin te handler-at; nëse një
+ * handler dështon, rreshti mbetet dhe provohet sërish pas retryAt.
+ *
+ * Relay-i e merr rreshtin para dërgimit (claimToken, attempts + 1) dhe
+ * retryAt bëhet afati i marrjes: deri atëherë asnjë relay tjetër nuk e lexon.
+ */
+@Entity
+// Pasqyron db/migration (V7 - V9) për skemën e gjeneruar nga Hibernate
+@Table(name = "OutboxEvents", indexes = {
+    @Index(name = "idx_outbox_eventId", columnList = "eventId", unique = true),
+    @Index(name = "idx_outbox_claimToken", columnList = "claimToken")
+})
+public class OutboxEventEntity {
+
+    // Sequence me hapa 500: ID-të ndahen në memorie dhe INSERT-et dërgohen në batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "OutboxEvents_seq", allocationSize = 500)
+    private Long seq;
+
+    @Column(nullable = false, length = 36)
+    private String eventId;
+
+    @Column(nullable = false, length = 100)
+    private String eventType;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateId;
+
+    @Column(nullable = false, length = 1000)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant occurredOn;
+
+    // Sa herë është marrë nga një relay; mbi 1 do të thotë se mund të jetë dërguar më parë
+    @Column(nullable = false)
+    private int attempts;
+
+    // null: gati për dërgim; përndryshe afati i marrjes ose i provës së radhës
+    private Instant retryAt;
+
+    // Marrja e fundit nga një relay
+    @Column(length = 36)
+    private String claimToken;
+
+    public OutboxEventEntity() {
+    }
+
+    public OutboxEventEntity(String eventId, String eventType, String aggregateId, String payload, Instant occurredOn) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.occurredOn = occurredOn;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getOccurredOn() {
+        return occurredOn;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getRetryAt() {
+        return retryAt;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    /**
+     * Shënon një dërgim të dështuar; relay-i nuk e lexon rreshtin para retryAt.
+     * Prova është numëruar tashmë në attempts kur rreshti u mor.
+     */
+    public void scheduleRetry(Instant retryAt) {
+        this.retryAt = retryAt;
+    }
+}
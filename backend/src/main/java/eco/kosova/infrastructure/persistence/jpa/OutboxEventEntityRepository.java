@@ -0,0 +1,47 @@
+package eco.kosova.infrastructure.persistence.jpa;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventEntityRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    // Eventet e lira më të vjetra sipas radhës së shkrimit, pa ato që presin retry
+    // ose janë marrë nga një relay (limiti vjen nga Pageable)
+    @Query("select e.seq from OutboxEventEntity e where e.retryAt is null or e.retryAt <= :now order by e.seq")
+    List<Long> findOldestSeqs(@Param("now") Instant now, Pageable pageable);
+
+    // Merr rreshtat që janë ende të lirë deri në leaseUntil; një rresht i marrë ndërkohë
+    // nga një relay tjetër nuk e plotëson më kushtin dhe nuk përditësohet
+    @Modifying
+    @Transactional
+    @Query("update OutboxEventEntity e set e.claimToken = :token, e.retryAt = :leaseUntil, e.attempts = e.attempts + 1 "
+        + "where e.seq in :seqs and (e.retryAt is null or e.retryAt <= :now)")
+    int claim(@Param("seqs") Collection<Long> seqs,
+              @Param("token") String token,
+              @Param("now") Instant now,
+              @Param("leaseUntil") Instant leaseUntil);
+
+    @Query("select e from OutboxEventEntity e where e.claimToken = :token order by e.seq")
+    List<OutboxEventEntity> findClaimed(@Param("token") String token);
+
+    @Query("select min(e.occurredOn) from OutboxEventEntity e")
+    Instant findOldestOccurredOn();
+
+    @Query("select max(e.seq) from OutboxEventEntity e")
+    Long findMaxSeq();
+
+    @Modifying
+    @Transactional
+    @Query("delete from OutboxEventEntity e where e.seq in :seqs")
+    int deleteBySeqIn(@Param("seqs") Collection<Long> seqs);
+}
@@ -0,0 +1,48 @@
+package eco.kosova.infrastructure.persistence.jpa;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Një event që një handler e ka përpunuar me sukses; përdoret për të
+ * anashkaluar dërgimet e përsëritura nga outbox-i.
+ */
+@Entity
+// Pasqyron db/migration (V7) për skemën e gjeneruar nga Hibernate
+@Table(name = "ProcessedEvents", indexes = {
+    @Index(name = "idx_processed_processedAt", columnList = "processedAt")
+})
+public class ProcessedEventEntity implements Persistable<String> {
+
+    // consumer + ':' + eventId
+    @Id
+    @Column(length = 150)
+    private String id;
+
+    @Column(nullable = false)
+    private Instant processedAt;
+
+    public ProcessedEventEntity() {
+    }
+
+    public ProcessedEventEntity(String id, Instant processedAt) {
+        this.id = id;
+        this.processedAt = processedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Instant getProcessedAt() {
+        return processedAt;
+    }
+
+    // Rreshtat vetëm shtohen: save() bën persist pa SELECT paraprak
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package eco.kosova.infrastructure.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface ProcessedEventEntityRepository extends JpaRepository<ProcessedEventEntity, String> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from ProcessedEventEntity e where e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") Instant cutoff);
+}
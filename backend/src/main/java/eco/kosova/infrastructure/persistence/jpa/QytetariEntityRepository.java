@@ -1,5 +1,6 @@
 package eco.kosova.infrastructure.persistence.jpa;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,5 +11,9 @@ import java.util.Optional;
 public interface QytetariEntityRepository extends JpaRepository<QytetariEntity, String> {
     Optional<QytetariEntity> findByNameIgnoreCase(String name);
     List<QytetariEntity> findByNameContainingIgnoreCase(String name);
-}
 
+    // Keyset pagination (renditja dhe limiti vijnë nga Pageable)
+    List<QytetariEntity> findAllBy(Pageable pageable);
+
+    List<QytetariEntity> findByIdGreaterThan(String id, Pageable pageable);
+}
@@ -1,12 +1,21 @@
 package eco.kosova.infrastructure.persistence.jpa;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ZoneEntityRepository extends JpaRepository<ZoneEntity, String> {
@@ -29,6 +38,31 @@ public interface ZoneEntityRepository extends JpaRepository<ZoneEntity, String>
 
     @Query("select count(z) from ZoneEntity z where z.status = 'CRITICAL'")
     long countCritical();
-}
 
+    // Projeksion [zoneId, containerId]: vetëm ID-të, pa ngarkuar ContainerEntity
+    @Query("select c.zone.id, c.id from ContainerEntity c where c.zone.id in :zoneIds")
+    List<Object[]> findContainerIdsByZoneIds(@Param("zoneIds") Collection<String> zoneIds);
+
+    @Query("select c.id from ContainerEntity c where c.zone.id = :zoneId")
+    List<String> findContainerIdsByZoneId(@Param("zoneId") String zoneId);
+
+    @Modifying
+    @Transactional
+    @Query("update ZoneEntity z set z.status = :status, z.modifiedAt = :modifiedAt where z.id in :ids")
+    int updateStatus(@Param("ids") Collection<String> ids,
+                     @Param("status") String status,
+                     @Param("modifiedAt") Instant modifiedAt);
 
+    // Keyset pagination (renditja dhe limiti vijnë nga Pageable)
+    List<ZoneEntity> findAllBy(Pageable pageable);
+
+    List<ZoneEntity> findByIdGreaterThan(String id, Pageable pageable);
+
+    // Lexim me cursor për eksportet; thirret brenda një transaksioni
+    @Query("select z from ZoneEntity z")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ZoneEntity> streamAll();
+}
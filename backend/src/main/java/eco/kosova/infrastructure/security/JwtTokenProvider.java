@@ -2,13 +2,23 @@ package eco.kosova.infrastructure.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class JwtTokenProvider {
@@ -21,7 +31,29 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration:86400000}") // 24 hours default
     private long jwtExpirationMs;
     
-    private SecretKey getSigningKey() {
+    // 0 = pa cache (çdo kërkesë verifikon nënshkrimin)
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+    
+    // Çelësi dhe parser-i ndërtohen një herë; JwtParser është thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    // Token-at e verifikuar së fundmi, sipas hash-it SHA-256 (token-i vetë nuk ruhet)
+    private final ConcurrentMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    
+    @PostConstruct
+    public void init() {
+        signingKey = createSigningKey();
+        parser = Jwts.parser()
+            .verifyWith(signingKey)
+            .build();
+    }
+    
+    private SecretKey createSigningKey() {
         // Ensure key is at least 256 bits (32 bytes)
         String key = jwtSecret;
         if (key.length() < 32) {
@@ -39,45 +71,132 @@ public class JwtTokenProvider {
             .claim("role", role)
             .issuedAt(now)
             .expiration(expiryDate)
-            .signWith(getSigningKey())
+            .signWith(signingKey)
             .compact();
     }
     
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    /**
+     * Verifikon token-in një herë dhe kthen claims që i duhen filter-it.
+     *
+     * Token-i i verifikuar ruhet në cache deri në skadim, kështu që kërkesat
+     * e radhës me të njëjtin token nuk e parsojnë dhe verifikojnë sërish.
+     *
+     * @param token JWT nga header-i Authorization
+     * @return Claims e verifikuara, ose Optional.empty() nëse token-i është i pavlefshëm
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        if (cacheMaxSize <= 0) {
+            return Optional.ofNullable(parse(token));
+        }
+        
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(System.currentTimeMillis())) {
+                cacheHits.incrementAndGet();
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(key, cached);
+        }
+        cacheMisses.incrementAndGet();
         
-        return claims.getSubject();
+        VerifiedToken verified = parse(token);
+        if (verified != null) {
+            if (verifiedTokens.size() >= cacheMaxSize) {
+                evict();
+            }
+            verifiedTokens.put(key, verified);
+        }
+        return Optional.ofNullable(verified);
+    }
+    
+    public String getUsernameFromToken(String token) {
+        return parser.parseSignedClaims(token).getPayload().getSubject();
     }
     
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-        
-        return claims.get("role", String.class);
+        return parser.parseSignedClaims(token).getPayload().get("role", String.class);
     }
     
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+    
+    public long getExpirationTime() {
+        return jwtExpirationMs;
+    }
+    
+    // ========== METRICS ==========
+    
+    public long getCacheHits() { return cacheHits.get(); }
+    public long getCacheMisses() { return cacheMisses.get(); }
+    public int getCacheSize() { return verifiedTokens.size(); }
+    
+    // ========== PRIVATE HELPER METHODS ==========
+    
+    private VerifiedToken parse(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE
+            );
         } catch (JwtException | IllegalArgumentException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
     
-    public long getExpirationTime() {
-        return jwtExpirationMs;
+    /**
+     * Liron vend në cache: fillimisht token-at e skaduar, pastaj (nëse duhet)
+     * hyrje të çfarëdoshme deri në 3/4 e kapacitetit.
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        verifiedTokens.values().removeIf(verified -> verified.isExpired(now));
+        
+        int target = cacheMaxSize - cacheMaxSize / 4;
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() >= target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+    
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Claims e një token-i të verifikuar.
+     */
+    public static class VerifiedToken {
+        private final String username;
+        private final String role;
+        private final long expiresAtMillis;
+        
+        public VerifiedToken(String username, String role, long expiresAtMillis) {
+            this.username = username;
+            this.role = role;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+        
+        public String getUsername() { return username; }
+        public String getRole() { return role; }
+        public long getExpiresAtMillis() { return expiresAtMillis; }
+        
+        public boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
     }
 }
-
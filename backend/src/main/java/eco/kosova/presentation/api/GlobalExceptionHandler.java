@@ -1,5 +1,6 @@
 package eco.kosova.presentation.api;
 
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -46,6 +47,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
 
+    @ExceptionHandler(InvalidDataAccessApiUsageException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidDataAccessApiUsage(
+            InvalidDataAccessApiUsageException ex,
+            WebRequest request
+    ) {
+        // Repository-t (@Repository) e mbështjellin IllegalArgumentException (p.sh. renditje e panjohur)
+        if (ex.getCause() instanceof IllegalArgumentException cause) {
+            return handleIllegalArgument(cause, request);
+        }
+        return handleGenericException(ex, request);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(
             Exception ex,
@@ -1,9 +1,17 @@
 package eco.kosova.presentation.api.controllers;
 
 import eco.kosova.domain.models.CikliMbledhjes;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
 import eco.kosova.domain.repositories.CikliMbledhjesRepository;
+import eco.kosova.domain.repositories.PageQuery;
+import eco.kosova.domain.repositories.ResultPage;
+import eco.kosova.domain.services.CollectionCyclePlanner;
 import eco.kosova.presentation.dtos.CikliMbledhjesDTO;
 import eco.kosova.presentation.dtos.CreateCikliRequest;
+import eco.kosova.presentation.dtos.CyclePlanDTO;
+import eco.kosova.presentation.dtos.CycleRouteDTO;
+import eco.kosova.presentation.dtos.CycleStopDTO;
 import eco.kosova.presentation.dtos.PagedResponse;
 import eco.kosova.presentation.dtos.UpdateCikliRequest;
 import jakarta.validation.Valid;
@@ -12,9 +20,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,32 +42,69 @@ public class CikliMbledhjesController {
     @Autowired
     private CikliMbledhjesRepository cikliRepository;
     
+    @Autowired
+    private CollectionCyclePlanner cyclePlanner;
+    
     @GetMapping
     public ResponseEntity<PagedResponse<CikliMbledhjesDTO>> getAllCiklet(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after
     ) {
-        logger.info("GET /api/ciklet - page={}, size={}", page, size);
-        
-        List<CikliMbledhjes> allCiklet = cikliRepository.findAll();
-        long total = allCiklet.size();
+        logger.info("GET /api/ciklet - page={}, size={}, sort={}, after={}", page, size, sort, after);
         
-        int fromIndex = Math.max(page * size, 0);
-        int toIndex = Math.min(fromIndex + size, allCiklet.size());
-        if (fromIndex > toIndex) {
-            fromIndex = toIndex;
+        if (after != null) {
+            List<CikliMbledhjes> ciklet = cikliRepository.findAfter(PageQuery.requireCursor(after), size);
+            List<CikliMbledhjesDTO> dtos = ciklet.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+            
+            logger.debug("Returning {} ciklet after {}", dtos.size(), after);
+            return ResponseEntity.ok(PagedResponse.ofCursor(dtos, size, false,
+                PagedResponse.nextCursor(ciklet, size, CikliMbledhjes::getId)));
         }
         
-        List<CikliMbledhjesDTO> dtos = allCiklet.subList(fromIndex, toIndex).stream()
+        PageQuery query = PageQuery.of(page, size, sort);
+        ResultPage<CikliMbledhjes> ciklet = cikliRepository.findPage(query);
+        
+        List<CikliMbledhjesDTO> dtos = ciklet.getContent().stream()
             .map(this::toDTO)
             .collect(Collectors.toList());
         
-        PagedResponse<CikliMbledhjesDTO> response = PagedResponse.of(dtos, page, size, total);
-        logger.debug("Returning {} ciklet (page {}, total {})", dtos.size(), page, total);
+        String nextCursor = query.isSortedById() && !ciklet.isLast()
+            ? PagedResponse.nextCursor(ciklet.getContent(), size, CikliMbledhjes::getId)
+            : null;
+        PagedResponse<CikliMbledhjesDTO> response = PagedResponse.of(
+            dtos, page, size, ciklet.getTotalElements(), nextCursor
+        );
+        logger.debug("Returning {} ciklet (page {}, total {})", dtos.size(), page, ciklet.getTotalElements());
         
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * GET /api/ciklet/plan - Planifikon rrugët e cikleve aktive për disa ditë
+     * (parazgjedhje: 7 ditë duke filluar sot), brenda kapacitetit dhe turnit.
+     */
+    @GetMapping("/plan")
+    public ResponseEntity<List<CyclePlanDTO>> planCiklet(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false, defaultValue = "42.6629") double depotLat,
+            @RequestParam(required = false, defaultValue = "21.1655") double depotLon
+    ) {
+        LocalDate startDate = from != null ? from : LocalDate.now();
+        logger.info("GET /api/ciklet/plan - from={}, days={}", startDate, days);
+        
+        List<CyclePlanDTO> dtos = cyclePlanner.planDays(startDate, days, new Coordinates(depotLat, depotLon))
+            .stream()
+            .map(this::toPlanDTO)
+            .collect(Collectors.toList());
+        
+        return ResponseEntity.ok(dtos);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<CikliMbledhjesDTO> getCikliById(@PathVariable String id) {
         logger.info("GET /api/ciklet/{}", id);
@@ -231,6 +279,47 @@ public class CikliMbledhjesController {
         }
     }
     
+    private CyclePlanDTO toPlanDTO(CollectionCyclePlanner.DayPlan plan) {
+        CyclePlanDTO dto = new CyclePlanDTO();
+        dto.setDate(plan.getDate());
+        dto.setRouteCount(plan.getRoutes().size());
+        dto.setTotalDistanceKm(plan.getRoutes().stream()
+            .mapToDouble(CollectionCyclePlanner.CycleRoute::getDistanceMeters)
+            .sum() / 1000.0);
+        dto.setRoutes(plan.getRoutes().stream()
+            .map(this::toCycleRouteDTO)
+            .collect(Collectors.toList()));
+        return dto;
+    }
+    
+    private CycleRouteDTO toCycleRouteDTO(CollectionCyclePlanner.CycleRoute route) {
+        CycleRouteDTO dto = new CycleRouteDTO();
+        dto.setCikliId(route.getCikliId());
+        dto.setZoneId(route.getZoneId());
+        dto.setKamioniId(route.getKamioniId());
+        dto.setWindowStart(route.getWindowStart());
+        dto.setWindowEnd(route.getWindowEnd());
+        dto.setFinishTime(route.getFinishTime());
+        dto.setLoadLiters(route.getLoadLiters());
+        dto.setCapacityLiters(route.getCapacityLiters());
+        dto.setTotalDistanceKm(route.getDistanceMeters() / 1000.0);
+        dto.setDeferredContainerCount(route.getDeferredContainerCount());
+        
+        List<CycleStopDTO> stops = new ArrayList<>(route.getContainers().size());
+        for (int i = 0; i < route.getContainers().size(); i++) {
+            Kontenier k = route.getContainers().get(i);
+            CycleStopDTO stop = new CycleStopDTO();
+            stop.setContainerId(k.getId());
+            stop.setLatitude(k.getLocation().getLatitude());
+            stop.setLongitude(k.getLocation().getLongitude());
+            stop.setFillLevel(k.getFillLevel().getValue());
+            stop.setEstimatedArrival(route.getArrivalTimes().get(i));
+            stops.add(stop);
+        }
+        dto.setStops(stops);
+        return dto;
+    }
+    
     private CikliMbledhjesDTO toDTO(CikliMbledhjes c) {
         CikliMbledhjesDTO dto = new CikliMbledhjesDTO();
         dto.setId(c.getId());
@@ -15,6 +15,7 @@ import eco.kosova.application.handlers.UpdateContainerHandler;
 import eco.kosova.application.queries.GetContainerByIdQuery;
 import eco.kosova.application.queries.GetContainersByZoneQuery;
 import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.services.ContainerReadModel.ContainerView;
 import eco.kosova.presentation.dtos.ContainerResponseDTO;
 import eco.kosova.presentation.dtos.CreateContainerRequest;
 import eco.kosova.presentation.dtos.UpdateContainerRequest;
@@ -174,7 +175,7 @@ public class ContainerManagementController {
     ) {
         logger.info("GET /api/containers/zone/{}", zoneId);
         
-        List<Kontenier> containers = getByZoneHandler.handle(
+        List<ContainerView> containers = getByZoneHandler.handle(
             GetContainersByZoneQuery.of(zoneId)
         );
         
@@ -252,5 +253,21 @@ public class ContainerManagementController {
         dto.setNeedsCollection(k.needsUrgentCollection());
         return dto;
     }
+    
+    private ContainerResponseDTO toDTO(ContainerView view) {
+        ContainerResponseDTO dto = new ContainerResponseDTO();
+        dto.setId(view.getId());
+        dto.setZoneId(view.getZoneId());
+        dto.setType(view.getType().getDisplayName());
+        dto.setFillLevel(view.getFillLevel());
+        dto.setStatus(view.getStatus().getDisplayName());
+        dto.setCapacity(view.getCapacity());
+        dto.setOperational(view.isOperational());
+        dto.setLatitude(view.getLatitude());
+        dto.setLongitude(view.getLongitude());
+        dto.setAddress(view.getAddress());
+        dto.setNeedsCollection(view.needsUrgentCollection());
+        return dto;
+    }
 }
 
@@ -0,0 +1,225 @@
+package eco.kosova.presentation.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eco.kosova.application.handlers.GetZoneStatisticsHandler;
+import eco.kosova.application.queries.GetZoneStatisticsQuery;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.Zone;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.domain.services.WasteMonitoringService;
+import eco.kosova.presentation.dtos.ContainerResponseDTO;
+import eco.kosova.presentation.dtos.LocationDTO;
+import eco.kosova.presentation.dtos.ZoneDTO;
+import eco.kosova.presentation.dtos.ZoneStatisticsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * REST Controller për eksportet e mëdha (NDJSON dhe CSV).
+ *
+ * Rreshtat lexohen me cursor nga databaza dhe shkruhen në response një nga
+ * një, kështu që memoria nuk varet nga numri i kontejnerëve.
+ */
+@RestController
+@RequestMapping("/api/exports")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    @Autowired
+    private KontenierRepository kontenierRepository;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private GetZoneStatisticsHandler statisticsHandler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * GET /api/exports/containers?format=ndjson|csv - Eksporton të gjithë kontejnerët
+     */
+    @GetMapping("/containers")
+    public ResponseEntity<StreamingResponseBody> exportContainers(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        logger.info("GET /api/exports/containers?format={}", format);
+
+        return export(format, "containers",
+            new String[] {"id", "zoneId", "type", "fillLevel", "status", "capacity",
+                "operational", "latitude", "longitude", "address", "needsCollection"},
+            kontenierRepository::forEach,
+            this::containerToDTO,
+            k -> new Object[] {k.getId(), k.getZoneId(), k.getType().getDisplayName(),
+                k.getFillLevel().getValue(), k.getStatus().getDisplayName(), k.getCapacity(),
+                k.isOperational(), k.getLocation().getLatitude(), k.getLocation().getLongitude(),
+                k.getAddress().toFullAddress(), k.needsUrgentCollection()});
+    }
+
+    /**
+     * GET /api/exports/zones?format=ndjson|csv - Eksporton të gjitha zonat (pa ID-të e kontejnerëve)
+     */
+    @GetMapping("/zones")
+    public ResponseEntity<StreamingResponseBody> exportZones(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        logger.info("GET /api/exports/zones?format={}", format);
+
+        return export(format, "zones",
+            new String[] {"id", "name", "municipality", "status", "criticalThreshold", "latitude", "longitude"},
+            zoneRepository::forEachWithoutContainerIds,
+            this::zoneToDTO,
+            z -> new Object[] {z.getId(), z.getName(), z.getMunicipality(), z.getStatus().getDisplayName(),
+                z.getCriticalThreshold(), z.getCenterPoint().getLatitude(), z.getCenterPoint().getLongitude()});
+    }
+
+    /**
+     * GET /api/exports/reports/zones?format=ndjson|csv - Eksporton statistikat e zonave
+     */
+    @GetMapping("/reports/zones")
+    public ResponseEntity<StreamingResponseBody> exportZoneReport(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        logger.info("GET /api/exports/reports/zones?format={}", format);
+
+        // Një rresht për zonë, i llogaritur në databazë
+        return export(format, "zone-report",
+            new String[] {"zoneId", "zoneName", "totalContainers", "criticalContainers",
+                "operationalContainers", "averageFillLevel", "status"},
+            action -> statisticsHandler.handle(GetZoneStatisticsQuery.getInstance()).forEach(action),
+            this::statisticsToDTO,
+            s -> new Object[] {s.getZoneId(), s.getZoneName(), s.getTotalContainers(), s.getCriticalContainers(),
+                s.getOperationalContainers(), s.getAverageFillLevel(), s.getStatus().getDisplayName()});
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private <T> ResponseEntity<StreamingResponseBody> export(
+            String format,
+            String name,
+            String[] csvHeader,
+            Consumer<Consumer<T>> source,
+            Function<T, Object> toDTO,
+            Function<T, Object[]> toCsvRow
+    ) {
+        boolean csv;
+        switch (format.toLowerCase()) {
+            case "ndjson":
+                csv = false;
+                break;
+            case "csv":
+                csv = true;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (csv) {
+                writeCsvLine(writer, csvHeader);
+            }
+            source.accept(item -> {
+                try {
+                    if (csv) {
+                        writeCsvLine(writer, toCsvRow.apply(item));
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(toDTO.apply(item)));
+                        writer.write('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+            .contentType(csv ? CSV : NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"")
+            .body(body);
+    }
+
+    private void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // RFC 4180: fushat me presje, thonjëza ose rresht të ri vendosen në thonjëza
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private ContainerResponseDTO containerToDTO(Kontenier k) {
+        ContainerResponseDTO dto = new ContainerResponseDTO();
+        dto.setId(k.getId());
+        dto.setZoneId(k.getZoneId());
+        dto.setType(k.getType().getDisplayName());
+        dto.setFillLevel(k.getFillLevel().getValue());
+        dto.setStatus(k.getStatus().getDisplayName());
+        dto.setCapacity(k.getCapacity());
+        dto.setOperational(k.isOperational());
+        dto.setLatitude(k.getLocation().getLatitude());
+        dto.setLongitude(k.getLocation().getLongitude());
+        dto.setAddress(k.getAddress().toFullAddress());
+        dto.setNeedsCollection(k.needsUrgentCollection());
+        return dto;
+    }
+
+    private ZoneDTO zoneToDTO(Zone zone) {
+        ZoneDTO dto = new ZoneDTO();
+        dto.setId(zone.getId());
+        dto.setName(zone.getName());
+        dto.setStatus(zone.getStatus().getDisplayName());
+        dto.setCriticalThreshold(zone.getCriticalThreshold());
+        LocationDTO location = new LocationDTO();
+        location.setLatitude(zone.getCenterPoint().getLatitude());
+        location.setLongitude(zone.getCenterPoint().getLongitude());
+        dto.setCenterPoint(location);
+        return dto;
+    }
+
+    private ZoneStatisticsDTO statisticsToDTO(WasteMonitoringService.ZoneStatistics stats) {
+        ZoneStatisticsDTO dto = new ZoneStatisticsDTO();
+        dto.setZoneId(stats.getZoneId());
+        dto.setZoneName(stats.getZoneName());
+        dto.setTotalContainers(stats.getTotalContainers());
+        dto.setCriticalContainers(stats.getCriticalContainers());
+        dto.setOperationalContainers(stats.getOperationalContainers());
+        dto.setAverageFillLevel(stats.getAverageFillLevel());
+        dto.setStatus(stats.getStatus().getDisplayName());
+        return dto;
+    }
+}
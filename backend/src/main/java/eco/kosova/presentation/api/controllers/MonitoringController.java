@@ -1,23 +1,33 @@
 package eco.kosova.presentation.api.controllers;
 
+import eco.kosova.application.commands.IngestFillLevelsCommand;
 import eco.kosova.application.commands.UpdateContainerFillLevelCommand;
-import eco.kosova.application.handlers.GetAllContainersHandler;
 import eco.kosova.application.handlers.GetContainerByIdHandler;
 import eco.kosova.application.handlers.GetContainersByZoneHandler;
+import eco.kosova.application.handlers.GetContainersPageHandler;
 import eco.kosova.application.handlers.GetCriticalContainersHandler;
+import eco.kosova.application.handlers.IngestFillLevelsHandler;
 import eco.kosova.application.handlers.UpdateContainerFillLevelHandler;
-import eco.kosova.application.queries.GetAllContainersQuery;
 import eco.kosova.application.queries.GetContainerByIdQuery;
+import eco.kosova.application.queries.GetContainersAfterQuery;
 import eco.kosova.application.queries.GetContainersByZoneQuery;
+import eco.kosova.application.queries.GetContainersPageQuery;
 import eco.kosova.application.queries.GetCriticalContainersQuery;
 import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.services.ContainerReadModel.ContainerView;
+import eco.kosova.domain.repositories.ResultPage;
+import eco.kosova.domain.services.WasteMonitoringService.FillLevelIngestSummary;
+import eco.kosova.domain.services.WasteMonitoringService.FillLevelReading;
+import eco.kosova.presentation.dtos.BulkFillLevelRequest;
 import eco.kosova.presentation.dtos.ContainerResponseDTO;
+import eco.kosova.presentation.dtos.FillLevelIngestResponseDTO;
 import eco.kosova.presentation.dtos.PagedResponse;
 import eco.kosova.presentation.dtos.UpdateFillLevelRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -38,7 +48,10 @@ public class MonitoringController {
     private UpdateContainerFillLevelHandler updateHandler;
     
     @Autowired
-    private GetAllContainersHandler getAllHandler;
+    private IngestFillLevelsHandler ingestHandler;
+    
+    @Autowired
+    private GetContainersPageHandler getPageHandler;
     
     @Autowired
     private GetCriticalContainersHandler getCriticalHandler;
@@ -50,32 +63,42 @@ public class MonitoringController {
     private GetContainersByZoneHandler getByZoneHandler;
     
     /**
-     * GET /api/monitoring/containers - Merr të gjitha kontejnerët
+     * GET /api/monitoring/containers - Merr kontejnerët faqe pas faqeje.
+     * Me ?after=ID përdoret keyset pagination (për faqe të thella).
      */
     @GetMapping("/containers")
     public ResponseEntity<PagedResponse<ContainerResponseDTO>> getAllContainers(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "50") int size
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after
     ) {
-        logger.info("GET /api/monitoring/containers - page={}, size={}", page, size);
+        logger.info("GET /api/monitoring/containers - page={}, size={}, sort={}, after={}", page, size, sort, after);
         
-        List<Kontenier> containers = getAllHandler.handle(
-            GetAllContainersQuery.getInstance()
-        );
-
-        long total = containers.size();
-        int fromIndex = Math.max(page * size, 0);
-        int toIndex = Math.min(fromIndex + size, containers.size());
-        if (fromIndex > toIndex) {
-            fromIndex = toIndex;
+        if (after != null) {
+            List<Kontenier> containers = getPageHandler.handle(GetContainersAfterQuery.of(after, size));
+            List<ContainerResponseDTO> dtos = containers.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+            
+            logger.debug("Returning {} containers after {}", dtos.size(), after);
+            return ResponseEntity.ok(PagedResponse.ofCursor(dtos, size, false, PagedResponse.nextCursor(containers, size, Kontenier::getId)));
         }
-
-        List<ContainerResponseDTO> dtos = containers.subList(fromIndex, toIndex).stream()
+        
+        GetContainersPageQuery query = GetContainersPageQuery.of(page, size, sort);
+        ResultPage<Kontenier> containers = getPageHandler.handle(query);
+        
+        List<ContainerResponseDTO> dtos = containers.getContent().stream()
             .map(this::toDTO)
             .collect(Collectors.toList());
-
-        PagedResponse<ContainerResponseDTO> response = PagedResponse.of(dtos, page, size, total);
-        logger.debug("Returning {} containers (page {}, total {})", dtos.size(), page, total);
+        
+        String nextCursor = query.getPageQuery().isSortedById() && !containers.isLast()
+            ? PagedResponse.nextCursor(containers.getContent(), size, Kontenier::getId)
+            : null;
+        PagedResponse<ContainerResponseDTO> response = PagedResponse.of(
+            dtos, page, size, containers.getTotalElements(), nextCursor
+        );
+        logger.debug("Returning {} containers (page {}, total {})", dtos.size(), page, containers.getTotalElements());
         
         return ResponseEntity.ok(response);
     }
@@ -87,7 +110,7 @@ public class MonitoringController {
     public ResponseEntity<List<ContainerResponseDTO>> getCriticalContainers() {
         logger.info("GET /api/monitoring/containers/critical");
         
-        List<Kontenier> containers = getCriticalHandler.handle(
+        List<ContainerView> containers = getCriticalHandler.handle(
             GetCriticalContainersQuery.getInstance()
         );
         
@@ -100,7 +123,12 @@ public class MonitoringController {
     }
     
     /**
-     * PUT /api/monitoring/containers/{id}/fill-level - Përditëson nivelin
+     * PUT /api/monitoring/containers/{id}/fill-level - Pranon një lexim të nivelit
+     *
+     * Leximi shkruhet nga buffer-i write-behind, kështu që përgjigjja është
+     * 202 Accepted: një GET menjëherë pas saj mund të kthejë nivelin e
+     * mëparshëm deri në flush-in e radhës. Kalimi në nivel kritik shkruhet
+     * menjëherë.
      */
     @PutMapping("/containers/{containerId}/fill-level")
     public ResponseEntity<String> updateFillLevel(
@@ -115,9 +143,9 @@ public class MonitoringController {
             
             updateHandler.handle(command);
             
-            logger.info("Successfully updated fill level for container {} to {}%", containerId, request.getFillLevel());
-            return ResponseEntity.ok(
-                String.format("Niveli i mbushjes u përditësua: %d%%", request.getFillLevel())
+            logger.info("Accepted fill level {}% for container {}", request.getFillLevel(), containerId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                String.format("Leximi i nivelit u pranua: %d%%", request.getFillLevel())
             );
             
         } catch (IllegalArgumentException e) {
@@ -126,6 +154,30 @@ public class MonitoringController {
         }
     }
     
+    /**
+     * POST /api/monitoring/containers/fill-levels - Përditëson nivelin për një grup leximesh
+     */
+    @PostMapping("/containers/fill-levels")
+    public ResponseEntity<FillLevelIngestResponseDTO> ingestFillLevels(
+            @RequestBody @Valid BulkFillLevelRequest request
+    ) {
+        logger.info("POST /api/monitoring/containers/fill-levels - readings={}", request.getReadings().size());
+        
+        List<FillLevelReading> readings = request.getReadings().stream()
+            .map(r -> new FillLevelReading(r.getContainerId(), r.getFillLevel()))
+            .collect(Collectors.toList());
+        
+        FillLevelIngestSummary summary = ingestHandler.handle(new IngestFillLevelsCommand(readings));
+        
+        FillLevelIngestResponseDTO dto = new FillLevelIngestResponseDTO();
+        dto.setReceivedReadings(summary.getReceivedReadings());
+        dto.setUpdatedContainers(summary.getUpdatedContainers());
+        dto.setAffectedZones(summary.getAffectedZones());
+        dto.setUpdatedZones(summary.getUpdatedZones());
+        dto.setUnknownContainerIds(summary.getUnknownContainerIds());
+        return ResponseEntity.ok(dto);
+    }
+    
     /**
      * GET /api/monitoring/containers/{containerId} - Merr një kontejner specifik
      */
@@ -155,7 +207,7 @@ public class MonitoringController {
     ) {
         logger.info("GET /api/monitoring/containers/zone/{}", zoneId);
         
-        List<Kontenier> containers = getByZoneHandler.handle(
+        List<ContainerView> containers = getByZoneHandler.handle(
             GetContainersByZoneQuery.of(zoneId)
         );
         
@@ -184,4 +236,20 @@ public class MonitoringController {
         dto.setNeedsCollection(k.needsUrgentCollection());
         return dto;
     }
+    
+    private ContainerResponseDTO toDTO(ContainerView view) {
+        ContainerResponseDTO dto = new ContainerResponseDTO();
+        dto.setId(view.getId());
+        dto.setZoneId(view.getZoneId());
+        dto.setType(view.getType().getDisplayName());
+        dto.setFillLevel(view.getFillLevel());
+        dto.setStatus(view.getStatus().getDisplayName());
+        dto.setCapacity(view.getCapacity());
+        dto.setOperational(view.isOperational());
+        dto.setLatitude(view.getLatitude());
+        dto.setLongitude(view.getLongitude());
+        dto.setAddress(view.getAddress());
+        dto.setNeedsCollection(view.needsUrgentCollection());
+        return dto;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package eco.kosova.presentation.api.controllers;
 
 import eco.kosova.domain.models.Qytetari;
+import eco.kosova.domain.repositories.PageQuery;
 import eco.kosova.domain.repositories.QytetariRepository;
+import eco.kosova.domain.repositories.ResultPage;
 import eco.kosova.presentation.dtos.CreateQytetariRequest;
 import eco.kosova.presentation.dtos.PagedResponse;
 import eco.kosova.presentation.dtos.QytetariDTO;
@@ -32,25 +34,37 @@ public class QytetariController {
     @GetMapping
     public ResponseEntity<PagedResponse<QytetariDTO>> getAllQytetaret(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after
     ) {
-        logger.info("GET /api/qytetaret - page={}, size={}", page, size);
+        logger.info("GET /api/qytetaret - page={}, size={}, sort={}, after={}", page, size, sort, after);
         
-        List<Qytetari> allQytetaret = qytetariRepository.findAll();
-        long total = allQytetaret.size();
-        
-        int fromIndex = Math.max(page * size, 0);
-        int toIndex = Math.min(fromIndex + size, allQytetaret.size());
-        if (fromIndex > toIndex) {
-            fromIndex = toIndex;
+        if (after != null) {
+            List<Qytetari> qytetaret = qytetariRepository.findAfter(PageQuery.requireCursor(after), size);
+            List<QytetariDTO> dtos = qytetaret.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+            
+            logger.debug("Returning {} qytetaret after {}", dtos.size(), after);
+            return ResponseEntity.ok(PagedResponse.ofCursor(dtos, size, false,
+                PagedResponse.nextCursor(qytetaret, size, Qytetari::getId)));
         }
         
-        List<QytetariDTO> dtos = allQytetaret.subList(fromIndex, toIndex).stream()
+        PageQuery query = PageQuery.of(page, size, sort);
+        ResultPage<Qytetari> qytetaret = qytetariRepository.findPage(query);
+        
+        List<QytetariDTO> dtos = qytetaret.getContent().stream()
             .map(this::toDTO)
             .collect(Collectors.toList());
         
-        PagedResponse<QytetariDTO> response = PagedResponse.of(dtos, page, size, total);
-        logger.debug("Returning {} qytetaret (page {}, total {})", dtos.size(), page, total);
+        String nextCursor = query.isSortedById() && !qytetaret.isLast()
+            ? PagedResponse.nextCursor(qytetaret.getContent(), size, Qytetari::getId)
+            : null;
+        PagedResponse<QytetariDTO> response = PagedResponse.of(
+            dtos, page, size, qytetaret.getTotalElements(), nextCursor
+        );
+        logger.debug("Returning {} qytetaret (page {}, total {})", dtos.size(), page, qytetaret.getTotalElements());
         
         return ResponseEntity.ok(response);
     }
@@ -4,7 +4,7 @@ import eco.kosova.application.handlers.GetAllContainersHandler;
 import eco.kosova.application.handlers.GetZoneStatisticsHandler;
 import eco.kosova.application.queries.GetAllContainersQuery;
 import eco.kosova.application.queries.GetZoneStatisticsQuery;
-import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.services.ContainerReadModel.ContainerView;
 import eco.kosova.domain.services.WasteMonitoringService;
 import eco.kosova.presentation.dtos.ReportDTO;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -105,7 +105,7 @@ public class ReportsController {
     }
     
     private ReportDTO generateReportData(String reportType) {
-        List<Kontenier> allContainers = getAllContainersHandler.handle(
+        List<ContainerView> allContainers = getAllContainersHandler.handle(
             GetAllContainersQuery.getInstance()
         );
         
@@ -125,20 +125,20 @@ public class ReportsController {
                 report.setDescription("Statistika të përgjithshme për sistemin");
                 data.put("totalContainers", allContainers.size());
                 data.put("criticalContainers", allContainers.stream()
-                    .filter(c -> c.getFillLevel().getValue() >= 90)
+                    .filter(c -> c.getFillLevel() >= 90)
                     .count());
                 data.put("warningContainers", allContainers.stream()
-                    .filter(c -> c.getFillLevel().getValue() >= 70 && c.getFillLevel().getValue() < 90)
+                    .filter(c -> c.getFillLevel() >= 70 && c.getFillLevel() < 90)
                     .count());
                 data.put("normalContainers", allContainers.stream()
-                    .filter(c -> c.getFillLevel().getValue() < 70)
+                    .filter(c -> c.getFillLevel() < 70)
                     .count());
                 data.put("totalZones", zoneStats.size());
                 data.put("criticalZones", zoneStats.stream()
                     .filter(z -> z.getStatus().needsAttention())
                     .count());
                 data.put("averageFillLevel", allContainers.stream()
-                    .mapToInt(c -> c.getFillLevel().getValue())
+                    .mapToInt(c -> c.getFillLevel())
                     .average()
                     .orElse(0.0));
                 break;
@@ -147,14 +147,14 @@ public class ReportsController {
                 report.setTitle("Kontejnerët Kritikë");
                 report.setDescription("Lista e kontejnerëve që kanë nevojë për mbledhje urgjente");
                 List<Map<String, Object>> criticalContainers = allContainers.stream()
-                    .filter(c -> c.getFillLevel().getValue() >= 90)
+                    .filter(c -> c.getFillLevel() >= 90)
                     .map(c -> {
                         Map<String, Object> containerData = new HashMap<>();
                         containerData.put("id", c.getId());
                         containerData.put("zoneId", c.getZoneId());
-                        containerData.put("fillLevel", c.getFillLevel().getValue());
+                        containerData.put("fillLevel", c.getFillLevel());
                         containerData.put("status", c.getStatus().getDisplayName());
-                        containerData.put("address", c.getAddress().toFullAddress());
+                        containerData.put("address", c.getAddress());
                         return containerData;
                     })
                     .collect(Collectors.toList());
@@ -185,18 +185,18 @@ public class ReportsController {
                 report.setTitle("Raport i Performancës");
                 report.setDescription("Analizë e performancës së sistemit");
                 long operationalContainers = allContainers.stream()
-                    .filter(Kontenier::isOperational)
+                    .filter(ContainerView::isOperational)
                     .count();
                 data.put("operationalContainers", operationalContainers);
                 data.put("nonOperationalContainers", allContainers.size() - operationalContainers);
                 data.put("operationalRate", allContainers.isEmpty() ? 0.0 : 
                     (double) operationalContainers / allContainers.size() * 100);
                 data.put("averageFillLevel", allContainers.stream()
-                    .mapToInt(c -> c.getFillLevel().getValue())
+                    .mapToInt(c -> c.getFillLevel())
                     .average()
                     .orElse(0.0));
                 data.put("totalCapacity", allContainers.stream()
-                    .mapToInt(Kontenier::getCapacity)
+                    .mapToInt(ContainerView::getCapacity)
                     .sum());
                 break;
                 
@@ -4,14 +4,26 @@ import eco.kosova.domain.models.Kontenier;
 import eco.kosova.domain.models.Zone;
 import eco.kosova.domain.models.valueobjects.Coordinates;
 import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.domain.services.CapacitatedRoutingEngine;
+import eco.kosova.domain.services.FleetRoutingService;
+import eco.kosova.domain.services.LiveRouteService;
+import eco.kosova.domain.services.RouteJobService;
 import eco.kosova.domain.services.RouteOptimizationService;
 import eco.kosova.presentation.dtos.ContainerResponseDTO;
+import eco.kosova.presentation.dtos.CreateRouteJobRequest;
+import eco.kosova.presentation.dtos.FleetRoutePlanDTO;
+import eco.kosova.presentation.dtos.RouteJobDTO;
 import eco.kosova.presentation.dtos.RouteResponseDTO;
+import eco.kosova.presentation.dtos.TruckRouteDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -26,11 +38,26 @@ public class RoutesController {
     @Autowired
     private RouteOptimizationService routeOptimizationService;
     
+    @Autowired
+    private FleetRoutingService fleetRoutingService;
+    
+    @Autowired
+    private LiveRouteService liveRouteService;
+    
+    @Autowired
+    private RouteJobService routeJobService;
+    
     @Autowired
     private ZoneRepository zoneRepository;
     
+    @Value("${ecokosova.routes.all.timeout-ms:10000}")
+    private long allRoutesTimeoutMs;
+    
     /**
      * GET /api/routes/zone/{zoneId} - Merr rrugën optimale për një zonë
+     * 
+     * Për strategjinë OPTIMAL nga pika e paracaktuar kthehet rruga live e zonës
+     * (e mirëmbajtur inkrementalisht), pa rillogaritje.
      */
     @GetMapping("/zone/{zoneId}")
     public ResponseEntity<RouteResponseDTO> getOptimalRouteForZone(
@@ -41,7 +68,7 @@ public class RoutesController {
     ) {
         try {
             // Gjen zonën
-            Optional<Zone> zoneOpt = zoneRepository.findById(zoneId);
+            Optional<Zone> zoneOpt = zoneRepository.findByIdWithoutContainerIds(zoneId);
             if (zoneOpt.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
@@ -54,32 +81,23 @@ public class RoutesController {
                 ? "NEAREST_NEIGHBOR" 
                 : strategy.toUpperCase();
             
+            if ("OPTIMAL".equalsIgnoreCase(strategy) && startPoint.equals(liveRouteService.getStartPoint())) {
+                LiveRouteService.LiveRoute liveRoute = liveRouteService.getRoute(zoneId);
+                RouteOptimizationService.RouteInfo routeInfo = routeOptimizationService.getRouteInfo(
+                    liveRoute.getContainers(),
+                    liveRoute.getTotalDistanceMeters()
+                );
+                return ResponseEntity.ok(toRouteDTO(zone, routeInfo, strategyName));
+            }
+            
             List<Kontenier> route = routeOptimizationService.calculateOptimalRoute(
                 zoneId, 
                 startPoint, 
                 strategyName
             );
             
-            String routeType = strategyName;
-            
-            // Krijon RouteInfo për statistika
-            RouteOptimizationService.RouteInfo routeInfo = 
-                routeOptimizationService.getRouteInfo(route, startPoint);
-            
             // Konverton në DTO
-            RouteResponseDTO dto = new RouteResponseDTO();
-            dto.setZoneId(zoneId);
-            dto.setZoneName(zone.getName());
-            dto.setContainerCount(routeInfo.getContainerCount());
-            dto.setTotalDistanceKm(routeInfo.getTotalDistanceKm());
-            dto.setEstimatedTimeMinutes(routeInfo.getEstimatedTimeMinutes());
-            dto.setTotalCapacityLiters(routeInfo.getTotalCapacityLiters());
-            dto.setRouteType(routeType);
-            dto.setContainers(route.stream()
-                .map(this::containerToDTO)
-                .collect(Collectors.toList()));
-            
-            return ResponseEntity.ok(dto);
+            return ResponseEntity.ok(toRouteDTO(zone, route, startPoint, strategyName));
             
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -90,67 +108,204 @@ public class RoutesController {
     
     /**
      * GET /api/routes/all - Merr rrugët për të gjitha zonat
+     * 
+     * Rrugët llogariten paralelisht; nëse kalon afati (timeoutMs) kthehen zonat
+     * e përfunduara dhe header-i X-Routes-Unfinished-Zones tregon sa mbetën jashtë.
      */
     @GetMapping("/all")
     public ResponseEntity<List<RouteResponseDTO>> getAllRoutes(
             @RequestParam(required = false, defaultValue = "42.6629") double startLat,
             @RequestParam(required = false, defaultValue = "21.1655") double startLon,
-            @RequestParam(required = false, defaultValue = "OPTIMAL") String strategy
+            @RequestParam(required = false, defaultValue = "OPTIMAL") String strategy,
+            @RequestParam(required = false) Long timeoutMs
     ) {
         try {
-            List<Zone> zones = zoneRepository.findAll();
+            List<Zone> zones = zoneRepository.findAllWithoutContainerIds();
             Coordinates startPoint = new Coordinates(startLat, startLon);
             
+            // Përdor Strategy Pattern
+            String strategyName = "OPTIMAL".equalsIgnoreCase(strategy) 
+                ? "NEAREST_NEIGHBOR" 
+                : strategy.toUpperCase();
+            
+            RouteOptimizationService.ZoneRoutes zoneRoutes = routeOptimizationService.calculateRoutesForZones(
+                zones.stream().map(Zone::getId).collect(Collectors.toList()),
+                startPoint,
+                strategyName,
+                timeoutMs != null ? timeoutMs : allRoutesTimeoutMs
+            );
+            
             List<RouteResponseDTO> routes = zones.stream()
-                .map(zone -> {
-                    try {
-                        // Përdor Strategy Pattern
-                        String strategyName = "OPTIMAL".equalsIgnoreCase(strategy) 
-                            ? "NEAREST_NEIGHBOR" 
-                            : strategy.toUpperCase();
-                        
-                        List<Kontenier> route = routeOptimizationService.calculateOptimalRoute(
-                            zone.getId(), 
-                            startPoint, 
-                            strategyName
-                        );
-                        
-                        String routeType = strategyName;
-                        
-                        if (route.isEmpty()) {
-                            return null;
-                        }
-                        
-                        RouteOptimizationService.RouteInfo routeInfo = 
-                            routeOptimizationService.getRouteInfo(route, startPoint);
-                        
-                        RouteResponseDTO dto = new RouteResponseDTO();
-                        dto.setZoneId(zone.getId());
-                        dto.setZoneName(zone.getName());
-                        dto.setContainerCount(routeInfo.getContainerCount());
-                        dto.setTotalDistanceKm(routeInfo.getTotalDistanceKm());
-                        dto.setEstimatedTimeMinutes(routeInfo.getEstimatedTimeMinutes());
-                        dto.setTotalCapacityLiters(routeInfo.getTotalCapacityLiters());
-                        dto.setRouteType(routeType);
-                        dto.setContainers(route.stream()
-                            .map(this::containerToDTO)
-                            .collect(Collectors.toList()));
-                        
-                        return dto;
-                    } catch (Exception e) {
-                        return null;
-                    }
+                .filter(zone -> {
+                    List<Kontenier> route = zoneRoutes.getRoutes().get(zone.getId());
+                    return route != null && !route.isEmpty();
                 })
-                .filter(dto -> dto != null)
+                .map(zone -> toRouteDTO(zone, zoneRoutes.getRoutes().get(zone.getId()), startPoint, strategyName))
                 .collect(Collectors.toList());
             
-            return ResponseEntity.ok(routes);
+            return ResponseEntity.ok()
+                .header("X-Routes-Unfinished-Zones", String.valueOf(zoneRoutes.getUnfinishedZoneIds().size()))
+                .body(routes);
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    /**
+     * GET /api/routes/fleet - Merr një rrugë për çdo kamion të disponueshëm (sipas kapacitetit)
+     */
+    @GetMapping("/fleet")
+    public ResponseEntity<FleetRoutePlanDTO> getFleetRoutes(
+            @RequestParam(required = false, defaultValue = "42.6629") double depotLat,
+            @RequestParam(required = false, defaultValue = "21.1655") double depotLon
+    ) {
+        try {
+            Coordinates depot = new Coordinates(depotLat, depotLon);
+            CapacitatedRoutingEngine.RoutingPlan plan = fleetRoutingService.planFleetRoutes(depot);
+            
+            FleetRoutePlanDTO dto = new FleetRoutePlanDTO();
+            dto.setRoutes(plan.getRoutes().stream()
+                .map(this::truckRouteToDTO)
+                .collect(Collectors.toList()));
+            dto.setUnassignedContainers(plan.getUnassignedContainers().stream()
+                .map(this::containerToDTO)
+                .collect(Collectors.toList()));
+            dto.setTotalDistanceKm(plan.getTotalDistanceMeters() / 1000.0);
+            
+            return ResponseEntity.ok(dto);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * POST /api/routes/jobs - Krijon një job asinkron për llogaritjen e rrugëve
+     * (pa zoneIds: të gjitha zonat). Kthen 202 me ID-në e job-it.
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<RouteJobDTO> submitRouteJob(@RequestBody @Valid CreateRouteJobRequest request) {
+        try {
+            List<String> zoneIds = request.getZoneIds() != null && !request.getZoneIds().isEmpty()
+                ? request.getZoneIds()
+                : zoneRepository.findAllWithoutContainerIds().stream().map(Zone::getId).collect(Collectors.toList());
+            
+            String strategyName = "OPTIMAL".equalsIgnoreCase(request.getStrategy())
+                ? "NEAREST_NEIGHBOR"
+                : request.getStrategy();
+            
+            RouteJobService.RouteJob job = routeJobService.submit(
+                zoneIds,
+                new Coordinates(request.getStartLat(), request.getStartLon()),
+                strategyName
+            );
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toJobDTO(job, false));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            // Radha e job-eve është plot
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    /**
+     * GET /api/routes/jobs/{jobId} - Progresi, kostoja më e mirë deri tani dhe rrugët
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<RouteJobDTO> getRouteJob(
+            @PathVariable String jobId,
+            @RequestParam(required = false, defaultValue = "true") boolean includeRoutes
+    ) {
+        return routeJobService.find(jobId)
+            .map(job -> ResponseEntity.ok(toJobDTO(job, includeRoutes)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * DELETE /api/routes/jobs/{jobId} - Anulon job-in (409 nëse ka përfunduar)
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<RouteJobDTO> cancelRouteJob(@PathVariable String jobId) {
+        Optional<RouteJobService.RouteJob> job = routeJobService.find(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!routeJobService.cancel(jobId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(toJobDTO(job.get(), false));
+        }
+        return ResponseEntity.ok(toJobDTO(job.get(), false));
+    }
+    
+    private RouteJobDTO toJobDTO(RouteJobService.RouteJob job, boolean includeRoutes) {
+        RouteJobDTO dto = new RouteJobDTO();
+        dto.setJobId(job.getId());
+        dto.setStatus(job.getStatus().name());
+        dto.setStrategy(job.getStrategyName());
+        dto.setZoneCount(job.getZoneIds().size());
+        dto.setCompletedSteps(job.getCompletedSteps());
+        dto.setTotalSteps(job.getTotalSteps());
+        dto.setProgress(job.getProgress());
+        dto.setBestCostKm(job.getBestCostMeters() / 1000.0);
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setError(job.getError());
+        
+        if (includeRoutes) {
+            Map<String, List<Kontenier>> routes = job.getBestRoutes();
+            dto.setRoutes(routes.entrySet().stream()
+                .filter(entry -> !entry.getValue().isEmpty())
+                .flatMap(entry -> zoneRepository.findByIdWithoutContainerIds(entry.getKey()).stream()
+                    .map(zone -> toRouteDTO(zone, entry.getValue(), job.getStartPoint(), job.getStrategyName())))
+                .collect(Collectors.toList()));
+        }
+        return dto;
+    }
+    
+    // Helper method për të konvertuar rrugën e një zone në RouteResponseDTO
+    private RouteResponseDTO toRouteDTO(Zone zone, List<Kontenier> route, Coordinates startPoint, String routeType) {
+        // Krijon RouteInfo për statistika
+        RouteOptimizationService.RouteInfo routeInfo = 
+            routeOptimizationService.getRouteInfo(route, startPoint);
+        
+        return toRouteDTO(zone, routeInfo, routeType);
+    }
+    
+    private RouteResponseDTO toRouteDTO(Zone zone, RouteOptimizationService.RouteInfo routeInfo, String routeType) {
+        RouteResponseDTO dto = new RouteResponseDTO();
+        dto.setZoneId(zone.getId());
+        dto.setZoneName(zone.getName());
+        dto.setContainerCount(routeInfo.getContainerCount());
+        dto.setTotalDistanceKm(routeInfo.getTotalDistanceKm());
+        dto.setEstimatedTimeMinutes(routeInfo.getEstimatedTimeMinutes());
+        dto.setTotalCapacityLiters(routeInfo.getTotalCapacityLiters());
+        dto.setRouteType(routeType);
+        dto.setContainers(routeInfo.getContainers().stream()
+            .map(this::containerToDTO)
+            .collect(Collectors.toList()));
+        return dto;
+    }
+    
+    private TruckRouteDTO truckRouteToDTO(CapacitatedRoutingEngine.TruckRoute route) {
+        TruckRouteDTO dto = new TruckRouteDTO();
+        dto.setKamioniId(route.getTruck().getId());
+        dto.setLicensePlate(route.getTruck().getLicensePlate());
+        dto.setCapacityLiters(route.getCapacityLiters());
+        dto.setLoadLiters(route.getLoadLiters());
+        dto.setContainerCount(route.getContainers().size());
+        dto.setTotalDistanceKm(route.getTotalDistanceKm());
+        dto.setContainers(route.getContainers().stream()
+            .map(this::containerToDTO)
+            .collect(Collectors.toList()));
+        return dto;
+    }
+    
     // Helper method për të konvertuar Kontenier në ContainerResponseDTO
     private ContainerResponseDTO containerToDTO(Kontenier k) {
         ContainerResponseDTO dto = new ContainerResponseDTO();
@@ -2,6 +2,8 @@ package eco.kosova.presentation.api.controllers;
 
 import eco.kosova.application.handlers.GetZoneStatisticsHandler;
 import eco.kosova.application.queries.GetZoneStatisticsQuery;
+import eco.kosova.domain.repositories.PageQuery;
+import eco.kosova.domain.repositories.ResultPage;
 import eco.kosova.domain.services.WasteMonitoringService;
 import eco.kosova.presentation.dtos.CreateZoneRequest;
 import eco.kosova.presentation.dtos.PagedResponse;
@@ -67,25 +69,37 @@ public class ZoneController {
     @GetMapping
     public ResponseEntity<PagedResponse<ZoneDTO>> getAllZones(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after
     ) {
-        logger.info("GET /api/zones - page={}, size={}", page, size);
+        logger.info("GET /api/zones - page={}, size={}, sort={}, after={}", page, size, sort, after);
         
-        List<eco.kosova.domain.models.Zone> zones = zoneRepository.findAll();
-        long total = zones.size();
-        
-        int fromIndex = Math.max(page * size, 0);
-        int toIndex = Math.min(fromIndex + size, zones.size());
-        if (fromIndex > toIndex) {
-            fromIndex = toIndex;
+        if (after != null) {
+            List<eco.kosova.domain.models.Zone> zones = zoneRepository.findAfter(PageQuery.requireCursor(after), size);
+            List<ZoneDTO> dtos = zones.stream()
+                .map(this::zoneToDTO)
+                .collect(Collectors.toList());
+            
+            logger.debug("Returning {} zones after {}", dtos.size(), after);
+            return ResponseEntity.ok(PagedResponse.ofCursor(dtos, size, false,
+                PagedResponse.nextCursor(zones, size, eco.kosova.domain.models.Zone::getId)));
         }
         
-        List<ZoneDTO> dtos = zones.subList(fromIndex, toIndex).stream()
+        PageQuery query = PageQuery.of(page, size, sort);
+        ResultPage<eco.kosova.domain.models.Zone> zones = zoneRepository.findPage(query);
+        
+        List<ZoneDTO> dtos = zones.getContent().stream()
             .map(this::zoneToDTO)
             .collect(Collectors.toList());
         
-        PagedResponse<ZoneDTO> response = PagedResponse.of(dtos, page, size, total);
-        logger.debug("Returning {} zones (page {}, total {})", dtos.size(), page, total);
+        String nextCursor = query.isSortedById() && !zones.isLast()
+            ? PagedResponse.nextCursor(zones.getContent(), size, eco.kosova.domain.models.Zone::getId)
+            : null;
+        PagedResponse<ZoneDTO> response = PagedResponse.of(
+            dtos, page, size, zones.getTotalElements(), nextCursor
+        );
+        logger.debug("Returning {} zones (page {}, total {})", dtos.size(), page, zones.getTotalElements());
         
         return ResponseEntity.ok(response);
     }
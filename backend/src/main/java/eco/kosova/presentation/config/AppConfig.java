@@ -1,10 +1,23 @@
 package eco.kosova.presentation.config;
 
-import eco.kosova.domain.events.DomainEventPublisher;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import eco.kosova.domain.repositories.CikliMbledhjesRepository;
+import eco.kosova.domain.repositories.KamioniRepository;
 import eco.kosova.domain.repositories.KontenierRepository;
 import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.domain.services.CapacitatedRoutingEngine;
+import eco.kosova.domain.services.CollectionCyclePlanner;
+import eco.kosova.domain.services.ContainerReadModel;
+import eco.kosova.domain.services.FillLevelWriteBehindBuffer;
+import eco.kosova.domain.services.FleetRoutingService;
+import eco.kosova.domain.services.LiveRouteService;
+import eco.kosova.domain.services.RouteJobService;
 import eco.kosova.domain.services.RouteOptimizationService;
 import eco.kosova.domain.services.WasteMonitoringService;
+import eco.kosova.domain.services.ZoneDistanceMatrixCache;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -12,6 +25,15 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Spring Configuration për aplikacionin.
  */
@@ -20,6 +42,9 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @EnableScheduling
 public class AppConfig {
     
+    private ExecutorService routeJobExecutor;
+    private ScheduledExecutorService fillLevelFlushScheduler;
+    
     /**
      * CORS configuration për të lejuar frontend access
      */
@@ -43,20 +68,208 @@ public class AppConfig {
     @Bean
     public WasteMonitoringService wasteMonitoringService(
             KontenierRepository kontenierRepository,
-            ZoneRepository zoneRepository,
-            DomainEventPublisher eventPublisher
+            ZoneRepository zoneRepository
     ) {
         return new WasteMonitoringService(
             kontenierRepository,
-            zoneRepository,
-            eventPublisher
+            zoneRepository
+        );
+    }
+    
+    /**
+     * Write-behind për leximet e sensorëve; flush-et ekzekutohen në një thread të vetëm.
+     */
+    @Bean(destroyMethod = "close")
+    public FillLevelWriteBehindBuffer fillLevelWriteBehindBuffer(
+            WasteMonitoringService monitoringService,
+            KontenierRepository kontenierRepository,
+            ContainerReadModel containerReadModel,
+            @Value("${ecokosova.monitoring.write-behind.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${ecokosova.monitoring.write-behind.max-batch-size:5000}") int maxBatchSize
+    ) {
+        this.fillLevelFlushScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("fill-flush-"));
+        FillLevelWriteBehindBuffer buffer = new FillLevelWriteBehindBuffer(
+            monitoringService,
+            kontenierRepository,
+            containerReadModel,
+            fillLevelFlushScheduler,
+            flushIntervalMs,
+            maxBatchSize
         );
+        buffer.start();
+        return buffer;
+    }
+    
+    /**
+     * Pool-i i rrugëve, i përbashkët për routeOptimizationService dhe collectionCyclePlanner.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public RouteExecutor routeExecutor(
+            @Value("${ecokosova.routes.parallelism:0}") int parallelism,
+            @Value("${ecokosova.routes.queue-capacity:256}") int queueCapacity
+    ) {
+        return new RouteExecutor(createRouteExecutor(parallelism, queueCapacity));
     }
     
     @Bean
     public RouteOptimizationService routeOptimizationService(
+            KontenierRepository kontenierRepository,
+            @Value("${ecokosova.routes.local-search.time-budget-ms:500}") long localSearchTimeBudgetMs,
+            RouteExecutor routeExecutor,
+            ZoneDistanceMatrixCache zoneDistanceMatrixCache
+    ) {
+        return new RouteOptimizationService(
+            kontenierRepository,
+            localSearchTimeBudgetMs,
+            routeExecutor.executor(),
+            zoneDistanceMatrixCache
+        );
+    }
+    
+    @Bean
+    public ZoneDistanceMatrixCache zoneDistanceMatrixCache(
+            @Value("${ecokosova.routes.distance-cache.max-zone-containers:2000}") int maxZoneContainers,
+            @Value("${ecokosova.routes.distance-cache.max-memory-mb:128}") long maxMemoryMb
+    ) {
+        return new ZoneDistanceMatrixCache(maxZoneContainers, maxMemoryMb * 1024 * 1024);
+    }
+    
+    /**
+     * Read model-i i kontejnerëve; KontenierRepository e përditëson pas çdo commit-i.
+     */
+    @Bean
+    public ContainerReadModel containerReadModel() {
+        return new ContainerReadModel();
+    }
+    
+    /**
+     * Mbush read model-in pasi janë krijuar të gjitha beans, para se të startojë serveri.
+     * (Një bean i veçantë: KontenierRepository varet nga read model-i.)
+     */
+    @Bean
+    public SmartInitializingSingleton containerReadModelLoader(
+            ContainerReadModel containerReadModel,
             KontenierRepository kontenierRepository
     ) {
-        return new RouteOptimizationService(kontenierRepository);
+        return () -> containerReadModel.load(kontenierRepository);
+    }
+    
+    @Bean
+    public LiveRouteService liveRouteService(
+            KontenierRepository kontenierRepository,
+            RouteOptimizationService routeOptimizationService,
+            @Value("${ecokosova.routes.live.start-lat:42.6629}") double startLat,
+            @Value("${ecokosova.routes.live.start-lon:21.1655}") double startLon,
+            @Value("${ecokosova.routes.live.rebuild-threshold:64}") int rebuildThreshold
+    ) {
+        return new LiveRouteService(
+            kontenierRepository,
+            routeOptimizationService,
+            new Coordinates(startLat, startLon),
+            rebuildThreshold
+        );
+    }
+    
+    @Bean
+    public FleetRoutingService fleetRoutingService(
+            KontenierRepository kontenierRepository,
+            KamioniRepository kamioniRepository,
+            @Value("${ecokosova.routes.fleet.seed:42}") long seed,
+            @Value("${ecokosova.routes.fleet.time-budget-ms:2000}") long timeBudgetMs
+    ) {
+        return new FleetRoutingService(
+            kontenierRepository,
+            kamioniRepository,
+            new CapacitatedRoutingEngine(seed, timeBudgetMs)
+        );
+    }
+    
+    @Bean
+    public CollectionCyclePlanner collectionCyclePlanner(
+            CikliMbledhjesRepository cikliRepository,
+            KontenierRepository kontenierRepository,
+            KamioniRepository kamioniRepository,
+            RouteOptimizationService routeOptimizationService,
+            RouteExecutor routeExecutor,
+            @Value("${ecokosova.cycles.shift-minutes:480}") int shiftMinutes
+    ) {
+        return new CollectionCyclePlanner(
+            cikliRepository,
+            kontenierRepository,
+            kamioniRepository,
+            routeOptimizationService,
+            routeExecutor.executor(),
+            shiftMinutes
+        );
+    }
+    
+    @Bean
+    public RouteJobService routeJobService(
+            KontenierRepository kontenierRepository,
+            RouteOptimizationService routeOptimizationService,
+            @Value("${ecokosova.routes.jobs.threads:2}") int threads,
+            @Value("${ecokosova.routes.jobs.queue-capacity:16}") int queueCapacity,
+            @Value("${ecokosova.routes.jobs.max-finished:100}") int maxFinishedJobs
+    ) {
+        this.routeJobExecutor = createRouteJobExecutor(threads, queueCapacity);
+        return new RouteJobService(
+            kontenierRepository,
+            routeOptimizationService,
+            routeJobExecutor,
+            maxFinishedJobs
+        );
+    }
+    
+    @PreDestroy
+    public void shutdownExecutors() {
+        if (routeJobExecutor != null) {
+            routeJobExecutor.shutdownNow();
+        }
+        // Buffer-i bën flush-in e fundit në close(), para këtij hapi
+        if (fillLevelFlushScheduler != null) {
+            fillLevelFlushScheduler.shutdown();
+        }
+    }
+    
+    /**
+     * Thread pool i kufizuar për llogaritjen paralele të rrugëve të zonave.
+     * Parallelism 0 do të thotë një thread për çdo CPU.
+     * Radha është e kufizuar; kur mbushet, detyra refuzohet (AbortPolicy).
+     * Thirrësit e trajtojnë refuzimin vetë: RouteOptimizationService i raporton
+     * zonat si të papërfunduara (X-Routes-Unfinished-Zones), kështu që afati i
+     * kërkesës nuk shkelet nga llogaritje në thread-in e kërkesës.
+     */
+    private ExecutorService createRouteExecutor(int parallelism, int queueCapacity) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(
+            threads, threads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            daemonThreadFactory("route-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+    
+    /**
+     * Thread pool për route jobs, i ndarë nga pool-i i @Async dhe nga routeExecutor.
+     * Radha është e kufizuar; kur mbushet, job-i i ri refuzohet.
+     */
+    private ExecutorService createRouteJobExecutor(int threads, int queueCapacity) {
+        return new ThreadPoolExecutor(
+            threads, threads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            daemonThreadFactory("route-job-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+    
+    private ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package eco.kosova.presentation.config;
 
 import eco.kosova.application.handlers.*;
-import eco.kosova.domain.events.DomainEventPublisher;
 import eco.kosova.domain.repositories.KontenierRepository;
 import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.domain.services.ContainerReadModel;
+import eco.kosova.domain.services.FillLevelWriteBehindBuffer;
+import eco.kosova.domain.services.LiveRouteService;
 import eco.kosova.domain.services.WasteMonitoringService;
+import eco.kosova.domain.services.ZoneDistanceMatrixCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,17 +21,23 @@ public class HandlerConfig {
     
     @Bean
     public UpdateContainerFillLevelHandler updateContainerFillLevelHandler(
+            FillLevelWriteBehindBuffer fillLevelBuffer
+    ) {
+        return new UpdateContainerFillLevelHandler(fillLevelBuffer);
+    }
+    
+    @Bean
+    public IngestFillLevelsHandler ingestFillLevelsHandler(
             WasteMonitoringService monitoringService
     ) {
-        return new UpdateContainerFillLevelHandler(monitoringService);
+        return new IngestFillLevelsHandler(monitoringService);
     }
     
     @Bean
     public ScheduleCollectionHandler scheduleCollectionHandler(
-            KontenierRepository kontenierRepository,
-            DomainEventPublisher eventPublisher
+            KontenierRepository kontenierRepository
     ) {
-        return new ScheduleCollectionHandler(kontenierRepository, eventPublisher);
+        return new ScheduleCollectionHandler(kontenierRepository);
     }
     
     @Bean
@@ -57,17 +66,25 @@ public class HandlerConfig {
     @Bean
     public UpdateContainerHandler updateContainerHandler(
             KontenierRepository kontenierRepository,
-            ZoneRepository zoneRepository
+            ZoneRepository zoneRepository,
+            ZoneDistanceMatrixCache zoneDistanceMatrixCache,
+            LiveRouteService liveRouteService
     ) {
-        return new UpdateContainerHandler(kontenierRepository, zoneRepository);
+        return new UpdateContainerHandler(
+            kontenierRepository, zoneRepository, zoneDistanceMatrixCache, liveRouteService
+        );
     }
     
     @Bean
     public DeleteContainerHandler deleteContainerHandler(
             KontenierRepository kontenierRepository,
-            ZoneRepository zoneRepository
+            ZoneRepository zoneRepository,
+            ZoneDistanceMatrixCache zoneDistanceMatrixCache,
+            LiveRouteService liveRouteService
     ) {
-        return new DeleteContainerHandler(kontenierRepository, zoneRepository);
+        return new DeleteContainerHandler(
+            kontenierRepository, zoneRepository, zoneDistanceMatrixCache, liveRouteService
+        );
     }
     
     @Bean
@@ -96,23 +113,30 @@ public class HandlerConfig {
     
     @Bean
     public GetAllContainersHandler getAllContainersHandler(
+            ContainerReadModel containerReadModel
+    ) {
+        return new GetAllContainersHandler(containerReadModel);
+    }
+    
+    @Bean
+    public GetContainersPageHandler getContainersPageHandler(
             KontenierRepository kontenierRepository
     ) {
-        return new GetAllContainersHandler(kontenierRepository);
+        return new GetContainersPageHandler(kontenierRepository);
     }
     
     @Bean
     public GetContainersByZoneHandler getContainersByZoneHandler(
-            KontenierRepository kontenierRepository
+            ContainerReadModel containerReadModel
     ) {
-        return new GetContainersByZoneHandler(kontenierRepository);
+        return new GetContainersByZoneHandler(containerReadModel);
     }
     
     @Bean
     public GetCriticalContainersHandler getCriticalContainersHandler(
-            KontenierRepository kontenierRepository
+            ContainerReadModel containerReadModel
     ) {
-        return new GetCriticalContainersHandler(kontenierRepository);
+        return new GetCriticalContainersHandler(containerReadModel);
     }
     
     @Bean
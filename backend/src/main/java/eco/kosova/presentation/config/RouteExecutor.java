@@ -0,0 +1,27 @@
+package eco.kosova.presentation.config;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Pool-i i përbashkët për llogaritjen e rrugëve, si bean më vete.
+ *
+ * Nuk e implementon {@link java.util.concurrent.Executor}: një Executor bean
+ * e çaktivizon applicationTaskExecutor-in për @Async.
+ */
+public final class RouteExecutor {
+    
+    private final ExecutorService executor;
+    
+    public RouteExecutor(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+    }
+    
+    public ExecutorService executor() {
+        return executor;
+    }
+    
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,6 +1,7 @@
 package eco.kosova.presentation.config;
 
 import eco.kosova.infrastructure.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -54,6 +55,9 @@ public class SecurityConfig {
                 )
             )
             .authorizeHttpRequests(auth -> auth
+                // Dispatch-i ASYNC (p.sh. pas eksporteve me StreamingResponseBody) i takon
+                // një request-i të autorizuar tashmë; filtri JWT nuk ekzekutohet në të
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(
                     "/api/auth/**", 
                     "/api/monitoring/**", 
@@ -0,0 +1,34 @@
+package eco.kosova.presentation.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO për request të përditësimit të fill level në grup (gateway i sensorëve).
+ */
+@Data
+public class BulkFillLevelRequest {
+    
+    // Një lexim i pavlefshëm refuzon gjithë grupin me 400, para se të preket databaza
+    @NotEmpty(message = "Duhet të paktën një lexim")
+    @Size(max = 50_000, message = "Maksimumi 50000 lexime për request")
+    private List<@NotNull(message = "Leximi nuk mund të jetë bosh") @Valid Reading> readings;
+    
+    @Data
+    public static class Reading {
+        @NotBlank(message = "Container ID është i detyrueshëm")
+        private String containerId;
+        
+        @Min(value = 0, message = "Fill level nuk mund të jetë negativ")
+        @Max(value = 100, message = "Fill level nuk mund të jetë më i madh se 100%")
+        private int fillLevel;
+    }
+}
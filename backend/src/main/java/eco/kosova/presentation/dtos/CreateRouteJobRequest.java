@@ -0,0 +1,24 @@
+package eco.kosova.presentation.dtos;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CreateRouteJobRequest {
+    
+    // Bosh ose null: të gjitha zonat
+    private List<String> zoneIds;
+    
+    private String strategy = "OPTIMAL";
+    
+    @DecimalMin(value = "-90.0", message = "Latitude duhet të jetë >= -90")
+    @DecimalMax(value = "90.0", message = "Latitude duhet të jetë <= 90")
+    private double startLat = 42.6629;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude duhet të jetë >= -180")
+    @DecimalMax(value = "180.0", message = "Longitude duhet të jetë <= 180")
+    private double startLon = 21.1655;
+}
@@ -0,0 +1,27 @@
+package eco.kosova.presentation.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO për planin e rrugëve të cikleve të mbledhjes për një ditë.
+ */
+public class CyclePlanDTO {
+    private LocalDate date;
+    private int routeCount;
+    private double totalDistanceKm;
+    private List<CycleRouteDTO> routes;
+    
+    // Getters & Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    
+    public int getRouteCount() { return routeCount; }
+    public void setRouteCount(int routeCount) { this.routeCount = routeCount; }
+    
+    public double getTotalDistanceKm() { return totalDistanceKm; }
+    public void setTotalDistanceKm(double totalDistanceKm) { this.totalDistanceKm = totalDistanceKm; }
+    
+    public List<CycleRouteDTO> getRoutes() { return routes; }
+    public void setRoutes(List<CycleRouteDTO> routes) { this.routes = routes; }
+}
@@ -0,0 +1,55 @@
+package eco.kosova.presentation.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO për rrugën e një cikli mbledhjeje brenda dritares së turnit.
+ */
+public class CycleRouteDTO {
+    private String cikliId;
+    private String zoneId;
+    private String kamioniId;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private LocalDateTime finishTime;
+    private int loadLiters;
+    private int capacityLiters;
+    private double totalDistanceKm;
+    private int deferredContainerCount;
+    private List<CycleStopDTO> stops;
+    
+    // Getters & Setters
+    public String getCikliId() { return cikliId; }
+    public void setCikliId(String cikliId) { this.cikliId = cikliId; }
+    
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+    
+    public String getKamioniId() { return kamioniId; }
+    public void setKamioniId(String kamioniId) { this.kamioniId = kamioniId; }
+    
+    public LocalDateTime getWindowStart() { return windowStart; }
+    public void setWindowStart(LocalDateTime windowStart) { this.windowStart = windowStart; }
+    
+    public LocalDateTime getWindowEnd() { return windowEnd; }
+    public void setWindowEnd(LocalDateTime windowEnd) { this.windowEnd = windowEnd; }
+    
+    public LocalDateTime getFinishTime() { return finishTime; }
+    public void setFinishTime(LocalDateTime finishTime) { this.finishTime = finishTime; }
+    
+    public int getLoadLiters() { return loadLiters; }
+    public void setLoadLiters(int loadLiters) { this.loadLiters = loadLiters; }
+    
+    public int getCapacityLiters() { return capacityLiters; }
+    public void setCapacityLiters(int capacityLiters) { this.capacityLiters = capacityLiters; }
+    
+    public double getTotalDistanceKm() { return totalDistanceKm; }
+    public void setTotalDistanceKm(double totalDistanceKm) { this.totalDistanceKm = totalDistanceKm; }
+    
+    public int getDeferredContainerCount() { return deferredContainerCount; }
+    public void setDeferredContainerCount(int deferredContainerCount) { this.deferredContainerCount = deferredContainerCount; }
+    
+    public List<CycleStopDTO> getStops() { return stops; }
+    public void setStops(List<CycleStopDTO> stops) { this.stops = stops; }
+}
@@ -0,0 +1,30 @@
+package eco.kosova.presentation.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO për një ndalesë (kontejner) në rrugën e një cikli.
+ */
+public class CycleStopDTO {
+    private String containerId;
+    private double latitude;
+    private double longitude;
+    private int fillLevel;
+    private LocalDateTime estimatedArrival;
+    
+    // Getters & Setters
+    public String getContainerId() { return containerId; }
+    public void setContainerId(String containerId) { this.containerId = containerId; }
+    
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+    
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+    
+    public int getFillLevel() { return fillLevel; }
+    public void setFillLevel(int fillLevel) { this.fillLevel = fillLevel; }
+    
+    public LocalDateTime getEstimatedArrival() { return estimatedArrival; }
+    public void setEstimatedArrival(LocalDateTime estimatedArrival) { this.estimatedArrival = estimatedArrival; }
+}
@@ -0,0 +1,17 @@
+package eco.kosova.presentation.dtos;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO për përgjigjen e përditësimit të fill level në grup.
+ */
+@Data
+public class FillLevelIngestResponseDTO {
+    private int receivedReadings;
+    private int updatedContainers;
+    private int affectedZones;
+    private int updatedZones;
+    private List<String> unknownContainerIds;
+}
@@ -0,0 +1,22 @@
+package eco.kosova.presentation.dtos;
+
+import java.util.List;
+
+/**
+ * DTO për planin e rrugëve të flotës (një rrugë për kamion).
+ */
+public class FleetRoutePlanDTO {
+    private List<TruckRouteDTO> routes;
+    private List<ContainerResponseDTO> unassignedContainers;
+    private double totalDistanceKm;
+    
+    // Getters & Setters
+    public List<TruckRouteDTO> getRoutes() { return routes; }
+    public void setRoutes(List<TruckRouteDTO> routes) { this.routes = routes; }
+    
+    public List<ContainerResponseDTO> getUnassignedContainers() { return unassignedContainers; }
+    public void setUnassignedContainers(List<ContainerResponseDTO> unassignedContainers) { this.unassignedContainers = unassignedContainers; }
+    
+    public double getTotalDistanceKm() { return totalDistanceKm; }
+    public void setTotalDistanceKm(double totalDistanceKm) { this.totalDistanceKm = totalDistanceKm; }
+}
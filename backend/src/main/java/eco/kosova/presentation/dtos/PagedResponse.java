@@ -5,7 +5,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.function.Function;
 
+/**
+ * Faqe rezultatesh. Me offset (page/size) plotësohen totalet; me keyset
+ * (?after=) totalet nuk llogariten dhe janë -1. nextCursor është ID-ja e
+ * fundit kur ka faqe të tjera sipas renditjes me ID.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,8 +23,13 @@ public class PagedResponse<T> {
     private int totalPages;
     private boolean first;
     private boolean last;
+    private String nextCursor;
     
     public static <T> PagedResponse<T> of(List<T> content, int page, int size, long totalElements) {
+        return of(content, page, size, totalElements, null);
+    }
+    
+    public static <T> PagedResponse<T> of(List<T> content, int page, int size, long totalElements, String nextCursor) {
         int totalPages = (int) Math.ceil((double) totalElements / size);
         return new PagedResponse<>(
             content,
@@ -27,8 +38,20 @@ public class PagedResponse<T> {
             totalElements,
             totalPages,
             page == 0,
-            page >= totalPages - 1
+            page >= totalPages - 1,
+            nextCursor
         );
     }
+    
+    public static <T> PagedResponse<T> ofCursor(List<T> content, int size, boolean first, String nextCursor) {
+        return new PagedResponse<>(content, -1, size, -1, -1, first, nextCursor == null, nextCursor);
+    }
+    
+    /**
+     * Cursor-i për faqen e radhës: ID-ja e elementit të fundit kur faqja
+     * është plot, përndryshe null.
+     */
+    public static <E> String nextCursor(List<E> items, int size, Function<E, String> idOf) {
+        return items.size() == size && !items.isEmpty() ? idOf.apply(items.get(items.size() - 1)) : null;
+    }
 }
-
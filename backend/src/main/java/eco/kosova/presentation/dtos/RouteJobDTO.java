@@ -0,0 +1,63 @@
+package eco.kosova.presentation.dtos;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO për statusin e një job-i asinkron të llogaritjes së rrugëve.
+ */
+public class RouteJobDTO {
+    private String jobId;
+    private String status;
+    private String strategy;
+    private int zoneCount;
+    private int completedSteps;
+    private int totalSteps;
+    private double progress;
+    private double bestCostKm;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+    private List<RouteResponseDTO> routes;
+    
+    // Getters & Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getStrategy() { return strategy; }
+    public void setStrategy(String strategy) { this.strategy = strategy; }
+    
+    public int getZoneCount() { return zoneCount; }
+    public void setZoneCount(int zoneCount) { this.zoneCount = zoneCount; }
+    
+    public int getCompletedSteps() { return completedSteps; }
+    public void setCompletedSteps(int completedSteps) { this.completedSteps = completedSteps; }
+    
+    public int getTotalSteps() { return totalSteps; }
+    public void setTotalSteps(int totalSteps) { this.totalSteps = totalSteps; }
+    
+    public double getProgress() { return progress; }
+    public void setProgress(double progress) { this.progress = progress; }
+    
+    public double getBestCostKm() { return bestCostKm; }
+    public void setBestCostKm(double bestCostKm) { this.bestCostKm = bestCostKm; }
+    
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+    
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    
+    public List<RouteResponseDTO> getRoutes() { return routes; }
+    public void setRoutes(List<RouteResponseDTO> routes) { this.routes = routes; }
+}
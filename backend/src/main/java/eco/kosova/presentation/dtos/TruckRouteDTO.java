@@ -0,0 +1,38 @@
+package eco.kosova.presentation.dtos;
+
+import java.util.List;
+
+/**
+ * DTO për rrugën e një kamioni në planin e flotës.
+ */
+public class TruckRouteDTO {
+    private String kamioniId;
+    private String licensePlate;
+    private int capacityLiters;
+    private int loadLiters;
+    private int containerCount;
+    private double totalDistanceKm;
+    private List<ContainerResponseDTO> containers;
+    
+    // Getters & Setters
+    public String getKamioniId() { return kamioniId; }
+    public void setKamioniId(String kamioniId) { this.kamioniId = kamioniId; }
+    
+    public String getLicensePlate() { return licensePlate; }
+    public void setLicensePlate(String licensePlate) { this.licensePlate = licensePlate; }
+    
+    public int getCapacityLiters() { return capacityLiters; }
+    public void setCapacityLiters(int capacityLiters) { this.capacityLiters = capacityLiters; }
+    
+    public int getLoadLiters() { return loadLiters; }
+    public void setLoadLiters(int loadLiters) { this.loadLiters = loadLiters; }
+    
+    public int getContainerCount() { return containerCount; }
+    public void setContainerCount(int containerCount) { this.containerCount = containerCount; }
+    
+    public double getTotalDistanceKm() { return totalDistanceKm; }
+    public void setTotalDistanceKm(double totalDistanceKm) { this.totalDistanceKm = totalDistanceKm; }
+    
+    public List<ContainerResponseDTO> getContainers() { return containers; }
+    public void setContainers(List<ContainerResponseDTO> containers) { this.containers = containers; }
+}
@@ -0,0 +1,12 @@
+-- idx_containers_zoneId_operational: fillLevel bëhet kolonë çelësi në vend të INCLUDE,
+-- si në ContainerEntity (@Index nuk shpreh INCLUDE). Indeksi mbetet mbulues për
+-- aggregateByZone dhe tani lejon edhe filtrimin sipas fillLevel brenda zonës.
+
+IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_containers_zoneId_operational' AND object_id = OBJECT_ID('dbo.Containers'))
+BEGIN
+    CREATE INDEX idx_containers_zoneId_operational ON dbo.Containers(zoneId, operational, fillLevel) WITH (DROP_EXISTING = ON);
+END
+ELSE
+BEGIN
+    CREATE INDEX idx_containers_zoneId_operational ON dbo.Containers(zoneId, operational, fillLevel);
+END;
@@ -0,0 +1,45 @@
+-- Indekse të përbëra dhe mbuluese për queries e ContainerEntityRepository
+-- dhe CikliMbledhjesEntityRepository. Kolonat e barazisë vijnë para kolonës
+-- së intervalit (fillLevel).
+
+-- findCriticalNotMarkedFull, findContainersNeedingCollection, findByStatus
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_containers_status_operational_fillLevel' AND object_id = OBJECT_ID('dbo.Containers'))
+BEGIN
+    CREATE INDEX idx_containers_status_operational_fillLevel ON dbo.Containers(status, operational, fillLevel);
+END;
+
+-- aggregateByZone, findOperationalByZoneId, findByZone_Id, countByZone_Id.
+-- fillLevel në INCLUDE: agregati lexohet vetëm nga indeksi.
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_containers_zoneId_operational' AND object_id = OBJECT_ID('dbo.Containers'))
+BEGIN
+    CREATE INDEX idx_containers_zoneId_operational ON dbo.Containers(zoneId, operational) INCLUDE (fillLevel);
+END;
+
+-- findCriticalContainers
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_containers_fillLevel' AND object_id = OBJECT_ID('dbo.Containers'))
+BEGIN
+    CREATE INDEX idx_containers_fillLevel ON dbo.Containers(fillLevel);
+END;
+
+-- Indekset me një kolonë mbulohen nga prefiksi i indekseve të përbëra
+IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_containers_zoneId' AND object_id = OBJECT_ID('dbo.Containers'))
+BEGIN
+    DROP INDEX idx_containers_zoneId ON dbo.Containers;
+END;
+
+IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_containers_status' AND object_id = OBJECT_ID('dbo.Containers'))
+BEGIN
+    DROP INDEX idx_containers_status ON dbo.Containers;
+END;
+
+-- findByKamioniId
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_ciklet_kamioniId' AND object_id = OBJECT_ID('dbo.CikletMbledhjes'))
+BEGIN
+    CREATE INDEX idx_ciklet_kamioniId ON dbo.CikletMbledhjes(kamioniId);
+END;
+
+-- Kërkimi i cikleve sipas ditës; çelësi primar (cikliId, dayOfWeek) nuk ndihmon
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_cikli_days_dayOfWeek' AND object_id = OBJECT_ID('dbo.CikliCollectionDays'))
+BEGIN
+    CREATE INDEX idx_cikli_days_dayOfWeek ON dbo.CikliCollectionDays(dayOfWeek, cikliId);
+END;
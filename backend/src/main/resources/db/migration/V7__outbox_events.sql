@@ -0,0 +1,40 @@
+-- Outbox për domain events (shkruhet në të njëjtin transaksion me kontejnerët)
+-- dhe shënimet e dedupe të handler-ave. Pasqyron OutboxEventEntity dhe
+-- ProcessedEventEntity.
+
+-- Hapi duhet të përputhet me allocationSize të OutboxEventEntity
+IF NOT EXISTS (SELECT * FROM sys.sequences WHERE name = 'OutboxEvents_seq')
+BEGIN
+    CREATE SEQUENCE dbo.OutboxEvents_seq START WITH 1 INCREMENT BY 500;
+END;
+
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[OutboxEvents]') AND type = N'U')
+BEGIN
+    CREATE TABLE [dbo].[OutboxEvents] (
+        [seq]          BIGINT         NOT NULL PRIMARY KEY,
+        [eventId]      NVARCHAR(36)   NOT NULL,
+        [eventType]    NVARCHAR(100)  NOT NULL,
+        [aggregateId]  NVARCHAR(50)   NOT NULL,
+        [payload]      NVARCHAR(1000) NOT NULL,
+        [occurredOn]   DATETIME2      NOT NULL
+    );
+END;
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_outbox_eventId' AND object_id = OBJECT_ID('dbo.OutboxEvents'))
+BEGIN
+    CREATE UNIQUE INDEX idx_outbox_eventId ON dbo.OutboxEvents(eventId);
+END;
+
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[ProcessedEvents]') AND type = N'U')
+BEGIN
+    CREATE TABLE [dbo].[ProcessedEvents] (
+        [id]           NVARCHAR(150)  NOT NULL PRIMARY KEY,
+        [processedAt]  DATETIME2      NOT NULL
+    );
+END;
+
+-- purgeBefore
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_processed_processedAt' AND object_id = OBJECT_ID('dbo.ProcessedEvents'))
+BEGIN
+    CREATE INDEX idx_processed_processedAt ON dbo.ProcessedEvents(processedAt);
+END;
@@ -0,0 +1,12 @@
+-- Retry i eventeve të outbox-it që dështuan te handler-at.
+-- Pasqyron OutboxEventEntity (attempts, retryAt).
+
+IF COL_LENGTH('dbo.OutboxEvents', 'attempts') IS NULL
+BEGIN
+    ALTER TABLE dbo.OutboxEvents ADD [attempts] INT NOT NULL CONSTRAINT DF_OutboxEvents_attempts DEFAULT 0;
+END;
+
+IF COL_LENGTH('dbo.OutboxEvents', 'retryAt') IS NULL
+BEGIN
+    ALTER TABLE dbo.OutboxEvents ADD [retryAt] DATETIME2 NULL;
+END;
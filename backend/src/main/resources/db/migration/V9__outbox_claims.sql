@@ -0,0 +1,13 @@
+-- Marrja e rreshtave të outbox-it nga një relay (disa instanca mbi të njëjtën databazë).
+-- Pasqyron OutboxEventEntity (claimToken); retryAt përdoret edhe si afati i marrjes.
+
+IF COL_LENGTH('dbo.OutboxEvents', 'claimToken') IS NULL
+BEGIN
+    ALTER TABLE dbo.OutboxEvents ADD [claimToken] NVARCHAR(36) NULL;
+END;
+
+-- findClaimed
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_outbox_claimToken' AND object_id = OBJECT_ID('dbo.OutboxEvents'))
+BEGIN
+    CREATE INDEX idx_outbox_claimToken ON dbo.OutboxEvents(claimToken);
+END;
@@ -0,0 +1,51 @@
+package eco.kosova.application.handlers;
+
+import eco.kosova.application.commands.DeleteContainerCommand;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.domain.services.LiveRouteService;
+import eco.kosova.domain.services.ZoneDistanceMatrixCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static eco.kosova.domain.TestContainers.ZONE;
+import static eco.kosova.domain.TestContainers.randomContainers;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * DeleteContainerHandler me repository të simuluara dhe ZoneDistanceMatrixCache real.
+ */
+class DeleteContainerHandlerTest {
+
+    private final KontenierRepository kontenierRepository = mock(KontenierRepository.class);
+    private final ZoneRepository zoneRepository = mock(ZoneRepository.class);
+    private final LiveRouteService liveRouteService = mock(LiveRouteService.class);
+    private final ZoneDistanceMatrixCache distanceCache = new ZoneDistanceMatrixCache();
+    private final DeleteContainerHandler handler =
+        new DeleteContainerHandler(kontenierRepository, zoneRepository, distanceCache, liveRouteService);
+
+    @Test
+    void testDeletedContainerLeavesZoneMatrix() {
+        List<Kontenier> containers = randomContainers("DC", 30, 0.1, new Random(1L));
+        distanceCache.matrixFor(ZONE, containers);
+        Kontenier deleted = containers.get(7);
+        when(kontenierRepository.existsById(deleted.getId())).thenReturn(true);
+        when(kontenierRepository.findById(deleted.getId())).thenReturn(Optional.of(deleted));
+        when(kontenierRepository.deleteById(deleted.getId())).thenReturn(true);
+
+        handler.handle(new DeleteContainerCommand(deleted.getId()));
+
+        assertEquals(29, distanceCache.getCachedContainerCount());
+        assertTrue(distanceCache.find(ZONE, containers).isEmpty());
+        List<Kontenier> remaining = containers.stream().filter(k -> k != deleted).toList();
+        assertTrue(distanceCache.find(ZONE, remaining).isPresent());
+        verify(liveRouteService).remove(deleted.getId());
+    }
+}
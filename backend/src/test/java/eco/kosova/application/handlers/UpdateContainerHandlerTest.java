@@ -0,0 +1,92 @@
+package eco.kosova.application.handlers;
+
+import eco.kosova.application.commands.UpdateContainerCommand;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.Zone;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.domain.services.LiveRouteService;
+import eco.kosova.domain.services.ZoneDistanceMatrixCache;
+import eco.kosova.domain.services.ZoneDistanceMatrixCache.DistanceMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static eco.kosova.domain.TestContainers.ZONE;
+import static eco.kosova.domain.TestContainers.randomContainers;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * UpdateContainerHandler me repository të simuluara dhe ZoneDistanceMatrixCache real:
+ * zhvendosja dhe ndryshimi i zonës nuk duhet të lënë distanca të vjetra në matricë.
+ */
+class UpdateContainerHandlerTest {
+
+    private final KontenierRepository kontenierRepository = mock(KontenierRepository.class);
+    private final ZoneRepository zoneRepository = mock(ZoneRepository.class);
+    private final LiveRouteService liveRouteService = mock(LiveRouteService.class);
+    private final ZoneDistanceMatrixCache distanceCache = new ZoneDistanceMatrixCache();
+    private final UpdateContainerHandler handler =
+        new UpdateContainerHandler(kontenierRepository, zoneRepository, distanceCache, liveRouteService);
+
+    private final List<Kontenier> containers = randomContainers("UC", 30, 0.1, new Random(2L));
+
+    @Test
+    void testMovedContainerIsRecomputed() {
+        distanceCache.matrixFor(ZONE, containers);
+        Kontenier moved = stored(containers.get(4));
+        long computed = distanceCache.getComputedDistances();
+
+        handler.handle(command(moved.getId(), null, 42.70, 21.20));
+
+        assertEquals(29, distanceCache.getCachedContainerCount());
+        DistanceMatrix matrix = distanceCache.matrixFor(ZONE, containers);
+        for (int j = 0; j < containers.size(); j++) {
+            assertEquals(moved.getLocation().distanceTo(containers.get(j).getLocation()), matrix.distance(4, j), 1e-6);
+        }
+        // Vetëm rreshti i kontejnerit të zhvendosur rillogaritet
+        assertEquals(computed + 29, distanceCache.getComputedDistances());
+        verify(liveRouteService).refresh(moved);
+    }
+
+    @Test
+    void testUnchangedLocationKeepsMatrix() {
+        distanceCache.matrixFor(ZONE, containers);
+        Kontenier updated = stored(containers.get(4));
+
+        handler.handle(command(updated.getId(), null,
+            updated.getLocation().getLatitude(), updated.getLocation().getLongitude()));
+
+        assertTrue(distanceCache.find(ZONE, containers).isPresent());
+    }
+
+    @Test
+    void testContainerLeavesOldZoneMatrixOnZoneChange() {
+        distanceCache.matrixFor(ZONE, containers);
+        Kontenier relocated = stored(containers.get(9));
+        when(zoneRepository.findById("ZONE-NEW")).thenReturn(Optional.of(mock(Zone.class)));
+
+        handler.handle(command(relocated.getId(), "ZONE-NEW",
+            relocated.getLocation().getLatitude(), relocated.getLocation().getLongitude()));
+
+        assertEquals("ZONE-NEW", relocated.getZoneId());
+        assertEquals(29, distanceCache.getCachedContainerCount());
+        List<Kontenier> remaining = containers.stream().filter(k -> k != relocated).toList();
+        assertTrue(distanceCache.find(ZONE, remaining).isPresent());
+        assertTrue(distanceCache.find(ZONE, containers).isEmpty());
+    }
+
+    private Kontenier stored(Kontenier container) {
+        when(kontenierRepository.findById(container.getId())).thenReturn(Optional.of(container));
+        return container;
+    }
+
+    private static UpdateContainerCommand command(String id, String zoneId, double latitude, double longitude) {
+        return new UpdateContainerCommand(id, zoneId, null, 1000, latitude, longitude, null, null, null, null, true, null);
+    }
+}
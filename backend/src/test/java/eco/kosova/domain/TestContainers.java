@@ -0,0 +1,88 @@
+package eco.kosova.domain;
+
+import eco.kosova.domain.models.Kamioni;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Address;
+import eco.kosova.domain.models.valueobjects.ContainerType;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fixture i përbashkët për testet: kontejnerë dhe kamionë rreth një depoje në Prishtinë.
+ */
+public final class TestContainers {
+
+    public static final String ZONE = "ZONE-T";
+    public static final Coordinates DEPOT = new Coordinates(42.6629, 21.1655);
+    public static final int CAPACITY = 1000;
+
+    private TestContainers() {
+    }
+
+    /**
+     * Kontejner GENERAL në zonën {@link #ZONE}, bosh
+     */
+    public static Kontenier container(String id, double latitude, double longitude) {
+        return container(id, ZONE, ContainerType.GENERAL, CAPACITY, latitude, longitude);
+    }
+
+    public static Kontenier container(
+            String id,
+            String zoneId,
+            ContainerType type,
+            int capacity,
+            double latitude,
+            double longitude
+    ) {
+        return new Kontenier(
+            id,
+            zoneId,
+            type,
+            capacity,
+            new Coordinates(latitude, longitude),
+            address(id)
+        );
+    }
+
+    /**
+     * Kontejnerë të shpërndarë rastësisht rreth {@link #DEPOT}, me ID "prefix-i"
+     *
+     * @param spreadDegrees Gjerësia e katrorit (gradë) rreth depos
+     */
+    public static List<Kontenier> randomContainers(String prefix, int count, double spreadDegrees, Random random) {
+        List<Kontenier> containers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            containers.add(container(String.format("%s-%04d", prefix, i),
+                DEPOT.getLatitude() + (random.nextDouble() - 0.5) * spreadDegrees,
+                DEPOT.getLongitude() + (random.nextDouble() - 0.5) * spreadDegrees));
+        }
+        return containers;
+    }
+
+    /**
+     * Vendos nivelin e mbushjes dhe kthen të njëjtin kontejner
+     */
+    public static Kontenier filled(Kontenier container, int fillLevel) {
+        container.updateFillLevel(fillLevel);
+        return container;
+    }
+
+    public static Address address(String id) {
+        return new Address("Rruga " + id, "Prishtinë", "Prishtinë", "10000");
+    }
+
+    public static Kamioni truck(String id, int capacity) {
+        return new Kamioni(id, "Kamioni " + id, "01-" + id, capacity, DEPOT, "OP-1", Instant.now());
+    }
+
+    /**
+     * Kërkesa e kontejnerit në litra, si në CapacitatedRoutingEngine dhe CollectionCyclePlanner
+     */
+    public static int demandOf(Kontenier container) {
+        return (int) Math.ceil(container.getCapacity() * container.getFillLevel().getValue() / 100.0);
+    }
+}
@@ -0,0 +1,84 @@
+package eco.kosova.domain.models.valueobjects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests për saktësinë e Coordinates.fastDistanceTo kundrejt Haversine.
+ */
+class CoordinatesTest {
+    
+    // Kufijtë e Kosovës sipas Coordinates.isInKosovo
+    private static final double MIN_LAT = 41.8;
+    private static final double MAX_LAT = 43.3;
+    private static final double MIN_LON = 19.9;
+    private static final double MAX_LON = 21.8;
+    
+    @Test
+    void testFastDistanceAccuracyAcrossKosovo() {
+        Random random = new Random(42L);
+        double maxRelativeError = 0.0;
+        
+        for (int i = 0; i < 100_000; i++) {
+            Coordinates a = randomPointInKosovo(random);
+            Coordinates b = randomPointInKosovo(random);
+            double haversine = a.distanceTo(b);
+            if (haversine < 1.0) {
+                continue;
+            }
+            double error = Math.abs(a.fastDistanceTo(b) - haversine) / haversine;
+            maxRelativeError = Math.max(maxRelativeError, error);
+        }
+        
+        // Gabimi relativ maksimal duhet të jetë nën 0.01%
+        assertTrue(maxRelativeError < 1e-4, "Max relative error: " + maxRelativeError);
+    }
+    
+    @Test
+    void testFastDistanceAccuracyForShortDistances() {
+        Random random = new Random(7L);
+        
+        for (int i = 0; i < 100_000; i++) {
+            Coordinates a = randomPointInKosovo(random);
+            // Pika brenda ~2 km, si kontejnerët e një zone
+            Coordinates b = new Coordinates(
+                a.getLatitude() + (random.nextDouble() - 0.5) * 0.02,
+                a.getLongitude() + (random.nextDouble() - 0.5) * 0.02
+            );
+            double haversine = a.distanceTo(b);
+            assertEquals(haversine, a.fastDistanceTo(b), 0.01, "Difference above 1 cm for " + a + " -> " + b);
+        }
+    }
+    
+    @Test
+    void testFastDistanceCorners() {
+        Coordinates southWest = new Coordinates(MIN_LAT, MIN_LON);
+        Coordinates northEast = new Coordinates(MAX_LAT, MAX_LON);
+        Coordinates northWest = new Coordinates(MAX_LAT, MIN_LON);
+        Coordinates southEast = new Coordinates(MIN_LAT, MAX_LON);
+        
+        assertEquals(southWest.distanceTo(northEast), southWest.fastDistanceTo(northEast),
+            southWest.distanceTo(northEast) * 1e-4);
+        assertEquals(northWest.distanceTo(southEast), northWest.fastDistanceTo(southEast),
+            northWest.distanceTo(southEast) * 1e-4);
+    }
+    
+    @Test
+    void testFastDistanceIsSymmetricAndZeroForSamePoint() {
+        Coordinates prishtina = new Coordinates(42.6629, 21.1655);
+        Coordinates prizren = new Coordinates(42.2139, 20.7397);
+        
+        assertEquals(0.0, prishtina.fastDistanceTo(prishtina));
+        assertEquals(prishtina.fastDistanceTo(prizren), prizren.fastDistanceTo(prishtina), 1e-9);
+    }
+    
+    private static Coordinates randomPointInKosovo(Random random) {
+        return new Coordinates(
+            MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT),
+            MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON)
+        );
+    }
+}
@@ -0,0 +1,163 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.TestContainers;
+import eco.kosova.domain.models.Kamioni;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.ContainerType;
+import eco.kosova.domain.services.CapacitatedRoutingEngine.RoutingPlan;
+import eco.kosova.domain.services.CapacitatedRoutingEngine.TruckRoute;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static eco.kosova.domain.TestContainers.DEPOT;
+import static eco.kosova.domain.TestContainers.ZONE;
+import static eco.kosova.domain.TestContainers.container;
+import static eco.kosova.domain.TestContainers.filled;
+import static eco.kosova.domain.TestContainers.randomContainers;
+import static eco.kosova.domain.TestContainers.truck;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Invariantet e planit CVRP: asnjë rrugë mbi kapacitetin e kamionit, çdo
+ * kontejner saktësisht një herë (në rrugë ose i pacaktuar), një rrugë për çdo kamion.
+ */
+class CapacitatedRoutingEngineTest {
+
+    private final CapacitatedRoutingEngine engine = new CapacitatedRoutingEngine(42L, 2000);
+
+    @Test
+    void testRoutesRespectTruckCapacityAndVisitEachContainerOnce() {
+        Random random = new Random(17L);
+        for (int round = 0; round < 10; round++) {
+            List<Kontenier> containers = containers(random, 50 + random.nextInt(300));
+            List<Kamioni> trucks = new ArrayList<>();
+            for (int t = 0; t < 3 + random.nextInt(8); t++) {
+                trucks.add(truck("T-" + t, 4000 + random.nextInt(4) * 2000));
+            }
+
+            RoutingPlan plan = engine.solve(containers, trucks, DEPOT);
+
+            assertValidPlan(containers, trucks, plan);
+        }
+    }
+
+    @Test
+    void testAllContainersRoutedWhenFleetIsLargeEnough() {
+        List<Kontenier> containers = containers(new Random(4L), 120);
+        int totalDemand = containers.stream().mapToInt(TestContainers::demandOf).sum();
+        List<Kamioni> trucks = new ArrayList<>();
+        for (int t = 0; t * 5000 < totalDemand * 2; t++) {
+            trucks.add(truck("T-" + t, 5000));
+        }
+
+        RoutingPlan plan = engine.solve(containers, trucks, DEPOT);
+
+        assertValidPlan(containers, trucks, plan);
+        assertTrue(plan.getUnassignedContainers().isEmpty(), plan.getUnassignedContainers().size() + " unassigned");
+    }
+
+    @Test
+    void testContainerLargerThanEveryTruckIsUnassigned() {
+        List<Kontenier> containers = new ArrayList<>(containers(new Random(8L), 20));
+        Kontenier oversized = filled(container("BIG", ZONE, ContainerType.GENERAL, 50_000,
+            DEPOT.getLatitude() + 0.01, DEPOT.getLongitude()), 100);
+        containers.add(oversized);
+        List<Kamioni> trucks = List.of(truck("T-1", 8000), truck("T-2", 8000));
+
+        RoutingPlan plan = engine.solve(containers, trucks, DEPOT);
+
+        assertValidPlan(containers, trucks, plan);
+        assertTrue(plan.getUnassignedContainers().contains(oversized));
+    }
+
+    @Test
+    void testMoreTrucksThanContainers() {
+        List<Kontenier> containers = containers(new Random(2L), 3);
+        List<Kamioni> trucks = new ArrayList<>();
+        for (int t = 0; t < 10; t++) {
+            trucks.add(truck(String.format("T-%02d", t), 1000 + t * 100));
+        }
+
+        RoutingPlan plan = engine.solve(containers, trucks, DEPOT);
+
+        // Kamionët e tepërt marrin rrugë bosh, jo zhduken nga plani
+        assertValidPlan(containers, trucks, plan);
+        assertTrue(plan.getUnassignedContainers().isEmpty());
+        long idle = plan.getRoutes().stream().filter(route -> route.getContainers().isEmpty()).count();
+        assertTrue(idle >= trucks.size() - containers.size(), idle + " idle trucks");
+        plan.getRoutes().stream()
+            .filter(route -> route.getContainers().isEmpty())
+            .forEach(route -> {
+                assertEquals(0, route.getLoadLiters());
+                assertEquals(0.0, route.getTotalDistanceMeters());
+            });
+    }
+
+    @Test
+    void testSingleContainerWithManyTrucks() {
+        List<Kontenier> containers = containers(new Random(1L), 1);
+        List<Kamioni> trucks = List.of(truck("T-1", 2000), truck("T-2", 2000), truck("T-3", 2000));
+
+        RoutingPlan plan = engine.solve(containers, trucks, DEPOT);
+
+        assertValidPlan(containers, trucks, plan);
+        assertEquals(1, plan.getRoutes().stream().filter(route -> !route.getContainers().isEmpty()).count());
+    }
+
+    @Test
+    void testNoContainersGivesEmptyRoutePerTruck() {
+        List<Kamioni> trucks = List.of(truck("T-2", 3000), truck("T-1", 2000));
+
+        RoutingPlan plan = engine.solve(List.of(), trucks, DEPOT);
+
+        assertValidPlan(List.of(), trucks, plan);
+        assertEquals(List.of("T-1", "T-2"),
+            plan.getRoutes().stream().map(route -> route.getTruck().getId()).collect(Collectors.toList()));
+        plan.getRoutes().forEach(route -> assertTrue(route.getContainers().isEmpty()));
+        assertEquals(0.0, plan.getTotalDistanceMeters());
+    }
+
+    @Test
+    void testNoTrucksLeavesEveryContainerUnassigned() {
+        List<Kontenier> containers = containers(new Random(6L), 10);
+
+        RoutingPlan plan = engine.solve(containers, List.of(), DEPOT);
+
+        assertTrue(plan.getRoutes().isEmpty());
+        assertEquals(containers, plan.getUnassignedContainers());
+    }
+
+    private static void assertValidPlan(List<Kontenier> containers, List<Kamioni> trucks, RoutingPlan plan) {
+        // Një rrugë për çdo kamion
+        assertEquals(
+            trucks.stream().map(Kamioni::getId).collect(Collectors.toSet()),
+            plan.getRoutes().stream().map(route -> route.getTruck().getId()).collect(Collectors.toSet())
+        );
+        assertEquals(trucks.size(), plan.getRoutes().size());
+
+        Set<Kontenier> seen = new HashSet<>();
+        for (TruckRoute route : plan.getRoutes()) {
+            int load = route.getContainers().stream().mapToInt(TestContainers::demandOf).sum();
+            assertEquals(load, route.getLoadLiters(), route.getTruck().getId());
+            assertTrue(load <= route.getCapacityLiters(),
+                route.getTruck().getId() + ": " + load + " > " + route.getCapacityLiters());
+            route.getContainers().forEach(container ->
+                assertTrue(seen.add(container), "Visited twice: " + container.getId()));
+        }
+        plan.getUnassignedContainers().forEach(container ->
+            assertTrue(seen.add(container), "Routed and unassigned: " + container.getId()));
+        assertEquals(new HashSet<>(containers), seen);
+    }
+
+    private static List<Kontenier> containers(Random random, int count) {
+        List<Kontenier> containers = randomContainers("CV", count, 0.1, random);
+        containers.forEach(container -> filled(container, 20 + random.nextInt(81)));
+        return containers;
+    }
+}
@@ -0,0 +1,192 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.TestContainers;
+import eco.kosova.domain.models.CikliMbledhjes;
+import eco.kosova.domain.models.Kamioni;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.repositories.CikliMbledhjesRepository;
+import eco.kosova.domain.repositories.KamioniRepository;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.services.CollectionCyclePlanner.CycleRoute;
+import eco.kosova.domain.services.CollectionCyclePlanner.DayPlan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static eco.kosova.domain.TestContainers.DEPOT;
+import static eco.kosova.domain.TestContainers.ZONE;
+import static eco.kosova.domain.TestContainers.filled;
+import static eco.kosova.domain.TestContainers.randomContainers;
+import static eco.kosova.domain.TestContainers.truck;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CollectionCyclePlanner me repository të simuluara: kapaciteti i ciklit dhe
+ * i kamionit, prerja në fund të turnit dhe radha e cikleve të një kamioni.
+ */
+class CollectionCyclePlannerTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+
+    private final CikliMbledhjesRepository cikliRepository = mock(CikliMbledhjesRepository.class);
+    private final KontenierRepository kontenierRepository = mock(KontenierRepository.class);
+    private final KamioniRepository kamioniRepository = mock(KamioniRepository.class);
+    private final RouteOptimizationService routeOptimizationService = new RouteOptimizationService(kontenierRepository);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void createExecutor() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testRoutesRespectCycleAndTruckCapacity() {
+        List<Kontenier> containers = containers(60, 0.02, new Random(1L));
+        CikliMbledhjes cikli = cycle("C-1", LocalTime.of(8, 0), 8000, "T-1");
+        given(containers, List.of(cikli), List.of(truck("T-1", 5000)));
+
+        List<DayPlan> plans = planner(480).planDays(MONDAY, 7, DEPOT);
+
+        assertEquals(7, plans.size());
+        for (DayPlan plan : plans) {
+            CycleRoute route = plan.getRoutes().get(0);
+            assertEquals(5000, route.getCapacityLiters());
+            assertTrue(route.getLoadLiters() <= route.getCapacityLiters(), "Load " + route.getLoadLiters());
+            assertEquals(route.getContainers().stream().mapToInt(TestContainers::demandOf).sum(),
+                route.getLoadLiters());
+            assertEquals(containers.size() - route.getContainers().size(), route.getDeferredContainerCount());
+        }
+    }
+
+    @Test
+    void testRouteIsCutAtEndOfShift() {
+        // Kontejnerë të shpërndarë ~20 km: turni 30 minutësh nuk i mbulon të gjithë
+        List<Kontenier> containers = containers(40, 0.2, new Random(2L));
+        CikliMbledhjes cikli = cycle("C-1", LocalTime.of(8, 0), 1_000_000, null);
+        given(containers, List.of(cikli), List.of());
+
+        CycleRoute route = planner(30).planDay(MONDAY, DEPOT).getRoutes().get(0);
+
+        assertFalse(route.getContainers().isEmpty());
+        assertTrue(route.getContainers().size() < containers.size());
+        assertFalse(route.getFinishTime().isAfter(route.getWindowEnd()), "Finish " + route.getFinishTime());
+        assertEquals(route.getContainers().size(), route.getArrivalTimes().size());
+        LocalDateTime previous = route.getWindowStart();
+        for (LocalDateTime arrival : route.getArrivalTimes()) {
+            assertFalse(arrival.isBefore(previous));
+            assertTrue(arrival.isBefore(route.getWindowEnd()));
+            previous = arrival;
+        }
+        assertEquals(containers.size() - route.getContainers().size(), route.getDeferredContainerCount());
+    }
+
+    @Test
+    void testTruckCyclesDoNotOverlapOrRepeatContainers() {
+        List<Kontenier> containers = containers(80, 0.05, new Random(3L));
+        List<CikliMbledhjes> cycles = List.of(
+            cycle("C-1", LocalTime.of(8, 0), 4000, "T-1"),
+            cycle("C-2", LocalTime.of(8, 30), 4000, "T-1")
+        );
+        given(containers, cycles, List.of(truck("T-1", 4000)));
+
+        List<CycleRoute> routes = planner(240).planDay(MONDAY, DEPOT).getRoutes();
+
+        assertEquals(2, routes.size());
+        CycleRoute first = routes.get(0);
+        CycleRoute second = routes.get(1);
+        assertEquals("C-1", first.getCikliId());
+        assertFalse(second.getArrivalTimes().isEmpty());
+        assertFalse(second.getArrivalTimes().get(0).isBefore(first.getFinishTime()));
+
+        Set<String> visited = new HashSet<>();
+        for (CycleRoute route : routes) {
+            assertTrue(route.getLoadLiters() <= route.getCapacityLiters());
+            assertFalse(route.getFinishTime().isAfter(route.getWindowEnd()));
+            route.getContainers().forEach(container ->
+                assertTrue(visited.add(container.getId()), "Visited twice: " + container.getId()));
+        }
+    }
+
+    @Test
+    void testDaysRejectedByFullPoolArePlannedOnCallingThread() {
+        List<Kontenier> containers = containers(30, 0.02, new Random(4L));
+        CikliMbledhjes cikli = cycle("C-1", LocalTime.of(8, 0), 8000, "T-1");
+        given(containers, List.of(cikli), List.of(truck("T-1", 5000)));
+        CollectionCyclePlanner planner = new CollectionCyclePlanner(
+            cikliRepository,
+            kontenierRepository,
+            kamioniRepository,
+            routeOptimizationService,
+            task -> {
+                throw new RejectedExecutionException("Queue full");
+            },
+            480
+        );
+
+        List<DayPlan> plans = planner.planDays(MONDAY, 3, DEPOT);
+
+        assertEquals(3, plans.size());
+        for (int d = 0; d < plans.size(); d++) {
+            assertEquals(MONDAY.plusDays(d), plans.get(d).getDate());
+            assertFalse(plans.get(d).getRoutes().get(0).getContainers().isEmpty());
+        }
+    }
+
+    private CollectionCyclePlanner planner(int shiftMinutes) {
+        return new CollectionCyclePlanner(
+            cikliRepository,
+            kontenierRepository,
+            kamioniRepository,
+            routeOptimizationService,
+            executor,
+            shiftMinutes
+        );
+    }
+
+    private void given(List<Kontenier> containers, List<CikliMbledhjes> cycles, List<Kamioni> trucks) {
+        when(kontenierRepository.findContainersNeedingCollection()).thenReturn(containers);
+        when(cikliRepository.findByStatus(CikliMbledhjes.CikliStatus.SCHEDULED)).thenReturn(cycles);
+        when(kamioniRepository.findAll()).thenReturn(trucks);
+    }
+
+    private static CikliMbledhjes cycle(String id, LocalTime time, int maxCapacity, String kamioniId) {
+        CikliMbledhjes cikli = new CikliMbledhjes(
+            id,
+            LocalDateTime.of(LocalDate.of(2024, 1, 1), time),
+            maxCapacity,
+            EnumSet.allOf(DayOfWeek.class),
+            ZONE
+        );
+        if (kamioniId != null) {
+            cikli.assignKamioni(kamioniId);
+        }
+        return cikli;
+    }
+
+    private static List<Kontenier> containers(int count, double spreadDegrees, Random random) {
+        List<Kontenier> containers = randomContainers("CP", count, spreadDegrees, random);
+        containers.forEach(container -> filled(container, 50 + random.nextInt(51)));
+        return containers;
+    }
+}
@@ -0,0 +1,198 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.services.ContainerReadModel.ContainerView;
+import eco.kosova.domain.services.WasteMonitoringService.FillLevelIngestSummary;
+import eco.kosova.domain.services.WasteMonitoringService.FillLevelReading;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static eco.kosova.domain.TestContainers.DEPOT;
+import static eco.kosova.domain.TestContainers.container;
+import static eco.kosova.domain.TestContainers.filled;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * FillLevelWriteBehindBuffer me WasteMonitoringService të simuluar: çdo
+ * shkrim regjistrohet dhe përditëson read model-in si pas commit-it.
+ */
+class FillLevelWriteBehindBufferTest {
+
+    private final WasteMonitoringService monitoringService = mock(WasteMonitoringService.class);
+    private final KontenierRepository kontenierRepository = mock(KontenierRepository.class);
+    private final ContainerReadModel readModel = new ContainerReadModel();
+    private final Map<String, Kontenier> containers = new ConcurrentHashMap<>();
+    private final List<Map<String, Integer>> writes = new ArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+    // Thirret brenda ingestFillLevels, para se shkrimi të përfundojë
+    private Runnable duringWrite = () -> { };
+    private boolean failWrites;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        for (String id : List.of("K-1", "K-2", "K-3")) {
+            stored(id, 10);
+        }
+        when(monitoringService.ingestFillLevels(anyList())).thenAnswer(invocation -> {
+            List<FillLevelReading> readings = invocation.getArgument(0);
+            duringWrite.run();
+            if (failWrites) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            Map<String, Integer> write = new HashMap<>();
+            for (FillLevelReading reading : readings) {
+                write.put(reading.getContainerId(), reading.getFillLevel());
+                stored(reading.getContainerId(), reading.getFillLevel());
+            }
+            synchronized (writes) {
+                writes.add(write);
+            }
+            return new FillLevelIngestSummary(readings.size(), readings.size(), 1, 1, List.of());
+        });
+    }
+
+    @AfterEach
+    void shutdownScheduler() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void testReadingsAreCoalescedUntilFlush() {
+        FillLevelWriteBehindBuffer buffer = buffer(100);
+        buffer.submit("K-1", 20);
+        buffer.submit("K-1", 30);
+        buffer.submit("K-2", 40);
+        buffer.submit("K-1", 35);
+
+        assertTrue(writes.isEmpty());
+        assertEquals(2, buffer.getPendingCount());
+
+        assertEquals(2, buffer.flush());
+
+        assertEquals(List.of(Map.of("K-1", 35, "K-2", 40)), writes);
+        assertEquals(0, buffer.getPendingCount());
+        assertEquals(2.0, buffer.getCoalescingRatio());
+        assertEquals(0, buffer.flush());
+        verify(kontenierRepository, never()).existsById(any());
+    }
+
+    @Test
+    void testCrossingIntoCriticalIsWrittenImmediately() {
+        FillLevelWriteBehindBuffer buffer = buffer(100);
+        buffer.submit("K-1", 50);
+
+        buffer.submit("K-1", 95);
+
+        // Leximi kritik zëvendëson atë në pritje dhe shkruhet pa pritur flush-in
+        assertEquals(List.of(Map.of("K-1", 95)), writes);
+        assertEquals(1, buffer.getImmediateWrites());
+        assertEquals(0, buffer.getPendingCount());
+
+        // Tashmë kritik: leximi tjetër kritik pret flush-in
+        buffer.submit("K-1", 97);
+        assertEquals(1, writes.size());
+        assertEquals(1, buffer.getPendingCount());
+    }
+
+    @Test
+    void testCriticalAfterEmptyingOutsideBufferIsWrittenImmediately() {
+        FillLevelWriteBehindBuffer buffer = buffer(100);
+        buffer.submit("K-1", 95);
+        assertEquals(1, writes.size());
+
+        // Zbrazja (EmptyContainerHandler) ruhet jashtë buffer-it
+        stored("K-1", 0);
+
+        buffer.submit("K-1", 92);
+
+        assertEquals(2, writes.size());
+        assertEquals(Map.of("K-1", 92), writes.get(1));
+        assertEquals(2, buffer.getImmediateWrites());
+    }
+
+    @Test
+    void testFailedFlushRequeuesWithoutOverwritingNewerReadings() {
+        FillLevelWriteBehindBuffer buffer = buffer(100);
+        buffer.submit("K-1", 20);
+        buffer.submit("K-2", 30);
+        failWrites = true;
+        // Një lexim më i ri mbërrin ndërsa flush-i është në databazë
+        duringWrite = () -> {
+            duringWrite = () -> { };
+            buffer.submit("K-1", 25);
+        };
+
+        assertThrows(IllegalStateException.class, buffer::flush);
+        assertEquals(2, buffer.getPendingCount());
+        assertTrue(writes.isEmpty());
+
+        failWrites = false;
+        assertEquals(2, buffer.flush());
+        assertEquals(List.of(Map.of("K-1", 25, "K-2", 30)), writes);
+        assertEquals(2, buffer.getBatchedWrites());
+    }
+
+    @Test
+    void testFullBatchIsFlushedWithoutWaitingForInterval() {
+        FillLevelWriteBehindBuffer buffer = buffer(3);
+        buffer.submit("K-1", 20);
+        buffer.submit("K-2", 30);
+        assertTrue(writes.isEmpty());
+
+        buffer.submit("K-3", 40);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (buffer.getBatchedWrites() < 3) {
+            assertTrue(System.nanoTime() < deadline, "Full batch was not flushed");
+            Thread.onSpinWait();
+        }
+        assertEquals(List.of(Map.of("K-1", 20, "K-2", 30, "K-3", 40)), writes);
+    }
+
+    @Test
+    void testUnknownContainerIsRejected() {
+        FillLevelWriteBehindBuffer buffer = buffer(100);
+        when(kontenierRepository.existsById("K-NEW")).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.submit("K-MISSING", 20));
+        assertThrows(IllegalArgumentException.class, () -> buffer.submit("K-1", 101));
+
+        // Jo ende në read model, por në databazë
+        buffer.submit("K-NEW", 20);
+        assertEquals(1, buffer.getPendingCount());
+        assertEquals(1, buffer.getReceivedReadings());
+    }
+
+    private FillLevelWriteBehindBuffer buffer(int maxBatchSize) {
+        // Pa start(): flush-et periodike nuk nisin, testi i thërret vetë
+        return new FillLevelWriteBehindBuffer(
+            monitoringService, kontenierRepository, readModel, scheduler, TimeUnit.HOURS.toMillis(1), maxBatchSize
+        );
+    }
+
+    // Gjendja pas commit-it, si KontenierRepositoryImpl.save()
+    private void stored(String id, int fillLevel) {
+        Kontenier k = containers.computeIfAbsent(id, key ->
+            container(key, DEPOT.getLatitude(), DEPOT.getLongitude()));
+        readModel.upsert(ContainerView.of(filled(k, fillLevel)));
+    }
+}
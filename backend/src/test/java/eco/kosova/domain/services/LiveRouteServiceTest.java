@@ -0,0 +1,283 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.ContainerType;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.services.LiveRouteService.LiveRoute;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static eco.kosova.domain.TestContainers.CAPACITY;
+import static eco.kosova.domain.TestContainers.DEPOT;
+import static eco.kosova.domain.TestContainers.container;
+import static eco.kosova.domain.TestContainers.filled;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Përshtatjet inkrementale të LiveRouteService krahasohen me rrugën e
+ * rindërtuar nga e para dhe me distancën e rillogaritur të renditjes.
+ */
+class LiveRouteServiceTest {
+
+    private static final String ZONE_A = "ZONE-LA";
+    private static final String ZONE_B = "ZONE-LB";
+
+    private final KontenierRepository kontenierRepository = mock(KontenierRepository.class);
+    private final RouteOptimizationService routeOptimizationService = new RouteOptimizationService(kontenierRepository);
+    // Gjendja e ruajtur e kontejnerëve sipas zonës
+    private final Map<String, List<Kontenier>> stored = new ConcurrentHashMap<>();
+    private final Random random = new Random(17L);
+
+    LiveRouteServiceTest() {
+        when(kontenierRepository.findByZoneId(anyString())).thenAnswer(invocation ->
+            new ArrayList<>(zone(invocation.getArgument(0))));
+    }
+
+    @Test
+    void testReadyContainerIsInsertedAtCheapestPosition() {
+        LiveRouteService service = service(LiveRouteService.DEFAULT_REBUILD_THRESHOLD);
+        addReady(ZONE_A, 40);
+        List<Kontenier> before = service.getRoute(ZONE_A).getContainers();
+
+        Kontenier added = store(ready("LA-NEW", ZONE_A));
+        service.refresh(added);
+
+        LiveRoute route = service.getRoute(ZONE_A);
+        assertEquals(1, route.getChangesSinceRebuild());
+        List<Kontenier> withoutAdded = new ArrayList<>(route.getContainers());
+        withoutAdded.remove(added);
+        assertEquals(before, withoutAdded);
+        // Pozicioni i zgjedhur me distancën e shpejtë, brenda një metri nga më i miri me Haversine
+        assertTrue(route.getTotalDistanceMeters() <= bestInsertion(before, added) + 1.0);
+        assertConsistent(route);
+    }
+
+    @Test
+    void testContainerThatIsNoLongerReadyIsRemoved() {
+        LiveRouteService service = service(LiveRouteService.DEFAULT_REBUILD_THRESHOLD);
+        addReady(ZONE_A, 30);
+        List<Kontenier> before = service.getRoute(ZONE_A).getContainers();
+
+        Kontenier emptied = before.get(12);
+        emptied.empty();
+        service.refresh(emptied);
+        Kontenier deleted = before.get(0);
+        zone(ZONE_A).remove(deleted);
+        service.remove(deleted.getId());
+
+        LiveRoute route = service.getRoute(ZONE_A);
+        List<Kontenier> expected = new ArrayList<>(before);
+        expected.remove(emptied);
+        expected.remove(deleted);
+        assertEquals(expected, route.getContainers());
+        assertEquals(2, route.getChangesSinceRebuild());
+        assertConsistent(route);
+    }
+
+    @Test
+    void testRelocatedContainerMovesBetweenZones() {
+        LiveRouteService service = service(LiveRouteService.DEFAULT_REBUILD_THRESHOLD);
+        addReady(ZONE_A, 20);
+        addReady(ZONE_B, 20);
+        Kontenier previous = service.getRoute(ZONE_A).getContainers().get(5);
+        service.getRoute(ZONE_B);
+
+        // Si i rilexuar nga repository: instancë e re me zonën dhe vendndodhjen e re
+        zone(ZONE_A).remove(previous);
+        Kontenier relocated = store(filled(container(previous.getId(), ZONE_B, ContainerType.GENERAL, CAPACITY,
+            DEPOT.getLatitude() + 0.03, DEPOT.getLongitude() + 0.03), 95));
+        service.refresh(relocated);
+
+        assertFalse(service.getRoute(ZONE_A).contains(relocated.getId()));
+        assertTrue(service.getRoute(ZONE_B).contains(relocated.getId()));
+        assertConsistent(service.getRoute(ZONE_A));
+        assertConsistent(service.getRoute(ZONE_B));
+        assertSameContainers(rebuilt(ZONE_A), service.getRoute(ZONE_A));
+        assertSameContainers(rebuilt(ZONE_B), service.getRoute(ZONE_B));
+    }
+
+    @Test
+    void testRouteIsRebuiltAfterThreshold() {
+        int threshold = 8;
+        LiveRouteService service = service(threshold);
+        addReady(ZONE_A, 50);
+        service.getRoute(ZONE_A);
+
+        for (int change = 0; change < threshold; change++) {
+            if (change % 2 == 0) {
+                service.refresh(store(ready("LA-X" + change, ZONE_A)));
+            } else {
+                Kontenier emptied = zone(ZONE_A).get(random.nextInt(zone(ZONE_A).size()));
+                emptied.empty();
+                service.refresh(emptied);
+            }
+            if (change + 1 < threshold) {
+                LiveRoute route = service.getRoute(ZONE_A);
+                assertEquals(change + 1, route.getChangesSinceRebuild());
+                assertConsistent(route);
+                assertSameContainers(rebuilt(ZONE_A), route);
+            }
+        }
+
+        // Në pragun e ndryshimeve leximi rindërton: njësoj si rruga e një shërbimi të ri
+        LiveRoute route = service.getRoute(ZONE_A);
+        assertEquals(0, route.getChangesSinceRebuild());
+        LiveRoute fresh = rebuilt(ZONE_A);
+        assertEquals(fresh.getContainers(), route.getContainers());
+        assertEquals(fresh.getTotalDistanceMeters(), route.getTotalDistanceMeters(), 1e-6);
+    }
+
+    @Test
+    void testRefreshDuringSlowBuildIsAppliedToNewRoute() throws Exception {
+        LiveRouteService service = service(LiveRouteService.DEFAULT_REBUILD_THRESHOLD);
+        addReady(ZONE_A, 20);
+        addReady(ZONE_B, 5);
+        service.getRoute(ZONE_B);
+
+        // Query-a e zonës A kthen gjendjen para ndryshimit, pastaj pret
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(kontenierRepository.findByZoneId(ZONE_A)).thenAnswer(invocation -> {
+            List<Kontenier> snapshot = new ArrayList<>(zone(ZONE_A));
+            building.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return snapshot;
+        });
+
+        CompletableFuture<LiveRoute> reader = CompletableFuture.supplyAsync(() -> service.getRoute(ZONE_A));
+        CompletableFuture<LiveRoute> secondReader;
+        Kontenier added = ready("LA-NEW", ZONE_A);
+        Kontenier emptied = zone(ZONE_A).get(3);
+        Kontenier moved = zone(ZONE_B).get(0);
+        try {
+            assertTrue(building.await(5, TimeUnit.SECONDS));
+            secondReader = CompletableFuture.supplyAsync(() -> service.getRoute(ZONE_A));
+            // Thread-i i eventeve nuk pret ndërtimin
+            CompletableFuture.runAsync(() -> {
+                service.refresh(store(added));
+                emptied.empty();
+                service.refresh(emptied);
+                zone(ZONE_B).remove(moved);
+                moved.relocateToZone(ZONE_A);
+                service.refresh(store(moved));
+            }).get(1, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+
+        LiveRoute route = reader.get(5, TimeUnit.SECONDS);
+        assertSame(route, secondReader.get(5, TimeUnit.SECONDS));
+        assertSame(route, service.getRoute(ZONE_A));
+        assertTrue(route.contains(added.getId()));
+        assertTrue(route.contains(moved.getId()));
+        assertFalse(route.contains(emptied.getId()));
+        assertFalse(service.getRoute(ZONE_B).contains(moved.getId()));
+        assertConsistent(route);
+        assertSameContainers(rebuilt(ZONE_A), route);
+    }
+
+    @Test
+    void testInvalidatedBuildIsNotKept() throws Exception {
+        LiveRouteService service = service(LiveRouteService.DEFAULT_REBUILD_THRESHOLD);
+        addReady(ZONE_A, 10);
+
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(kontenierRepository.findByZoneId(ZONE_A)).thenAnswer(invocation -> {
+            List<Kontenier> snapshot = new ArrayList<>(zone(ZONE_A));
+            building.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return snapshot;
+        }).thenAnswer(invocation -> new ArrayList<>(zone(ZONE_A)));
+
+        CompletableFuture<LiveRoute> reader = CompletableFuture.supplyAsync(() -> service.getRoute(ZONE_A));
+        assertTrue(building.await(5, TimeUnit.SECONDS));
+        service.invalidateZone(ZONE_A);
+        release.countDown();
+
+        LiveRoute stale = reader.get(5, TimeUnit.SECONDS);
+        assertNotSame(stale, service.getRoute(ZONE_A));
+    }
+
+    private LiveRouteService service(int rebuildThreshold) {
+        return new LiveRouteService(kontenierRepository, routeOptimizationService, DEPOT, rebuildThreshold);
+    }
+
+    private LiveRoute rebuilt(String zoneId) {
+        return service(LiveRouteService.DEFAULT_REBUILD_THRESHOLD).getRoute(zoneId);
+    }
+
+    private List<Kontenier> zone(String zoneId) {
+        return stored.computeIfAbsent(zoneId, id -> new CopyOnWriteArrayList<>());
+    }
+
+    private Kontenier store(Kontenier container) {
+        List<Kontenier> containers = zone(container.getZoneId());
+        if (!containers.contains(container)) {
+            containers.add(container);
+        }
+        return container;
+    }
+
+    private void addReady(String zoneId, int count) {
+        for (int i = 0; i < count; i++) {
+            store(ready(String.format("%s-%03d", zoneId, i), zoneId));
+        }
+        // Kontejnerë jo gati nuk hyjnë në rrugë
+        store(container(zoneId + "-IDLE", zoneId, ContainerType.GENERAL, CAPACITY,
+            DEPOT.getLatitude(), DEPOT.getLongitude() + 0.01));
+    }
+
+    private Kontenier ready(String id, String zoneId) {
+        return filled(container(id, zoneId, ContainerType.GENERAL, CAPACITY,
+            DEPOT.getLatitude() + (random.nextDouble() - 0.5) * 0.1,
+            DEPOT.getLongitude() + (random.nextDouble() - 0.5) * 0.1), 95);
+    }
+
+    private double bestInsertion(List<Kontenier> route, Kontenier added) {
+        double best = Double.MAX_VALUE;
+        for (int k = 0; k <= route.size(); k++) {
+            List<Kontenier> candidate = new ArrayList<>(route);
+            candidate.add(k, added);
+            best = Math.min(best, totalDistance(candidate));
+        }
+        return best;
+    }
+
+    private void assertConsistent(LiveRoute route) {
+        assertEquals(totalDistance(route.getContainers()), route.getTotalDistanceMeters(), 1e-3);
+        assertTrue(route.getContainers().stream().allMatch(Kontenier::isReadyForCollection));
+    }
+
+    private static void assertSameContainers(LiveRoute expected, LiveRoute actual) {
+        assertEquals(ids(expected), ids(actual));
+    }
+
+    private static List<String> ids(LiveRoute route) {
+        return route.getContainers().stream().map(Kontenier::getId).sorted().collect(Collectors.toList());
+    }
+
+    private static double totalDistance(List<Kontenier> route) {
+        double total = 0.0;
+        Coordinates previous = DEPOT;
+        for (Kontenier container : route) {
+            total += previous.distanceTo(container.getLocation());
+            previous = container.getLocation();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,93 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static eco.kosova.domain.TestContainers.DEPOT;
+import static eco.kosova.domain.TestContainers.container;
+import static eco.kosova.domain.TestContainers.randomContainers;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LOCAL_SEARCH nis nga rruga Nearest Neighbor; 2-opt / Or-opt nuk duhet ta
+ * zgjasin kurrë dhe secili kontejner mbetet në rrugë saktësisht një herë.
+ */
+class LocalSearchStrategyTest {
+
+    // Matrica e brendshme përdor distanca të përafërta; lejohet 1 cm për çdo ndalesë
+    private static final double TOLERANCE_PER_STOP_METERS = 0.01;
+
+    @Test
+    void testNeverLongerThanNearestNeighbor() {
+        Random random = new Random(23L);
+        LocalSearchStrategy localSearch = new LocalSearchStrategy(2000, LocalSearchStrategy.DEFAULT_MAX_CONTAINERS);
+        NearestNeighborStrategy nearestNeighbor = new NearestNeighborStrategy();
+
+        for (int round = 0; round < 25; round++) {
+            List<Kontenier> containers = randomContainers("LS", 3 + random.nextInt(200), 0.1, random);
+
+            List<Kontenier> initial = nearestNeighbor.calculateRoute(containers, DEPOT);
+            List<Kontenier> improved = localSearch.calculateRoute(containers, DEPOT);
+
+            assertSamePermutation(containers, improved);
+            assertTrue(
+                length(improved) <= length(initial) + TOLERANCE_PER_STOP_METERS * containers.size(),
+                String.format("Round %d: %.2f m > %.2f m", round, length(improved), length(initial))
+            );
+        }
+    }
+
+    @Test
+    void testImprovesCrossingRoute() {
+        // Dy rreshta paralelë: Nearest Neighbor kalon nga një rresht te tjetri disa herë
+        Random random = new Random(3L);
+        List<Kontenier> containers = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            containers.add(container("ROW-" + i,
+                DEPOT.getLatitude() + (i % 2) * 0.01 + random.nextDouble() * 0.0005,
+                DEPOT.getLongitude() + (i / 2) * 0.002));
+        }
+
+        double initial = length(new NearestNeighborStrategy().calculateRoute(containers, DEPOT));
+        double improved = length(new LocalSearchStrategy().calculateRoute(containers, DEPOT));
+
+        assertTrue(improved < initial, String.format("%.2f m >= %.2f m", improved, initial));
+    }
+
+    @Test
+    void testZeroBudgetReturnsNearestNeighborRoute() {
+        List<Kontenier> containers = randomContainers("LS", 150, 0.1, new Random(9L));
+
+        List<Kontenier> initial = new NearestNeighborStrategy().calculateRoute(containers, DEPOT);
+        List<Kontenier> route = new LocalSearchStrategy(0, LocalSearchStrategy.DEFAULT_MAX_CONTAINERS)
+            .calculateRoute(containers, DEPOT);
+
+        assertEquals(initial, route);
+    }
+
+    private static double length(List<Kontenier> route) {
+        double length = 0.0;
+        Coordinates current = DEPOT;
+        for (Kontenier container : route) {
+            length += current.distanceTo(container.getLocation());
+            current = container.getLocation();
+        }
+        return length;
+    }
+
+    private static void assertSamePermutation(List<Kontenier> expected, List<Kontenier> actual) {
+        List<Kontenier> sortedExpected = new ArrayList<>(expected);
+        List<Kontenier> sortedActual = new ArrayList<>(actual);
+        Comparator<Kontenier> byId = Comparator.comparing(Kontenier::getId);
+        Collections.sort(sortedExpected, byId);
+        Collections.sort(sortedActual, byId);
+        assertEquals(sortedExpected, sortedActual);
+    }
+}
@@ -0,0 +1,111 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static eco.kosova.domain.TestContainers.DEPOT;
+import static eco.kosova.domain.TestContainers.container;
+import static eco.kosova.domain.TestContainers.randomContainers;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Renditja e NearestNeighborStrategy (k-d tree) krahasohet me skanimin linear
+ * origjinal, edhe me barazi distancash dhe ID të përsëritura.
+ */
+class NearestNeighborStrategyTest {
+
+    private final NearestNeighborStrategy strategy = new NearestNeighborStrategy();
+
+    @Test
+    void testMatchesLinearScanForRandomContainers() {
+        Random random = new Random(11L);
+        for (int round = 0; round < 20; round++) {
+            List<Kontenier> containers = randomContainers("NN", 1 + random.nextInt(400), 0.1, random);
+
+            assertSameOrder(linearScan(containers, DEPOT), strategy.calculateRoute(containers, DEPOT));
+        }
+    }
+
+    @Test
+    void testTiesAreBrokenByInputOrder() {
+        // Rrjet i rregullt: shumë kontejnerë në distancë të barabartë
+        List<Kontenier> containers = new ArrayList<>();
+        for (int row = 0; row < 12; row++) {
+            for (int col = 0; col < 12; col++) {
+                containers.add(container("GRID-" + row + "-" + col,
+                    DEPOT.getLatitude() + row * 0.001,
+                    DEPOT.getLongitude() + col * 0.001));
+            }
+        }
+        // Pika të dyfishta
+        containers.add(container("DUP-A", DEPOT.getLatitude() + 0.003, DEPOT.getLongitude() + 0.004));
+        containers.add(container("DUP-B", DEPOT.getLatitude() + 0.003, DEPOT.getLongitude() + 0.004));
+
+        assertSameOrder(linearScan(containers, DEPOT), strategy.calculateRoute(containers, DEPOT));
+    }
+
+    @Test
+    void testDuplicateIdsAreVisitedOnce() {
+        Random random = new Random(5L);
+        List<Kontenier> containers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            containers.add(container("ID-" + random.nextInt(60),
+                DEPOT.getLatitude() + random.nextDouble() * 0.05,
+                DEPOT.getLongitude() + random.nextDouble() * 0.05));
+        }
+
+        List<Kontenier> route = strategy.calculateRoute(containers, DEPOT);
+
+        assertSameOrder(linearScan(containers, DEPOT), route);
+        Set<String> ids = new HashSet<>();
+        route.forEach(container -> assertTrue(ids.add(container.getId()), container.getId()));
+    }
+
+    @Test
+    void testEmptyInputGivesEmptyRoute() {
+        assertTrue(strategy.calculateRoute(List.of(), DEPOT).isEmpty());
+    }
+
+    /**
+     * Algoritmi origjinal O(n²): kontejneri i parë me distancë strikt më të vogël fiton.
+     */
+    private static List<Kontenier> linearScan(List<Kontenier> containers, Coordinates start) {
+        List<Kontenier> route = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Coordinates current = start;
+        while (true) {
+            Kontenier nearest = null;
+            double minDistance = Double.MAX_VALUE;
+            for (Kontenier container : containers) {
+                if (visited.contains(container.getId())) {
+                    continue;
+                }
+                double distance = current.distanceTo(container.getLocation());
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    nearest = container;
+                }
+            }
+            if (nearest == null) {
+                return route;
+            }
+            route.add(nearest);
+            visited.add(nearest.getId());
+            current = nearest.getLocation();
+        }
+    }
+
+    private static void assertSameOrder(List<Kontenier> expected, List<Kontenier> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i), "Different container at position " + i);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.ContainerType;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.services.RouteOptimizationService.ZoneRoutes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static eco.kosova.domain.TestContainers.CAPACITY;
+import static eco.kosova.domain.TestContainers.DEPOT;
+import static eco.kosova.domain.TestContainers.container;
+import static eco.kosova.domain.TestContainers.filled;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rrugët e disa zonave kur pool-i i rrugëve është plot: zonat e refuzuara
+ * raportohen si të papërfunduara dhe nuk llogariten në thread-in e thirrësit.
+ */
+class RouteOptimizationServiceTest {
+
+    private final KontenierRepository kontenierRepository = mock(KontenierRepository.class);
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testRejectedZonesAreReportedAsUnfinished() {
+        givenZones("Z-1", "Z-2", "Z-3");
+        // Pranon vetëm zonën e parë, pastaj sillet si radhë e mbushur
+        AtomicInteger submitted = new AtomicInteger();
+        Executor executor = task -> {
+            if (submitted.getAndIncrement() > 0) {
+                throw new RejectedExecutionException("Queue full");
+            }
+            pool.execute(task);
+        };
+
+        ZoneRoutes result = service(executor)
+            .calculateRoutesForZones(List.of("Z-1", "Z-2", "Z-3", "Z-EMPTY"), DEPOT, "NEAREST_NEIGHBOR", 5000);
+
+        assertEquals(List.of("Z-1", "Z-EMPTY"), new ArrayList<>(result.getRoutes().keySet()));
+        assertEquals(5, result.getRoutes().get("Z-1").size());
+        assertTrue(result.getRoutes().get("Z-EMPTY").isEmpty());
+        assertEquals(List.of("Z-2", "Z-3"), result.getUnfinishedZoneIds());
+        assertFalse(result.isComplete());
+    }
+
+    @Test
+    void testRejectedZonesAreNotComputedOnCallingThread() {
+        givenZones("Z-1", "Z-2");
+        Thread caller = Thread.currentThread();
+        AtomicInteger inline = new AtomicInteger();
+        RouteOptimizationService service = service(task -> {
+            throw new RejectedExecutionException("Queue full");
+        });
+        service.addStrategy("COUNTING", new RouteStrategy() {
+            @Override
+            public List<Kontenier> calculateRoute(List<Kontenier> containers, Coordinates startPoint) {
+                if (Thread.currentThread() == caller) {
+                    inline.incrementAndGet();
+                }
+                return containers;
+            }
+
+            @Override
+            public String getStrategyName() {
+                return "COUNTING";
+            }
+        });
+
+        ZoneRoutes result = service.calculateRoutesForZones(List.of("Z-1", "Z-2"), DEPOT, "COUNTING", 5000);
+
+        assertTrue(result.getRoutes().isEmpty());
+        assertEquals(List.of("Z-1", "Z-2"), result.getUnfinishedZoneIds());
+        assertEquals(0, inline.get());
+    }
+
+    private RouteOptimizationService service(Executor executor) {
+        return new RouteOptimizationService(kontenierRepository, LocalSearchStrategy.DEFAULT_TIME_BUDGET_MS, executor);
+    }
+
+    private void givenZones(String... zoneIds) {
+        Random random = new Random(7L);
+        List<Kontenier> containers = new ArrayList<>();
+        for (String zoneId : zoneIds) {
+            for (int i = 0; i < 5; i++) {
+                containers.add(filled(container(zoneId + "-" + i, zoneId, ContainerType.GENERAL, CAPACITY,
+                    DEPOT.getLatitude() + random.nextDouble() * 0.02,
+                    DEPOT.getLongitude() + random.nextDouble() * 0.02), 90));
+            }
+        }
+        when(kontenierRepository.findContainersNeedingCollection()).thenReturn(containers);
+    }
+}
@@ -0,0 +1,114 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.events.ContainerFullEvent;
+import eco.kosova.domain.events.DomainEvent;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.ContainerType;
+import eco.kosova.domain.models.valueobjects.ZoneStatus;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.repositories.ZoneContainerStats;
+import eco.kosova.domain.repositories.ZoneRepository;
+import eco.kosova.domain.services.WasteMonitoringService.FillLevelIngestSummary;
+import eco.kosova.domain.services.WasteMonitoringService.FillLevelReading;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static eco.kosova.domain.TestContainers.CAPACITY;
+import static eco.kosova.domain.TestContainers.DEPOT;
+import static eco.kosova.domain.TestContainers.container;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * WasteMonitoringService.ingestFillLevels me repository të simuluara.
+ */
+class WasteMonitoringServiceTest {
+
+    private final KontenierRepository kontenierRepository = mock(KontenierRepository.class);
+    private final ZoneRepository zoneRepository = mock(ZoneRepository.class);
+    private final WasteMonitoringService service = new WasteMonitoringService(kontenierRepository, zoneRepository);
+
+    private final Kontenier a1 = stored("WM-A1", "ZONE-WA");
+    private final Kontenier a2 = stored("WM-A2", "ZONE-WA");
+    private final Kontenier b1 = stored("WM-B1", "ZONE-WB");
+
+    WasteMonitoringServiceTest() {
+        when(kontenierRepository.findAllById(anyCollection())).thenReturn(List.of(a1, a2, b1));
+        when(kontenierRepository.aggregateByZoneIds(anyCollection())).thenReturn(List.of(
+            new ZoneContainerStats("ZONE-WA", "Zona A", ZoneStatus.ACTIVE, 50, 2, 2, 2, 96),
+            new ZoneContainerStats("ZONE-WB", "Zona B", ZoneStatus.ACTIVE, 50, 1, 0, 1, 30)
+        ));
+        when(zoneRepository.updateStatus(anyCollection(), any())).thenAnswer(invocation ->
+            ((Collection<?>) invocation.getArgument(0)).size());
+    }
+
+    @Test
+    void testUnknownContainerIdsAreSkippedAndReturned() {
+        FillLevelIngestSummary summary = service.ingestFillLevels(List.of(
+            new FillLevelReading("WM-A1", 40),
+            new FillLevelReading("WM-GONE", 50),
+            new FillLevelReading("WM-B1", 30),
+            new FillLevelReading("WM-GONE", 60),
+            new FillLevelReading("WM-OTHER", 70)
+        ));
+
+        assertEquals(5, summary.getReceivedReadings());
+        assertEquals(2, summary.getUpdatedContainers());
+        assertEquals(List.of("WM-GONE", "WM-OTHER"), summary.getUnknownContainerIds());
+        assertEquals(40, a1.getFillLevel().getValue());
+        assertEquals(30, b1.getFillLevel().getValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEachAffectedZoneIsRecomputedOnce() {
+        FillLevelIngestSummary summary = service.ingestFillLevels(List.of(
+            new FillLevelReading("WM-A1", 96),
+            new FillLevelReading("WM-B1", 30),
+            new FillLevelReading("WM-A2", 97),
+            new FillLevelReading("WM-A1", 98),
+            new FillLevelReading("WM-B1", 35)
+        ));
+
+        ArgumentCaptor<Collection<String>> zoneIds = ArgumentCaptor.forClass(Collection.class);
+        verify(kontenierRepository, times(1)).aggregateByZoneIds(zoneIds.capture());
+        assertEquals(Set.of("ZONE-WA", "ZONE-WB"), Set.copyOf(zoneIds.getValue()));
+        // Vetëm ZONE-WA ndryshon status, me një update
+        verify(zoneRepository, times(1)).updateStatus(List.of("ZONE-WA"), ZoneStatus.CRITICAL);
+        verify(zoneRepository, times(1)).updateStatus(anyCollection(), any());
+        verify(kontenierRepository, times(1)).saveAll(anyList());
+        assertEquals(2, summary.getAffectedZones());
+        assertEquals(1, summary.getUpdatedZones());
+    }
+
+    @Test
+    void testCrossingWithinBatchRaisesOneFullEvent() {
+        service.ingestFillLevels(List.of(
+            new FillLevelReading("WM-A1", 50),
+            new FillLevelReading("WM-A1", 95),
+            new FillLevelReading("WM-A1", 97),
+            new FillLevelReading("WM-A1", 99)
+        ));
+
+        List<DomainEvent> fullEvents = a1.getDomainEvents().stream()
+            .filter(event -> event instanceof ContainerFullEvent)
+            .collect(Collectors.toList());
+        assertEquals(1, fullEvents.size());
+        verify(kontenierRepository).saveAll(List.of(a1));
+    }
+
+    private static Kontenier stored(String id, String zoneId) {
+        return container(id, zoneId, ContainerType.GENERAL, CAPACITY, DEPOT.getLatitude(), DEPOT.getLongitude());
+    }
+}
@@ -0,0 +1,192 @@
+package eco.kosova.domain.services;
+
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.Coordinates;
+import eco.kosova.domain.services.ZoneDistanceMatrixCache.DistanceMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static eco.kosova.domain.TestContainers.DEPOT;
+import static eco.kosova.domain.TestContainers.ZONE;
+import static eco.kosova.domain.TestContainers.container;
+import static eco.kosova.domain.TestContainers.randomContainers;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Çdo matricë e kthyer nga ZoneDistanceMatrixCache krahasohet me distancat
+ * Haversine të llogaritura direkt për listën e kërkuar.
+ */
+class ZoneDistanceMatrixCacheTest {
+
+    @Test
+    void testReorderedListIsServedFromSnapshot() {
+        ZoneDistanceMatrixCache cache = new ZoneDistanceMatrixCache();
+        List<Kontenier> containers = randomContainers("ZD", 80, 0.1, new Random(3L));
+        assertMatchesDirect(cache.matrixFor(ZONE, containers), containers);
+        long computed = cache.getComputedDistances();
+
+        List<Kontenier> reordered = new ArrayList<>(containers);
+        Collections.shuffle(reordered, new Random(4L));
+        List<Kontenier> subset = reordered.subList(0, 30);
+
+        DistanceMatrix matrix = cache.matrixFor(ZONE, reordered);
+        assertTrue(matrix.isCached());
+        assertMatchesDirect(matrix, reordered);
+        assertMatchesDirect(cache.find(ZONE, subset).orElseThrow(), subset);
+
+        // Indekset ndjekin listën e re, distancat vijnë nga snapshot-i
+        assertEquals(computed, cache.getComputedDistances());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    void testAddedAndMovedContainersAreUpdatedIncrementally() {
+        ZoneDistanceMatrixCache cache = new ZoneDistanceMatrixCache();
+        List<Kontenier> containers = randomContainers("ZD", 50, 0.1, new Random(8L));
+        cache.matrixFor(ZONE, containers);
+
+        List<Kontenier> next = new ArrayList<>(containers);
+        next.add(0, container("ZD-NEW", DEPOT.getLatitude() + 0.02, DEPOT.getLongitude() - 0.01));
+        next.get(10).updateLocation(new Coordinates(DEPOT.getLatitude() - 0.03, DEPOT.getLongitude()));
+        assertTrue(cache.find(ZONE, next).isEmpty());
+
+        DistanceMatrix matrix = cache.matrixFor(ZONE, next);
+
+        assertMatchesDirect(matrix, next);
+        assertEquals(1, cache.getIncrementalUpdates());
+        assertEquals(51, cache.getCachedContainerCount());
+    }
+
+    @Test
+    void testLeastRecentlyUsedZoneIsEvictedOverMemoryBudget() {
+        Random random = new Random(21L);
+        List<Kontenier> zoneA = randomContainers("ZA", 60, 0.1, random);
+        List<Kontenier> zoneB = randomContainers("ZB", 60, 0.1, random);
+        List<Kontenier> zoneC = randomContainers("ZC", 60, 0.1, random);
+
+        ZoneDistanceMatrixCache probe = new ZoneDistanceMatrixCache();
+        probe.matrixFor("ZONE-A", zoneA);
+        long zoneBytes = probe.getMemoryBytes();
+
+        // Mjafton për dy zona, jo për tre
+        long budget = zoneBytes * 5 / 2;
+        ZoneDistanceMatrixCache cache = new ZoneDistanceMatrixCache(ZoneDistanceMatrixCache.DEFAULT_MAX_ZONE_CONTAINERS, budget);
+        cache.matrixFor("ZONE-A", zoneA);
+        cache.matrixFor("ZONE-B", zoneB);
+        assertTrue(cache.find("ZONE-A", zoneA).isPresent());
+
+        assertMatchesDirect(cache.matrixFor("ZONE-C", zoneC), zoneC);
+
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.getZoneCount());
+        assertTrue(cache.getMemoryBytes() <= budget, cache.getMemoryBytes() + " bytes");
+        // ZONE-B u përdor më herët se ZONE-A
+        assertTrue(cache.find("ZONE-B", zoneB).isEmpty());
+        assertTrue(cache.find("ZONE-A", zoneA).isPresent());
+        assertTrue(cache.find("ZONE-C", zoneC).isPresent());
+    }
+
+    @Test
+    void testZoneLargerThanBudgetIsStillServed() {
+        ZoneDistanceMatrixCache cache = new ZoneDistanceMatrixCache(ZoneDistanceMatrixCache.DEFAULT_MAX_ZONE_CONTAINERS, 1024);
+        List<Kontenier> containers = randomContainers("ZD", 40, 0.1, new Random(2L));
+
+        // Zona e kërkuar nuk hiqet, edhe kur vetëm ajo e kalon kufirin
+        assertMatchesDirect(cache.matrixFor(ZONE, containers), containers);
+        assertEquals(1, cache.getZoneCount());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    void testSlowBuildDoesNotBlockInvalidation() throws Exception {
+        ZoneDistanceMatrixCache cache = new ZoneDistanceMatrixCache();
+        List<Kontenier> containers = new ArrayList<>(randomContainers("ZD", 20, 0.1, new Random(6L)));
+        cache.matrixFor(ZONE, containers);
+
+        // Kontejneri i ri ndalon llogaritjen e rreshtit të tij derisa testi ta lëshojë
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean blockOnce = new AtomicBoolean(true);
+        Kontenier slow = spy(container("ZD-SLOW", DEPOT.getLatitude() + 0.01, DEPOT.getLongitude()));
+        doAnswer(invocation -> {
+            if (blockOnce.compareAndSet(true, false)) {
+                building.countDown();
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            }
+            return invocation.callRealMethod();
+        }).when(slow).getLocation();
+        containers.add(slow);
+
+        CompletableFuture<DistanceMatrix> reader = CompletableFuture.supplyAsync(() -> cache.matrixFor(ZONE, containers));
+        try {
+            assertTrue(building.await(5, TimeUnit.SECONDS));
+            CompletableFuture.runAsync(() -> {
+                cache.evictContainer(ZONE, "ZD-0003");
+                cache.invalidateZone(ZONE);
+            }).get(1, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+
+        // Snapshot-i i nisur para invalidimit nuk instalohet; leximi rindërton nga e para
+        assertMatchesDirect(reader.get(5, TimeUnit.SECONDS), containers);
+        assertEquals(1, cache.getInstallConflicts());
+        assertEquals(2, cache.getMisses());
+        assertMatchesDirect(cache.find(ZONE, containers).orElseThrow(), containers);
+    }
+
+    @Test
+    void testConcurrentRequestsForOneZone() throws Exception {
+        ZoneDistanceMatrixCache cache = new ZoneDistanceMatrixCache();
+        List<Kontenier> all = randomContainers("ZD", 300, 0.1, new Random(13L));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int task = 0; task < 40; task++) {
+                Random random = new Random(task);
+                results.add(executor.submit(() -> {
+                    List<Kontenier> subset = new ArrayList<>(all);
+                    Collections.shuffle(subset, random);
+                    subset = subset.subList(0, 50 + random.nextInt(250));
+                    assertMatchesDirect(cache.matrixFor(ZONE, subset), subset);
+                    if (random.nextInt(5) == 0) {
+                        cache.evictContainer(ZONE, subset.get(0).getId());
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertMatchesDirect(cache.matrixFor(ZONE, all), all);
+    }
+
+    static void assertMatchesDirect(DistanceMatrix matrix, List<Kontenier> containers) {
+        assertEquals(containers.size(), matrix.size());
+        for (int i = 0; i < containers.size(); i++) {
+            for (int j = 0; j < containers.size(); j++) {
+                double expected = containers.get(i).getLocation().distanceTo(containers.get(j).getLocation());
+                assertEquals(expected, matrix.distance(i, j), 1e-6,
+                    containers.get(i).getId() + " -> " + containers.get(j).getId());
+            }
+        }
+    }
+}
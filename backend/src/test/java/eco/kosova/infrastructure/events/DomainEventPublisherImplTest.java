@@ -0,0 +1,169 @@
+package eco.kosova.infrastructure.events;
+
+import eco.kosova.domain.events.ContainerFullEvent;
+import eco.kosova.domain.events.DomainEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DomainEventPublisherImpl pa Spring: handler-i është një ApplicationEventPublisher
+ * i thjeshtë që regjistron eventet në rendin e dërgimit.
+ */
+class DomainEventPublisherImplTest {
+
+    private final List<DomainEvent> handled = Collections.synchronizedList(new ArrayList<>());
+    private volatile Consumer<DomainEvent> handler = handled::add;
+    private DomainEventPublisherImpl publisher;
+
+    @AfterEach
+    void closePublisher() {
+        if (publisher != null) {
+            publisher.close();
+        }
+    }
+
+    @Test
+    void testEventsReachHandlerInOrder() {
+        publisher = start(16);
+        List<DomainEvent> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            events.add(full("K-" + i));
+        }
+
+        publisher.publishAll(events);
+
+        assertTrue(publisher.awaitDispatched(5000));
+        assertEquals(events, handled);
+        assertEquals(100, publisher.getDispatched());
+        assertEquals(0, publisher.getDispatchedInline());
+    }
+
+    @Test
+    void testDispatcherPublishesInlineWhenQueueIsFull() throws Exception {
+        publisher = start(1);
+        DomainEvent first = full("K-1");
+        DomainEvent queued = full("K-2");
+        DomainEvent inline = full("K-3");
+        CountDownLatch firstHandled = new CountDownLatch(1);
+        AtomicReference<RuntimeException> awaitFromDispatcher = new AtomicReference<>();
+        handler = event -> {
+            if (event == first) {
+                // Radha (kapaciteti 1) mbushet me eventin e parë; i dyti nuk mund të presë
+                publisher.publish(queued);
+                publisher.publish(inline);
+                try {
+                    publisher.awaitDispatched(10);
+                } catch (IllegalStateException e) {
+                    awaitFromDispatcher.set(e);
+                }
+                firstHandled.countDown();
+            }
+            handled.add(event);
+        };
+
+        publisher.publish(first);
+        assertTrue(firstHandled.await(5, TimeUnit.SECONDS));
+        assertTrue(publisher.awaitDispatched(5000));
+
+        // Eventi inline dërgohet brenda handler-it të të parit, para atij në radhë
+        assertEquals(List.of(inline, first, queued), handled);
+        assertEquals(1, publisher.getDispatchedInline());
+        assertNotNull(awaitFromDispatcher.get(), "Dispatcher waited for its own queue");
+        assertEquals(0, publisher.getDropped());
+    }
+
+    @Test
+    void testHandlerFailureReachesFailureListener() {
+        publisher = start(16);
+        DomainEvent failing = full("K-FAIL");
+        List<DomainEvent> failures = Collections.synchronizedList(new ArrayList<>());
+        publisher.onDispatchFailure(failures::add);
+        handler = event -> {
+            if (event == failing) {
+                throw new IllegalStateException("Handler failed");
+            }
+            handled.add(event);
+        };
+        DomainEvent before = full("K-1");
+        DomainEvent after = full("K-2");
+
+        publisher.publishAll(List.of(before, failing, after));
+
+        assertTrue(publisher.awaitDispatched(5000));
+        assertEquals(List.of(failing), failures);
+        // Dispatcher-i vazhdon me eventet e tjera
+        assertEquals(List.of(before, after), handled);
+        assertEquals(1, publisher.getFailed());
+        assertEquals(2, publisher.getDispatched());
+    }
+
+    @Test
+    void testCloseDrainsPendingEvents() throws Exception {
+        publisher = start(16);
+        CountDownLatch release = new CountDownLatch(1);
+        DomainEvent blocking = full("K-0");
+        handler = event -> {
+            if (event == blocking) {
+                awaitQuietly(release);
+            }
+            handled.add(event);
+        };
+        List<DomainEvent> events = new ArrayList<>();
+        events.add(blocking);
+        for (int i = 1; i <= 10; i++) {
+            events.add(full("K-" + i));
+        }
+        publisher.publishAll(events);
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        });
+        releaser.start();
+        publisher.close();
+        releaser.join();
+
+        assertEquals(events, handled);
+        assertEquals(0, publisher.getQueueDepth());
+
+        // Pas mbylljes eventet dërgohen në thread-in që i publikon
+        DomainEvent late = full("K-LATE");
+        publisher.publish(late);
+        assertSame(late, handled.get(handled.size() - 1));
+        assertEquals(1, publisher.getDispatchedInline());
+    }
+
+    private DomainEventPublisherImpl start(int capacity) {
+        DomainEventPublisherImpl started = new DomainEventPublisherImpl(
+            event -> handler.accept((DomainEvent) event), capacity, "block", 8, 5000
+        );
+        started.start();
+        return started;
+    }
+
+    private static DomainEvent full(String containerId) {
+        return new ContainerFullEvent(containerId, "ZONE-EV", 95);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
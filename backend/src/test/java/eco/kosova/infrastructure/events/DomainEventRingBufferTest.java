@@ -0,0 +1,185 @@
+package eco.kosova.infrastructure.events;
+
+import eco.kosova.domain.events.ContainerEmptiedEvent;
+import eco.kosova.domain.events.ContainerFullEvent;
+import eco.kosova.domain.events.DomainEvent;
+import eco.kosova.infrastructure.events.DomainEventRingBuffer.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sjellja e DomainEventRingBuffer kur radha mbushet, për secilën OverflowPolicy,
+ * dhe numërimi i eventeve të përfunduara që përdor awaitCompleted.
+ */
+class DomainEventRingBufferTest {
+
+    @Test
+    void testBlockWaitsForSpace() throws Exception {
+        DomainEventRingBuffer buffer = new DomainEventRingBuffer(2, OverflowPolicy.BLOCK);
+        DomainEvent first = full("K-1");
+        buffer.offer(first, true);
+        buffer.offer(full("K-2"), true);
+
+        // Dispatcher-i nuk pret: radha plot e refuzon eventin
+        assertFalse(buffer.offer(full("K-3"), false));
+
+        DomainEvent waiting = full("K-4");
+        CompletableFuture<Boolean> producer = CompletableFuture.supplyAsync(() -> buffer.offer(waiting, true));
+        awaitBlocked(buffer, 1);
+        assertFalse(producer.isDone());
+
+        List<DomainEvent> batch = new ArrayList<>();
+        assertTrue(buffer.drainTo(batch, 1));
+        assertSame(first, batch.get(0));
+        assertTrue(producer.get(5, TimeUnit.SECONDS));
+
+        batch.clear();
+        buffer.drainTo(batch, 10);
+        assertSame(waiting, batch.get(1));
+        assertEquals(0, buffer.getDropped());
+        assertEquals(3, buffer.getAccepted());
+    }
+
+    @Test
+    void testCloseReleasesBlockedProducer() throws Exception {
+        DomainEventRingBuffer buffer = new DomainEventRingBuffer(1, OverflowPolicy.BLOCK);
+        buffer.offer(full("K-1"), true);
+
+        CompletableFuture<Boolean> producer = CompletableFuture.supplyAsync(() -> buffer.offer(full("K-2"), true));
+        awaitBlocked(buffer, 1);
+        buffer.close();
+
+        assertFalse(producer.get(5, TimeUnit.SECONDS));
+        assertEquals(1, buffer.size());
+    }
+
+    @Test
+    void testDropOldestCountsDroppedAndAdvancesCompleted() {
+        DomainEventRingBuffer buffer = new DomainEventRingBuffer(3, OverflowPolicy.DROP_OLDEST);
+        List<DomainEvent> offered = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            DomainEvent event = full("K-" + i);
+            offered.add(event);
+            assertTrue(buffer.offer(event, true));
+        }
+
+        assertEquals(2, buffer.getDropped());
+        assertEquals(3, buffer.size());
+        assertEquals(5, buffer.getEnqueuedCount());
+        // Eventet e hedhura llogariten si të dala nga radha
+        assertTrue(buffer.awaitCompleted(2, 0));
+        assertFalse(buffer.awaitCompleted(3, 0));
+
+        List<DomainEvent> batch = new ArrayList<>();
+        buffer.drainTo(batch, 10);
+        assertEquals(offered.subList(2, 5), batch);
+        buffer.complete(batch.size());
+        assertTrue(buffer.awaitCompleted(buffer.getEnqueuedCount(), 0));
+    }
+
+    @Test
+    void testCoalesceReplacesPendingEventOfSameTypeAndAggregate() {
+        DomainEventRingBuffer buffer = new DomainEventRingBuffer(3, OverflowPolicy.COALESCE);
+        DomainEvent fullK1 = full("K-1");
+        DomainEvent fullK2 = full("K-2");
+        DomainEvent emptiedK1 = new ContainerEmptiedEvent("K-1", "ZONE-EV");
+        buffer.offer(fullK1, true);
+        buffer.offer(fullK2, true);
+        buffer.offer(emptiedK1, true);
+
+        // I njëjti tip dhe agregat: zë vendin e eventit në pritje, radha s'rritet
+        DomainEvent newerFullK1 = full("K-1");
+        assertTrue(buffer.offer(newerFullK1, true));
+
+        assertEquals(1, buffer.getCoalesced());
+        assertEquals(0, buffer.getDropped());
+        assertEquals(3, buffer.size());
+        assertEquals(3, buffer.getEnqueuedCount());
+
+        List<DomainEvent> batch = new ArrayList<>();
+        buffer.drainTo(batch, 10);
+        assertEquals(List.of(newerFullK1, fullK2, emptiedK1), batch);
+    }
+
+    @Test
+    void testCoalesceWithoutMatchDropsHead() {
+        DomainEventRingBuffer buffer = new DomainEventRingBuffer(2, OverflowPolicy.COALESCE);
+        DomainEvent fullK1 = full("K-1");
+        DomainEvent fullK2 = full("K-2");
+        buffer.offer(fullK1, true);
+        buffer.offer(fullK2, true);
+
+        DomainEvent fullK3 = full("K-3");
+        assertTrue(buffer.offer(fullK3, true));
+        assertEquals(1, buffer.getDropped());
+        assertEquals(0, buffer.getCoalesced());
+        assertTrue(buffer.awaitCompleted(1, 0));
+
+        // K-1 u hodh: një event i ri për K-1 nuk ka me çfarë të bashkohet
+        DomainEvent newerFullK1 = full("K-1");
+        buffer.offer(newerFullK1, true);
+        assertEquals(2, buffer.getDropped());
+
+        List<DomainEvent> batch = new ArrayList<>();
+        buffer.drainTo(batch, 10);
+        assertEquals(List.of(fullK3, newerFullK1), batch);
+    }
+
+    @Test
+    void testCoalesceOnlyWhenFull() {
+        DomainEventRingBuffer buffer = new DomainEventRingBuffer(4, OverflowPolicy.COALESCE);
+        buffer.offer(full("K-1"), true);
+        buffer.offer(full("K-1"), true);
+
+        assertEquals(2, buffer.size());
+        assertEquals(0, buffer.getCoalesced());
+    }
+
+    @Test
+    void testAwaitCompletedTimesOut() {
+        DomainEventRingBuffer buffer = new DomainEventRingBuffer(4, OverflowPolicy.BLOCK);
+        buffer.offer(full("K-1"), true);
+
+        long start = System.nanoTime();
+        assertFalse(buffer.awaitCompleted(buffer.getEnqueuedCount(), 50));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        List<DomainEvent> batch = new ArrayList<>();
+        buffer.drainTo(batch, 10);
+        buffer.complete(batch.size());
+        assertTrue(buffer.awaitCompleted(1, 0));
+    }
+
+    @Test
+    void testClosedBufferRejectsNewEventsAndDrainsPending() {
+        DomainEventRingBuffer buffer = new DomainEventRingBuffer(4, OverflowPolicy.BLOCK);
+        DomainEvent pending = full("K-1");
+        buffer.offer(pending, true);
+        buffer.close();
+
+        assertFalse(buffer.offer(full("K-2"), true));
+
+        List<DomainEvent> batch = new ArrayList<>();
+        assertTrue(buffer.drainTo(batch, 10));
+        assertEquals(List.of(pending), batch);
+        assertFalse(buffer.drainTo(batch, 10));
+    }
+
+    private static DomainEvent full(String containerId) {
+        return new ContainerFullEvent(containerId, "ZONE-EV", 95);
+    }
+
+    private static void awaitBlocked(DomainEventRingBuffer buffer, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (buffer.getBlocked() < count) {
+            assertTrue(System.nanoTime() < deadline, "Producer did not block");
+            Thread.sleep(5);
+        }
+    }
+}
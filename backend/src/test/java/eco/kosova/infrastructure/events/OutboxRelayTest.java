@@ -0,0 +1,269 @@
+package eco.kosova.infrastructure.events;
+
+import eco.kosova.domain.events.ContainerFullEvent;
+import eco.kosova.domain.events.DomainEvent;
+import eco.kosova.infrastructure.persistence.jpa.OutboxEventEntity;
+import eco.kosova.infrastructure.persistence.jpa.OutboxEventEntityRepository;
+import eco.kosova.infrastructure.persistence.jpa.ProcessedEventEntity;
+import eco.kosova.infrastructure.persistence.jpa.ProcessedEventEntityRepository;
+import eco.kosova.startup.EcoKosovaApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OutboxRelay mbi databazën e testit: çdo relay simulon një instancë të
+ * aplikacionit me dispatcher-in dhe ProcessedEventStore e vet. Relay-i i
+ * context-it ndalet, që rreshtat e testit t'i marrin vetëm relay-t e testit.
+ */
+@SpringBootTest(classes = EcoKosovaApplication.class, properties = "ecokosova.events.outbox.batch-size=50")
+@ActiveProfiles("test")
+class OutboxRelayTest {
+
+    private static final String CONSUMER = "OutboxRelayTest";
+    private static final int BATCH_SIZE = 50;
+    private static final long POLL_INTERVAL_MS = 50;
+    private static final long LEASE_MS = 60_000;
+
+    @Autowired
+    private OutboxEventEntityRepository outboxRepository;
+
+    @Autowired
+    private ProcessedEventEntityRepository processedRepository;
+
+    @Autowired
+    private OutboxRelay contextRelay;
+
+    // Sa herë çdo event arriti te "puna" e handler-it, në të gjitha instancat
+    private final Map<String, AtomicInteger> handled = new ConcurrentHashMap<>();
+    // Eventet për të cilat handler-i dështon, me numrin e dështimeve që mbeten
+    private final Map<String, AtomicInteger> failing = new ConcurrentHashMap<>();
+    private final List<DomainEventPublisherImpl> publishers = new ArrayList<>();
+
+    @BeforeEach
+    void stopContextRelay() {
+        contextRelay.close();
+        outboxRepository.deleteAll();
+        processedRepository.deleteAll();
+    }
+
+    @AfterEach
+    void closePublishers() {
+        publishers.forEach(DomainEventPublisherImpl::close);
+        outboxRepository.deleteAll();
+        processedRepository.deleteAll();
+    }
+
+    @Test
+    void testRowsAreDeletedAfterDispatch() {
+        List<String> eventIds = append(120);
+        Instance instance = new Instance();
+
+        int total = 0;
+        for (int rows = instance.relay.relayBatch(); rows > 0; rows = instance.relay.relayBatch()) {
+            assertTrue(rows <= BATCH_SIZE, rows + " rows");
+            total += rows;
+        }
+
+        assertEquals(120, total);
+        assertEquals(0, outboxRepository.count());
+        assertHandledOnce(eventIds);
+        assertEquals(3, instance.relay.getBatches());
+        assertEquals(120, instance.relay.getRelayed());
+        // Shënimet e dedupe janë në databazë para se rreshtat të fshiheshin
+        assertEquals(120, processedRepository.findAll().stream()
+            .filter(processed -> processed.getId().startsWith(CONSUMER + ':'))
+            .count());
+    }
+
+    @Test
+    void testTwoRelaysDispatchEachEventOnce() throws Exception {
+        List<String> eventIds = append(1000);
+        List<Instance> instances = List.of(new Instance(), new Instance());
+
+        ExecutorService executor = Executors.newFixedThreadPool(instances.size());
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (Instance instance : instances) {
+                results.add(executor.submit(() -> {
+                    int total = 0;
+                    // Një grup bosh mund të jetë humbja e garës për rreshtat; vazhdo derisa outbox-i të zbrazet
+                    while (outboxRepository.count() > 0) {
+                        total += instance.relay.relayBatch();
+                    }
+                    return total;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            assertEquals(1000, total);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, outboxRepository.count());
+        assertHandledOnce(eventIds);
+        assertEquals(0, instances.get(0).store.getDuplicates() + instances.get(1).store.getDuplicates());
+    }
+
+    @Test
+    void testFailedEventIsRetriedWithExponentialBackoff() throws Exception {
+        List<String> eventIds = append(10);
+        String failingId = eventIds.get(3);
+        failing.put(failingId, new AtomicInteger(2));
+        Instance instance = new Instance();
+
+        Instant before = Instant.now();
+        assertEquals(10, instance.relay.relayBatch());
+
+        // Vetëm rreshti që dështoi mbetet, me provën e parë të numëruar
+        OutboxEventEntity row = single();
+        assertEquals(failingId, row.getEventId());
+        assertEquals(1, row.getAttempts());
+        assertFalse(row.getRetryAt().isBefore(before.plusMillis(POLL_INTERVAL_MS << 1)), "retryAt " + row.getRetryAt());
+        assertEquals(1, instance.relay.getRetried());
+        assertEquals(9, instance.relay.getRelayed());
+
+        // Para retryAt rreshti nuk merret
+        assertEquals(0, instance.relay.relayBatch());
+
+        awaitRetry(row);
+        before = Instant.now();
+        assertEquals(1, instance.relay.relayBatch());
+        row = single();
+        assertEquals(2, row.getAttempts());
+        // Pritja dyfishohet me çdo provë
+        assertFalse(row.getRetryAt().isBefore(before.plusMillis(POLL_INTERVAL_MS << 2)), "retryAt " + row.getRetryAt());
+
+        awaitRetry(row);
+        assertEquals(1, instance.relay.relayBatch());
+        assertEquals(0, outboxRepository.count());
+        assertHandledOnce(eventIds);
+        assertEquals(2, instance.relay.getRetried());
+    }
+
+    @Test
+    void testRedeliveryAfterExpiredClaimIsDeduplicated() {
+        List<String> eventIds = append(5);
+        String eventId = eventIds.get(0);
+        // Një instancë tjetër e mori grupin dhe e përpunoi eventin, por ndaloi para fshirjes
+        List<Long> seqs = outboxRepository.findAll().stream().map(OutboxEventEntity::getSeq).collect(Collectors.toList());
+        Instant past = Instant.now().minusSeconds(120);
+        assertEquals(5, outboxRepository.claim(seqs, "crashed-relay", past, past.plusMillis(LEASE_MS)));
+        processedRepository.save(new ProcessedEventEntity(CONSUMER + ':' + eventId, past));
+
+        Instance instance = new Instance();
+        assertEquals(5, instance.relay.relayBatch());
+
+        assertEquals(0, outboxRepository.count());
+        assertNull(handled.get(eventId), eventId + " handled again");
+        assertHandledOnce(eventIds.subList(1, eventIds.size()));
+        assertEquals(1, instance.store.getDuplicates());
+    }
+
+    @Test
+    void testClaimedRowsAreSkippedUntilTheLeaseExpires() {
+        append(3);
+        List<Long> seqs = outboxRepository.findAll().stream().map(OutboxEventEntity::getSeq).collect(Collectors.toList());
+        Instant now = Instant.now();
+
+        assertEquals(3, outboxRepository.claim(seqs, "relay-a", now, now.plusMillis(LEASE_MS)));
+        assertEquals(0, outboxRepository.claim(seqs, "relay-b", now, now.plusMillis(LEASE_MS)));
+        assertEquals(3, outboxRepository.findClaimed("relay-a").size());
+        assertTrue(outboxRepository.findClaimed("relay-b").isEmpty());
+        assertEquals(0, new Instance().relay.relayBatch());
+
+        Instant expired = now.plusMillis(LEASE_MS + 1);
+        assertEquals(3, outboxRepository.claim(seqs, "relay-b", expired, expired.plusMillis(LEASE_MS)));
+        outboxRepository.findClaimed("relay-b").forEach(row -> assertEquals(2, row.getAttempts()));
+    }
+
+    /**
+     * Një instancë e aplikacionit: dispatcher, dedupe dhe relay i vet mbi të njëjtën databazë.
+     */
+    private final class Instance {
+
+        final ProcessedEventStore store = new ProcessedEventStore(processedRepository);
+        final DomainEventPublisherImpl publisher = new DomainEventPublisherImpl(
+            event -> handle(store, (DomainEvent) event), 1024, "block", 64, 1000
+        );
+        final OutboxRelay relay;
+
+        Instance() {
+            publisher.start();
+            publishers.add(publisher);
+            relay = new OutboxRelay(outboxRepository, publisher, store, BATCH_SIZE, POLL_INTERVAL_MS, LEASE_MS, 24);
+        }
+    }
+
+    // Si handler-at e aplikacionit: kontrollo, puno, shëno
+    private void handle(ProcessedEventStore store, DomainEvent event) {
+        if (store.isProcessed(CONSUMER, event.getEventId())) {
+            return;
+        }
+        AtomicInteger failures = failing.get(event.getEventId());
+        if (failures != null && failures.getAndDecrement() > 0) {
+            throw new IllegalStateException("Handler failed for " + event.getEventId());
+        }
+        handled.computeIfAbsent(event.getEventId(), id -> new AtomicInteger()).incrementAndGet();
+        store.markProcessed(CONSUMER, event.getEventId());
+    }
+
+    private List<String> append(int count) {
+        List<OutboxEventEntity> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ContainerFullEvent event = new ContainerFullEvent(String.format("OB-%04d", i), "ZONE-OB", 95);
+            rows.add(new OutboxEventEntity(
+                event.getEventId(),
+                event.getEventType(),
+                event.getAggregateId(),
+                DomainEventCodec.encode(event),
+                event.occurredOn()
+            ));
+        }
+        outboxRepository.saveAll(rows);
+        return rows.stream().map(OutboxEventEntity::getEventId).collect(Collectors.toList());
+    }
+
+    private OutboxEventEntity single() {
+        List<OutboxEventEntity> rows = outboxRepository.findAll();
+        assertEquals(1, rows.size());
+        return rows.get(0);
+    }
+
+    private void assertHandledOnce(List<String> eventIds) {
+        Set<String> expected = new HashSet<>(eventIds);
+        for (String eventId : expected) {
+            AtomicInteger count = handled.get(eventId);
+            assertNotNull(count, eventId + " not handled");
+            assertEquals(1, count.get(), eventId + " handled " + count.get() + " times");
+        }
+    }
+
+    private static void awaitRetry(OutboxEventEntity row) throws InterruptedException {
+        long waitMs = row.getRetryAt().toEpochMilli() - System.currentTimeMillis() + 5;
+        if (waitMs > 0) {
+            Thread.sleep(waitMs);
+        }
+    }
+}
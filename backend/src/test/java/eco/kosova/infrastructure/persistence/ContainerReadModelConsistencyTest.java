@@ -0,0 +1,156 @@
+package eco.kosova.infrastructure.persistence;
+
+import eco.kosova.domain.TestContainers;
+import eco.kosova.domain.models.Kontenier;
+import eco.kosova.domain.models.valueobjects.ContainerStatus;
+import eco.kosova.domain.models.valueobjects.ContainerType;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.domain.services.ContainerReadModel;
+import eco.kosova.domain.services.ContainerReadModel.ContainerView;
+import eco.kosova.startup.EcoKosovaApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read model-i në memorie duhet të kthejë të njëjtët kontejnerë si queries
+ * JPA të KontenierRepository për të njëjtat të dhëna.
+ */
+@SpringBootTest(classes = EcoKosovaApplication.class)
+@ActiveProfiles("test")
+class ContainerReadModelConsistencyTest {
+
+    private static final String[] ZONES = {"ZONE-001", "ZONE-002", "ZONE-003"};
+    private static final int CONTAINERS = 200;
+
+    @Autowired
+    private KontenierRepository kontenierRepository;
+
+    @Autowired
+    private ContainerReadModel readModel;
+
+    private final List<String> createdIds = new ArrayList<>();
+
+    @BeforeEach
+    void createContainers() {
+        Random random = new Random(7L);
+        ContainerType[] types = ContainerType.values();
+        List<Kontenier> containers = new ArrayList<>();
+        for (int i = 0; i < CONTAINERS; i++) {
+            Kontenier k = TestContainers.container(
+                String.format("RM-%04d", i),
+                ZONES[random.nextInt(ZONES.length)],
+                types[random.nextInt(types.length)],
+                TestContainers.CAPACITY,
+                42.6 + random.nextDouble() * 0.1,
+                21.1 + random.nextDouble() * 0.1
+            );
+            k.updateFillLevel(random.nextInt(101));
+            switch (random.nextInt(4)) {
+                case 0 -> k.markFullIfCritical();
+                case 1 -> k.markUnderMaintenance();
+                case 2 -> k.scheduleCollection(Instant.now().plusSeconds(3600));
+                default -> { }
+            }
+            containers.add(k);
+            createdIds.add(k.getId());
+        }
+        kontenierRepository.saveAll(containers);
+
+        // Një pjesë përditësohet me save() të veçantë
+        for (int i = 0; i < CONTAINERS; i += 5) {
+            Kontenier k = kontenierRepository.findById(createdIds.get(i)).orElseThrow();
+            k.updateFillLevel(random.nextInt(101));
+            kontenierRepository.save(k);
+        }
+        kontenierRepository.deleteById(createdIds.get(1));
+    }
+
+    @AfterEach
+    void deleteContainers() {
+        createdIds.forEach(kontenierRepository::deleteById);
+        createdIds.clear();
+    }
+
+    @Test
+    void findAllMatchesRepository() {
+        assertEquals(ids(kontenierRepository.findAll()), viewIds(readModel.findAll()));
+        assertEquals(kontenierRepository.count(), readModel.size());
+    }
+
+    @Test
+    void findCriticalMatchesRepository() {
+        assertEquals(ids(kontenierRepository.findCriticalContainers()), viewIds(readModel.findCritical()));
+        assertEquals(kontenierRepository.findCriticalContainers().size(), readModel.countCritical());
+    }
+
+    @Test
+    void findByZoneMatchesRepository() {
+        for (String zoneId : ZONES) {
+            assertEquals(ids(kontenierRepository.findByZoneId(zoneId)), viewIds(readModel.findByZone(zoneId)), zoneId);
+            assertEquals(kontenierRepository.countByZoneId(zoneId), readModel.countByZone(zoneId), zoneId);
+        }
+    }
+
+    @Test
+    void findByStatusMatchesRepository() {
+        for (ContainerStatus status : ContainerStatus.values()) {
+            assertEquals(ids(kontenierRepository.findByStatus(status)), viewIds(readModel.findByStatus(status)), status.name());
+        }
+    }
+
+    @Test
+    void viewsMatchPersistedState() {
+        for (ContainerView view : readModel.findAll()) {
+            Kontenier k = kontenierRepository.findById(view.getId()).orElseThrow();
+            assertEquals(k.getFillLevel().getValue(), view.getFillLevel(), view.getId());
+            assertEquals(k.getStatus(), view.getStatus(), view.getId());
+            assertEquals(k.getZoneId(), view.getZoneId(), view.getId());
+            assertEquals(k.isOperational(), view.isOperational(), view.getId());
+        }
+    }
+
+    @Test
+    void staleUpdateIsIgnored() {
+        Kontenier k = kontenierRepository.findById(createdIds.get(0)).orElseThrow();
+        k.updateFillLevel(k.getFillLevel().getValue() == 10 ? 20 : 10);
+        ContainerView current = ContainerView.of(k);
+        ContainerView stale = new ContainerView(
+            current.getId(), current.getZoneId(), current.getType(), 95, current.getStatus(),
+            current.getCapacity(), current.isOperational(), current.getLatitude(), current.getLongitude(),
+            current.getAddress(), true, current.getModifiedAt().minusSeconds(1)
+        );
+
+        // Callback-et pas commit-it vijnë jashtë radhës
+        assertTrue(readModel.upsert(current));
+        assertFalse(readModel.upsert(stale));
+
+        ContainerView stored = readModel.findAll().stream()
+            .filter(view -> view.getId().equals(k.getId()))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(current.getFillLevel(), stored.getFillLevel());
+    }
+
+    private static Set<String> ids(Collection<Kontenier> containers) {
+        return containers.stream().map(Kontenier::getId).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static Set<String> viewIds(Collection<ContainerView> views) {
+        return views.stream().map(ContainerView::getId).collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -0,0 +1,172 @@
+package eco.kosova.infrastructure.persistence;
+
+import eco.kosova.startup.EcoKosovaApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * QueryPlanTest punon mbi skemën që Hibernate gjeneron nga @Table(indexes)
+ * (Flyway është i çaktivizuar në teste dhe migrimet janë T-SQL për MSSQL).
+ * Ky test kontrollon që ajo skemë pasqyron indekset e db/migration: gjendja
+ * përfundimtare e CREATE / DROP INDEX në V*.sql krahasohet me indekset e
+ * databazës së testit (emri, tabela, kolonat sipas radhës, UNIQUE).
+ */
+@SpringBootTest(classes = EcoKosovaApplication.class)
+@ActiveProfiles("test")
+class MigrationIndexMirrorTest {
+
+    private static final Pattern STATEMENT = Pattern.compile(
+        "CREATE\\s+(UNIQUE\\s+)?INDEX\\s+(\\w+)\\s+ON\\s+(?:\\w+\\.)?(\\w+)\\s*\\(([^)]*)\\)(\\s*INCLUDE\\s*\\(([^)]*)\\))?"
+            + "|DROP\\s+INDEX\\s+(\\w+)\\s+ON",
+        Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern VERSION = Pattern.compile("V(\\d+)__.*\\.sql");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void entityIndexesMatchMigrations() throws IOException {
+        Map<String, IndexDef> migrated = migratedIndexes();
+        Map<String, IndexDef> mapped = mappedIndexes();
+        assertFalse(mapped.isEmpty(), "No idx_ indexes in the test schema");
+
+        for (IndexDef index : mapped.values()) {
+            IndexDef expected = migrated.get(index.name);
+            assertNotNull(expected, "Index " + index.name + " is mapped but missing from db/migration");
+            assertEquals(expected.withoutInclude(), index, "Index " + index.name + " differs from db/migration");
+            // @Index nuk shpreh INCLUDE: kolona e përfshirë do të mungonte në skemën e testit
+            assertTrue(expected.include.isEmpty(),
+                "Index " + index.name + " uses INCLUDE " + expected.include + ", which the entity cannot mirror");
+        }
+
+        // Tabelat që pasqyrojnë indekse i pasqyrojnë të gjitha
+        Set<String> mirroredTables = mapped.values().stream().map(index -> index.table).collect(Collectors.toSet());
+        for (IndexDef index : migrated.values()) {
+            if (mirroredTables.contains(index.table)) {
+                assertTrue(mapped.containsKey(index.name), "Index " + index.name + " is not mapped on " + index.table);
+            }
+        }
+    }
+
+    /**
+     * Indekset pas zbatimit të migrimeve sipas versionit
+     */
+    private static Map<String, IndexDef> migratedIndexes() throws IOException {
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql");
+        List<Resource> ordered = new ArrayList<>(Arrays.asList(scripts));
+        ordered.sort(Comparator.comparingInt(MigrationIndexMirrorTest::version));
+
+        Map<String, IndexDef> indexes = new TreeMap<>();
+        for (Resource script : ordered) {
+            String sql = script.getContentAsString(StandardCharsets.UTF_8);
+            Matcher matcher = STATEMENT.matcher(sql);
+            while (matcher.find()) {
+                if (matcher.group(7) != null) {
+                    indexes.remove(normalize(matcher.group(7)));
+                    continue;
+                }
+                IndexDef index = new IndexDef(
+                    normalize(matcher.group(2)),
+                    normalize(matcher.group(3)),
+                    columns(matcher.group(4)),
+                    matcher.group(1) != null,
+                    matcher.group(6) != null ? columns(matcher.group(6)) : List.of()
+                );
+                indexes.put(index.name, index);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Indekset idx_ të skemës që Hibernate krijoi nga mapping-u. Një @Index
+     * unique bëhet constraint UNIQUE me indeksin e vet (emër i gjeneruar), prandaj
+     * lexohet nga constraint-et.
+     */
+    private Map<String, IndexDef> mappedIndexes() {
+        Map<String, List<String>> columnsByIndex = new LinkedHashMap<>();
+        Map<String, String> tables = new TreeMap<>();
+        Set<String> unique = new TreeSet<>();
+        jdbcTemplate.query(
+            "select i.INDEX_NAME, i.TABLE_NAME, c.COLUMN_NAME "
+                + "from INFORMATION_SCHEMA.INDEXES i "
+                + "join INFORMATION_SCHEMA.INDEX_COLUMNS c "
+                + "on c.INDEX_SCHEMA = i.INDEX_SCHEMA and c.INDEX_NAME = i.INDEX_NAME "
+                + "where i.TABLE_SCHEMA = 'PUBLIC' and lower(i.INDEX_NAME) like 'idx%' "
+                + "and i.INDEX_TYPE_NAME = 'INDEX' "
+                + "order by i.INDEX_NAME, c.ORDINAL_POSITION",
+            row -> {
+                String name = normalize(row.getString(1));
+                tables.put(name, normalize(row.getString(2)));
+                columnsByIndex.computeIfAbsent(name, key -> new ArrayList<>()).add(normalize(row.getString(3)));
+            }
+        );
+        jdbcTemplate.query(
+            "select tc.CONSTRAINT_NAME, tc.TABLE_NAME, k.COLUMN_NAME "
+                + "from INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc "
+                + "join INFORMATION_SCHEMA.KEY_COLUMN_USAGE k "
+                + "on k.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA and k.CONSTRAINT_NAME = tc.CONSTRAINT_NAME "
+                + "where tc.TABLE_SCHEMA = 'PUBLIC' and lower(tc.CONSTRAINT_NAME) like 'idx%' "
+                + "and tc.CONSTRAINT_TYPE = 'UNIQUE' "
+                + "order by tc.CONSTRAINT_NAME, k.ORDINAL_POSITION",
+            row -> {
+                String name = normalize(row.getString(1));
+                tables.put(name, normalize(row.getString(2)));
+                unique.add(name);
+                columnsByIndex.computeIfAbsent(name, key -> new ArrayList<>()).add(normalize(row.getString(3)));
+            }
+        );
+        Map<String, IndexDef> indexes = new TreeMap<>();
+        columnsByIndex.forEach((name, columns) ->
+            indexes.put(name, new IndexDef(name, tables.get(name), columns, unique.contains(name), List.of())));
+        return indexes;
+    }
+
+    private static int version(Resource script) {
+        Matcher matcher = VERSION.matcher(script.getFilename());
+        assertTrue(matcher.matches(), "Unexpected migration name " + script.getFilename());
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    private static List<String> columns(String list) {
+        return Arrays.stream(list.split(","))
+            .map(String::trim)
+            .map(MigrationIndexMirrorTest::normalize)
+            .collect(Collectors.toList());
+    }
+
+    // Hibernate i shkruan emrat me underscore (zoneId -> ZONE_ID), migrimet në camelCase
+    private static String normalize(String name) {
+        return name.replace("[", "").replace("]", "").replace("_", "").toLowerCase();
+    }
+
+    private record IndexDef(String name, String table, List<String> columns, boolean unique, List<String> include) {
+
+        IndexDef withoutInclude() {
+            return new IndexDef(name, table, columns, unique, List.of());
+        }
+    }
+}
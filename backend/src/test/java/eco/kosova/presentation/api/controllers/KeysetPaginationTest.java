@@ -0,0 +1,47 @@
+package eco.kosova.presentation.api.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import eco.kosova.startup.EcoKosovaApplication;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Të gjitha endpoint-et me ?after=ID refuzojnë një cursor bosh në të njëjtën mënyrë.
+ */
+@SpringBootTest(classes = EcoKosovaApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KeysetPaginationTest {
+    
+    private static final String[] ENDPOINTS = {
+        "/api/monitoring/containers", "/api/zones", "/api/qytetaret", "/api/ciklet"
+    };
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    void testEmptyCursorIsRejected() throws Exception {
+        for (String endpoint : ENDPOINTS) {
+            mockMvc.perform(get(endpoint).param("after", ""))
+                .andExpect(status().isBadRequest());
+            mockMvc.perform(get(endpoint).param("after", "  "))
+                .andExpect(status().isBadRequest());
+        }
+    }
+    
+    @Test
+    void testCursorReturnsPage() throws Exception {
+        for (String endpoint : ENDPOINTS) {
+            mockMvc.perform(get(endpoint).param("after", "0").param("size", "5"))
+                .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package eco.kosova.presentation.api.controllers;
+
+import eco.kosova.domain.events.ContainerFullEvent;
+import eco.kosova.domain.repositories.KontenierRepository;
+import eco.kosova.infrastructure.persistence.jpa.OutboxEventEntityRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import eco.kosova.startup.EcoKosovaApplication;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * POST /api/monitoring/containers/fill-levels mbi kontejnerët e DataInitializer.
+ * Testi është @Transactional: rreshtat e outbox-it nuk bëhen commit, prandaj
+ * relay-i nuk i sheh dhe numërohen brenda transaksionit.
+ */
+@SpringBootTest(classes = EcoKosovaApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class MonitoringControllerTest {
+
+    private static final String FULL_EVENT = new ContainerFullEvent("K", "Z", 95).getEventType();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private KontenierRepository kontenierRepository;
+
+    @Autowired
+    private OutboxEventEntityRepository outboxRepository;
+
+    @Test
+    void testUnknownContainerIdsAreReturned() throws Exception {
+        ingest("{\"containerId\":\"CONT-001\",\"fillLevel\":40},"
+                + "{\"containerId\":\"CONT-MISSING\",\"fillLevel\":50},"
+                + "{\"containerId\":\"CONT-004\",\"fillLevel\":30}")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.receivedReadings").value(3))
+            .andExpect(jsonPath("$.updatedContainers").value(2))
+            .andExpect(jsonPath("$.affectedZones").value(2))
+            .andExpect(jsonPath("$.unknownContainerIds[0]").value("CONT-MISSING"))
+            .andExpect(jsonPath("$.unknownContainerIds.length()").value(1));
+
+        assertEquals(40, fillLevel("CONT-001"));
+        assertEquals(30, fillLevel("CONT-004"));
+    }
+
+    @Test
+    void testCrossingWithinBatchWritesOneFullEventToOutbox() throws Exception {
+        ingest("{\"containerId\":\"CONT-002\",\"fillLevel\":10}").andExpect(status().isOk());
+        long before = fullEvents("CONT-002");
+
+        ingest("{\"containerId\":\"CONT-002\",\"fillLevel\":50},"
+                + "{\"containerId\":\"CONT-002\",\"fillLevel\":95},"
+                + "{\"containerId\":\"CONT-002\",\"fillLevel\":97}")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updatedContainers").value(1));
+
+        assertEquals(before + 1, fullEvents("CONT-002"));
+        assertEquals(97, fillLevel("CONT-002"));
+    }
+
+    @Test
+    void testInvalidReadingRejectsWholeBatch() throws Exception {
+        ingest("{\"containerId\":\"CONT-003\",\"fillLevel\":20}").andExpect(status().isOk());
+
+        ingest("{\"containerId\":\"CONT-003\",\"fillLevel\":60},"
+                + "{\"containerId\":\"CONT-004\",\"fillLevel\":101}")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors[0].field").value("readings[1].fillLevel"));
+        ingest("{\"containerId\":\"CONT-003\",\"fillLevel\":60},"
+                + "{\"containerId\":\" \",\"fillLevel\":50}")
+            .andExpect(status().isBadRequest());
+
+        assertEquals(20, fillLevel("CONT-003"));
+    }
+
+    @Test
+    void testNullReadingIsBadRequest() throws Exception {
+        ingest("{\"containerId\":\"CONT-003\",\"fillLevel\":60},null")
+            .andExpect(status().isBadRequest());
+        ingest("").andExpect(status().isBadRequest());
+    }
+
+    private ResultActions ingest(String readings) throws Exception {
+        return mockMvc.perform(post("/api/monitoring/containers/fill-levels")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"readings\":[" + readings + "]}"));
+    }
+
+    private int fillLevel(String containerId) {
+        return kontenierRepository.findById(containerId).orElseThrow().getFillLevel().getValue();
+    }
+
+    private long fullEvents(String containerId) {
+        return outboxRepository.findAll().stream()
+            .filter(row -> row.getAggregateId().equals(containerId) && row.getEventType().equals(FULL_EVENT))
+            .count();
+    }
+}
@@ -66,8 +66,10 @@ export const useContainers = (refreshInterval?: number): UseContainersReturn =>
   const updateContainer = async (containerId: string, newFillLevel: number) => {
     try {
       await updateFillLevel(containerId, newFillLevel);
-      await fetchContainers();
-      showSuccess('Niveli i mbushjes u përditësua me sukses');
+      // Serveri e pranon leximin (202) dhe e shkruan në grup; një GET i menjëhershëm
+      // mund të kthejë nivelin e vjetër, prandaj lista përditësohet këtu
+      setContainers(prev => prev.map(c => c.id === containerId ? { ...c, fillLevel: newFillLevel } : c));
+      showSuccess('Leximi i nivelit u pranua');
       return { success: true };
     } catch (err) {
       const errorMessage = err instanceof ApiError 